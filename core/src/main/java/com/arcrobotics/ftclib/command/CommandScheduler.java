@@ -69,6 +69,7 @@ public final class CommandScheduler {
     private final List<Consumer<Command>> m_executeActions = new ArrayList<>();
     private final List<Consumer<Command>> m_interruptActions = new ArrayList<>();
     private final List<Consumer<Command>> m_finishActions = new ArrayList<>();
+    private final List<Runnable> m_resetActions = new ArrayList<>();
 
     private final Map<Command, Boolean> m_toSchedule = new LinkedHashMap<>();
     private boolean m_inRunLoop;
@@ -296,9 +297,14 @@ public final class CommandScheduler {
     }
 
     /**
-     * Resets the CommandScheduler instance
+     * Resets the CommandScheduler instance, after running the actions added with
+     * {@link #onReset(Runnable)}
      */
     public synchronized void reset() {
+        for (Runnable action : m_resetActions) {
+            action.run();
+        }
+        m_resetActions.clear();
         instance = null;
     }
 
@@ -444,4 +450,14 @@ public final class CommandScheduler {
         m_finishActions.add(action);
     }
 
+    /**
+     * Adds an action to perform when the scheduler is reset, which {@link CommandOpMode}
+     * does when the OpMode ends. This is where resources such as threads are released.
+     *
+     * @param action the action to perform
+     */
+    public void onReset(Runnable action) {
+        m_resetActions.add(action);
+    }
+
 }
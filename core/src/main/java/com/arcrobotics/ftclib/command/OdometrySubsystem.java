@@ -1,5 +1,6 @@
 package com.arcrobotics.ftclib.command;
 
+import com.arcrobotics.ftclib.geometry.MutablePose2d;
 import com.arcrobotics.ftclib.geometry.Pose2d;
 import com.arcrobotics.ftclib.kinematics.Odometry;
 
@@ -20,6 +21,17 @@ public class OdometrySubsystem extends SubsystemBase {
         return m_odometry.getPose();
     }
 
+    /**
+     * Copies the current pose into {@code dest}, without allocating where the
+     * odometry allows it.
+     *
+     * @param dest the pose to write into
+     * @return the destination pose
+     */
+    public MutablePose2d getPose(MutablePose2d dest) {
+        return m_odometry.getPose(dest);
+    }
+
     /**
      * Call this at the end of every loop
      */
@@ -1,7 +1,7 @@
 package com.arcrobotics.ftclib.command;
 
 import com.arcrobotics.ftclib.drivebase.MecanumDrive;
-import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.MutablePose2d;
 import com.arcrobotics.ftclib.purepursuit.Path;
 import com.arcrobotics.ftclib.purepursuit.Waypoint;
 
@@ -14,6 +14,7 @@ public class PurePursuitCommand extends CommandBase {
     private MecanumDrive m_drive;
     private OdometrySubsystem m_odometry;
     private Path m_path;
+    private final MutablePose2d m_robotPose = new MutablePose2d();
 
     public PurePursuitCommand(MecanumDrive drive, OdometrySubsystem odometry, Waypoint... waypoints) {
         m_path = new Path(waypoints);
@@ -43,8 +44,8 @@ public class PurePursuitCommand extends CommandBase {
      */
     @Override
     public void execute() {
-        Pose2d robotPose = m_odometry.getPose();
-        double[] motorSpeeds = m_path.loop(robotPose.getTranslation().getX(), robotPose.getTranslation().getY(), robotPose.getHeading());
+        m_odometry.getPose(m_robotPose);
+        double[] motorSpeeds = m_path.loop(m_robotPose.getX(), m_robotPose.getY(), m_robotPose.getHeading());
         m_drive.driveRobotCentric(motorSpeeds[0], motorSpeeds[1], motorSpeeds[2]);
     }
 
@@ -0,0 +1,96 @@
+package com.arcrobotics.ftclib.command;
+
+import com.arcrobotics.ftclib.geometry.MutablePose2d;
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.kinematics.Odometry;
+import com.arcrobotics.ftclib.kinematics.OdometryThread;
+
+/**
+ * An {@link OdometrySubsystem} that integrates the odometry on its own thread
+ * at a fixed rate instead of once per scheduler cycle, so a slow loop does not
+ * hurt the pose estimate. Commands such as {@link PurePursuitCommand} read the
+ * latest pose without blocking.
+ *
+ * <p>The thread starts the first time the scheduler runs this subsystem, or
+ * when {@link #start()} is called. It is stopped when the scheduler is reset,
+ * which {@link CommandOpMode} does when the OpMode ends. Without a
+ * {@code CommandOpMode}, call {@link #stop()} when the OpMode ends.
+ */
+public class ThreadedOdometrySubsystem extends OdometrySubsystem {
+
+    private final OdometryThread m_thread;
+    private boolean m_started;
+
+    /**
+     * @param odometry     the odometry on the robot, using the supplier constructor
+     * @param periodMillis the time between odometry updates in milliseconds
+     */
+    public ThreadedOdometrySubsystem(Odometry odometry, long periodMillis) {
+        super(odometry);
+        m_thread = new OdometryThread(odometry, periodMillis);
+        CommandScheduler.getInstance().onReset(this::stop);
+    }
+
+    /**
+     * Starts the odometry thread. Does nothing if it is already running.
+     */
+    public void start() {
+        m_started = true;
+        m_thread.start();
+    }
+
+    /**
+     * Stops the odometry thread and waits for its last update to finish. The
+     * scheduler does not start it again; only {@link #start()} does.
+     */
+    public void stop() {
+        m_started = true;
+        m_thread.stop();
+    }
+
+    /**
+     * @return true if the odometry thread is running
+     */
+    public boolean isRunning() {
+        return m_thread.isRunning();
+    }
+
+    /**
+     * Resets the robot position. Use this instead of updating the odometry
+     * directly while the thread is running.
+     *
+     * @param pose the new position of the robot
+     */
+    public void resetPose(Pose2d pose) {
+        m_thread.resetPose(pose);
+    }
+
+    @Override
+    public Pose2d getPose() {
+        return m_thread.getPose();
+    }
+
+    @Override
+    public MutablePose2d getPose(MutablePose2d dest) {
+        m_thread.getPoseHolder().get(dest);
+        return dest;
+    }
+
+    /**
+     * Does nothing, the odometry is updated on its own thread.
+     */
+    @Override
+    public void update() {
+    }
+
+    /**
+     * Starts the odometry thread the first time the scheduler runs this subsystem.
+     */
+    @Override
+    public void periodic() {
+        if (!m_started) {
+            start();
+        }
+    }
+
+}
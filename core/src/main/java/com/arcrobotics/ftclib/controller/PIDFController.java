@@ -1,5 +1,8 @@
 package com.arcrobotics.ftclib.controller;
 
+import com.arcrobotics.ftclib.util.Clock;
+import com.arcrobotics.ftclib.util.Filter;
+
 /**
  * This is a PID controller (https://en.wikipedia.org/wiki/PID_controller)
  * for your robot. Internally, it performs all the calculations for you.
@@ -31,6 +34,8 @@ public class PIDFController {
     private double lastTimeStamp;
     private double period;
 
+    private Filter derivativeFilter;
+
     /**
      * The base constructor for the PIDF controller
      */
@@ -70,6 +75,19 @@ public class PIDFController {
         totalError = 0;
         prevErrorVal = 0;
         lastTimeStamp = 0;
+        if (derivativeFilter != null) {
+            derivativeFilter.reset();
+        }
+    }
+
+    /**
+     * Sets a filter for the velocity error, which reduces the noise the derivative
+     * term amplifies. The filter is run once per {@link #calculate(double)}.
+     *
+     * @param filter the filter, or null to use the raw velocity error
+     */
+    public void setDerivativeFilter(Filter filter) {
+        derivativeFilter = filter;
     }
 
     /**
@@ -184,7 +202,7 @@ public class PIDFController {
     public double calculate(double pv) {
         prevErrorVal = errorVal_p;
 
-        double currentTimeStamp = (double) System.nanoTime() / 1E9;
+        double currentTimeStamp = (double) Clock.nanoTime() / 1E9;
         if (lastTimeStamp == 0) lastTimeStamp = currentTimeStamp;
         period = currentTimeStamp - lastTimeStamp;
         lastTimeStamp = currentTimeStamp;
@@ -201,6 +219,9 @@ public class PIDFController {
         } else {
             errorVal_v = 0;
         }
+        if (derivativeFilter != null) {
+            errorVal_v = derivativeFilter.calculate(errorVal_v);
+        }
 
         /*
         if total error is the integral from 0 to t of e(t')dt', and
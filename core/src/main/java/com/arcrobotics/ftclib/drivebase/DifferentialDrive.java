@@ -2,6 +2,9 @@ package com.arcrobotics.ftclib.drivebase;
 
 import com.arcrobotics.ftclib.hardware.motors.Motor;
 import com.arcrobotics.ftclib.hardware.motors.MotorGroup;
+import com.arcrobotics.ftclib.kinematics.wpilibkinematics.ChassisSpeeds;
+import com.arcrobotics.ftclib.kinematics.wpilibkinematics.DifferentialDriveKinematics;
+import com.arcrobotics.ftclib.kinematics.wpilibkinematics.DifferentialDriveWheelSpeeds;
 
 /**
  * A differential drive is one that has two motors or motor groups
@@ -20,13 +23,19 @@ import com.arcrobotics.ftclib.hardware.motors.MotorGroup;
  * control their respective side of the robot.
  * </p>
  */
-public class DifferentialDrive extends RobotDrive {
+public class DifferentialDrive extends RobotDrive implements VelocityDrive {
 
     public static final double kDefaultRightSideMultiplier = -1.0;
 
     private Motor[] motors;
     private double rightSideMultiplier = kDefaultRightSideMultiplier;
 
+    private final double[] wheelSpeeds = new double[2];
+
+    private DifferentialDriveKinematics kinematics;
+    private final DifferentialDriveWheelSpeeds targetWheelSpeeds = new DifferentialDriveWheelSpeeds();
+    private final double[] measuredVelocities = new double[2];
+
     /**
      * Construct a DifferentialDrive.
      *
@@ -80,6 +89,15 @@ public class DifferentialDrive extends RobotDrive {
         rightSideMultiplier = isInverted ? -1.0 : 1.0;
     }
 
+    /**
+     * Sets the kinematics used by {@link #drive(ChassisSpeeds)}.
+     *
+     * @param kinematics the kinematics of this drivebase
+     */
+    public void setKinematics(DifferentialDriveKinematics kinematics) {
+        this.kinematics = kinematics;
+    }
+
     /**
      * Stop the motors.
      */
@@ -88,6 +106,7 @@ public class DifferentialDrive extends RobotDrive {
         for (Motor x : motors) {
             x.stopMotor();
         }
+        resetAccelerationLimiter();
     }
 
     /**
@@ -119,7 +138,10 @@ public class DifferentialDrive extends RobotDrive {
         forwardSpeed = clipRange(forwardSpeed);
         turnSpeed = clipRange(turnSpeed);
 
-        double[] wheelSpeeds = new double[2];
+        double[] limited = limitAcceleration(0, forwardSpeed, turnSpeed);
+        forwardSpeed = limited[kForward];
+        turnSpeed = limited[kTurn];
+
         wheelSpeeds[MotorType.kLeft.value] = forwardSpeed + turnSpeed;
         wheelSpeeds[MotorType.kRight.value] = forwardSpeed - turnSpeed;
 
@@ -154,14 +176,13 @@ public class DifferentialDrive extends RobotDrive {
         leftSpeed = clipRange(leftSpeed);
         rightSpeed = clipRange(rightSpeed);
 
-        double[] wheelSpeeds = new double[2];
         wheelSpeeds[MotorType.kLeft.value] = leftSpeed;
         wheelSpeeds[MotorType.kRight.value] = rightSpeed;
 
         normalize(wheelSpeeds);
 
-        motors[MotorType.kLeft.value].set(wheelSpeeds[0] * maxOutput);
-        motors[MotorType.kRight.value].set(wheelSpeeds[1] * rightSideMultiplier * maxOutput);
+        motors[MotorType.kLeft.value].set(wheelSpeeds[0]);
+        motors[MotorType.kRight.value].set(wheelSpeeds[1] * rightSideMultiplier);
     }
 
     /**
@@ -178,4 +199,30 @@ public class DifferentialDrive extends RobotDrive {
         tankDrive(leftSpeed, rightSpeed);
     }
 
+    /**
+     * Drives the robot at a velocity relative to itself with closed loop velocity
+     * control on each side. Needs {@link #setKinematics} and
+     * {@link #setVelocityControl} to be called first. Like the power, the measured
+     * velocity of the right side is multiplied by the right side multiplier.
+     *
+     * @param chassisSpeeds the velocity of the robot, only the forward and angular parts are used
+     */
+    @Override
+    public void drive(ChassisSpeeds chassisSpeeds) {
+        if (kinematics == null) {
+            throw new IllegalStateException("The kinematics have not been set, call setKinematics first");
+        }
+        kinematics.toWheelSpeeds(chassisSpeeds, targetWheelSpeeds);
+        wheelSpeeds[MotorType.kLeft.value] = targetWheelSpeeds.leftMetersPerSecond;
+        wheelSpeeds[MotorType.kRight.value] = targetWheelSpeeds.rightMetersPerSecond;
+        measuredVelocities[MotorType.kLeft.value] = motors[MotorType.kLeft.value].getRate();
+        measuredVelocities[MotorType.kRight.value] =
+                motors[MotorType.kRight.value].getRate() * rightSideMultiplier;
+
+        velocitiesToPowers(wheelSpeeds, measuredVelocities);
+
+        motors[MotorType.kLeft.value].set(wheelSpeeds[0]);
+        motors[MotorType.kRight.value].set(wheelSpeeds[1] * rightSideMultiplier);
+    }
+
 }
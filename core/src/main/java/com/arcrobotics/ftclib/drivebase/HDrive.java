@@ -1,22 +1,33 @@
 package com.arcrobotics.ftclib.drivebase;
 
-import com.arcrobotics.ftclib.geometry.Vector2d;
 import com.arcrobotics.ftclib.hardware.motors.Motor;
+import com.arcrobotics.ftclib.kinematics.wpilibkinematics.ChassisSpeeds;
 
 /**
  * Holonomic drivebase
  */
-public class HDrive extends RobotDrive {
+public class HDrive extends RobotDrive implements VelocityDrive {
     Motor[] motors;
 
     public static final double kDefaultRightMotorAngle = Math.PI / 3;
     public static final double kDefaultLeftMotorAngle = 2 * Math.PI / 3;
     public static final double kDefaultSlideMotorAngle = 3 * Math.PI / 2;
 
+    private static final double kInvSqrt2 = 1.0 / Math.sqrt(2);
+
     private double rightMotorAngle = kDefaultRightMotorAngle;
     private double leftMotorAngle = kDefaultLeftMotorAngle;
     private double slideMotorAngle = kDefaultSlideMotorAngle;
 
+    // the direction each motor drives in, from its angle
+    private double leftX, leftY, rightX, rightY, slideX, slideY;
+
+    private double[] speeds;
+    private double[] measuredVelocities;
+
+    // the distance from the center of the robot to the wheels, set for drive(ChassisSpeeds)
+    private double trackRadius;
+
     /**
      * Constructor for the H-Drive class, which requires at least three motors.
      *
@@ -29,6 +40,7 @@ public class HDrive extends RobotDrive {
         motors[MotorType.kLeft.value] = mLeft;
         motors[MotorType.kRight.value] = mRight;
         motors[MotorType.kSlide.value] = slide;
+        setUp();
     }
 
     /**
@@ -56,6 +68,7 @@ public class HDrive extends RobotDrive {
         this.leftMotorAngle = leftMotorAngle;
         this.rightMotorAngle = rightMotorAngle;
         this.slideMotorAngle = slideMotorAngle;
+        setUp();
     }
 
     /**
@@ -67,6 +80,18 @@ public class HDrive extends RobotDrive {
      */
     public HDrive(Motor... myMotors) {
         motors = myMotors;
+        setUp();
+    }
+
+    private void setUp() {
+        speeds = new double[motors.length];
+        measuredVelocities = new double[motors.length];
+        leftX = Math.cos(leftMotorAngle);
+        leftY = Math.sin(leftMotorAngle);
+        rightX = Math.cos(rightMotorAngle);
+        rightY = Math.sin(rightMotorAngle);
+        slideX = Math.cos(slideMotorAngle);
+        slideY = Math.sin(slideMotorAngle);
     }
 
     /**
@@ -88,11 +113,26 @@ public class HDrive extends RobotDrive {
         super.setMaxSpeed(value);
     }
 
+    /**
+     * Sets the distance from the center of the robot to the wheels, which is how far a
+     * wheel travels per radian the robot turns. It is used by {@link #drive(ChassisSpeeds)}
+     * and is in the units of the motor encoder rates.
+     *
+     * @param radius the distance from the center of the robot to the wheels
+     */
+    public void setTrackRadius(double radius) {
+        if (radius <= 0) {
+            throw new IllegalArgumentException("The track radius must be positive");
+        }
+        trackRadius = radius;
+    }
+
     @Override
     public void stop() {
         for (Motor x : motors) {
             x.stopMotor();
         }
+        resetAccelerationLimiter();
     }
 
     public void driveFieldCentric(double strafeSpeed, double forwardSpeed, double turn, double heading) {
@@ -100,21 +140,22 @@ public class HDrive extends RobotDrive {
         forwardSpeed = clipRange(forwardSpeed);
         turn = clipRange(turn);
 
-        Vector2d vector = new Vector2d(strafeSpeed, forwardSpeed);
-        vector = vector.rotateBy(-heading);
-
-        double theta = vector.angle();
+        // rotate the input by the negative of the heading
+        double angle = Math.toRadians(-heading);
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        double x = strafeSpeed * cos - forwardSpeed * sin;
+        double y = strafeSpeed * sin + forwardSpeed * cos;
 
-        double[] speeds = new double[motors.length];
+        double[] limited = limitAcceleration(x, y, turn);
+        x = limited[kStrafe];
+        y = limited[kForward];
+        turn = limited[kTurn];
 
         if (speeds.length == 3) {
-            Vector2d leftVec = new Vector2d(Math.cos(leftMotorAngle), Math.sin(leftMotorAngle));
-            Vector2d rightVec = new Vector2d(Math.cos(rightMotorAngle), Math.sin(rightMotorAngle));
-            Vector2d slideVec = new Vector2d(Math.cos(slideMotorAngle), Math.sin(slideMotorAngle));
-
-            speeds[MotorType.kLeft.value] = vector.scalarProject(leftVec) + turn;
-            speeds[MotorType.kRight.value] = vector.scalarProject(rightVec) + turn;
-            speeds[MotorType.kSlide.value] = vector.scalarProject(slideVec) + turn;
+            speeds[MotorType.kLeft.value] = x * leftX + y * leftY + turn;
+            speeds[MotorType.kRight.value] = x * rightX + y * rightY + turn;
+            speeds[MotorType.kSlide.value] = x * slideX + y * slideY + turn;
 
             normalize(speeds);
 
@@ -124,12 +165,7 @@ public class HDrive extends RobotDrive {
         }
         // this looks similar to mecanum because mecanum is a four wheel holonomic drivebase
         else {
-            speeds[MotorType.kFrontLeft.value] = Math.sin(theta + Math.PI / 4);
-            speeds[MotorType.kFrontRight.value] = Math.sin(theta - Math.PI / 4);
-            speeds[MotorType.kBackLeft.value] = Math.sin(theta - Math.PI / 4);
-            speeds[MotorType.kBackRight.value] = Math.sin(theta + Math.PI / 4);
-
-            normalize(speeds, vector.magnitude());
+            holonomicWheelSpeeds(x, y, speeds);
 
             speeds[MotorType.kFrontLeft.value] += turn;
             speeds[MotorType.kFrontRight.value] -= turn;
@@ -151,4 +187,60 @@ public class HDrive extends RobotDrive {
     public void driveRobotCentric(double strafeSpeed, double forwardSpeed, double turn) {
         driveFieldCentric(strafeSpeed, forwardSpeed, turn, 0.0);
     }
+
+    /**
+     * Drives the robot at a velocity relative to itself with closed loop velocity
+     * control on each wheel. Needs {@link #setTrackRadius} and
+     * {@link #setVelocityControl} to be called first. Each wheel is given the same
+     * velocity that {@link #driveRobotCentric} would give it power, with the measured
+     * velocity of a motor counted the way its power is.
+     *
+     * @param chassisSpeeds the velocity of the robot
+     */
+    @Override
+    public void drive(ChassisSpeeds chassisSpeeds) {
+        if (trackRadius == 0) {
+            throw new IllegalStateException("The track radius has not been set, call setTrackRadius first");
+        }
+        // the other drive methods are right and clockwise positive, the chassis speeds left and counterclockwise
+        double x = -chassisSpeeds.vyMetersPerSecond;
+        double y = chassisSpeeds.vxMetersPerSecond;
+        double turn = -chassisSpeeds.omegaRadiansPerSecond * trackRadius;
+
+        if (speeds.length == 3) {
+            // like driveFieldCentric, the left and right motors are driven at each other's angle
+            speeds[MotorType.kLeft.value] = x * rightX + y * rightY + turn;
+            speeds[MotorType.kRight.value] = x * leftX + y * leftY + turn;
+            speeds[MotorType.kSlide.value] = x * slideX + y * slideY + turn;
+            for (int i = 0; i < 3; i++) {
+                measuredVelocities[i] = motors[i].getRate();
+            }
+
+            velocitiesToPowers(speeds, measuredVelocities);
+
+            for (int i = 0; i < 3; i++) {
+                motors[i].set(speeds[i]);
+            }
+        } else {
+            // each wheel drives along a diagonal, so it sees the part of the velocity along it
+            double diagonal = (y + x) * kInvSqrt2;
+            double antiDiagonal = (y - x) * kInvSqrt2;
+            speeds[MotorType.kFrontLeft.value] = diagonal + turn;
+            speeds[MotorType.kFrontRight.value] = antiDiagonal - turn;
+            speeds[MotorType.kBackLeft.value] = antiDiagonal + turn;
+            speeds[MotorType.kBackRight.value] = diagonal - turn;
+            // the right motors are given negated power, so they count backwards
+            measuredVelocities[MotorType.kFrontLeft.value] = motors[MotorType.kFrontLeft.value].getRate();
+            measuredVelocities[MotorType.kFrontRight.value] = -motors[MotorType.kFrontRight.value].getRate();
+            measuredVelocities[MotorType.kBackLeft.value] = motors[MotorType.kBackLeft.value].getRate();
+            measuredVelocities[MotorType.kBackRight.value] = -motors[MotorType.kBackRight.value].getRate();
+
+            velocitiesToPowers(speeds, measuredVelocities);
+
+            motors[MotorType.kFrontLeft.value].set(speeds[MotorType.kFrontLeft.value]);
+            motors[MotorType.kFrontRight.value].set(-speeds[MotorType.kFrontRight.value]);
+            motors[MotorType.kBackLeft.value].set(speeds[MotorType.kBackLeft.value]);
+            motors[MotorType.kBackRight.value].set(-speeds[MotorType.kBackRight.value]);
+        }
+    }
 }
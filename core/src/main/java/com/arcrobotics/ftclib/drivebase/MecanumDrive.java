@@ -1,7 +1,10 @@
 package com.arcrobotics.ftclib.drivebase;
 
-import com.arcrobotics.ftclib.geometry.Vector2d;
+import com.arcrobotics.ftclib.geometry.Translation2d;
 import com.arcrobotics.ftclib.hardware.motors.Motor;
+import com.arcrobotics.ftclib.kinematics.wpilibkinematics.ChassisSpeeds;
+import com.arcrobotics.ftclib.kinematics.wpilibkinematics.MecanumDriveKinematics;
+import com.arcrobotics.ftclib.kinematics.wpilibkinematics.MecanumDriveWheelSpeeds;
 
 /**
  * This is a classfile representing the kinematics of a mecanum drivetrain
@@ -14,11 +17,19 @@ import com.arcrobotics.ftclib.hardware.motors.Motor;
  * For the derivation of mecanum kinematics, please watch this video:
  * https://www.youtube.com/watch?v=8rhAkjViHEQ.
  */
-public class MecanumDrive extends RobotDrive {
+public class MecanumDrive extends RobotDrive implements VelocityDrive {
     private double rightSideMultiplier;
 
     Motor[] motors;
 
+    private static final Translation2d kCenter = new Translation2d();
+
+    private final double[] wheelSpeeds = new double[4];
+
+    private MecanumDriveKinematics kinematics;
+    private final MecanumDriveWheelSpeeds targetWheelSpeeds = new MecanumDriveWheelSpeeds();
+    private final double[] measuredVelocities = new double[4];
+
     /**
      * Sets up the constructor for the mecanum drive.
      * Automatically inverts right side by default
@@ -83,6 +94,15 @@ public class MecanumDrive extends RobotDrive {
         super.setMaxSpeed(value);
     }
 
+    /**
+     * Sets the kinematics used by {@link #drive(ChassisSpeeds)}.
+     *
+     * @param kinematics the kinematics of this drivebase
+     */
+    public void setKinematics(MecanumDriveKinematics kinematics) {
+        this.kinematics = kinematics;
+    }
+
     /**
      * Stop the motors.
      */
@@ -91,6 +111,7 @@ public class MecanumDrive extends RobotDrive {
         for (Motor x : motors) {
             x.stopMotor();
         }
+        resetAccelerationLimiter();
     }
 
 
@@ -140,18 +161,19 @@ public class MecanumDrive extends RobotDrive {
         forwardSpeed = clipRange(forwardSpeed);
         turnSpeed = clipRange(turnSpeed);
 
-        Vector2d input = new Vector2d(strafeSpeed, forwardSpeed);
-        input = input.rotateBy(-gyroAngle);
-
-        double theta = input.angle();
+        // rotate the input by the negative of the heading
+        double angle = Math.toRadians(-gyroAngle);
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        double x = strafeSpeed * cos - forwardSpeed * sin;
+        double y = strafeSpeed * sin + forwardSpeed * cos;
 
-        double[] wheelSpeeds = new double[4];
-        wheelSpeeds[MotorType.kFrontLeft.value] = Math.sin(theta + Math.PI / 4);
-        wheelSpeeds[MotorType.kFrontRight.value] = Math.sin(theta - Math.PI / 4);
-        wheelSpeeds[MotorType.kBackLeft.value] = Math.sin(theta - Math.PI / 4);
-        wheelSpeeds[MotorType.kBackRight.value] = Math.sin(theta + Math.PI / 4);
+        double[] limited = limitAcceleration(x, y, turnSpeed);
+        x = limited[kStrafe];
+        y = limited[kForward];
+        turnSpeed = limited[kTurn];
 
-        normalize(wheelSpeeds, input.magnitude());
+        holonomicWheelSpeeds(x, y, wheelSpeeds);
 
         wheelSpeeds[MotorType.kFrontLeft.value] += turnSpeed;
         wheelSpeeds[MotorType.kFrontRight.value] -= turnSpeed;
@@ -207,4 +229,37 @@ public class MecanumDrive extends RobotDrive {
                 .set(backRightSpeed * rightSideMultiplier * maxOutput);
     }
 
+    /**
+     * Drives the robot at a velocity relative to itself with closed loop velocity
+     * control on every wheel. Needs {@link #setKinematics} and
+     * {@link #setVelocityControl} to be called first. Like the power, the measured
+     * velocity of the right side motors is multiplied by the right side multiplier.
+     *
+     * @param chassisSpeeds the velocity of the robot
+     */
+    @Override
+    public void drive(ChassisSpeeds chassisSpeeds) {
+        if (kinematics == null) {
+            throw new IllegalStateException("The kinematics have not been set, call setKinematics first");
+        }
+        kinematics.toWheelSpeeds(chassisSpeeds, kCenter, targetWheelSpeeds);
+        wheelSpeeds[MotorType.kFrontLeft.value] = targetWheelSpeeds.frontLeftMetersPerSecond;
+        wheelSpeeds[MotorType.kFrontRight.value] = targetWheelSpeeds.frontRightMetersPerSecond;
+        wheelSpeeds[MotorType.kBackLeft.value] = targetWheelSpeeds.rearLeftMetersPerSecond;
+        wheelSpeeds[MotorType.kBackRight.value] = targetWheelSpeeds.rearRightMetersPerSecond;
+        measuredVelocities[MotorType.kFrontLeft.value] = motors[MotorType.kFrontLeft.value].getRate();
+        measuredVelocities[MotorType.kFrontRight.value] =
+                motors[MotorType.kFrontRight.value].getRate() * rightSideMultiplier;
+        measuredVelocities[MotorType.kBackLeft.value] = motors[MotorType.kBackLeft.value].getRate();
+        measuredVelocities[MotorType.kBackRight.value] =
+                motors[MotorType.kBackRight.value].getRate() * rightSideMultiplier;
+
+        velocitiesToPowers(wheelSpeeds, measuredVelocities);
+
+        motors[MotorType.kFrontLeft.value].set(wheelSpeeds[MotorType.kFrontLeft.value]);
+        motors[MotorType.kFrontRight.value].set(wheelSpeeds[MotorType.kFrontRight.value] * rightSideMultiplier);
+        motors[MotorType.kBackLeft.value].set(wheelSpeeds[MotorType.kBackLeft.value]);
+        motors[MotorType.kBackRight.value].set(wheelSpeeds[MotorType.kBackRight.value] * rightSideMultiplier);
+    }
+
 }
@@ -1,5 +1,13 @@
 package com.arcrobotics.ftclib.drivebase;
 
+import com.arcrobotics.ftclib.controller.wpilibcontroller.SimpleMotorFeedforward;
+import com.arcrobotics.ftclib.kinematics.wpilibkinematics.ChassisSpeeds;
+import com.arcrobotics.ftclib.util.Clock;
+import com.arcrobotics.ftclib.util.SlewRateLimiter;
+
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
 public abstract class RobotDrive {
 
     public static final double kDefaultRangeMin = -1.0;
@@ -10,6 +18,30 @@ public abstract class RobotDrive {
     protected double rangeMax = kDefaultRangeMax;
     protected double maxOutput = kDefaultMaxSpeed;
 
+    // a gap between velocity updates longer than this restarts the controllers
+    private static final double kMaxVelocityPeriod = 0.25;
+
+    // velocity control, set up by setVelocityControl
+    private SimpleMotorFeedforward wheelFeedforward;
+    private double velocityKp, velocityKi, velocityKd;
+    private double maxWheelVelocity;
+    private double[] previousTargets, previousErrors, errorIntegrals;
+    private long lastVelocityUpdate;
+    private boolean velocityStarted;
+    private LongSupplier clock = Clock::nanoTime;
+
+    /**
+     * The indices of the speeds returned by {@link #limitAcceleration}.
+     */
+    protected static final int kStrafe = 0, kForward = 1, kTurn = 2;
+
+    // the acceleration limiters of each axis, null for no limit
+    private final SlewRateLimiter[] limiters = new SlewRateLimiter[3];
+    private boolean limiterStarted;
+    private DoubleSupplier pitch, roll;
+    private double tipThreshold, tipCorrection;
+    private final double[] limitedSpeeds = new double[3];
+
     /**
      * The location of the motor on the robot.
      * We assume the drivebase is made of at least two
@@ -77,6 +109,222 @@ public abstract class RobotDrive {
 
     public abstract void stop();
 
+    /**
+     * Sets up closed loop velocity control for {@link VelocityDrive#drive(ChassisSpeeds)}
+     * on the drivebases that implement it. Every wheel gets the same feedforward and
+     * PID gains, and all of them are updated with the same time step.
+     *
+     * <p>The velocities are in the units of the kinematics of the drivebase, so the
+     * distance per pulse of the motor encoders has to be set to match. The
+     * feedforward and PID output is motor power, which is not scaled by
+     * {@link #setMaxSpeed}; the max wheel velocity limits the speed instead.</p>
+     *
+     * @param feedforward      the feedforward of a wheel
+     * @param kP               the proportional gain on the velocity error
+     * @param kI               the integral gain on the velocity error
+     * @param kD               the derivative gain on the velocity error
+     * @param maxWheelVelocity the fastest a wheel can go, all wheels are slowed down
+     *                         by the same ratio if one would go faster
+     */
+    public void setVelocityControl(SimpleMotorFeedforward feedforward, double kP, double kI, double kD,
+                                   double maxWheelVelocity) {
+        if (maxWheelVelocity <= 0) {
+            throw new IllegalArgumentException("The max wheel velocity must be positive");
+        }
+        wheelFeedforward = feedforward;
+        velocityKp = kP;
+        velocityKi = kI;
+        velocityKd = kD;
+        this.maxWheelVelocity = maxWheelVelocity;
+        velocityStarted = false;
+    }
+
+    /**
+     * @return true once {@link #setVelocityControl} has been called
+     */
+    protected boolean hasVelocityControl() {
+        return wheelFeedforward != null;
+    }
+
+    /**
+     * Limits how fast the requested speed of the robot can change along each axis,
+     * so hard stick inputs do not slip the wheels or tip the robot. The limits apply
+     * to the inputs of the robot and field centric drive methods, after field centric
+     * inputs are turned to be relative to the robot.
+     *
+     * @param strafe  the fastest change of the strafe input per second, 0 for no limit
+     * @param forward the fastest change of the forward input per second, 0 for no limit
+     * @param turn    the fastest change of the turn input per second, 0 for no limit
+     */
+    public void setAccelerationLimits(double strafe, double forward, double turn) {
+        if (strafe < 0 || forward < 0 || turn < 0) {
+            throw new IllegalArgumentException("The acceleration limits cannot be negative");
+        }
+        setAccelerationLimit(kStrafe, strafe);
+        setAccelerationLimit(kForward, forward);
+        setAccelerationLimit(kTurn, turn);
+    }
+
+    private void setAccelerationLimit(int axis, double limit) {
+        if (limit == 0) {
+            limiters[axis] = null;
+        } else if (limiters[axis] == null) {
+            // read the clock of the drivebase when called, so setClock applies to the limiters as well
+            limiters[axis] = new SlewRateLimiter(limit, -limit, limitedSpeeds[axis], () -> clock.getAsLong());
+        } else {
+            limiters[axis].setRateLimits(limit, -limit);
+        }
+    }
+
+    /**
+     * Drives the robot toward the side it is tipping to once it tilts past a threshold,
+     * which puts the wheels back under it. The correction is added after the
+     * acceleration limits so it acts right away. A corrected input is clipped to the
+     * input range, so the correction cannot push it past full speed and make the
+     * drivebase scale the other inputs down.
+     *
+     * @param pitchDegrees     supplies the pitch, positive when the front is up
+     * @param rollDegrees      supplies the roll, positive when the robot leans right
+     * @param thresholdDegrees the tilt below which nothing is corrected
+     * @param kP               the input added per degree of tilt past the threshold
+     */
+    public void setAntiTip(DoubleSupplier pitchDegrees, DoubleSupplier rollDegrees,
+                           double thresholdDegrees, double kP) {
+        if (thresholdDegrees < 0 || kP < 0) {
+            throw new IllegalArgumentException("The threshold and gain cannot be negative");
+        }
+        pitch = pitchDegrees;
+        roll = rollDegrees;
+        tipThreshold = thresholdDegrees;
+        tipCorrection = kP;
+    }
+
+    /**
+     * Stops the anti-tip correction.
+     */
+    public void disableAntiTip() {
+        pitch = null;
+        roll = null;
+    }
+
+    /**
+     * Makes the acceleration limiter start again from a stopped robot. The drivebases
+     * call this when they are stopped.
+     */
+    public void resetAccelerationLimiter() {
+        limiterStarted = false;
+    }
+
+    /**
+     * Applies the acceleration limits and the anti-tip correction to robot centric
+     * inputs. The returned array is reused by every call.
+     *
+     * @param strafe  the strafe input, right positive
+     * @param forward the forward input
+     * @param turn    the turn input, clockwise positive
+     * @return the limited inputs, indexed by {@link #kStrafe}, {@link #kForward} and {@link #kTurn}
+     */
+    protected double[] limitAcceleration(double strafe, double forward, double turn) {
+        if (!limiterStarted) {
+            // start from a stopped robot, so the first call has no time step
+            for (SlewRateLimiter limiter : limiters) {
+                if (limiter != null) {
+                    limiter.reset(0);
+                }
+            }
+            limiterStarted = true;
+        }
+        strafe = limit(kStrafe, strafe);
+        forward = limit(kForward, forward);
+        turn = limit(kTurn, turn);
+
+        if (pitch != null) {
+            double forwardCorrection = tipCorrection * pastThreshold(pitch.getAsDouble());
+            double strafeCorrection = tipCorrection * pastThreshold(roll.getAsDouble());
+            if (forwardCorrection != 0) {
+                forward = clipRange(forward - forwardCorrection);
+            }
+            if (strafeCorrection != 0) {
+                strafe = clipRange(strafe + strafeCorrection);
+            }
+        }
+
+        limitedSpeeds[kStrafe] = strafe;
+        limitedSpeeds[kForward] = forward;
+        limitedSpeeds[kTurn] = turn;
+        return limitedSpeeds;
+    }
+
+    private double limit(int axis, double input) {
+        return limiters[axis] == null ? input : limiters[axis].calculate(input);
+    }
+
+    private double pastThreshold(double tiltDegrees) {
+        return Math.signum(tiltDegrees) * Math.max(0, Math.abs(tiltDegrees) - tipThreshold);
+    }
+
+    void setClock(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Turns wheel velocities into motor powers with the velocity control set up by
+     * {@link #setVelocityControl}. The velocities are first scaled down together if
+     * one is faster than the max wheel velocity.
+     *
+     * @param wheelVelocities    the target velocity of each wheel, replaced by its power
+     * @param measuredVelocities the measured velocity of each wheel
+     */
+    protected void velocitiesToPowers(double[] wheelVelocities, double[] measuredVelocities) {
+        if (wheelFeedforward == null) {
+            throw new IllegalStateException("Velocity control has not been set up, call setVelocityControl first");
+        }
+        if (previousTargets == null || previousTargets.length != wheelVelocities.length) {
+            previousTargets = new double[wheelVelocities.length];
+            previousErrors = new double[wheelVelocities.length];
+            errorIntegrals = new double[wheelVelocities.length];
+            velocityStarted = false;
+        }
+
+        double fastest = 0;
+        for (double velocity : wheelVelocities) {
+            fastest = Math.max(fastest, Math.abs(velocity));
+        }
+        if (fastest > maxWheelVelocity) {
+            for (int i = 0; i < wheelVelocities.length; i++) {
+                wheelVelocities[i] = wheelVelocities[i] / fastest * maxWheelVelocity;
+            }
+        }
+
+        long now = clock.getAsLong();
+        double dt = (now - lastVelocityUpdate) / 1E9;
+        lastVelocityUpdate = now;
+        if (!velocityStarted || dt <= 0 || dt > kMaxVelocityPeriod) {
+            // without a usable time step there is no acceleration, integral or derivative
+            dt = 0;
+            velocityStarted = true;
+        }
+
+        for (int i = 0; i < wheelVelocities.length; i++) {
+            double target = wheelVelocities[i];
+            double error = target - measuredVelocities[i];
+            double acceleration = 0, derivative = 0;
+            if (dt > 0) {
+                acceleration = (target - previousTargets[i]) / dt;
+                derivative = (error - previousErrors[i]) / dt;
+                errorIntegrals[i] += error * dt;
+            } else {
+                errorIntegrals[i] = 0;
+            }
+            previousTargets[i] = target;
+            previousErrors[i] = error;
+
+            double power = wheelFeedforward.calculate(target, acceleration)
+                    + velocityKp * error + velocityKi * errorIntegrals[i] + velocityKd * derivative;
+            wheelVelocities[i] = Math.max(-1, Math.min(1, power));
+        }
+    }
+
     /**
      * Normalize the wheel speeds
      */
@@ -113,6 +361,29 @@ public abstract class RobotDrive {
 
     }
 
+    /**
+     * Sets the wheel speeds of a four wheel holonomic drive, such as mecanum, that
+     * move the robot in a direction. The speeds are scaled so the fastest wheel goes
+     * at the length of the direction vector, the same as taking the sine of the
+     * direction plus and minus 45 degrees and normalizing to the length.
+     *
+     * @param x           the right component of the direction
+     * @param y           the forward component of the direction
+     * @param wheelSpeeds the array to write the speeds to, indexed by {@link MotorType}
+     */
+    protected void holonomicWheelSpeeds(double x, double y, double[] wheelSpeeds) {
+        // sin(theta + pi/4) and sin(theta - pi/4) are (y + x) and (y - x) up to a common factor
+        double diagonal = y + x;
+        double antiDiagonal = y - x;
+        double maxMagnitude = Math.max(Math.abs(diagonal), Math.abs(antiDiagonal));
+        double scale = maxMagnitude == 0 ? 0 : Math.hypot(x, y) / maxMagnitude;
+
+        wheelSpeeds[MotorType.kFrontLeft.value] = diagonal * scale;
+        wheelSpeeds[MotorType.kFrontRight.value] = antiDiagonal * scale;
+        wheelSpeeds[MotorType.kBackLeft.value] = antiDiagonal * scale;
+        wheelSpeeds[MotorType.kBackRight.value] = diagonal * scale;
+    }
+
     /**
      * Square magnitude of number while keeping the sign.
      */
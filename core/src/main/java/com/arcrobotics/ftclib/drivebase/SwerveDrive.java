@@ -0,0 +1,159 @@
+package com.arcrobotics.ftclib.drivebase;
+
+import com.arcrobotics.ftclib.geometry.Translation2d;
+import com.arcrobotics.ftclib.kinematics.wpilibkinematics.ChassisSpeeds;
+import com.arcrobotics.ftclib.kinematics.wpilibkinematics.SwerveDriveKinematics;
+
+/**
+ * A swerve drivebase, where every wheel is a {@link SwerveModule} that can be
+ * steered on its own. The drive methods are meant to be called in a loop, like
+ * the ones of {@link MecanumDrive}, and do not allocate.
+ *
+ * <p>The module speeds come from {@link SwerveDriveKinematics}. When a module would
+ * have to go faster than it can, all of them are slowed down by the same ratio so
+ * the robot still moves in the requested direction.</p>
+ */
+public class SwerveDrive extends RobotDrive implements VelocityDrive {
+
+    private final SwerveModule[] modules;
+    private final SwerveDriveKinematics kinematics;
+    private final double maxModuleSpeed;
+    // the turn rate at which the module furthest from the center goes at full speed
+    private final double maxAngularSpeed;
+
+    private final double[] moduleSpeeds;
+    private final double[] moduleAngles;
+    private final double[] measuredVelocities;
+
+    /**
+     * @param maxModuleSpeed the fastest a module can drive, in the units of the module locations per second
+     * @param modules        the modules of the robot
+     */
+    public SwerveDrive(double maxModuleSpeed, SwerveModule... modules) {
+        if (maxModuleSpeed <= 0) {
+            throw new IllegalArgumentException("The max module speed must be positive");
+        }
+        this.modules = modules.clone();
+        this.maxModuleSpeed = maxModuleSpeed;
+
+        Translation2d[] locations = new Translation2d[modules.length];
+        double maxRadius = 0;
+        for (int i = 0; i < modules.length; i++) {
+            locations[i] = modules[i].getLocation();
+            maxRadius = Math.max(maxRadius, locations[i].getNorm());
+        }
+        kinematics = new SwerveDriveKinematics(locations);
+        maxAngularSpeed = maxRadius > 0 ? maxModuleSpeed / maxRadius : maxModuleSpeed;
+
+        moduleSpeeds = new double[modules.length];
+        moduleAngles = new double[modules.length];
+        measuredVelocities = new double[modules.length];
+    }
+
+    /**
+     * @return the kinematics built from the module locations
+     */
+    public SwerveDriveKinematics getKinematics() {
+        return kinematics;
+    }
+
+    /**
+     * Drives the robot from the perspective of the robot itself rather than that
+     * of the driver.
+     *
+     * @param strafeSpeed  the horizontal speed of the robot, derived from input
+     * @param forwardSpeed the vertical speed of the robot, derived from input
+     * @param turnSpeed    the turn speed of the robot, derived from input
+     */
+    public void driveRobotCentric(double strafeSpeed, double forwardSpeed, double turnSpeed) {
+        driveFieldCentric(strafeSpeed, forwardSpeed, turnSpeed, 0.0);
+    }
+
+    /**
+     * Drives the robot from the perspective of the driver. No matter the orientation of the
+     * robot, pushing forward on the drive stick will always drive the robot away
+     * from the driver.
+     *
+     * @param strafeSpeed  the horizontal speed of the robot, derived from input
+     * @param forwardSpeed the vertical speed of the robot, derived from input
+     * @param turnSpeed    the turn speed of the robot, derived from input
+     * @param gyroAngle    the heading of the robot in degrees, derived from the gyro
+     */
+    public void driveFieldCentric(double strafeSpeed, double forwardSpeed,
+                                  double turnSpeed, double gyroAngle) {
+        strafeSpeed = clipRange(strafeSpeed);
+        forwardSpeed = clipRange(forwardSpeed);
+        turnSpeed = clipRange(turnSpeed);
+
+        double angle = Math.toRadians(-gyroAngle);
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        double strafe = strafeSpeed * cos - forwardSpeed * sin;
+        double forward = strafeSpeed * sin + forwardSpeed * cos;
+
+        double[] limited = limitAcceleration(strafe, forward, turnSpeed);
+        strafe = limited[kStrafe];
+        forward = limited[kForward];
+        turnSpeed = limited[kTurn];
+
+        // the inputs are right and clockwise positive, the kinematics left and counterclockwise
+        drive(forward * maxModuleSpeed, -strafe * maxModuleSpeed, -turnSpeed * maxAngularSpeed);
+    }
+
+    /**
+     * Drives the robot at a velocity relative to itself.
+     *
+     * @param vx    the forward velocity, in the units of the module locations per second
+     * @param vy    the velocity to the left
+     * @param omega the counterclockwise turn rate in radians per second
+     */
+    public void drive(double vx, double vy, double omega) {
+        kinematics.toSwerveModuleStates(vx, vy, omega, 0, 0, moduleSpeeds, moduleAngles);
+        SwerveDriveKinematics.normalizeWheelSpeeds(moduleSpeeds, maxModuleSpeed);
+        for (int i = 0; i < modules.length; i++) {
+            modules[i].set(moduleSpeeds[i] / maxModuleSpeed * maxOutput, moduleAngles[i]);
+        }
+    }
+
+    /**
+     * Drives the robot at a velocity relative to itself. Once {@link #setVelocityControl}
+     * has been called, the speed of each module along the direction its wheel points
+     * is held with closed loop control on the drive motor, whose encoder rate has to be
+     * in the units of the module locations. Until then, the module speeds are turned into
+     * drive power in proportion to the max module speed, like {@link #drive(double, double, double)}.
+     *
+     * @param chassisSpeeds the velocity of the robot
+     */
+    @Override
+    public void drive(ChassisSpeeds chassisSpeeds) {
+        if (!hasVelocityControl()) {
+            drive(chassisSpeeds.vxMetersPerSecond, chassisSpeeds.vyMetersPerSecond,
+                    chassisSpeeds.omegaRadiansPerSecond);
+            return;
+        }
+        kinematics.toSwerveModuleStates(chassisSpeeds.vxMetersPerSecond, chassisSpeeds.vyMetersPerSecond,
+                chassisSpeeds.omegaRadiansPerSecond, 0, 0, moduleSpeeds, moduleAngles);
+        for (int i = 0; i < modules.length; i++) {
+            moduleSpeeds[i] = modules[i].steer(moduleSpeeds[i], moduleAngles[i]);
+            measuredVelocities[i] = modules[i].getDriveRate();
+        }
+
+        velocitiesToPowers(moduleSpeeds, measuredVelocities);
+
+        for (int i = 0; i < modules.length; i++) {
+            modules[i].setDrivePower(moduleSpeeds[i]);
+        }
+    }
+
+    /**
+     * Stops all the modules.
+     */
+    @Override
+    public void stop() {
+        for (SwerveModule module : modules) {
+            module.stop();
+        }
+        resetAccelerationLimiter();
+    }
+
+}
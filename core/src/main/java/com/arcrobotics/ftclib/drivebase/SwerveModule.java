@@ -0,0 +1,182 @@
+package com.arcrobotics.ftclib.drivebase;
+
+import com.arcrobotics.ftclib.controller.PIDFController;
+import com.arcrobotics.ftclib.geometry.Translation2d;
+import com.arcrobotics.ftclib.hardware.motors.Motor;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * One module of a {@link SwerveDrive}: a drive motor, a steering motor or
+ * {@link com.arcrobotics.ftclib.hardware.motors.CRServo}, and an absolute encoder
+ * that measures the angle of the wheel.
+ *
+ * <p>The module turns the wheel the shorter way to its target, driving backwards
+ * instead of turning more than a quarter turn. A motor is only written to when its
+ * power changes by more than the write tolerance, so the drive motor should be in
+ * {@link Motor.RunMode#RawPower}, where a write is only needed to change the power.</p>
+ */
+public class SwerveModule {
+
+    public static final double kDefaultWriteTolerance = 1E-3;
+
+    // below this speed the wheel keeps its angle instead of turning to face forward
+    private static final double kStoppedSpeed = 1E-6;
+
+    private final Translation2d m_location;
+    private final Motor m_drive, m_steer;
+    private final DoubleSupplier m_absoluteAngle;
+    private final PIDFController m_steerController;
+
+    private double m_angleOffset;
+    private double m_targetAngle;
+    private double m_writeTolerance = kDefaultWriteTolerance;
+    private double m_lastDrivePower = Double.NaN, m_lastSteerPower = Double.NaN;
+
+    /**
+     * @param location        where the module is relative to the center of the robot
+     * @param drive           the motor that spins the wheel
+     * @param steer           the motor or servo that turns the wheel, counterclockwise for positive power
+     * @param absoluteAngle   supplies the angle of the wheel in radians, counterclockwise positive
+     * @param steerController turns the angle error in radians into steering power
+     */
+    public SwerveModule(Translation2d location, Motor drive, Motor steer,
+                        DoubleSupplier absoluteAngle, PIDFController steerController) {
+        m_location = location;
+        m_drive = drive;
+        m_steer = steer;
+        m_absoluteAngle = absoluteAngle;
+        m_steerController = steerController;
+    }
+
+    /**
+     * Creates a module that steers with proportional control.
+     *
+     * @param location      where the module is relative to the center of the robot
+     * @param drive         the motor that spins the wheel
+     * @param steer         the motor or servo that turns the wheel, counterclockwise for positive power
+     * @param absoluteAngle supplies the angle of the wheel in radians, counterclockwise positive
+     * @param kP            the steering power per radian of error
+     */
+    public SwerveModule(Translation2d location, Motor drive, Motor steer,
+                        DoubleSupplier absoluteAngle, double kP) {
+        this(location, drive, steer, absoluteAngle, new PIDFController(kP, 0, 0, 0));
+    }
+
+    /**
+     * @return where the module is relative to the center of the robot
+     */
+    public Translation2d getLocation() {
+        return m_location;
+    }
+
+    /**
+     * Sets the encoder angle at which the wheel points forward.
+     *
+     * @param offsetRadians the encoder reading when the wheel points forward
+     */
+    public void setAngleOffset(double offsetRadians) {
+        m_angleOffset = offsetRadians;
+    }
+
+    /**
+     * Sets how much the power of a motor has to change before it is written again.
+     *
+     * @param tolerance the smallest change in power that is written, 0 to write every change
+     */
+    public void setWriteTolerance(double tolerance) {
+        if (tolerance < 0) {
+            throw new IllegalArgumentException("The write tolerance cannot be negative");
+        }
+        m_writeTolerance = tolerance;
+    }
+
+    /**
+     * @return the angle of the wheel in radians, where 0 is forward
+     */
+    public double getAngle() {
+        return m_absoluteAngle.getAsDouble() - m_angleOffset;
+    }
+
+    /**
+     * Drives the wheel at a power and turns it toward an angle.
+     *
+     * @param power        the drive power from -1 to 1
+     * @param angleRadians the angle the wheel should point at, where 0 is forward
+     */
+    public void set(double power, double angleRadians) {
+        writeDrive(steer(power, angleRadians));
+    }
+
+    /**
+     * Turns the wheel toward an angle without driving it. Use this with
+     * {@link #setDrivePower} to run the drive motor with closed loop control.
+     *
+     * @param speed        the speed the wheel should go at toward the angle
+     * @param angleRadians the angle the wheel should point at, where 0 is forward
+     * @return the part of the speed along the direction the wheel points now
+     */
+    public double steer(double speed, double angleRadians) {
+        if (Math.abs(speed) < kStoppedSpeed) {
+            speed = 0;
+            angleRadians = m_targetAngle;
+        }
+        m_targetAngle = angleRadians;
+
+        double error = Math.IEEEremainder(angleRadians - getAngle(), 2 * Math.PI);
+        // turning the wheel around is the same as driving it backwards
+        double steerError = Math.abs(error) > Math.PI / 2
+                ? Math.IEEEremainder(error + Math.PI, 2 * Math.PI) : error;
+
+        // the error is already wrapped, so it is given to the controller as its setpoint
+        double steerPower = m_steerController.calculate(0, steerError);
+        writeSteer(Math.max(-1, Math.min(1, steerPower)));
+        // only the part of the speed along the wheel moves the robot the way it should go
+        return speed * Math.cos(error);
+    }
+
+    /**
+     * Sets the power of the drive motor, for example from closed loop control of
+     * the speed returned by {@link #steer}.
+     *
+     * @param power the drive power from -1 to 1
+     */
+    public void setDrivePower(double power) {
+        writeDrive(power);
+    }
+
+    /**
+     * @return the rate of the drive motor encoder
+     */
+    public double getDriveRate() {
+        return m_drive.getRate();
+    }
+
+    /**
+     * Stops both motors. The wheel keeps its target angle.
+     */
+    public void stop() {
+        writeDrive(0);
+        writeSteer(0);
+    }
+
+    private void writeDrive(double power) {
+        if (!(Math.abs(power - m_lastDrivePower) <= m_writeTolerance) || isStop(power, m_lastDrivePower)) {
+            m_drive.set(power);
+            m_lastDrivePower = power;
+        }
+    }
+
+    private void writeSteer(double power) {
+        if (!(Math.abs(power - m_lastSteerPower) <= m_writeTolerance) || isStop(power, m_lastSteerPower)) {
+            m_steer.set(power);
+            m_lastSteerPower = power;
+        }
+    }
+
+    // a stop is always written, so a motor never keeps a small power that was within the tolerance
+    private static boolean isStop(double power, double lastPower) {
+        return power == 0 && lastPower != 0;
+    }
+
+}
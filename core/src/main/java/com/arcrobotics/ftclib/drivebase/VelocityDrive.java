@@ -0,0 +1,19 @@
+package com.arcrobotics.ftclib.drivebase;
+
+import com.arcrobotics.ftclib.kinematics.wpilibkinematics.ChassisSpeeds;
+
+/**
+ * A drivebase that can drive at a velocity, using its kinematics and the closed loop
+ * velocity control set up by {@link RobotDrive#setVelocityControl}.
+ */
+public interface VelocityDrive {
+
+    /**
+     * Drives the robot at a velocity relative to itself, using the kinematics of the
+     * drivebase and closed loop velocity control on every wheel.
+     *
+     * @param chassisSpeeds the velocity of the robot
+     */
+    void drive(ChassisSpeeds chassisSpeeds);
+
+}
@@ -2,6 +2,7 @@ package com.arcrobotics.ftclib.gamepad;
 
 import com.arcrobotics.ftclib.command.button.GamepadButton;
 import com.arcrobotics.ftclib.gamepad.GamepadKeys.Button;
+import com.arcrobotics.ftclib.util.Filter;
 import com.qualcomm.robotcore.hardware.Gamepad;
 
 import java.util.HashMap;
@@ -20,6 +21,9 @@ public class GamepadEx {
     private HashMap<Button, ButtonReader> buttonReaders;
     private HashMap<Button, GamepadButton> gamepadButtons;
 
+    private Filter leftXFilter, leftYFilter, rightXFilter, rightYFilter;
+    private double leftX, leftY, rightX, rightY;
+
     private final Button[] buttons = {
             Button.Y, Button.X, Button.A, Button.B, Button.LEFT_BUMPER, Button.RIGHT_BUMPER, Button.BACK,
             Button.START, Button.DPAD_UP, Button.DPAD_DOWN, Button.DPAD_LEFT, Button.DPAD_RIGHT,
@@ -121,28 +125,28 @@ public class GamepadEx {
      * @return the y-value on the left analog stick
      */
     public double getLeftY() {
-        return -gamepad.left_stick_y;
+        return leftYFilter == null ? -gamepad.left_stick_y : leftY;
     }
 
     /**
      * @return the y-value on the right analog stick
      */
     public double getRightY() {
-        return gamepad.right_stick_y;
+        return rightYFilter == null ? gamepad.right_stick_y : rightY;
     }
 
     /**
      * @return the x-value on the left analog stick
      */
     public double getLeftX() {
-        return gamepad.left_stick_x;
+        return leftXFilter == null ? gamepad.left_stick_x : leftX;
     }
 
     /**
      * @return the x-value on the right analog stick
      */
     public double getRightX() {
-        return gamepad.right_stick_x;
+        return rightXFilter == null ? gamepad.right_stick_x : rightX;
     }
 
     /**
@@ -173,6 +177,43 @@ public class GamepadEx {
         for (Button button : buttons) {
             buttonReaders.get(button).readValue();
         }
+        if (leftXFilter != null) {
+            leftX = leftXFilter.calculate(gamepad.left_stick_x);
+        }
+        if (leftYFilter != null) {
+            leftY = leftYFilter.calculate(-gamepad.left_stick_y);
+        }
+        if (rightXFilter != null) {
+            rightX = rightXFilter.calculate(gamepad.right_stick_x);
+        }
+        if (rightYFilter != null) {
+            rightY = rightYFilter.calculate(gamepad.right_stick_y);
+        }
+    }
+
+    /**
+     * Sets filters for the left stick, such as a {@link com.arcrobotics.ftclib.util.SlewRateLimiter}.
+     * The filters are run in {@link #readButtons()}, and the stick getters return the
+     * filtered values from the last call.
+     *
+     * @param xFilter the filter of the x-value, or null to leave it unfiltered
+     * @param yFilter the filter of the y-value, or null to leave it unfiltered
+     */
+    public void setLeftStickFilters(Filter xFilter, Filter yFilter) {
+        leftXFilter = xFilter;
+        leftYFilter = yFilter;
+    }
+
+    /**
+     * Sets filters for the right stick. The filters are run in {@link #readButtons()},
+     * and the stick getters return the filtered values from the last call.
+     *
+     * @param xFilter the filter of the x-value, or null to leave it unfiltered
+     * @param yFilter the filter of the y-value, or null to leave it unfiltered
+     */
+    public void setRightStickFilters(Filter xFilter, Filter yFilter) {
+        rightXFilter = xFilter;
+        rightYFilter = yFilter;
     }
 
     /**
@@ -0,0 +1,294 @@
+package com.arcrobotics.ftclib.geometry;
+
+/**
+ * A mutable counterpart of {@link Pose2d} for odometry and path following
+ * loops. Every operation writes into this pose (or a destination pose) and
+ * returns it, so nothing is allocated per update. Use {@link #toPose2d()} when
+ * an immutable snapshot is needed.
+ */
+public class MutablePose2d {
+    private final MutableTranslation2d m_translation = new MutableTranslation2d();
+    private final MutableRotation2d m_rotation = new MutableRotation2d();
+
+    /**
+     * Constructs a pose at the origin facing toward the positive X axis.
+     */
+    public MutablePose2d() {
+    }
+
+    /**
+     * Constructs a pose with the given position and heading.
+     *
+     * @param x       The x component of the pose.
+     * @param y       The y component of the pose.
+     * @param heading The heading of the pose in radians.
+     */
+    public MutablePose2d(double x, double y, double heading) {
+        set(x, y, heading);
+    }
+
+    /**
+     * Constructs a MutablePose2d with the same position and heading as the
+     * given pose.
+     *
+     * @param pose The pose to copy.
+     */
+    public MutablePose2d(Pose2d pose) {
+        set(pose);
+    }
+
+    /**
+     * Sets the position and heading of the pose.
+     *
+     * @param x       The x component of the pose.
+     * @param y       The y component of the pose.
+     * @param heading The heading of the pose in radians.
+     * @return This pose.
+     */
+    public MutablePose2d set(double x, double y, double heading) {
+        m_translation.set(x, y);
+        m_rotation.set(heading);
+        return this;
+    }
+
+    /**
+     * Copies the given pose into this one.
+     *
+     * @param other The pose to copy.
+     * @return This pose.
+     */
+    public MutablePose2d set(Pose2d other) {
+        m_translation.set(other.getTranslation());
+        m_rotation.set(other.getRotation());
+        return this;
+    }
+
+    /**
+     * Copies the given pose into this one.
+     *
+     * @param other The pose to copy.
+     * @return This pose.
+     */
+    public MutablePose2d set(MutablePose2d other) {
+        m_translation.set(other.m_translation);
+        m_rotation.set(other.m_rotation);
+        return this;
+    }
+
+    /**
+     * Transforms this pose by a transformation given in the pose's own frame.
+     * See {@link Pose2d#plus(Transform2d)} for the matrix multiplication
+     * performed.
+     *
+     * @param x   The x component of the transformation.
+     * @param y   The y component of the transformation.
+     * @param cos The cosine of the rotation of the transformation.
+     * @param sin The sine of the rotation of the transformation.
+     * @return This pose.
+     */
+    @SuppressWarnings("ParameterName")
+    public MutablePose2d plusInPlace(double x, double y, double cos, double sin) {
+        m_translation.plusInPlace(
+                x * m_rotation.getCos() - y * m_rotation.getSin(),
+                x * m_rotation.getSin() + y * m_rotation.getCos()
+        );
+        m_rotation.rotateByInPlace(cos, sin);
+        return this;
+    }
+
+    /**
+     * Transforms this pose by the given transformation.
+     *
+     * @param other The transform to transform the pose by.
+     * @return This pose.
+     */
+    public MutablePose2d plusInPlace(Transform2d other) {
+        Translation2d translation = other.getTranslation();
+        Rotation2d rotation = other.getRotation();
+        return plusInPlace(translation.getX(), translation.getY(), rotation.getCos(), rotation.getSin());
+    }
+
+    /**
+     * Transforms this pose by the given transformation.
+     *
+     * @param other The transform to transform the pose by.
+     * @return This pose.
+     */
+    public MutablePose2d plusInPlace(MutableTransform2d other) {
+        MutableTranslation2d translation = other.getTranslation();
+        MutableRotation2d rotation = other.getRotation();
+        return plusInPlace(translation.getX(), translation.getY(), rotation.getCos(), rotation.getSin());
+    }
+
+    /**
+     * Moves this pose forward along a constant curvature arc. This is the
+     * in-place form of {@link Pose2d#exp(Twist2d)}.
+     *
+     * @param dx     Change in x direction relative to the robot.
+     * @param dy     Change in y direction relative to the robot.
+     * @param dtheta Change in angle relative to the robot.
+     * @return This pose.
+     */
+    public MutablePose2d expInPlace(double dx, double dy, double dtheta) {
+        double sinTheta = Math.sin(dtheta);
+        double cosTheta = Math.cos(dtheta);
+
+        double s;
+        double c;
+        if (Math.abs(dtheta) < 1E-9) {
+            s = 1.0 - 1.0 / 6.0 * dtheta * dtheta;
+            c = 0.5 * dtheta;
+        } else {
+            s = sinTheta / dtheta;
+            c = (1 - cosTheta) / dtheta;
+        }
+        return plusInPlace(dx * s - dy * c, dx * c + dy * s, cosTheta, sinTheta);
+    }
+
+    /**
+     * Moves this pose forward along a constant curvature arc.
+     *
+     * @param twist The change in pose in the robot's coordinate frame.
+     * @return This pose.
+     */
+    public MutablePose2d expInPlace(Twist2d twist) {
+        return expInPlace(twist.dx, twist.dy, twist.dtheta);
+    }
+
+    /**
+     * Writes the pose reached by following the twist from this pose into
+     * {@code dest}. This pose is left unchanged unless it is the destination.
+     *
+     * @param twist The change in pose in the robot's coordinate frame.
+     * @param dest  The pose to write the result into.
+     * @return The destination pose.
+     */
+    public MutablePose2d exp(Twist2d twist, MutablePose2d dest) {
+        return dest.set(this).expInPlace(twist);
+    }
+
+    /**
+     * Writes this pose relative to the given origin into {@code dest}.
+     * See {@link Pose2d#relativeTo(Pose2d)}.
+     *
+     * @param origin The pose that is the origin of the new coordinate frame.
+     * @param dest   The pose to write the result into. May be either input.
+     * @return The destination pose.
+     */
+    public MutablePose2d relativeTo(MutablePose2d origin, MutablePose2d dest) {
+        double originCos = origin.m_rotation.getCos();
+        double originSin = origin.m_rotation.getSin();
+        double x = m_translation.getX() - origin.m_translation.getX();
+        double y = m_translation.getY() - origin.m_translation.getY();
+        double cos = m_rotation.getCos();
+        double sin = m_rotation.getSin();
+
+        dest.m_translation.set(x, y).rotateByInPlace(originCos, -originSin);
+        dest.m_rotation.set(cos, sin).rotateByInPlace(originCos, -originSin);
+        return dest;
+    }
+
+    /**
+     * Writes the twist that maps this pose to the end pose into {@code dest}.
+     * See {@link Pose2d#log(Pose2d)}.
+     *
+     * @param end  The end pose for the transformation.
+     * @param dest The twist to write the result into.
+     * @return The destination twist.
+     */
+    public Twist2d log(MutablePose2d end, Twist2d dest) {
+        double originCos = m_rotation.getCos();
+        double originSin = m_rotation.getSin();
+        double x = end.m_translation.getX() - m_translation.getX();
+        double y = end.m_translation.getY() - m_translation.getY();
+        double localX = x * originCos + y * originSin;
+        double localY = -x * originSin + y * originCos;
+
+        double cos = end.m_rotation.getCos() * originCos + end.m_rotation.getSin() * originSin;
+        double sin = end.m_rotation.getSin() * originCos - end.m_rotation.getCos() * originSin;
+        double dtheta = Math.atan2(sin, cos);
+        double halfDtheta = dtheta / 2.0;
+        double cosMinusOne = Math.cos(dtheta) - 1;
+
+        double halfThetaByTanOfHalfDtheta;
+        if (Math.abs(cosMinusOne) < 1E-9) {
+            halfThetaByTanOfHalfDtheta = 1.0 - 1.0 / 12.0 * dtheta * dtheta;
+        } else {
+            halfThetaByTanOfHalfDtheta = -(halfDtheta * Math.sin(dtheta)) / cosMinusOne;
+        }
+
+        // rotate by (halfThetaByTanOfHalfDtheta, -halfDtheta) and scale by its norm,
+        // which is a plain complex multiplication
+        dest.dx = localX * halfThetaByTanOfHalfDtheta + localY * halfDtheta;
+        dest.dy = -localX * halfDtheta + localY * halfThetaByTanOfHalfDtheta;
+        dest.dtheta = dtheta;
+        return dest;
+    }
+
+    /**
+     * Rotates the heading of this pose in place. See {@link Pose2d#rotate(double)}.
+     *
+     * @param deltaTheta The angle to rotate by in radians.
+     * @return This pose.
+     */
+    public MutablePose2d rotateInPlace(double deltaTheta) {
+        m_rotation.set(m_rotation.getRadians() + deltaTheta);
+        return this;
+    }
+
+    /**
+     * Returns the translation component of the pose. Changes to the returned
+     * object change this pose.
+     *
+     * @return The translational component of the pose.
+     */
+    public MutableTranslation2d getTranslation() {
+        return m_translation;
+    }
+
+    /**
+     * Returns the rotational component of the pose. Changes to the returned
+     * object change this pose.
+     *
+     * @return The rotational component of the pose.
+     */
+    public MutableRotation2d getRotation() {
+        return m_rotation;
+    }
+
+    /**
+     * @return the x component of the pose
+     */
+    public double getX() {
+        return m_translation.getX();
+    }
+
+    /**
+     * @return the y component of the pose
+     */
+    public double getY() {
+        return m_translation.getY();
+    }
+
+    /**
+     * @return the heading of the pose in radians
+     */
+    public double getHeading() {
+        return m_rotation.getRadians();
+    }
+
+    /**
+     * Creates an immutable copy of this pose.
+     *
+     * @return A new {@link Pose2d} with the same position and heading.
+     */
+    public Pose2d toPose2d() {
+        return new Pose2d(m_translation.getX(), m_translation.getY(), m_rotation.toRotation2d());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MutablePose2d(%s, %s)", m_translation, m_rotation);
+    }
+
+}
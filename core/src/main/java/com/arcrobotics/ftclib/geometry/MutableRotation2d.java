@@ -0,0 +1,222 @@
+package com.arcrobotics.ftclib.geometry;
+
+/**
+ * A mutable counterpart of {@link Rotation2d} for control loops that run
+ * every cycle. Every operation writes into this object and returns it, so
+ * calls can be chained without creating garbage.
+ *
+ * <p>The angle is kept bounded between -pi and pi, the same as the results of
+ * {@link Rotation2d#plus(Rotation2d)} and {@link Rotation2d#minus(Rotation2d)}.
+ */
+public class MutableRotation2d {
+    private double m_value;
+    private double m_cos;
+    private double m_sin;
+
+    /**
+     * Constructs a MutableRotation2d with a default angle of 0 degrees.
+     */
+    public MutableRotation2d() {
+        m_value = 0.0;
+        m_cos = 1.0;
+        m_sin = 0.0;
+    }
+
+    /**
+     * Constructs a MutableRotation2d with the given radian value.
+     *
+     * @param value The value of the angle in radians.
+     */
+    public MutableRotation2d(double value) {
+        set(value);
+    }
+
+    /**
+     * Constructs a MutableRotation2d with the same angle as the given rotation.
+     *
+     * @param rotation The rotation to copy.
+     */
+    public MutableRotation2d(Rotation2d rotation) {
+        set(rotation);
+    }
+
+    /**
+     * Sets the angle to the given radian value.
+     *
+     * @param value The value of the angle in radians.
+     * @return This rotation.
+     */
+    public MutableRotation2d set(double value) {
+        while (value > Math.PI) value -= 2 * Math.PI;
+        while (value < -Math.PI) value += 2 * Math.PI;
+        m_value = value;
+        m_cos = Math.cos(value);
+        m_sin = Math.sin(value);
+        return this;
+    }
+
+    /**
+     * Sets the angle from the given x and y (cosine and sine) components.
+     * The x and y don't have to be normalized.
+     *
+     * @param x The x component or cosine of the rotation.
+     * @param y The y component or sine of the rotation.
+     * @return This rotation.
+     */
+    @SuppressWarnings("ParameterName")
+    public MutableRotation2d set(double x, double y) {
+        double magnitude = Math.hypot(x, y);
+        if (magnitude > 1e-6) {
+            m_sin = y / magnitude;
+            m_cos = x / magnitude;
+        } else {
+            m_sin = 0.0;
+            m_cos = 1.0;
+        }
+        m_value = Math.atan2(m_sin, m_cos);
+        return this;
+    }
+
+    /**
+     * Copies the given rotation into this one.
+     *
+     * @param other The rotation to copy.
+     * @return This rotation.
+     */
+    public MutableRotation2d set(Rotation2d other) {
+        m_value = other.getRadians();
+        m_cos = other.getCos();
+        m_sin = other.getSin();
+        return this;
+    }
+
+    /**
+     * Copies the given rotation into this one.
+     *
+     * @param other The rotation to copy.
+     * @return This rotation.
+     */
+    public MutableRotation2d set(MutableRotation2d other) {
+        m_value = other.m_value;
+        m_cos = other.m_cos;
+        m_sin = other.m_sin;
+        return this;
+    }
+
+    /**
+     * Rotates this rotation by the rotation with the given cosine and sine.
+     * See {@link Rotation2d#rotateBy(Rotation2d)} for the matrix multiplication
+     * performed.
+     *
+     * @param cos The cosine of the rotation to rotate by.
+     * @param sin The sine of the rotation to rotate by.
+     * @return This rotation.
+     */
+    public MutableRotation2d rotateByInPlace(double cos, double sin) {
+        return set(
+                m_cos * cos - m_sin * sin,
+                m_cos * sin + m_sin * cos
+        );
+    }
+
+    /**
+     * Rotates this rotation by the given angle.
+     *
+     * @param radians The angle to rotate by in radians.
+     * @return This rotation.
+     */
+    public MutableRotation2d rotateByInPlace(double radians) {
+        return rotateByInPlace(Math.cos(radians), Math.sin(radians));
+    }
+
+    /**
+     * Adds the other rotation to this one.
+     *
+     * @param other The rotation to add.
+     * @return This rotation.
+     */
+    public MutableRotation2d plusInPlace(Rotation2d other) {
+        return rotateByInPlace(other.getCos(), other.getSin());
+    }
+
+    /**
+     * Adds the other rotation to this one.
+     *
+     * @param other The rotation to add.
+     * @return This rotation.
+     */
+    public MutableRotation2d plusInPlace(MutableRotation2d other) {
+        return rotateByInPlace(other.m_cos, other.m_sin);
+    }
+
+    /**
+     * Subtracts the other rotation from this one.
+     *
+     * @param other The rotation to subtract.
+     * @return This rotation.
+     */
+    public MutableRotation2d minusInPlace(Rotation2d other) {
+        return rotateByInPlace(other.getCos(), -other.getSin());
+    }
+
+    /**
+     * Subtracts the other rotation from this one.
+     *
+     * @param other The rotation to subtract.
+     * @return This rotation.
+     */
+    public MutableRotation2d minusInPlace(MutableRotation2d other) {
+        return rotateByInPlace(other.m_cos, -other.m_sin);
+    }
+
+    /**
+     * Returns the radian value of the rotation.
+     *
+     * @return The radian value of the rotation.
+     */
+    public double getRadians() {
+        return m_value;
+    }
+
+    /**
+     * Returns the degree value of the rotation.
+     *
+     * @return The degree value of the rotation.
+     */
+    public double getDegrees() {
+        return Math.toDegrees(m_value);
+    }
+
+    /**
+     * Returns the cosine of the rotation.
+     *
+     * @return The cosine of the rotation.
+     */
+    public double getCos() {
+        return m_cos;
+    }
+
+    /**
+     * Returns the sine of the rotation.
+     *
+     * @return The sine of the rotation.
+     */
+    public double getSin() {
+        return m_sin;
+    }
+
+    /**
+     * Creates an immutable copy of this rotation.
+     *
+     * @return A new {@link Rotation2d} with the same angle.
+     */
+    public Rotation2d toRotation2d() {
+        return new Rotation2d(m_value);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MutableRotation2d(Rads: %.2f, Deg: %.2f)", m_value, Math.toDegrees(m_value));
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.arcrobotics.ftclib.geometry;
+
+/**
+ * A mutable counterpart of {@link Transform2d}.
+ */
+public class MutableTransform2d {
+    private final MutableTranslation2d m_translation = new MutableTranslation2d();
+    private final MutableRotation2d m_rotation = new MutableRotation2d();
+
+    /**
+     * Constructs the identity transform.
+     */
+    public MutableTransform2d() {
+    }
+
+    /**
+     * Constructs a MutableTransform2d with the same components as the given
+     * transform.
+     *
+     * @param transform The transform to copy.
+     */
+    public MutableTransform2d(Transform2d transform) {
+        set(transform);
+    }
+
+    /**
+     * Sets the components of the transform.
+     *
+     * @param x        The x component of the translation.
+     * @param y        The y component of the translation.
+     * @param rotation The rotation in radians.
+     * @return This transform.
+     */
+    public MutableTransform2d set(double x, double y, double rotation) {
+        m_translation.set(x, y);
+        m_rotation.set(rotation);
+        return this;
+    }
+
+    /**
+     * Copies the given transform into this one.
+     *
+     * @param other The transform to copy.
+     * @return This transform.
+     */
+    public MutableTransform2d set(Transform2d other) {
+        m_translation.set(other.getTranslation());
+        m_rotation.set(other.getRotation());
+        return this;
+    }
+
+    /**
+     * Sets this to the transform that maps the initial pose to the final pose.
+     * See {@link Transform2d#Transform2d(Pose2d, Pose2d)}.
+     *
+     * @param initial The initial pose for the transformation.
+     * @param last    The final pose for the transformation.
+     * @return This transform.
+     */
+    public MutableTransform2d set(MutablePose2d initial, MutablePose2d last) {
+        MutableRotation2d initialRotation = initial.getRotation();
+        m_translation.set(last.getTranslation())
+                .minusInPlace(initial.getTranslation())
+                .rotateByInPlace(initialRotation.getCos(), -initialRotation.getSin());
+        m_rotation.set(last.getRotation()).minusInPlace(initialRotation);
+        return this;
+    }
+
+    /**
+     * Returns the translation component of the transformation.
+     *
+     * @return The translational component of the transform.
+     */
+    public MutableTranslation2d getTranslation() {
+        return m_translation;
+    }
+
+    /**
+     * Returns the rotational component of the transformation.
+     *
+     * @return The rotational component of the transform.
+     */
+    public MutableRotation2d getRotation() {
+        return m_rotation;
+    }
+
+    /**
+     * Creates an immutable copy of this transform.
+     *
+     * @return A new {@link Transform2d} with the same components.
+     */
+    public Transform2d toTransform2d() {
+        return new Transform2d(m_translation.toTranslation2d(), m_rotation.toRotation2d());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MutableTransform2d(%s, %s)", m_translation, m_rotation);
+    }
+
+}
@@ -0,0 +1,227 @@
+package com.arcrobotics.ftclib.geometry;
+
+/**
+ * A mutable counterpart of {@link Translation2d}. Every operation writes into
+ * this object and returns it, so calls can be chained without creating garbage.
+ */
+public class MutableTranslation2d {
+    private double m_x;
+    private double m_y;
+
+    /**
+     * Constructs a MutableTranslation2d with X and Y components equal to zero.
+     */
+    public MutableTranslation2d() {
+    }
+
+    /**
+     * Constructs a MutableTranslation2d with the given X and Y components.
+     *
+     * @param x The x component of the translation.
+     * @param y The y component of the translation.
+     */
+    public MutableTranslation2d(double x, double y) {
+        set(x, y);
+    }
+
+    /**
+     * Constructs a MutableTranslation2d with the same components as the given
+     * translation.
+     *
+     * @param translation The translation to copy.
+     */
+    public MutableTranslation2d(Translation2d translation) {
+        set(translation);
+    }
+
+    /**
+     * Sets the X and Y components.
+     *
+     * @param x The x component of the translation.
+     * @param y The y component of the translation.
+     * @return This translation.
+     */
+    public MutableTranslation2d set(double x, double y) {
+        m_x = x;
+        m_y = y;
+        return this;
+    }
+
+    /**
+     * Copies the given translation into this one.
+     *
+     * @param other The translation to copy.
+     * @return This translation.
+     */
+    public MutableTranslation2d set(Translation2d other) {
+        return set(other.getX(), other.getY());
+    }
+
+    /**
+     * Copies the given translation into this one.
+     *
+     * @param other The translation to copy.
+     * @return This translation.
+     */
+    public MutableTranslation2d set(MutableTranslation2d other) {
+        return set(other.m_x, other.m_y);
+    }
+
+    /**
+     * Adds the given components to this translation.
+     *
+     * @param x The x component to add.
+     * @param y The y component to add.
+     * @return This translation.
+     */
+    public MutableTranslation2d plusInPlace(double x, double y) {
+        m_x += x;
+        m_y += y;
+        return this;
+    }
+
+    /**
+     * Adds the other translation to this one.
+     *
+     * @param other The translation to add.
+     * @return This translation.
+     */
+    public MutableTranslation2d plusInPlace(Translation2d other) {
+        return plusInPlace(other.getX(), other.getY());
+    }
+
+    /**
+     * Adds the other translation to this one.
+     *
+     * @param other The translation to add.
+     * @return This translation.
+     */
+    public MutableTranslation2d plusInPlace(MutableTranslation2d other) {
+        return plusInPlace(other.m_x, other.m_y);
+    }
+
+    /**
+     * Subtracts the other translation from this one.
+     *
+     * @param other The translation to subtract.
+     * @return This translation.
+     */
+    public MutableTranslation2d minusInPlace(Translation2d other) {
+        return plusInPlace(-other.getX(), -other.getY());
+    }
+
+    /**
+     * Subtracts the other translation from this one.
+     *
+     * @param other The translation to subtract.
+     * @return This translation.
+     */
+    public MutableTranslation2d minusInPlace(MutableTranslation2d other) {
+        return plusInPlace(-other.m_x, -other.m_y);
+    }
+
+    /**
+     * Rotates this translation counterclockwise by the rotation with the given
+     * cosine and sine. See {@link Translation2d#rotateBy(Rotation2d)}.
+     *
+     * @param cos The cosine of the rotation.
+     * @param sin The sine of the rotation.
+     * @return This translation.
+     */
+    public MutableTranslation2d rotateByInPlace(double cos, double sin) {
+        return set(m_x * cos - m_y * sin, m_x * sin + m_y * cos);
+    }
+
+    /**
+     * Rotates this translation counterclockwise by the given rotation.
+     *
+     * @param other The rotation to rotate by.
+     * @return This translation.
+     */
+    public MutableTranslation2d rotateByInPlace(Rotation2d other) {
+        return rotateByInPlace(other.getCos(), other.getSin());
+    }
+
+    /**
+     * Rotates this translation counterclockwise by the given rotation.
+     *
+     * @param other The rotation to rotate by.
+     * @return This translation.
+     */
+    public MutableTranslation2d rotateByInPlace(MutableRotation2d other) {
+        return rotateByInPlace(other.getCos(), other.getSin());
+    }
+
+    /**
+     * Multiplies this translation by a scalar.
+     *
+     * @param scalar The scalar to multiply by.
+     * @return This translation.
+     */
+    public MutableTranslation2d timesInPlace(double scalar) {
+        return set(m_x * scalar, m_y * scalar);
+    }
+
+    /**
+     * Calculates the distance to the point with the given components.
+     *
+     * @param x The x component of the other point.
+     * @param y The y component of the other point.
+     * @return The distance between the two points.
+     */
+    public double getDistance(double x, double y) {
+        return Math.hypot(x - m_x, y - m_y);
+    }
+
+    /**
+     * Calculates the distance between two translations.
+     *
+     * @param other The translation to compute the distance to.
+     * @return The distance between the two translations.
+     */
+    public double getDistance(Translation2d other) {
+        return getDistance(other.getX(), other.getY());
+    }
+
+    /**
+     * Returns the X component of the translation.
+     *
+     * @return The x component of the translation.
+     */
+    public double getX() {
+        return m_x;
+    }
+
+    /**
+     * Returns the Y component of the translation.
+     *
+     * @return The y component of the translation.
+     */
+    public double getY() {
+        return m_y;
+    }
+
+    /**
+     * Returns the norm, or distance from the origin to the translation.
+     *
+     * @return The norm of the translation.
+     */
+    public double getNorm() {
+        return Math.hypot(m_x, m_y);
+    }
+
+    /**
+     * Creates an immutable copy of this translation.
+     *
+     * @return A new {@link Translation2d} with the same components.
+     */
+    public Translation2d toTranslation2d() {
+        return new Translation2d(m_x, m_y);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MutableTranslation2d(X: %.2f, Y: %.2f)", m_x, m_y);
+    }
+
+}
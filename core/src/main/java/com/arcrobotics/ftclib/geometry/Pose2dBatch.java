@@ -0,0 +1,264 @@
+package com.arcrobotics.ftclib.geometry;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size batch of poses stored as parallel x, y, cosine and sine arrays.
+ *
+ * <p>This is meant for transforming many poses at once, such as every state of
+ * a trajectory when mirroring it for the other alliance. The bulk operations
+ * are plain loops over primitive arrays with no per-pose objects or branches,
+ * which keeps them cheap and lets the JIT vectorize them where it can.
+ *
+ * <p>Headings are kept as cosine and sine pairs, so rotations never need to be
+ * wrapped and {@link #getHeading(int)} is only computed when asked for.
+ */
+public class Pose2dBatch {
+    private final double[] m_x;
+    private final double[] m_y;
+    private final double[] m_cos;
+    private final double[] m_sin;
+
+    /**
+     * Constructs a batch of poses all at the origin facing toward the positive
+     * X axis.
+     *
+     * @param size the number of poses in the batch
+     */
+    public Pose2dBatch(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Batch size cannot be negative: " + size);
+        }
+        m_x = new double[size];
+        m_y = new double[size];
+        m_cos = new double[size];
+        m_sin = new double[size];
+        Arrays.fill(m_cos, 1.0);
+    }
+
+    /**
+     * Constructs a batch holding copies of the given poses.
+     *
+     * @param poses the poses to copy
+     */
+    public Pose2dBatch(Pose2d... poses) {
+        this(poses.length);
+        for (int i = 0; i < poses.length; i++) {
+            set(i, poses[i]);
+        }
+    }
+
+    /**
+     * @return the number of poses in the batch
+     */
+    public int size() {
+        return m_x.length;
+    }
+
+    /**
+     * Sets the pose at the given index.
+     *
+     * @param index the index of the pose
+     * @param pose  the pose to copy
+     * @return this batch
+     */
+    public Pose2dBatch set(int index, Pose2d pose) {
+        Rotation2d rotation = pose.getRotation();
+        return set(index, pose.getX(), pose.getY(), rotation.getCos(), rotation.getSin());
+    }
+
+    /**
+     * Sets the pose at the given index.
+     *
+     * @param index the index of the pose
+     * @param x     the x component of the pose
+     * @param y     the y component of the pose
+     * @param cos   the cosine of the heading
+     * @param sin   the sine of the heading
+     * @return this batch
+     */
+    @SuppressWarnings("ParameterName")
+    public Pose2dBatch set(int index, double x, double y, double cos, double sin) {
+        m_x[index] = x;
+        m_y[index] = y;
+        m_cos[index] = cos;
+        m_sin[index] = sin;
+        return this;
+    }
+
+    /**
+     * Creates a {@link Pose2d} from the pose at the given index.
+     *
+     * @param index the index of the pose
+     * @return a new pose
+     */
+    public Pose2d get(int index) {
+        return new Pose2d(m_x[index], m_y[index], new Rotation2d(m_cos[index], m_sin[index]));
+    }
+
+    /**
+     * Copies the pose at the given index into {@code dest}.
+     *
+     * @param index the index of the pose
+     * @param dest  the pose to write into
+     * @return the destination pose
+     */
+    public MutablePose2d get(int index, MutablePose2d dest) {
+        dest.getTranslation().set(m_x[index], m_y[index]);
+        dest.getRotation().set(m_cos[index], m_sin[index]);
+        return dest;
+    }
+
+    /**
+     * @param index the index of the pose
+     * @return the x component of the pose
+     */
+    public double getX(int index) {
+        return m_x[index];
+    }
+
+    /**
+     * @param index the index of the pose
+     * @return the y component of the pose
+     */
+    public double getY(int index) {
+        return m_y[index];
+    }
+
+    /**
+     * @param index the index of the pose
+     * @return the cosine of the heading of the pose
+     */
+    public double getCos(int index) {
+        return m_cos[index];
+    }
+
+    /**
+     * @param index the index of the pose
+     * @return the sine of the heading of the pose
+     */
+    public double getSin(int index) {
+        return m_sin[index];
+    }
+
+    /**
+     * @param index the index of the pose
+     * @return the heading of the pose in radians, bounded between -pi and pi
+     */
+    public double getHeading(int index) {
+        return Math.atan2(m_sin[index], m_cos[index]);
+    }
+
+    /**
+     * Applies a field-frame rigid transformation to every pose: each pose is
+     * rotated about the origin by the given rotation and then translated.
+     * <pre>
+     * [x_new]   [cos, -sin][x]   [dx]
+     * [y_new] = [sin,  cos][y] + [dy]
+     * heading_new = heading + rotation
+     * </pre>
+     *
+     * @param dx  the x component of the translation
+     * @param dy  the y component of the translation
+     * @param cos the cosine of the rotation
+     * @param sin the sine of the rotation
+     * @return this batch
+     */
+    public Pose2dBatch transformInPlace(double dx, double dy, double cos, double sin) {
+        final double[] xs = m_x, ys = m_y, coss = m_cos, sins = m_sin;
+        for (int i = 0; i < xs.length; i++) {
+            double x = xs[i];
+            double y = ys[i];
+            xs[i] = cos * x - sin * y + dx;
+            ys[i] = sin * x + cos * y + dy;
+        }
+        for (int i = 0; i < coss.length; i++) {
+            double c = coss[i];
+            double s = sins[i];
+            coss[i] = cos * c - sin * s;
+            sins[i] = sin * c + cos * s;
+        }
+        return this;
+    }
+
+    /**
+     * Moves every pose rigidly so that the pose {@code from} lands on the pose
+     * {@code to}. This is the bulk form of {@code to.plus(pose.minus(from))}.
+     *
+     * @param from the pose that defines the current frame
+     * @param to   the pose that {@code from} is moved onto
+     * @return this batch
+     */
+    public Pose2dBatch transformInPlace(Pose2d from, Pose2d to) {
+        Rotation2d fromRotation = from.getRotation();
+        Rotation2d toRotation = to.getRotation();
+        // rotation of to relative to from
+        double cos = toRotation.getCos() * fromRotation.getCos() + toRotation.getSin() * fromRotation.getSin();
+        double sin = toRotation.getSin() * fromRotation.getCos() - toRotation.getCos() * fromRotation.getSin();
+        double dx = to.getX() - (cos * from.getX() - sin * from.getY());
+        double dy = to.getY() - (sin * from.getX() + cos * from.getY());
+        return transformInPlace(dx, dy, cos, sin);
+    }
+
+    /**
+     * Expresses every pose relative to the given origin pose. This is the bulk
+     * form of {@link Pose2d#relativeTo(Pose2d)}.
+     *
+     * @param origin the pose that is the origin of the new coordinate frame
+     * @return this batch
+     */
+    public Pose2dBatch relativeToInPlace(Pose2d origin) {
+        double cos = origin.getRotation().getCos();
+        double sin = -origin.getRotation().getSin();
+        double dx = -(cos * origin.getX() - sin * origin.getY());
+        double dy = -(sin * origin.getX() + cos * origin.getY());
+        return transformInPlace(dx, dy, cos, sin);
+    }
+
+    /**
+     * Mirrors every pose across the horizontal line {@code y = axisY}.
+     * Headings are mirrored as well, so a pose facing up will face down.
+     *
+     * @param axisY the y value of the mirror line
+     * @return this batch
+     */
+    public Pose2dBatch mirrorAcrossXInPlace(double axisY) {
+        final double[] ys = m_y, sins = m_sin;
+        final double twoAxis = 2 * axisY;
+        for (int i = 0; i < ys.length; i++) {
+            ys[i] = twoAxis - ys[i];
+            sins[i] = -sins[i];
+        }
+        return this;
+    }
+
+    /**
+     * Mirrors every pose across the vertical line {@code x = axisX}.
+     * Headings are mirrored as well, so a pose facing right will face left.
+     *
+     * @param axisX the x value of the mirror line
+     * @return this batch
+     */
+    public Pose2dBatch mirrorAcrossYInPlace(double axisX) {
+        final double[] xs = m_x, coss = m_cos;
+        final double twoAxis = 2 * axisX;
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = twoAxis - xs[i];
+            coss[i] = -coss[i];
+        }
+        return this;
+    }
+
+    /**
+     * @return a copy of this batch
+     */
+    public Pose2dBatch copy() {
+        Pose2dBatch copy = new Pose2dBatch(size());
+        System.arraycopy(m_x, 0, copy.m_x, 0, m_x.length);
+        System.arraycopy(m_y, 0, copy.m_y, 0, m_y.length);
+        System.arraycopy(m_cos, 0, copy.m_cos, 0, m_cos.length);
+        System.arraycopy(m_sin, 0, copy.m_sin, 0, m_sin.length);
+        return copy;
+    }
+
+}
@@ -34,6 +34,12 @@ public interface SensorDistanceEx extends SensorDistance {
          */
         private DistanceUnit unit;
 
+        /**
+         * Incremented every time the target or threshold changes, so that sensors which index
+         * their targets know when to rebuild.
+         */
+        private int modCount;
+
         /**
          * Target <b>must</b> be within the range of the Rev 2m Sensor, which is 2 meters
          *
@@ -84,6 +90,7 @@ public interface SensorDistanceEx extends SensorDistance {
          */
         public void setTarget(double target) {
             this.target = target;
+            modCount++;
         }
 
         /**
@@ -95,6 +102,7 @@ public interface SensorDistanceEx extends SensorDistance {
             this.target = unit.fromUnit(this.unit, target);
             this.threshold = unit.fromUnit(this.unit, threshold);
             this.unit = unit;
+            modCount++;
         }
 
         /**
@@ -137,6 +145,13 @@ public interface SensorDistanceEx extends SensorDistance {
         public String getName() {
             return this.name;
         }
+
+        /**
+         * @return the number of times the target or threshold has been changed
+         */
+        int getModCount() {
+            return modCount;
+        }
     }
 
     /**
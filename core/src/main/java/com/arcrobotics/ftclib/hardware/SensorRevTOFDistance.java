@@ -6,6 +6,8 @@ import com.qualcomm.robotcore.hardware.HardwareMap;
 import org.firstinspires.ftc.robotcore.external.navigation.DistanceUnit;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 
@@ -28,6 +30,36 @@ public class SensorRevTOFDistance implements SensorDistanceEx {
      */
     private final List<DistanceTarget> targetList;
 
+    /**
+     * The unit every target is normalized into for {@link #checkTargets()}.
+     */
+    private static final DistanceUnit INDEX_UNIT = DistanceUnit.MM;
+
+    /**
+     * The target bounds in {@link #INDEX_UNIT}, sorted by lower bound. {@code indexSlots[i]}
+     * is the position in {@link #targetList} of the target with bounds
+     * {@code lowerBounds[i]} and {@code upperBounds[i]}.
+     */
+    private double[] lowerBounds = new double[0];
+    private double[] upperBounds = new double[0];
+    private int[] indexSlots = new int[0];
+
+    /**
+     * The widest target interval, which bounds how far back a lookup has to scan.
+     */
+    private double maxWidth;
+
+    /**
+     * The sum of the target modification counts when the index was last built.
+     */
+    private long indexStamp;
+    private boolean indexDirty = true;
+
+    /**
+     * Reused result of {@link #checkTargets()}.
+     */
+    private final BitSet reachedTargets = new BitSet();
+
     /**
      * Makes a distance sensor from an FTC DistanceSensor device.
      *
@@ -85,6 +117,7 @@ public class SensorRevTOFDistance implements SensorDistanceEx {
     @Override
     public void addTarget(DistanceTarget target) {
         if (!targetList.contains(target)) targetList.add(target);
+        indexDirty = true;
     }
 
     @Override
@@ -93,17 +126,109 @@ public class SensorRevTOFDistance implements SensorDistanceEx {
         for (DistanceTarget target : targets) {
             if (!targetList.contains(target)) targetList.add(target);
         }
+        indexDirty = true;
     }
 
+    /**
+     * @return a read-only view of the targets, in the order used by {@link #checkTargets()}
+     */
+    public List<DistanceTarget> getTargets() {
+        return Collections.unmodifiableList(targetList);
+    }
+
+    /**
+     * Checks all targets with a single sensor read. Bit {@code i} of the result is set
+     * if the target at position {@code i} of {@link #getTargets()} has been reached.
+     *
+     * <p>The returned {@link BitSet} is reused and overwritten by the next call.</p>
+     *
+     * @return the reached targets
+     */
+    public BitSet checkTargets() {
+        if (indexDirty || indexStamp != targetStamp()) {
+            buildIndex();
+        }
+
+        reachedTargets.clear();
+        double distance = getDistance(INDEX_UNIT);
+
+        // the number of targets whose lower bound is at or below the distance
+        int low = 0, high = lowerBounds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (lowerBounds[mid] <= distance) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        // no interval that starts before distance - maxWidth can still contain the distance
+        for (int i = low - 1; i >= 0 && lowerBounds[i] >= distance - maxWidth; i--) {
+            if (upperBounds[i] >= distance) {
+                reachedTargets.set(indexSlots[i]);
+            }
+        }
+        return reachedTargets;
+    }
+
+    /**
+     * Checks all targets with a single sensor read. Prefer {@link #checkTargets()} in loops,
+     * as it does not allocate a new map every call.
+     */
     @Override
     public HashMap<DistanceTarget, Boolean> checkAllTargets() {
+        BitSet reached = checkTargets();
         HashMap<DistanceTarget, Boolean> results = new HashMap<>();
-        for (DistanceTarget target : targetList) {
-            results.put(target, target.atTarget(getDistance(target.getUnit())));
+        for (int i = 0; i < targetList.size(); i++) {
+            results.put(targetList.get(i), reached.get(i));
         }
         return results;
     }
 
+    private long targetStamp() {
+        long stamp = 0;
+        for (int i = 0; i < targetList.size(); i++) {
+            stamp += targetList.get(i).getModCount();
+        }
+        return stamp;
+    }
+
+    /**
+     * Normalizes the target bounds into {@link #INDEX_UNIT} and sorts them by lower bound.
+     */
+    private void buildIndex() {
+        int n = targetList.size();
+        if (lowerBounds.length != n) {
+            lowerBounds = new double[n];
+            upperBounds = new double[n];
+            indexSlots = new int[n];
+        }
+
+        maxWidth = 0;
+        for (int i = 0; i < n; i++) {
+            DistanceTarget target = targetList.get(i);
+            double lower = INDEX_UNIT.fromUnit(target.getUnit(), target.getTarget() - target.getThreshold());
+            double upper = INDEX_UNIT.fromUnit(target.getUnit(), target.getTarget() + target.getThreshold());
+
+            // insertion sort, target lists are short and only change occasionally
+            int j = i;
+            while (j > 0 && lowerBounds[j - 1] > lower) {
+                lowerBounds[j] = lowerBounds[j - 1];
+                upperBounds[j] = upperBounds[j - 1];
+                indexSlots[j] = indexSlots[j - 1];
+                j--;
+            }
+            lowerBounds[j] = lower;
+            upperBounds[j] = upper;
+            indexSlots[j] = i;
+            maxWidth = Math.max(maxWidth, upper - lower);
+        }
+
+        indexStamp = targetStamp();
+        indexDirty = false;
+    }
+
     @Override
     public void disable() {
         distanceSensor.close();
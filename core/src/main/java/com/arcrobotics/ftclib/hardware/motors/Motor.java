@@ -6,6 +6,8 @@ import com.arcrobotics.ftclib.controller.PController;
 import com.arcrobotics.ftclib.controller.PIDController;
 import com.arcrobotics.ftclib.controller.wpilibcontroller.SimpleMotorFeedforward;
 import com.arcrobotics.ftclib.hardware.HardwareDevice;
+import com.arcrobotics.ftclib.util.Clock;
+import com.arcrobotics.ftclib.util.Filter;
 import com.qualcomm.robotcore.hardware.DcMotor;
 import com.qualcomm.robotcore.hardware.DcMotorEx;
 import com.qualcomm.robotcore.hardware.HardwareMap;
@@ -66,6 +68,7 @@ public class Motor implements HardwareDevice {
         private int resetVal, lastPosition;
         private Direction direction;
         private double lastTimeStamp, veloEstimate, dpp, accel, lastVelo;
+        private Filter velocityFilter;
 
         /**
          * The encoder object for the motor.
@@ -80,7 +83,7 @@ public class Motor implements HardwareDevice {
             lastPosition = 0;
             veloEstimate = 0;
             direction = Direction.FORWARD;
-            lastTimeStamp = (double) System.nanoTime() / 1E9;
+            lastTimeStamp = (double) Clock.nanoTime() / 1E9;
         }
 
         /**
@@ -89,7 +92,7 @@ public class Motor implements HardwareDevice {
         public int getPosition() {
             int currentPosition = m_position.get();
             if (currentPosition != lastPosition) {
-                double currentTime = (double) System.nanoTime() / 1E9;
+                double currentTime = (double) Clock.nanoTime() / 1E9;
                 double dt = currentTime - lastTimeStamp;
                 veloEstimate = (currentPosition - lastPosition) / dt;
                 lastPosition = currentPosition;
@@ -151,7 +154,7 @@ public class Motor implements HardwareDevice {
         public double getRawVelocity() {
             double velo = getVelocity();
             if (velo != lastVelo) {
-                double currentTime = (double) System.nanoTime() / 1E9;
+                double currentTime = (double) Clock.nanoTime() / 1E9;
                 double dt = currentTime - lastTimeStamp;
                 accel = (velo - lastVelo) / dt;
                 lastVelo = velo;
@@ -179,7 +182,17 @@ public class Motor implements HardwareDevice {
             while (Math.abs(veloEstimate - real) > CPS_STEP / 2.0) {
                 real += Math.signum(veloEstimate - real) * CPS_STEP;
             }
-            return real;
+            return velocityFilter == null ? real : velocityFilter.calculate(real);
+        }
+
+        /**
+         * Sets a filter for the corrected velocity. The filter is run once per
+         * call of {@link #getCorrectedVelocity()}, so it should be called once per loop.
+         *
+         * @param filter the filter, or null to use the unfiltered velocity
+         */
+        public void setVelocityFilter(Filter filter) {
+            velocityFilter = filter;
         }
 
     }
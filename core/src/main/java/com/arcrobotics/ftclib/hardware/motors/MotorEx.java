@@ -2,10 +2,12 @@ package com.arcrobotics.ftclib.hardware.motors;
 
 import androidx.annotation.NonNull;
 
+import com.arcrobotics.ftclib.util.Clock;
 import com.qualcomm.robotcore.hardware.DcMotorEx;
 import com.qualcomm.robotcore.hardware.HardwareMap;
 
 import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.CurrentUnit;
 
 /**
  * An extended motor class that utilizes more features than the
@@ -20,6 +22,21 @@ public class MotorEx extends Motor {
      */
     public DcMotorEx motorEx;
 
+    private boolean currentMonitoring;
+    private boolean currentSampled;
+    private long lastCurrentSample;
+    private double currentSamplePeriod = 0.1;
+    private double currentFilterGain = 0.5;
+    private double current, filteredCurrent;
+
+    private double stallCurrent = Double.POSITIVE_INFINITY;
+    private double stallVelocity, stallTime;
+    private long stallStart = -1;
+    private boolean stalled;
+
+    private double currentLimit = Double.POSITIVE_INFINITY;
+    private double currentLimitScale = 1;
+
     /**
      * Constructs the instance motor for the wrapper
      *
@@ -58,16 +75,173 @@ public class MotorEx extends Motor {
 
     @Override
     public void set(double output) {
+        if (currentMonitoring) {
+            updateCurrent();
+        }
+
+        double power;
         if (runmode == RunMode.VelocityControl) {
             double speed = bufferFraction * output * ACHIEVABLE_MAX_TICKS_PER_SECOND;
             double velocity = veloController.calculate(getCorrectedVelocity(), speed) + feedforward.calculate(speed, getAcceleration());
-            motorEx.setPower(velocity / ACHIEVABLE_MAX_TICKS_PER_SECOND);
+            power = velocity / ACHIEVABLE_MAX_TICKS_PER_SECOND;
         } else if (runmode == RunMode.PositionControl) {
             double error = positionController.calculate(encoder.getPosition());
-            motorEx.setPower(output * error);
+            power = output * error;
         } else {
-            motorEx.setPower(output);
+            power = output;
+        }
+        motorEx.setPower(power * currentLimitScale);
+    }
+
+    /**
+     * Samples the current drawn by the motor if the sample period has passed since the
+     * last sample, then updates the stall detection and the current limit. Reading the
+     * current is a separate bus transaction, so it is kept at a low rate.
+     * This is called by {@link #set(double)} once current monitoring is configured.
+     */
+    public void updateCurrent() {
+        long now = Clock.nanoTime();
+        if (currentSampled && (now - lastCurrentSample) / 1E9 < currentSamplePeriod) {
+            return;
+        }
+
+        current = Math.abs(motorEx.getCurrent(CurrentUnit.AMPS));
+        filteredCurrent = currentSampled
+                ? filteredCurrent + currentFilterGain * (current - filteredCurrent)
+                : current;
+        currentSampled = true;
+        lastCurrentSample = now;
+
+        if (stallCurrent != Double.POSITIVE_INFINITY) {
+            if (filteredCurrent >= stallCurrent && Math.abs(getVelocity()) <= stallVelocity) {
+                if (stallStart < 0) {
+                    stallStart = now;
+                }
+                stalled = (now - stallStart) / 1E9 >= stallTime;
+            } else {
+                stallStart = -1;
+                stalled = false;
+            }
+        }
+
+        if (currentLimit != Double.POSITIVE_INFINITY) {
+            // the current scales roughly with the applied power, so the output is scaled
+            // by the ratio of the limit to the measured current until they match
+            currentLimitScale = filteredCurrent > 0
+                    ? Math.min(1, currentLimitScale * currentLimit / filteredCurrent)
+                    : 1;
+        }
+    }
+
+    /**
+     * Sets how often the current is sampled. The default is every 0.1 seconds.
+     *
+     * @param period the time between samples in seconds
+     */
+    public void setCurrentSamplePeriod(double period) {
+        if (period < 0) {
+            throw new IllegalArgumentException("The sample period cannot be negative");
+        }
+        currentSamplePeriod = period;
+        currentMonitoring = true;
+    }
+
+    /**
+     * Sets the gain of the low-pass filter applied to the current samples.
+     * A gain of 1 disables the filter. The default is 0.5.
+     *
+     * @param gain the weight of a new sample, between 0 (exclusive) and 1
+     */
+    public void setCurrentFilterGain(double gain) {
+        if (gain <= 0 || gain > 1) {
+            throw new IllegalArgumentException("The filter gain must be in (0, 1]");
         }
+        currentFilterGain = gain;
+    }
+
+    /**
+     * Enables stall detection. The motor is stalled when the filtered current stays
+     * above the threshold while the motor barely moves for the given time.
+     * Commands can end on a stall with {@code command.interruptOn(motor::isStalled)}
+     * or a {@link com.arcrobotics.ftclib.command.WaitUntilCommand}.
+     *
+     * @param current  the current threshold in amps
+     * @param velocity the velocity in ticks per second below which the motor is not moving
+     * @param time     the time in seconds the motor has to be overloaded to be stalled
+     */
+    public void setStallDetection(double current, double velocity, double time) {
+        if (current <= 0 || velocity < 0 || time < 0) {
+            throw new IllegalArgumentException("Invalid stall detection parameters");
+        }
+        stallCurrent = current;
+        stallVelocity = velocity;
+        stallTime = time;
+        stallStart = -1;
+        stalled = false;
+        currentMonitoring = true;
+    }
+
+    /**
+     * Disables stall detection.
+     */
+    public void disableStallDetection() {
+        stallCurrent = Double.POSITIVE_INFINITY;
+        stallStart = -1;
+        stalled = false;
+        currentMonitoring = currentLimit != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @return true if stall detection is enabled and the motor is stalled
+     */
+    public boolean isStalled() {
+        return stalled;
+    }
+
+    /**
+     * Limits the current drawn by the motor. While the filtered current exceeds
+     * the limit, the output is scaled down.
+     *
+     * @param amps the current limit in amps
+     */
+    public void setCurrentLimit(double amps) {
+        if (amps <= 0) {
+            throw new IllegalArgumentException("The current limit must be positive");
+        }
+        currentLimit = amps;
+        currentMonitoring = true;
+    }
+
+    /**
+     * Disables the current limit.
+     */
+    public void disableCurrentLimit() {
+        currentLimit = Double.POSITIVE_INFINITY;
+        currentLimitScale = 1;
+        currentMonitoring = stallCurrent != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @return the factor the output is currently scaled by to respect the current limit
+     */
+    public double getCurrentLimitScale() {
+        return currentLimitScale;
+    }
+
+    /**
+     * @return the last sampled current in amps, sampling it if the sample period has passed
+     */
+    public double getCurrent() {
+        updateCurrent();
+        return current;
+    }
+
+    /**
+     * @return the filtered current in amps, sampling it if the sample period has passed
+     */
+    public double getFilteredCurrent() {
+        updateCurrent();
+        return filteredCurrent;
     }
 
     /**
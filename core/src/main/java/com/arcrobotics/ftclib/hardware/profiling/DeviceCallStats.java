@@ -0,0 +1,103 @@
+package com.arcrobotics.ftclib.hardware.profiling;
+
+/**
+ * The number of calls and time spent in one method of one hardware device.
+ * The loop values cover the last completed loop of the {@link HardwareProfiler}.
+ */
+public class DeviceCallStats {
+
+    private final String device, method;
+    private final boolean write;
+
+    int calls;
+    long nanos;
+
+    private int loopCalls;
+    private long loopNanos;
+    private long totalCalls, totalNanos, maxNanos;
+
+    DeviceCallStats(String device, String method, boolean write) {
+        this.device = device;
+        this.method = method;
+        this.write = write;
+    }
+
+    void record(long elapsed) {
+        calls++;
+        nanos += elapsed;
+        if (elapsed > maxNanos) {
+            maxNanos = elapsed;
+        }
+    }
+
+    void endLoop() {
+        loopCalls = calls;
+        loopNanos = nanos;
+        totalCalls += calls;
+        totalNanos += nanos;
+        calls = 0;
+        nanos = 0;
+    }
+
+    /**
+     * @return the name of the device in the hardware map
+     */
+    public String getDevice() {
+        return device;
+    }
+
+    /**
+     * @return the name of the called method
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return true if the method writes to the device, false if it reads from it
+     */
+    public boolean isWrite() {
+        return write;
+    }
+
+    /**
+     * @return the number of calls in the last loop
+     */
+    public int getLoopCalls() {
+        return loopCalls;
+    }
+
+    /**
+     * @return the time spent in the last loop in nanoseconds
+     */
+    public long getLoopNanos() {
+        return loopNanos;
+    }
+
+    /**
+     * @return the number of calls since the profiler was created or reset
+     */
+    public long getTotalCalls() {
+        return totalCalls;
+    }
+
+    /**
+     * @return the time spent since the profiler was created or reset in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return the longest single call in nanoseconds
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    void reset() {
+        calls = loopCalls = 0;
+        nanos = loopNanos = totalCalls = totalNanos = maxNanos = 0;
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.arcrobotics.ftclib.hardware.profiling;
+
+import com.arcrobotics.ftclib.command.CommandScheduler;
+import com.arcrobotics.ftclib.command.Subsystem;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Counts and times the calls made to hardware devices every loop, to find out
+ * which device calls take up the loop time. Devices are profiled when they are
+ * obtained through {@link #wrap(HardwareMap)}.
+ *
+ * <p>A loop ends every time {@link #nextLoop()} is called. When using the command
+ * framework, register the profiler with the {@link CommandScheduler} before any
+ * other subsystem, and it will end the loop at the start of every scheduler cycle.</p>
+ *
+ * <p>The profiler is not thread safe; devices should only be used from the loop thread.
+ * Each profiled call adds a reflective dispatch to the call, so the profiler is meant
+ * to be enabled while tuning and left off otherwise.</p>
+ */
+public class HardwareProfiler implements Subsystem {
+
+    private final List<DeviceCallStats> stats = new ArrayList<>();
+
+    private long loopStart = System.nanoTime();
+    private long loopNanos, loopDeviceNanos;
+    private int loopReads, loopWrites;
+    private long loops;
+
+    /**
+     * Wraps a hardware map so that the devices obtained from it are profiled.
+     *
+     * @param hardwareMap the hardware map of the OpMode
+     * @return the profiled hardware map
+     */
+    public HardwareMap wrap(HardwareMap hardwareMap) {
+        return new ProfiledHardwareMap(hardwareMap, this);
+    }
+
+    DeviceCallStats track(String device, String method, boolean write) {
+        DeviceCallStats callStats = new DeviceCallStats(device, method, write);
+        stats.add(callStats);
+        return callStats;
+    }
+
+    /**
+     * Ends the current loop and makes its numbers available.
+     */
+    public void nextLoop() {
+        long now = System.nanoTime();
+        loopNanos = now - loopStart;
+        loopStart = now;
+
+        loopDeviceNanos = 0;
+        loopReads = 0;
+        loopWrites = 0;
+        for (int i = 0; i < stats.size(); i++) {
+            DeviceCallStats callStats = stats.get(i);
+            callStats.endLoop();
+            loopDeviceNanos += callStats.getLoopNanos();
+            if (callStats.isWrite()) {
+                loopWrites += callStats.getLoopCalls();
+            } else {
+                loopReads += callStats.getLoopCalls();
+            }
+        }
+        loops++;
+    }
+
+    /**
+     * Ends the loop at the start of every scheduler cycle.
+     */
+    @Override
+    public void periodic() {
+        nextLoop();
+    }
+
+    /**
+     * Clears every count and time.
+     */
+    public void reset() {
+        for (DeviceCallStats callStats : stats) {
+            callStats.reset();
+        }
+        loopStart = System.nanoTime();
+        loopNanos = loopDeviceNanos = loops = 0;
+        loopReads = loopWrites = 0;
+    }
+
+    /**
+     * @return the statistics of every device method that has been called
+     */
+    public List<DeviceCallStats> getStats() {
+        return Collections.unmodifiableList(stats);
+    }
+
+    /**
+     * @return the duration of the last loop in nanoseconds
+     */
+    public long getLoopNanos() {
+        return loopNanos;
+    }
+
+    /**
+     * @return the time spent in device calls during the last loop in nanoseconds
+     */
+    public long getLoopDeviceNanos() {
+        return loopDeviceNanos;
+    }
+
+    /**
+     * @return the number of device reads during the last loop
+     */
+    public int getLoopReads() {
+        return loopReads;
+    }
+
+    /**
+     * @return the number of device writes during the last loop
+     */
+    public int getLoopWrites() {
+        return loopWrites;
+    }
+
+    /**
+     * @return the number of completed loops
+     */
+    public long getLoopCount() {
+        return loops;
+    }
+
+    /**
+     * Builds a report of the last loop, with the most expensive device calls first.
+     *
+     * @return the report, one line per device method
+     */
+    public String getReport() {
+        List<DeviceCallStats> sorted = new ArrayList<>(stats);
+        Collections.sort(sorted, (a, b) -> Long.compare(b.getLoopNanos(), a.getLoopNanos()));
+
+        StringBuilder report = new StringBuilder(String.format(Locale.US,
+                "Loop %d: %.2f ms, %.2f ms in %d reads and %d writes%n", loops,
+                loopNanos / 1E6, loopDeviceNanos / 1E6, loopReads, loopWrites));
+        for (DeviceCallStats callStats : sorted) {
+            if (callStats.getLoopCalls() == 0) {
+                continue;
+            }
+            report.append(String.format(Locale.US, "  %s.%s %s: %d x %.3f ms (max %.3f ms)%n",
+                    callStats.getDevice(), callStats.getMethod(), callStats.isWrite() ? "write" : "read",
+                    callStats.getLoopCalls(), callStats.getLoopNanos() / 1E6 / callStats.getLoopCalls(),
+                    callStats.getMaxNanos() / 1E6));
+        }
+        return report.toString();
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.arcrobotics.ftclib.hardware.profiling;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Forwards every call to a hardware device and times it.
+ */
+class ProfiledDevice implements InvocationHandler {
+
+    private static final String[] WRITE_PREFIXES = {
+            "set", "write", "reset", "initialize", "close", "enable", "disable", "engage", "disengage"
+    };
+
+    private final Object device;
+    private final String name;
+    private final HardwareProfiler profiler;
+    private final Map<Method, DeviceCallStats> stats = new HashMap<>();
+
+    ProfiledDevice(Object device, String name, HardwareProfiler profiler) {
+        this.device = device;
+        this.name = name;
+        this.profiler = profiler;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return method.invoke(device, args);
+            }
+        }
+
+        DeviceCallStats callStats = stats.get(method);
+        if (callStats == null) {
+            callStats = profiler.track(name, method.getName(), isWrite(method.getName()));
+            stats.put(method, callStats);
+        }
+
+        long start = System.nanoTime();
+        try {
+            return method.invoke(device, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        } finally {
+            callStats.record(System.nanoTime() - start);
+        }
+    }
+
+    private static boolean isWrite(String method) {
+        for (String prefix : WRITE_PREFIXES) {
+            if (method.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,147 @@
+package com.arcrobotics.ftclib.hardware.profiling;
+
+import com.qualcomm.robotcore.hardware.HardwareDevice;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link HardwareMap} that hands out devices whose calls are counted and timed by a
+ * {@link HardwareProfiler}. Pass it to the FTCLib device wrappers in place of the
+ * OpMode's hardware map:
+ *
+ * <pre>{@code
+ * HardwareProfiler profiler = new HardwareProfiler();
+ * HardwareMap hMap = profiler.wrap(hardwareMap);
+ * MotorEx lift = new MotorEx(hMap, "lift");
+ * }</pre>
+ *
+ * <p>Only devices requested through an interface, such as {@code DcMotor} or
+ * {@code DistanceSensor}, can be profiled; anything else is returned as is. The
+ * devices found by name alone, with {@link #get(String)}, {@link #getAll} or by
+ * iterating, are profiled as well, so they can be cast to their interfaces but not
+ * to their classes.</p>
+ *
+ * <p>The typed device mappings, such as {@code hardwareMap.dcMotor}, are fields of
+ * {@link HardwareMap} that cannot be forwarded and stay empty here. Use
+ * {@link #get(Class, String)} instead.</p>
+ */
+public class ProfiledHardwareMap extends HardwareMap {
+
+    private final HardwareMap hardwareMap;
+    private final HardwareProfiler profiler;
+    private final Map<Object, Object> profiledDevices = new IdentityHashMap<>();
+    private final Map<Object, Object> originalDevices = new IdentityHashMap<>();
+
+    /**
+     * @param hardwareMap the hardware map to take the devices from
+     * @param profiler    the profiler to report the device calls to
+     */
+    public ProfiledHardwareMap(HardwareMap hardwareMap, HardwareProfiler profiler) {
+        super(hardwareMap.appContext);
+        this.hardwareMap = hardwareMap;
+        this.profiler = profiler;
+    }
+
+    @Override
+    public <T> T get(Class<? extends T> classOrInterface, String deviceName) {
+        T device = hardwareMap.get(classOrInterface, deviceName);
+        if (!classOrInterface.isInterface()) {
+            return device;
+        }
+        return classOrInterface.cast(profile(device, deviceName));
+    }
+
+    @Override
+    public <T> T tryGet(Class<? extends T> classOrInterface, String deviceName) {
+        T device = hardwareMap.tryGet(classOrInterface, deviceName);
+        if (device == null || !classOrInterface.isInterface()) {
+            return device;
+        }
+        return classOrInterface.cast(profile(device, deviceName));
+    }
+
+    @Override
+    public HardwareDevice get(String deviceName) {
+        return (HardwareDevice) profile(hardwareMap.get(deviceName), deviceName);
+    }
+
+    @Override
+    public <T> List<T> getAll(Class<? extends T> classOrInterface) {
+        List<T> devices = hardwareMap.getAll(classOrInterface);
+        if (!classOrInterface.isInterface()) {
+            return devices;
+        }
+        List<T> profiled = new ArrayList<>(devices.size());
+        for (T device : devices) {
+            profiled.add(classOrInterface.cast(profile(device, nameOf(device))));
+        }
+        return profiled;
+    }
+
+    @Override
+    public Set<String> getNamesOf(HardwareDevice device) {
+        Object original = originalDevices.get(device);
+        return hardwareMap.getNamesOf(original != null ? (HardwareDevice) original : device);
+    }
+
+    @Override
+    public int size() {
+        return hardwareMap.size();
+    }
+
+    @Override
+    public Iterator<HardwareDevice> iterator() {
+        List<HardwareDevice> devices = new ArrayList<>(hardwareMap.size());
+        for (HardwareDevice device : hardwareMap) {
+            devices.add((HardwareDevice) profile(device, nameOf(device)));
+        }
+        return devices.iterator();
+    }
+
+    /**
+     * Returns the profiled version of a device, which is created once per device.
+     */
+    private Object profile(Object device, String deviceName) {
+        Object profiled = profiledDevices.get(device);
+        if (profiled == null) {
+            profiled = Proxy.newProxyInstance(device.getClass().getClassLoader(),
+                    getPublicInterfaces(device.getClass()),
+                    new ProfiledDevice(device, deviceName, profiler));
+            profiledDevices.put(device, profiled);
+            originalDevices.put(profiled, device);
+        }
+        return profiled;
+    }
+
+    private String nameOf(Object device) {
+        Set<String> names = device instanceof HardwareDevice
+                ? hardwareMap.getNamesOf((HardwareDevice) device) : null;
+        return names == null || names.isEmpty() ? device.getClass().getSimpleName() : names.iterator().next();
+    }
+
+    /**
+     * Collects every public interface of the device, so that the profiled device can
+     * still be cast to the more specific types, such as {@code DcMotorEx}.
+     */
+    private static Class<?>[] getPublicInterfaces(Class<?> type) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Class<?> i : c.getInterfaces()) {
+                if (Modifier.isPublic(i.getModifiers())) {
+                    interfaces.add(i);
+                }
+            }
+        }
+        return interfaces.toArray(new Class<?>[0]);
+    }
+
+}
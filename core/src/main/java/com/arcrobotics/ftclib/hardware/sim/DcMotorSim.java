@@ -0,0 +1,172 @@
+package com.arcrobotics.ftclib.hardware.sim;
+
+import com.arcrobotics.ftclib.hardware.motors.Motor;
+
+/**
+ * A physics model of a brushed DC motor and gearbox.
+ *
+ * <p>The model is the usual first order one: the current is
+ * {@code i = (V - kv * w) / R}, the torque is {@code kt * i} and the shaft
+ * accelerates against its inertia, viscous friction and any external load. Since
+ * the model is linear in the shaft speed it is integrated exactly, which keeps it
+ * stable for any time step.</p>
+ */
+public class DcMotorSim {
+
+    public static final double kNominalVoltage = 12.0;
+
+    /**
+     * Stall torque, stall current, free current and rotor inertia of the motor
+     * behind every goBILDA 5202 series gearbox.
+     */
+    private static final double kBareStallTorque = 0.1442;
+    private static final double kBareStallCurrent = 9.2;
+    private static final double kBareFreeCurrent = 0.25;
+    private static final double kBareRotorInertia = 5.0E-6;
+
+    private final double kt, kv, resistance, viscousFriction, rotorInertia;
+    private final double countsPerRevolution, freeSpeed;
+
+    private double loadInertia, loadTorque;
+    private double voltage, current;
+    private double velocity, position;
+    private boolean brake = true;
+
+    /**
+     * Creates a motor model from its datasheet values at the output shaft.
+     *
+     * @param stallTorque         the stall torque in N*m
+     * @param stallCurrent        the stall current in amps
+     * @param freeSpeed           the free speed in rad/s
+     * @param freeCurrent         the free current in amps
+     * @param inertia             the inertia of the rotor and gearbox at the output shaft in kg*m^2
+     * @param countsPerRevolution the encoder counts per output revolution
+     */
+    public DcMotorSim(double stallTorque, double stallCurrent, double freeSpeed,
+                      double freeCurrent, double inertia, double countsPerRevolution) {
+        if (stallTorque <= 0 || stallCurrent <= 0 || freeSpeed <= 0 || freeCurrent < 0 || inertia <= 0) {
+            throw new IllegalArgumentException("Motor constants must be positive");
+        }
+        resistance = kNominalVoltage / stallCurrent;
+        kt = stallTorque / stallCurrent;
+        kv = (kNominalVoltage - freeCurrent * resistance) / freeSpeed;
+        viscousFriction = kt * freeCurrent / freeSpeed;
+        rotorInertia = inertia;
+        this.freeSpeed = freeSpeed;
+        this.countsPerRevolution = countsPerRevolution;
+    }
+
+    /**
+     * Creates the model of a goBILDA 5202 series motor.
+     *
+     * @param type the gearbox of the motor
+     * @return the motor model
+     */
+    public static DcMotorSim fromGoBILDA(Motor.GoBILDA type) {
+        if (type == Motor.GoBILDA.NONE) {
+            throw new IllegalArgumentException("A motor type is required for the simulation");
+        }
+        double ratio = Motor.GoBILDA.BARE.getRPM() / type.getRPM();
+        return new DcMotorSim(kBareStallTorque * ratio, kBareStallCurrent,
+                type.getRPM() * 2 * Math.PI / 60, kBareFreeCurrent,
+                kBareRotorInertia * ratio * ratio, type.getCPR());
+    }
+
+    /**
+     * Advances the motor by the given amount of time with the current voltage and load.
+     *
+     * @param dt the time step in seconds
+     */
+    public void update(double dt) {
+        double inertia = rotorInertia + loadInertia;
+        boolean driven = voltage != 0 || brake;
+
+        // dw/dt = a - b * w
+        double b = (viscousFriction + (driven ? kt * kv / resistance : 0)) / inertia;
+        double a = ((driven ? kt * voltage / resistance : 0) - loadTorque) / inertia;
+
+        if (b == 0) {
+            position += velocity * dt + 0.5 * a * dt * dt;
+            velocity += a * dt;
+        } else {
+            double steadyState = a / b;
+            double decay = Math.exp(-b * dt);
+            double start = velocity;
+
+            velocity = steadyState + (start - steadyState) * decay;
+            position += steadyState * dt + (start - steadyState) * (1 - decay) / b;
+        }
+        current = driven ? (voltage - kv * velocity) / resistance : 0;
+    }
+
+    /**
+     * @param power the fraction of the nominal voltage to apply, between -1 and 1
+     */
+    public void setPower(double power) {
+        voltage = Math.max(-1, Math.min(1, power)) * kNominalVoltage;
+    }
+
+    /**
+     * @param brake true to short the windings at zero power, false to let the motor coast
+     */
+    public void setBrake(boolean brake) {
+        this.brake = brake;
+    }
+
+    /**
+     * @param inertia the inertia of the mechanism driven by the motor in kg*m^2
+     */
+    public void setLoadInertia(double inertia) {
+        loadInertia = inertia;
+    }
+
+    /**
+     * @param torque the external torque opposing the motor in N*m
+     */
+    public void setLoadTorque(double torque) {
+        loadTorque = torque;
+    }
+
+    /**
+     * @return the output shaft speed in rad/s
+     */
+    public double getVelocity() {
+        return velocity;
+    }
+
+    /**
+     * @return the output shaft angle in radians
+     */
+    public double getPosition() {
+        return position;
+    }
+
+    /**
+     * Resets the output shaft angle to zero.
+     */
+    public void resetPosition() {
+        position = 0;
+    }
+
+    /**
+     * @return the current drawn by the motor in amps
+     */
+    public double getCurrent() {
+        return current;
+    }
+
+    /**
+     * @return the encoder counts per output revolution
+     */
+    public double getCountsPerRevolution() {
+        return countsPerRevolution;
+    }
+
+    /**
+     * @return the free speed of the output shaft in rad/s
+     */
+    public double getFreeSpeed() {
+        return freeSpeed;
+    }
+
+}
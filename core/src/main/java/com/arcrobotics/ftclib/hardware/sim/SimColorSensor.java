@@ -0,0 +1,51 @@
+package com.arcrobotics.ftclib.hardware.sim;
+
+/**
+ * A simulated {@link com.qualcomm.robotcore.hardware.ColorSensor} that reports
+ * whatever color the simulation sets.
+ */
+public class SimColorSensor extends SimDevice {
+
+    private int alpha, red, green, blue;
+
+    /**
+     * @param name the name the sensor is registered under
+     */
+    public SimColorSensor(String name) {
+        super(name);
+    }
+
+    /**
+     * Sets the color seen by the sensor.
+     *
+     * @param alpha the alpha value
+     * @param red   the red value
+     * @param green the green value
+     * @param blue  the blue value
+     */
+    public void setColor(int alpha, int red, int green, int blue) {
+        this.alpha = alpha;
+        this.red = red;
+        this.green = green;
+        this.blue = blue;
+    }
+
+    @Override
+    protected Object handle(String method, Object[] args) {
+        switch (method) {
+            case "alpha":
+                return alpha;
+            case "red":
+                return red;
+            case "green":
+                return green;
+            case "blue":
+                return blue;
+            case "argb":
+                return (alpha & 0xFF) << 24 | (red & 0xFF) << 16 | (green & 0xFF) << 8 | (blue & 0xFF);
+            default:
+                return UNHANDLED;
+        }
+    }
+
+}
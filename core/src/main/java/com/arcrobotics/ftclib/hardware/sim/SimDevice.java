@@ -0,0 +1,118 @@
+package com.arcrobotics.ftclib.hardware.sim;
+
+import com.qualcomm.robotcore.hardware.HardwareDevice;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * The base class for a simulated device. Simulated devices are handed out by the
+ * {@link SimHardwareMap} as dynamic proxies of the FTC SDK interfaces, so that the
+ * FTCLib wrappers ({@code Motor}, {@code RevIMU}, etc.) can be constructed from them
+ * exactly as they would be on a robot.
+ *
+ * <p>Any SDK method a simulated device does not model returns {@code null}, {@code false}
+ * or zero.</p>
+ */
+public abstract class SimDevice implements InvocationHandler {
+
+    private final String name;
+
+    /**
+     * @param name the name the device is registered under
+     */
+    protected SimDevice(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return the name the device is registered under
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Advances the device by the given amount of time.
+     *
+     * @param dt the time step in seconds
+     */
+    public void update(double dt) {
+    }
+
+    /**
+     * Handles a call to the SDK interface.
+     *
+     * @param method the name of the called method
+     * @param args   the arguments of the call, never null
+     * @return the result, or {@link #UNHANDLED} if the method is not modeled
+     */
+    protected abstract Object handle(String method, Object[] args);
+
+    /**
+     * Returned by {@link #handle(String, Object[])} for methods that are not modeled.
+     */
+    protected static final Object UNHANDLED = new Object();
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    /**
+     * Creates the SDK-facing view of this device.
+     *
+     * @param type the SDK interface to implement
+     * @return a proxy implementing the interface
+     */
+    public <T extends HardwareDevice> T as(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, this));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        String methodName = method.getName();
+        if (args == null) {
+            args = NO_ARGS;
+        }
+
+        switch (methodName) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+            case "getDeviceName":
+                return "Simulated " + name;
+            case "getConnectionInfo":
+                return "simulation";
+            case "getVersion":
+                return 1;
+            default:
+                break;
+        }
+
+        Object result = handle(methodName, args);
+        return result == UNHANDLED ? defaultValue(method.getReturnType()) : result;
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        } else if (type == boolean.class) {
+            return false;
+        } else if (type == double.class) {
+            return 0.0;
+        } else if (type == float.class) {
+            return 0f;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == char.class) {
+            return '\0';
+        } else if (type == byte.class) {
+            return (byte) 0;
+        } else if (type == short.class) {
+            return (short) 0;
+        }
+        return 0;
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.arcrobotics.ftclib.hardware.sim;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.qualcomm.robotcore.hardware.DistanceSensor;
+
+import org.firstinspires.ftc.robotcore.external.navigation.DistanceUnit;
+
+import java.util.function.Supplier;
+
+/**
+ * A simulated {@link DistanceSensor} that casts a ray from its mount on the
+ * simulated robot against the walls of a {@link SimField}.
+ */
+public class SimDistanceSensor extends SimDevice {
+
+    /**
+     * The range of the REV 2m distance sensor in meters.
+     */
+    public static final double kDefaultMaxRange = 2.0;
+
+    private final Supplier<Pose2d> robotPose;
+    private final SimField field;
+    private final Pose2d mount;
+    private double maxRange = kDefaultMaxRange;
+
+    /**
+     * @param name      the name the sensor is registered under
+     * @param robotPose the pose of the simulated robot
+     * @param field     the field the sensor can see
+     * @param mount     the position of the sensor on the robot, facing the measured direction
+     */
+    public SimDistanceSensor(String name, Supplier<Pose2d> robotPose, SimField field, Pose2d mount) {
+        super(name);
+        this.robotPose = robotPose;
+        this.field = field;
+        this.mount = mount;
+    }
+
+    /**
+     * @param meters the distance past which the sensor reports out of range
+     */
+    public void setMaxRange(double meters) {
+        maxRange = meters;
+    }
+
+    /**
+     * @return the measured distance in meters, or {@link DistanceSensor#distanceOutOfRange}
+     */
+    public double getDistanceMeters() {
+        Pose2d robot = robotPose.get();
+        double cos = robot.getRotation().getCos(), sin = robot.getRotation().getSin();
+        double x = robot.getX() + mount.getX() * cos - mount.getY() * sin;
+        double y = robot.getY() + mount.getX() * sin + mount.getY() * cos;
+
+        double distance = field.raycast(x, y, robot.getHeading() + mount.getHeading());
+        return distance > maxRange ? DistanceSensor.distanceOutOfRange : distance;
+    }
+
+    @Override
+    protected Object handle(String method, Object[] args) {
+        if (method.equals("getDistance")) {
+            double distance = getDistanceMeters();
+            return distance == DistanceSensor.distanceOutOfRange ? distance
+                    : ((DistanceUnit) args[0]).fromUnit(DistanceUnit.METER, distance);
+        }
+        return UNHANDLED;
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.arcrobotics.ftclib.hardware.sim;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorSimple;
+import com.qualcomm.robotcore.hardware.configuration.typecontainers.MotorConfigurationType;
+
+/**
+ * A simulated encoder plugged into an unpowered motor port, such as a dead wheel.
+ * Its position is set by the simulation rather than by a motor model.
+ */
+public class SimEncoder extends SimDevice {
+
+    private final double countsPerMeter;
+    private final int port;
+    private final MotorConfigurationType motorType;
+
+    private double distance, velocity;
+    private int resetOffset;
+    private DcMotorSimple.Direction direction = DcMotorSimple.Direction.FORWARD;
+
+    /**
+     * @param name                the name the encoder is registered under
+     * @param countsPerRevolution the counts per revolution of the encoder
+     * @param wheelRadius         the radius of the wheel in meters
+     * @param port                the simulated port number
+     */
+    public SimEncoder(String name, double countsPerRevolution, double wheelRadius, int port) {
+        super(name);
+        countsPerMeter = countsPerRevolution / (2 * Math.PI * wheelRadius);
+        this.port = port;
+
+        motorType = new MotorConfigurationType();
+        motorType.setTicksPerRev(countsPerRevolution);
+    }
+
+    /**
+     * Moves the wheel by the given distance.
+     *
+     * @param delta the distance travelled in meters
+     * @param dt    the time it took in seconds
+     */
+    public void move(double delta, double dt) {
+        distance += delta;
+        velocity = dt > 0 ? delta / dt : 0;
+    }
+
+    private int getMultiplier() {
+        return direction == DcMotorSimple.Direction.REVERSE ? -1 : 1;
+    }
+
+    @Override
+    protected Object handle(String method, Object[] args) {
+        switch (method) {
+            case "getCurrentPosition":
+                return getMultiplier() * (int) Math.round(distance * countsPerMeter) - resetOffset;
+            case "getVelocity":
+                return getMultiplier() * velocity * countsPerMeter;
+            case "setDirection":
+                direction = (DcMotorSimple.Direction) args[0];
+                return null;
+            case "getDirection":
+                return direction;
+            case "setMode":
+                if (args[0] == DcMotor.RunMode.STOP_AND_RESET_ENCODER) {
+                    resetOffset = getMultiplier() * (int) Math.round(distance * countsPerMeter);
+                }
+                return null;
+            case "getMotorType":
+                return motorType;
+            case "getPortNumber":
+                return port;
+            default:
+                return UNHANDLED;
+        }
+    }
+
+}
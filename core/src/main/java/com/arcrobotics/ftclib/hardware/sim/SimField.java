@@ -0,0 +1,102 @@
+package com.arcrobotics.ftclib.hardware.sim;
+
+import com.arcrobotics.ftclib.geometry.Translation2d;
+
+import java.util.Arrays;
+
+/**
+ * A field made of straight walls that simulated distance sensors can see.
+ * All coordinates are in meters.
+ */
+public class SimField {
+
+    /**
+     * The side length of an FTC field in meters.
+     */
+    public static final double kFieldSize = 3.58;
+
+    private double[] x1 = new double[4], y1 = new double[4], x2 = new double[4], y2 = new double[4];
+    private int walls;
+
+    /**
+     * Creates an empty field.
+     */
+    public SimField() {
+    }
+
+    /**
+     * Creates a square field enclosed by its perimeter walls and centered on the origin.
+     *
+     * @param size the side length of the field in meters
+     * @return the field
+     */
+    public static SimField perimeter(double size) {
+        double h = size / 2;
+        return new SimField()
+                .addWall(new Translation2d(-h, -h), new Translation2d(h, -h))
+                .addWall(new Translation2d(h, -h), new Translation2d(h, h))
+                .addWall(new Translation2d(h, h), new Translation2d(-h, h))
+                .addWall(new Translation2d(-h, h), new Translation2d(-h, -h));
+    }
+
+    /**
+     * @return a standard FTC field perimeter
+     */
+    public static SimField perimeter() {
+        return perimeter(kFieldSize);
+    }
+
+    /**
+     * Adds a wall between two points.
+     *
+     * @param start one end of the wall
+     * @param end   the other end of the wall
+     * @return this object for chaining purposes
+     */
+    public SimField addWall(Translation2d start, Translation2d end) {
+        if (walls == x1.length) {
+            x1 = Arrays.copyOf(x1, walls * 2);
+            y1 = Arrays.copyOf(y1, walls * 2);
+            x2 = Arrays.copyOf(x2, walls * 2);
+            y2 = Arrays.copyOf(y2, walls * 2);
+        }
+        x1[walls] = start.getX();
+        y1[walls] = start.getY();
+        x2[walls] = end.getX();
+        y2[walls] = end.getY();
+        walls++;
+        return this;
+    }
+
+    /**
+     * Casts a ray and returns the distance to the first wall it hits.
+     *
+     * @param x       the x coordinate of the ray origin
+     * @param y       the y coordinate of the ray origin
+     * @param heading the direction of the ray in radians
+     * @return the distance to the nearest wall, or {@link Double#POSITIVE_INFINITY} if none is hit
+     */
+    public double raycast(double x, double y, double heading) {
+        double dx = Math.cos(heading);
+        double dy = Math.sin(heading);
+        double nearest = Double.POSITIVE_INFINITY;
+
+        for (int i = 0; i < walls; i++) {
+            double ex = x2[i] - x1[i];
+            double ey = y2[i] - y1[i];
+            double denominator = dx * ey - dy * ex;
+            if (Math.abs(denominator) < 1E-12) {
+                continue; // parallel to the wall
+            }
+            double ox = x1[i] - x;
+            double oy = y1[i] - y;
+            double distance = (ox * ey - oy * ex) / denominator;
+            double along = (ox * dy - oy * dx) / denominator;
+            if (distance >= 0 && along >= 0 && along <= 1 && distance < nearest) {
+                nearest = distance;
+            }
+        }
+        return nearest;
+    }
+
+}
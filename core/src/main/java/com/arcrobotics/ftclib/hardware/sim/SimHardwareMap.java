@@ -0,0 +1,264 @@
+package com.arcrobotics.ftclib.hardware.sim;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.hardware.motors.Motor;
+import com.arcrobotics.ftclib.util.Clock;
+import com.qualcomm.hardware.bosch.BNO055IMU;
+import com.qualcomm.robotcore.hardware.CRServo;
+import com.qualcomm.robotcore.hardware.ColorSensor;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+import com.qualcomm.robotcore.hardware.DistanceSensor;
+import com.qualcomm.robotcore.hardware.HardwareDevice;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+import com.qualcomm.robotcore.hardware.Servo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link HardwareMap} backed by simulated devices, so that robot code can run on a
+ * desktop JVM. Devices are added under the names the robot code asks for, and the
+ * simulation is advanced with {@link #step(double)} or {@link #run(double, double, Runnable)}.
+ *
+ * <pre>{@code
+ * SimHardwareMap hardwareMap = new SimHardwareMap();
+ * hardwareMap.addMecanumChassis("fL", "fR", "bL", "bR", Motor.GoBILDA.RPM_312,
+ *         0.048, 0.35, 0.3, 12);
+ * hardwareMap.addIMU();
+ *
+ * MecanumDrive drive = new MecanumDrive(new Motor(hardwareMap, "fL", Motor.GoBILDA.RPM_312), ...);
+ * hardwareMap.run(2, 0.005, () -> drive.driveRobotCentric(0, 1, 0));
+ * }</pre>
+ *
+ * <p>Simulated time only advances through this class. Call {@link #useSimulatedTime()}
+ * before constructing the robot code so that everything that reads the FTCLib {@link Clock},
+ * such as {@code Timing}, {@code PIDFController}, the velocity estimate of
+ * {@code Motor.Encoder} and the odometry and drivebase classes, follows simulated time.
+ * The SDK's {@code ElapsedTime} always reads the system clock.</p>
+ */
+public class SimHardwareMap extends HardwareMap {
+
+    private final List<SimDevice> devices = new ArrayList<>();
+    private SimField field = SimField.perimeter();
+    private SimMecanumChassis chassis;
+    private int motorPorts, servoPorts;
+    private long nanos;
+
+    public SimHardwareMap() {
+        super(null);
+    }
+
+    private <T extends SimDevice> T register(T device, HardwareDevice sdkDevice) {
+        devices.add(device);
+        put(device.getName(), sdkDevice);
+        return device;
+    }
+
+    /**
+     * Adds a motor, which can be obtained as a {@link DcMotorEx}.
+     *
+     * @param name  the name of the motor
+     * @param model the physics model of the motor
+     * @return the simulated motor
+     */
+    public SimMotor addMotor(String name, DcMotorSim model) {
+        SimMotor motor = new SimMotor(name, model, motorPorts++);
+        return register(motor, motor.as(DcMotorEx.class));
+    }
+
+    /**
+     * Adds a goBILDA 5202 series motor, which can be obtained as a {@link DcMotorEx}.
+     *
+     * @param name the name of the motor
+     * @param type the gearbox of the motor
+     * @return the simulated motor
+     */
+    public SimMotor addMotor(String name, Motor.GoBILDA type) {
+        return addMotor(name, DcMotorSim.fromGoBILDA(type));
+    }
+
+    /**
+     * Adds a mecanum chassis with four goBILDA motors. The chassis pose is what the IMU,
+     * the dead wheels and the distance sensors of this hardware map measure.
+     *
+     * @param frontLeft   the name of the front left motor
+     * @param frontRight  the name of the front right motor
+     * @param backLeft    the name of the back left motor
+     * @param backRight   the name of the back right motor
+     * @param type        the gearbox of the drive motors
+     * @param wheelRadius the radius of the wheels in meters
+     * @param trackWidth  the distance between the left and right wheels in meters
+     * @param wheelBase   the distance between the front and back wheels in meters
+     * @param mass        the mass of the robot in kilograms
+     * @return the simulated chassis
+     */
+    public SimMecanumChassis addMecanumChassis(String frontLeft, String frontRight, String backLeft,
+                                               String backRight, Motor.GoBILDA type, double wheelRadius,
+                                               double trackWidth, double wheelBase, double mass) {
+        chassis = new SimMecanumChassis(addMotor(frontLeft, type), addMotor(frontRight, type),
+                addMotor(backLeft, type), addMotor(backRight, type),
+                wheelRadius, trackWidth, wheelBase, mass);
+        return chassis;
+    }
+
+    /**
+     * Adds a dead wheel to the chassis, which can be obtained as a {@link DcMotorEx}.
+     *
+     * @param name                the name of the motor port the encoder is plugged into
+     * @param mount               the position of the wheel on the robot in meters, with the
+     *                            rotation pointing in the direction the wheel rolls
+     * @param wheelRadius         the radius of the dead wheel in meters
+     * @param countsPerRevolution the counts per revolution of the encoder
+     * @return the simulated encoder
+     */
+    public SimEncoder addDeadWheel(String name, Pose2d mount, double wheelRadius, double countsPerRevolution) {
+        if (chassis == null) {
+            throw new IllegalStateException("Dead wheels require a chassis to be added first");
+        }
+        SimEncoder encoder = new SimEncoder(name, countsPerRevolution, wheelRadius, motorPorts++);
+        chassis.addDeadWheel(encoder, mount);
+        return register(encoder, encoder.as(DcMotorEx.class));
+    }
+
+    /**
+     * Adds a servo, which can be obtained as a {@link Servo}.
+     *
+     * @param name the name of the servo
+     * @return the simulated servo
+     */
+    public SimServo addServo(String name) {
+        SimServo servo = new SimServo(name, servoPorts++);
+        return register(servo, servo.as(Servo.class));
+    }
+
+    /**
+     * Adds a continuous rotation servo, which can be obtained as a {@link CRServo}.
+     *
+     * @param name the name of the servo
+     * @return the simulated servo
+     */
+    public SimServo addCRServo(String name) {
+        SimServo servo = new SimServo(name, servoPorts++);
+        return register(servo, servo.as(CRServo.class));
+    }
+
+    /**
+     * Adds an IMU measuring the heading of the chassis, which can be obtained as a {@link BNO055IMU}.
+     *
+     * @param name the name of the IMU
+     * @return the simulated IMU
+     */
+    public SimIMU addIMU(String name) {
+        SimIMU imu = new SimIMU(name, this::getRobotPose, this::getNanoTime);
+        return register(imu, imu.as(BNO055IMU.class));
+    }
+
+    /**
+     * Adds an IMU with the default configuration name of "imu".
+     *
+     * @return the simulated IMU
+     */
+    public SimIMU addIMU() {
+        return addIMU("imu");
+    }
+
+    /**
+     * Adds a distance sensor mounted on the chassis, which can be obtained as a {@link DistanceSensor}.
+     *
+     * @param name  the name of the sensor
+     * @param mount the position of the sensor on the robot in meters, facing the measured direction
+     * @return the simulated distance sensor
+     */
+    public SimDistanceSensor addDistanceSensor(String name, Pose2d mount) {
+        SimDistanceSensor sensor = new SimDistanceSensor(name, this::getRobotPose, field, mount);
+        return register(sensor, sensor.as(DistanceSensor.class));
+    }
+
+    /**
+     * Adds a color sensor, which can be obtained as a {@link ColorSensor}.
+     *
+     * @param name the name of the sensor
+     * @return the simulated color sensor
+     */
+    public SimColorSensor addColorSensor(String name) {
+        SimColorSensor sensor = new SimColorSensor(name);
+        return register(sensor, sensor.as(ColorSensor.class));
+    }
+
+    /**
+     * Sets the field seen by distance sensors added after this call.
+     * By default this is a standard FTC field perimeter.
+     *
+     * @param field the field
+     */
+    public void setField(SimField field) {
+        this.field = field;
+    }
+
+    /**
+     * @return the chassis of the simulation, or null if there is none
+     */
+    public SimMecanumChassis getChassis() {
+        return chassis;
+    }
+
+    /**
+     * @return the true pose of the robot in meters
+     */
+    public Pose2d getRobotPose() {
+        return chassis == null ? new Pose2d() : chassis.getPose();
+    }
+
+    /**
+     * @return the simulated time in seconds
+     */
+    public double getTime() {
+        return nanos / 1E9;
+    }
+
+    /**
+     * @return the simulated time in nanoseconds, which starts at zero
+     */
+    public long getNanoTime() {
+        return nanos;
+    }
+
+    /**
+     * Makes the FTCLib {@link Clock} follow the simulated time of this hardware map,
+     * until {@link Clock#useSystemTime()} is called.
+     */
+    public void useSimulatedTime() {
+        Clock.setSource(this::getNanoTime);
+    }
+
+    /**
+     * Advances every device and the chassis by the given amount of time.
+     *
+     * @param dt the time step in seconds
+     */
+    public void step(double dt) {
+        for (int i = 0; i < devices.size(); i++) {
+            devices.get(i).update(dt);
+        }
+        if (chassis != null) {
+            chassis.update(dt);
+        }
+        nanos += Math.round(dt * 1E9);
+    }
+
+    /**
+     * Alternates between running the robot code and stepping the simulation.
+     *
+     * @param seconds the amount of simulated time to run for
+     * @param dt      the time step in seconds, which is also the simulated loop time
+     * @param loop    the robot code to run every loop, such as {@code CommandScheduler::run}
+     */
+    public void run(double seconds, double dt, Runnable loop) {
+        long end = nanos + Math.round((seconds - dt / 2) * 1E9);
+        while (nanos < end) {
+            loop.run();
+            step(dt);
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.arcrobotics.ftclib.hardware.sim;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.util.Clock;
+import com.qualcomm.hardware.bosch.BNO055IMU;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.AxesOrder;
+import org.firstinspires.ftc.robotcore.external.navigation.AxesReference;
+import org.firstinspires.ftc.robotcore.external.navigation.Orientation;
+
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A simulated {@link BNO055IMU} that reports the heading of the simulated robot.
+ * Pitch and roll are always zero.
+ */
+public class SimIMU extends SimDevice {
+
+    private final Supplier<Pose2d> robotPose;
+    private final LongSupplier clock;
+    private AngleUnit angleUnit = AngleUnit.RADIANS;
+    private double drift, driftRate;
+
+    /**
+     * @param name      the name the IMU is registered under
+     * @param robotPose the pose of the simulated robot
+     */
+    public SimIMU(String name, Supplier<Pose2d> robotPose) {
+        this(name, robotPose, Clock::nanoTime);
+    }
+
+    /**
+     * @param name      the name the IMU is registered under
+     * @param robotPose the pose of the simulated robot
+     * @param clock     supplies the time in nanoseconds the readings are stamped with
+     */
+    public SimIMU(String name, Supplier<Pose2d> robotPose, LongSupplier clock) {
+        super(name);
+        this.robotPose = robotPose;
+        this.clock = clock;
+    }
+
+    /**
+     * Makes the reported heading drift away from the true heading over time.
+     *
+     * @param radiansPerSecond the drift rate
+     */
+    public void setDriftRate(double radiansPerSecond) {
+        driftRate = radiansPerSecond;
+    }
+
+    @Override
+    public void update(double dt) {
+        drift += driftRate * dt;
+    }
+
+    private Orientation getOrientation(AngleUnit unit) {
+        double heading = robotPose.get().getHeading() + drift;
+        heading = Math.atan2(Math.sin(heading), Math.cos(heading));
+        return new Orientation(AxesReference.INTRINSIC, AxesOrder.ZYX, unit,
+                (float) unit.fromUnit(AngleUnit.RADIANS, heading), 0, 0, clock.getAsLong());
+    }
+
+    @Override
+    protected Object handle(String method, Object[] args) {
+        switch (method) {
+            case "initialize":
+                BNO055IMU.Parameters parameters = (BNO055IMU.Parameters) args[0];
+                angleUnit = parameters.angleUnit == BNO055IMU.AngleUnit.DEGREES
+                        ? AngleUnit.DEGREES : AngleUnit.RADIANS;
+                return true;
+            case "getAngularOrientation":
+                return getOrientation(args.length == 3 ? (AngleUnit) args[2] : angleUnit);
+            case "isGyroCalibrated":
+            case "isSystemCalibrated":
+                return true;
+            default:
+                return UNHANDLED;
+        }
+    }
+
+}
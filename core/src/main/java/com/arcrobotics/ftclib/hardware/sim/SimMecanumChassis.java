@@ -0,0 +1,115 @@
+package com.arcrobotics.ftclib.hardware.sim;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Twist2d;
+import com.arcrobotics.ftclib.kinematics.wpilibkinematics.ChassisSpeeds;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A mecanum chassis driven by four simulated motors. The chassis moves with the
+ * wheel speeds of the motors and carries the dead wheels, IMU and distance sensors
+ * of the simulation along with it. Distances are in meters.
+ *
+ * <p>The right side motors are mounted mirrored, as {@code MecanumDrive} expects by default,
+ * so a positive power on a right side motor drives its wheel backwards. The robot mass
+ * is shared evenly between the motors as load inertia; wheel slip is not modeled.</p>
+ */
+public class SimMecanumChassis {
+
+    private final SimMotor[] motors;
+    private final double wheelRadius, rotationRadius;
+    private final List<SimEncoder> deadWheels = new ArrayList<>();
+    private final List<Pose2d> deadWheelMounts = new ArrayList<>();
+    private final ChassisSpeeds speeds = new ChassisSpeeds();
+    private final Twist2d twist = new Twist2d();
+
+    private Pose2d pose = new Pose2d();
+
+    /**
+     * @param frontLeft   the front left motor
+     * @param frontRight  the front right motor
+     * @param backLeft    the back left motor
+     * @param backRight   the back right motor
+     * @param wheelRadius the radius of the wheels in meters
+     * @param trackWidth  the distance between the left and right wheels in meters
+     * @param wheelBase   the distance between the front and back wheels in meters
+     * @param mass        the mass of the robot in kilograms
+     */
+    public SimMecanumChassis(SimMotor frontLeft, SimMotor frontRight, SimMotor backLeft,
+                             SimMotor backRight, double wheelRadius, double trackWidth,
+                             double wheelBase, double mass) {
+        motors = new SimMotor[]{frontLeft, frontRight, backLeft, backRight};
+        this.wheelRadius = wheelRadius;
+        rotationRadius = (trackWidth + wheelBase) / 2;
+
+        for (SimMotor motor : motors) {
+            motor.getModel().setLoadInertia(mass * wheelRadius * wheelRadius / 4);
+        }
+    }
+
+    /**
+     * Adds a dead wheel that rolls along with the chassis.
+     *
+     * @param encoder the encoder of the dead wheel
+     * @param mount   the position of the wheel on the robot, with the rotation pointing
+     *                in the direction the wheel rolls
+     */
+    public void addDeadWheel(SimEncoder encoder, Pose2d mount) {
+        deadWheels.add(encoder);
+        deadWheelMounts.add(mount);
+    }
+
+    /**
+     * Moves the chassis with the current wheel speeds. The motors are expected to have
+     * been updated for this step already.
+     *
+     * @param dt the time step in seconds
+     */
+    public void update(double dt) {
+        double fl = wheelSpeed(0), fr = -wheelSpeed(1), bl = wheelSpeed(2), br = -wheelSpeed(3);
+
+        speeds.vxMetersPerSecond = (fl + fr + bl + br) / 4;
+        speeds.vyMetersPerSecond = (-fl + fr + bl - br) / 4;
+        speeds.omegaRadiansPerSecond = (-fl + fr - bl + br) / (4 * rotationRadius);
+
+        twist.dx = speeds.vxMetersPerSecond * dt;
+        twist.dy = speeds.vyMetersPerSecond * dt;
+        twist.dtheta = speeds.omegaRadiansPerSecond * dt;
+        pose = pose.exp(twist);
+
+        for (int i = 0; i < deadWheels.size(); i++) {
+            Pose2d mount = deadWheelMounts.get(i);
+            double along = (twist.dx - twist.dtheta * mount.getY()) * mount.getRotation().getCos()
+                    + (twist.dy + twist.dtheta * mount.getX()) * mount.getRotation().getSin();
+            deadWheels.get(i).move(along, dt);
+        }
+    }
+
+    private double wheelSpeed(int index) {
+        return motors[index].getModel().getVelocity() * wheelRadius;
+    }
+
+    /**
+     * @return the pose of the robot on the field
+     */
+    public Pose2d getPose() {
+        return pose;
+    }
+
+    /**
+     * @param pose the new pose of the robot on the field
+     */
+    public void setPose(Pose2d pose) {
+        this.pose = pose;
+    }
+
+    /**
+     * @return the robot relative speeds of the chassis during the last step
+     */
+    public ChassisSpeeds getSpeeds() {
+        return speeds;
+    }
+
+}
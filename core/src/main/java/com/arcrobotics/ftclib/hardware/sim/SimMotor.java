@@ -0,0 +1,129 @@
+package com.arcrobotics.ftclib.hardware.sim;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorSimple;
+import com.qualcomm.robotcore.hardware.configuration.typecontainers.MotorConfigurationType;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.CurrentUnit;
+
+/**
+ * A simulated {@link com.qualcomm.robotcore.hardware.DcMotorEx} driven by a {@link DcMotorSim}.
+ *
+ * <p>The built-in velocity control of the SDK is approximated by open loop power
+ * proportional to the requested velocity.</p>
+ */
+public class SimMotor extends SimDevice {
+
+    private final DcMotorSim model;
+    private final int port;
+    private MotorConfigurationType motorType;
+
+    private double power;
+    private DcMotorSimple.Direction direction = DcMotorSimple.Direction.FORWARD;
+    private DcMotor.ZeroPowerBehavior zeroPowerBehavior = DcMotor.ZeroPowerBehavior.BRAKE;
+    private DcMotor.RunMode mode = DcMotor.RunMode.RUN_WITHOUT_ENCODER;
+
+    /**
+     * @param name  the name the motor is registered under
+     * @param model the physics model of the motor
+     * @param port  the simulated port number
+     */
+    public SimMotor(String name, DcMotorSim model, int port) {
+        super(name);
+        this.model = model;
+        this.port = port;
+
+        motorType = new MotorConfigurationType();
+        motorType.setTicksPerRev(model.getCountsPerRevolution());
+        motorType.setMaxRPM(model.getFreeSpeed() * 60 / (2 * Math.PI));
+    }
+
+    /**
+     * @return the physics model of the motor
+     */
+    public DcMotorSim getModel() {
+        return model;
+    }
+
+    /**
+     * @return the power last set by the robot code
+     */
+    public double getPower() {
+        return power;
+    }
+
+    @Override
+    public void update(double dt) {
+        model.setBrake(zeroPowerBehavior != DcMotor.ZeroPowerBehavior.FLOAT);
+        model.setPower(getMultiplier() * power);
+        model.update(dt);
+    }
+
+    private int getMultiplier() {
+        return direction == DcMotorSimple.Direction.REVERSE ? -1 : 1;
+    }
+
+    private double getTicks() {
+        return getMultiplier() * model.getPosition() * model.getCountsPerRevolution() / (2 * Math.PI);
+    }
+
+    private double getTicksPerSecond() {
+        return getMultiplier() * model.getVelocity() * model.getCountsPerRevolution() / (2 * Math.PI);
+    }
+
+    @Override
+    protected Object handle(String method, Object[] args) {
+        switch (method) {
+            case "setPower":
+                power = (Double) args[0];
+                return null;
+            case "getPower":
+                return power;
+            case "setDirection":
+                direction = (DcMotorSimple.Direction) args[0];
+                return null;
+            case "getDirection":
+                return direction;
+            case "setZeroPowerBehavior":
+                zeroPowerBehavior = (DcMotor.ZeroPowerBehavior) args[0];
+                return null;
+            case "getZeroPowerBehavior":
+                return zeroPowerBehavior;
+            case "setMode":
+                mode = (DcMotor.RunMode) args[0];
+                if (mode == DcMotor.RunMode.STOP_AND_RESET_ENCODER) {
+                    power = 0;
+                    model.resetPosition();
+                }
+                return null;
+            case "getMode":
+                return mode;
+            case "getCurrentPosition":
+                return (int) Math.round(getTicks());
+            case "getVelocity":
+                return args.length == 0 ? getTicksPerSecond()
+                        : ((AngleUnit) args[0]).fromUnit(AngleUnit.RADIANS, getMultiplier() * model.getVelocity());
+            case "setVelocity":
+                double ticksPerSecond = args.length == 1 ? (Double) args[0]
+                        : AngleUnit.RADIANS.fromUnit((AngleUnit) args[1], (Double) args[0])
+                        * model.getCountsPerRevolution() / (2 * Math.PI);
+                power = ticksPerSecond / (model.getFreeSpeed() * model.getCountsPerRevolution() / (2 * Math.PI));
+                return null;
+            case "getCurrent":
+                return args[0] == CurrentUnit.MILLIAMPS ? model.getCurrent() * 1000 : model.getCurrent();
+            case "getMotorType":
+                return motorType;
+            case "setMotorType":
+                motorType = (MotorConfigurationType) args[0];
+                return null;
+            case "getPortNumber":
+                return port;
+            case "isMotorEnabled":
+                return true;
+            default:
+                return UNHANDLED;
+        }
+    }
+
+}
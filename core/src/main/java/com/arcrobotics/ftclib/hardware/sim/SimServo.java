@@ -0,0 +1,81 @@
+package com.arcrobotics.ftclib.hardware.sim;
+
+import com.qualcomm.robotcore.hardware.DcMotorSimple;
+import com.qualcomm.robotcore.hardware.Servo;
+
+/**
+ * A simulated {@link Servo} or {@link com.qualcomm.robotcore.hardware.CRServo}.
+ * A positional servo moves towards its commanded position at a limited speed.
+ */
+public class SimServo extends SimDevice {
+
+    private final int port;
+    private double commandedPosition, position, power;
+    private double speed = 1 / 0.6;
+    private boolean reversed;
+    private Object direction;
+
+    /**
+     * @param name the name the servo is registered under
+     * @param port the simulated port number
+     */
+    public SimServo(String name, int port) {
+        super(name);
+        this.port = port;
+    }
+
+    /**
+     * @param rangePerSecond the fraction of the full range the servo can travel per second
+     */
+    public void setSpeed(double rangePerSecond) {
+        speed = rangePerSecond;
+    }
+
+    /**
+     * @return the actual position of the servo, from 0 to 1, ignoring its direction
+     */
+    public double getActualPosition() {
+        return position;
+    }
+
+    /**
+     * @return the power last set on a continuous rotation servo, ignoring its direction
+     */
+    public double getActualPower() {
+        return power;
+    }
+
+    @Override
+    public void update(double dt) {
+        double maxStep = speed * dt;
+        position += Math.max(-maxStep, Math.min(maxStep, commandedPosition - position));
+    }
+
+    @Override
+    protected Object handle(String method, Object[] args) {
+        switch (method) {
+            case "setPosition":
+                double target = (Double) args[0];
+                commandedPosition = reversed ? 1 - target : target;
+                return null;
+            case "getPosition":
+                return reversed ? 1 - commandedPosition : commandedPosition;
+            case "setPower":
+                power = (reversed ? -1 : 1) * (Double) args[0];
+                return null;
+            case "getPower":
+                return (reversed ? -1 : 1) * power;
+            case "setDirection":
+                direction = args[0];
+                reversed = direction == Servo.Direction.REVERSE || direction == DcMotorSimple.Direction.REVERSE;
+                return null;
+            case "getDirection":
+                return direction == null ? UNHANDLED : direction;
+            case "getPortNumber":
+                return port;
+            default:
+                return UNHANDLED;
+        }
+    }
+
+}
@@ -1,9 +1,9 @@
 package com.arcrobotics.ftclib.kinematics;
 
 import com.arcrobotics.ftclib.drivebase.DifferentialDrive;
+import com.arcrobotics.ftclib.geometry.MutablePose2d;
+import com.arcrobotics.ftclib.geometry.MutableRotation2d;
 import com.arcrobotics.ftclib.geometry.Pose2d;
-import com.arcrobotics.ftclib.geometry.Rotation2d;
-import com.arcrobotics.ftclib.geometry.Twist2d;
 
 import java.util.function.DoubleSupplier;
 
@@ -14,7 +14,13 @@ import java.util.function.DoubleSupplier;
 public class DifferentialOdometry extends Odometry {
 
     private double prevLeftEncoder, prevRightEncoder;
-    private Rotation2d previousAngle;
+
+    // the pose is integrated in place and only copied into robotPose when asked for
+    private final MutablePose2d m_pose;
+    private final MutableRotation2d m_previousAngle;
+    private final MutableRotation2d m_angle = new MutableRotation2d();
+    private final MutableRotation2d m_deltaAngle = new MutableRotation2d();
+    private boolean m_poseStale;
 
     // the suppliers
     DoubleSupplier m_left, m_right;
@@ -44,7 +50,8 @@ public class DifferentialOdometry extends Odometry {
      */
     public DifferentialOdometry(Pose2d initialPose, double trackWidth) {
         super(initialPose, trackWidth);
-        previousAngle = initialPose.getRotation();
+        m_pose = new MutablePose2d(initialPose);
+        m_previousAngle = new MutableRotation2d(initialPose.getRotation());
     }
 
     /**
@@ -54,8 +61,12 @@ public class DifferentialOdometry extends Odometry {
      */
     @Override
     public void updatePose(Pose2d newPose) {
-        previousAngle = newPose.getRotation();
+        m_previousAngle.set(newPose.getRotation());
+        m_pose.set(newPose);
         robotPose = newPose;
+        m_poseStale = false;
+        clearPoseHistory();
+        resetGyroOffset(m_pose.getHeading());
 
         prevLeftEncoder = 0;
         prevRightEncoder = 0;
@@ -86,18 +97,41 @@ public class DifferentialOdometry extends Odometry {
 
         double dx = (deltaLeftDistance + deltaRightDistance) / 2.0;
 
-        Rotation2d angle = previousAngle.plus(
-                new Rotation2d(
-                        (deltaLeftDistance - deltaRightDistance) / trackWidth
-                )
-        );
+        m_angle.set(m_previousAngle).rotateByInPlace((deltaLeftDistance - deltaRightDistance) / trackWidth);
+        fuseHeading(m_angle);
 
-        Pose2d newPose = robotPose.exp(
-                new Twist2d(dx, 0.0, angle.minus(previousAngle).getRadians())
-        );
+        m_pose.expInPlace(dx, 0.0, m_deltaAngle.set(m_angle).minusInPlace(m_previousAngle).getRadians());
+        m_pose.getRotation().set(m_angle);
+
+        m_previousAngle.set(m_angle);
+        m_poseStale = true;
+        recordPose(m_pose);
+    }
+
+    @Override
+    public Pose2d getPose() {
+        if (m_poseStale) {
+            robotPose = m_pose.toPose2d();
+            m_poseStale = false;
+        }
+        return robotPose;
+    }
 
-        previousAngle = angle;
+    @Override
+    public MutablePose2d getPose(MutablePose2d dest) {
+        return dest.set(m_pose);
+    }
 
-        robotPose = new Pose2d(newPose.getTranslation(), angle);
+    @Override
+    protected void setPose(MutablePose2d pose) {
+        m_pose.set(pose);
+        m_previousAngle.set(pose.getRotation());
+        m_poseStale = true;
+    }
+
+    @Override
+    public void rotatePose(double byAngle) {
+        m_pose.rotateInPlace(byAngle);
+        m_poseStale = true;
     }
-}
\ No newline at end of file
+}
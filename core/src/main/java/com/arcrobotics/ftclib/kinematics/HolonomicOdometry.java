@@ -1,17 +1,39 @@
 package com.arcrobotics.ftclib.kinematics;
 
+import com.arcrobotics.ftclib.geometry.MutablePose2d;
+import com.arcrobotics.ftclib.geometry.MutableRotation2d;
 import com.arcrobotics.ftclib.geometry.Pose2d;
-import com.arcrobotics.ftclib.geometry.Rotation2d;
-import com.arcrobotics.ftclib.geometry.Twist2d;
 
 import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
 
 public class HolonomicOdometry extends Odometry {
 
     private double prevLeftEncoder, prevRightEncoder, prevHorizontalEncoder;
-    private Rotation2d previousAngle;
     private double centerWheelOffset;
 
+    // the pose is integrated in place and only copied into robotPose when asked for
+    private final MutablePose2d m_pose;
+    private final MutableRotation2d m_previousAngle;
+    private final MutableRotation2d m_angle = new MutableRotation2d();
+    private final MutableRotation2d m_deltaAngle = new MutableRotation2d();
+    private boolean m_poseStale;
+
+    // sub-stepping, which needs the twist of the previous update
+    private int m_subSteps = 1;
+    private double m_prevDx, m_prevDy, m_prevDw;
+    private boolean m_hasPrevTwist;
+
+    // slip detection, where a limit of 0 is not checked
+    private double m_maxSpeed, m_maxAngularSpeed, m_maxHeadingError;
+    private long m_lastUpdateTime;
+    private boolean m_hasUpdated;
+    private boolean m_slipping;
+    private long m_slipCount;
+    // the pose at the last gyro read, and the gap to the gyro that was left after fusing it
+    private final MutablePose2d m_poseAtGyroRead;
+    private double m_headingResidual;
+
     // the suppliers
     DoubleSupplier m_left, m_right, m_horizontal;
 
@@ -25,7 +47,9 @@ public class HolonomicOdometry extends Odometry {
 
     public HolonomicOdometry(Pose2d initialPose, double trackwidth, double centerWheelOffset) {
         super(initialPose, trackwidth);
-        previousAngle = initialPose.getRotation();
+        m_pose = new MutablePose2d(initialPose);
+        m_poseAtGyroRead = new MutablePose2d(initialPose);
+        m_previousAngle = new MutableRotation2d(initialPose.getRotation());
         this.centerWheelOffset = centerWheelOffset;
     }
 
@@ -33,6 +57,77 @@ public class HolonomicOdometry extends Odometry {
         this(new Pose2d(), trackwidth, centerWheelOffset);
     }
 
+    HolonomicOdometry(DoubleSupplier leftEncoder, DoubleSupplier rightEncoder,
+                      DoubleSupplier horizontalEncoder, double trackWidth, double centerWheelOffset,
+                      LongSupplier clock) {
+        this(leftEncoder, rightEncoder, horizontalEncoder, trackWidth, centerWheelOffset);
+        this.clock = clock;
+    }
+
+    /**
+     * Splits every update into sub-steps. A single pose exponential assumes the
+     * robot moved along a constant arc since the last update, which is wrong when
+     * the loop is slow and the robot is speeding up, slowing down or changing
+     * curvature. With sub-steps, the robot's velocity is assumed to change linearly
+     * from the last update to this one, and each sub-step is integrated at its
+     * midpoint. The total distance and rotation of each update are unchanged.
+     *
+     * @param subSteps the number of sub-steps per update, 1 to integrate each update as a single arc
+     */
+    public void setSubSteps(int subSteps) {
+        if (subSteps < 1) {
+            throw new IllegalArgumentException("There must be at least one sub-step");
+        }
+        m_subSteps = subSteps;
+    }
+
+    /**
+     * Rejects updates where the wheels are likely slipping. The position is not
+     * moved by a rejected update, and its heading only follows the gyro, if one is set.
+     *
+     * <p>An update is rejected if it implies a speed the robot can't reach, or if the
+     * heading change from the encoders since the last gyro read disagrees with the
+     * gyro's by more than the given amount. The gap left over from earlier reads
+     * when the gyro weight is below 1 is not counted. When the gyro is read less
+     * often than the odometry updates, a heading disagreement also discards the
+     * movement of the updates since the last read, since the wheels may have been
+     * slipping through all of them. Any limit can be 0 to not check it.
+     *
+     * @param maxSpeed        the fastest the robot can drive, in distance units per second
+     * @param maxAngularSpeed the fastest the robot can turn, in radians per second
+     * @param maxHeadingError the largest allowed difference between the encoder and gyro
+     *                        heading change between two gyro reads, in radians
+     */
+    public void setSlipDetection(double maxSpeed, double maxAngularSpeed, double maxHeadingError) {
+        if (maxSpeed < 0 || maxAngularSpeed < 0 || maxHeadingError < 0) {
+            throw new IllegalArgumentException("The slip limits cannot be negative");
+        }
+        m_maxSpeed = maxSpeed;
+        m_maxAngularSpeed = maxAngularSpeed;
+        m_maxHeadingError = maxHeadingError;
+    }
+
+    /**
+     * Stops checking updates for wheel slip.
+     */
+    public void disableSlipDetection() {
+        setSlipDetection(0, 0, 0);
+    }
+
+    /**
+     * @return true if the last update was rejected because of wheel slip
+     */
+    public boolean isSlipping() {
+        return m_slipping;
+    }
+
+    /**
+     * @return the number of updates rejected because of wheel slip
+     */
+    public long getSlipCount() {
+        return m_slipCount;
+    }
+
     /**
      * This handles all the calculations for you.
      */
@@ -43,8 +138,15 @@ public class HolonomicOdometry extends Odometry {
 
     @Override
     public void updatePose(Pose2d pose) {
-        previousAngle = pose.getRotation();
+        m_previousAngle.set(pose.getRotation());
+        m_pose.set(pose);
         robotPose = pose;
+        m_poseStale = false;
+        clearPoseHistory();
+        resetGyroOffset(m_pose.getHeading());
+        m_hasPrevTwist = false;
+        m_poseAtGyroRead.set(m_pose);
+        m_headingResidual = 0;
 
         prevLeftEncoder = 0;
         prevRightEncoder = 0;
@@ -56,28 +158,107 @@ public class HolonomicOdometry extends Odometry {
         double deltaRightEncoder = rightEncoderPos - prevRightEncoder;
         double deltaHorizontalEncoder = horizontalEncoderPos - prevHorizontalEncoder;
 
-        Rotation2d angle = previousAngle.plus(
-                new Rotation2d(
-                        (deltaLeftEncoder - deltaRightEncoder) / trackWidth
-                )
-        );
+        m_angle.set(m_previousAngle).rotateByInPlace((deltaLeftEncoder - deltaRightEncoder) / trackWidth);
+        double encoderHeading = m_angle.getRadians();
+        double headingError = fuseHeading(m_angle);
+        // the disagreement that built up since the last read, without what was left over from it
+        double intervalError = headingError - m_headingResidual;
 
         prevLeftEncoder = leftEncoderPos;
         prevRightEncoder = rightEncoderPos;
         prevHorizontalEncoder = horizontalEncoderPos;
 
-        double dw = (angle.minus(previousAngle).getRadians());
+        double dw = m_deltaAngle.set(m_angle).minusInPlace(m_previousAngle).getRadians();
 
         double dx = (deltaLeftEncoder + deltaRightEncoder) / 2;
         double dy = deltaHorizontalEncoder - (centerWheelOffset * dw);
 
-        Twist2d twist2d = new Twist2d(dx, dy, dw);
+        long now = clock.getAsLong();
+        boolean headingSlip = m_maxHeadingError > 0 && Math.abs(intervalError) > m_maxHeadingError;
+        m_slipping = headingSlip || isSlip(dx, dy, dw, now - m_lastUpdateTime);
+        m_lastUpdateTime = now;
+        m_hasUpdated = true;
+
+        if (m_slipping) {
+            m_slipCount++;
+            m_hasPrevTwist = false;
+            if (Double.isNaN(headingError)) {
+                m_angle.set(m_previousAngle);
+            } else {
+                m_angle.set(encoderHeading + headingError);
+            }
+            if (headingSlip) {
+                m_pose.getTranslation().set(m_poseAtGyroRead.getTranslation());
+            }
+        } else if (m_subSteps > 1 && m_hasPrevTwist) {
+            for (int i = 0; i < m_subSteps; i++) {
+                // the offset of the sub-step midpoint from the middle of the update, from -0.5 to 0.5
+                double s = (i + 0.5) / m_subSteps - 0.5;
+                m_pose.expInPlace(
+                        (dx + (dx - m_prevDx) * s) / m_subSteps,
+                        (dy + (dy - m_prevDy) * s) / m_subSteps,
+                        (dw + (dw - m_prevDw) * s) / m_subSteps
+                );
+            }
+        } else {
+            m_pose.expInPlace(dx, dy, dw);
+        }
+
+        if (!m_slipping) {
+            m_prevDx = dx;
+            m_prevDy = dy;
+            m_prevDw = dw;
+            m_hasPrevTwist = true;
+        }
+
+        m_pose.getRotation().set(m_angle);
+        if (!Double.isNaN(headingError)) {
+            m_headingResidual = m_slipping
+                    ? 0 : Math.IEEEremainder(encoderHeading + headingError - m_angle.getRadians(), 2 * Math.PI);
+            m_poseAtGyroRead.set(m_pose);
+        }
+
+        m_previousAngle.set(m_angle);
+        m_poseStale = true;
+        recordPose(m_pose);
+    }
+
+    private boolean isSlip(double dx, double dy, double dw, long elapsedNanos) {
+        if (!m_hasUpdated || elapsedNanos <= 0) {
+            return false;
+        }
+        double seconds = elapsedNanos / 1E9;
+        return m_maxSpeed > 0 && Math.hypot(dx, dy) > m_maxSpeed * seconds
+                || m_maxAngularSpeed > 0 && Math.abs(dw) > m_maxAngularSpeed * seconds;
+    }
+
+    @Override
+    public Pose2d getPose() {
+        if (m_poseStale) {
+            robotPose = m_pose.toPose2d();
+            m_poseStale = false;
+        }
+        return robotPose;
+    }
 
-        Pose2d newPose = robotPose.exp(twist2d);
+    @Override
+    public MutablePose2d getPose(MutablePose2d dest) {
+        return dest.set(m_pose);
+    }
 
-        previousAngle = angle;
+    @Override
+    protected void setPose(MutablePose2d pose) {
+        m_pose.set(pose);
+        m_previousAngle.set(pose.getRotation());
+        m_poseAtGyroRead.set(pose);
+        m_poseStale = true;
+    }
 
-        robotPose = new Pose2d(newPose.getTranslation(), angle);
+    @Override
+    public void rotatePose(double byAngle) {
+        m_pose.rotateInPlace(byAngle);
+        m_poseAtGyroRead.rotateInPlace(byAngle);
+        m_poseStale = true;
     }
 
 }
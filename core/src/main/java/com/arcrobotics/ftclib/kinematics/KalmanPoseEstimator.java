@@ -0,0 +1,643 @@
+package com.arcrobotics.ftclib.kinematics;
+
+import com.arcrobotics.ftclib.geometry.MutablePose2d;
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Twist2d;
+import com.arcrobotics.ftclib.hardware.GyroEx;
+import com.arcrobotics.ftclib.util.Clock;
+
+import org.ejml.data.DMatrix3;
+import org.ejml.data.DMatrix3x3;
+import org.ejml.dense.fixed.CommonOps_DDF3;
+
+/**
+ * An extended Kalman filter that estimates the field pose of the robot
+ * (x, y, heading) along with its covariance.
+ *
+ * <p>Odometry drives the prediction step: every loop, pass the twist measured by
+ * the drive encoders to {@link #predict(double, double, double, long)}, or pass
+ * the pose of any {@link Odometry} to {@link #updateWithOdometry(MutablePose2d, long)}.
+ * Absolute measurements, such as the IMU heading or a robot pose computed from an
+ * AprilTag detection, correct the drift that dead-reckoning builds up.
+ *
+ * <p>Measurements may arrive late. Each prediction and each measurement is kept
+ * in a fixed-size history, so a measurement taken in the past is applied at the
+ * update it belongs to, and the odometry and measurements since then are replayed
+ * on top of it. A late camera frame therefore does not undo the gyro updates and
+ * other camera frames that came after it. A measurement is applied at the latest
+ * update at or before its timestamp, and is dropped if it is older than the whole
+ * history. The measurement history holds twice as many entries as the update
+ * history; when it is full, the oldest measurements are no longer replayed.
+ *
+ * <p>All of the runtime methods use preallocated fixed-size ejml matrices and
+ * primitive arrays, so nothing is allocated per loop.
+ */
+public class KalmanPoseEstimator {
+
+    private static final double kTwoPi = 2 * Math.PI;
+
+    // the current estimate
+    private final MutablePose2d m_pose = new MutablePose2d();
+    private final DMatrix3x3 m_covariance = new DMatrix3x3();
+
+    // one entry per prediction: the time, the twist that was applied and the estimate after it
+    private final long[] m_time;
+    private final double[] m_dx, m_dy, m_dtheta;
+    private final double[] m_x, m_y, m_heading;
+    private final double[] m_p;
+    private int m_head, m_size;
+
+    // one entry per measurement in time order: heading measurements only use the heading fields
+    private final long[] m_measurementTime;
+    private final boolean[] m_headingOnly;
+    private final double[] m_measuredX, m_measuredY, m_measuredHeading;
+    private final double[] m_stdDevX, m_stdDevY, m_stdDevHeading;
+    private int m_measurementHead, m_measurementSize;
+
+    // noise parameters
+    private double m_translationStdDevPerUnit = 0.05;
+    private double m_rotationStdDevPerRadian = 0.05;
+    private double m_headingStdDev = 0.01;
+    private double m_visionStdDevX = 2.0, m_visionStdDevY = 2.0, m_visionStdDevHeading = 0.1;
+
+    private double m_gyroOffset;
+
+    // scratch space for the filter equations
+    private final DMatrix3x3 m_jacobian = new DMatrix3x3();
+    private final DMatrix3x3 m_temp = new DMatrix3x3();
+    private final DMatrix3x3 m_innovationCovariance = new DMatrix3x3();
+    private final DMatrix3x3 m_gain = new DMatrix3x3();
+    private final DMatrix3 m_innovation = new DMatrix3();
+    private final DMatrix3 m_correction = new DMatrix3();
+    private final MutablePose2d m_lastOdometryPose = new MutablePose2d();
+    private final Twist2d m_odometryTwist = new Twist2d();
+    private boolean m_hasOdometryPose;
+
+    /**
+     * Creates an estimator at the origin that can compensate for measurements up
+     * to 128 updates late.
+     */
+    public KalmanPoseEstimator() {
+        this(new Pose2d(), 128);
+    }
+
+    /**
+     * @param initialPose     the starting pose of the robot
+     * @param historyCapacity the number of past updates kept for late measurements
+     */
+    public KalmanPoseEstimator(Pose2d initialPose, int historyCapacity) {
+        if (historyCapacity < 1) {
+            throw new IllegalArgumentException("The history capacity must be at least 1");
+        }
+        m_time = new long[historyCapacity];
+        m_dx = new double[historyCapacity];
+        m_dy = new double[historyCapacity];
+        m_dtheta = new double[historyCapacity];
+        m_x = new double[historyCapacity];
+        m_y = new double[historyCapacity];
+        m_heading = new double[historyCapacity];
+        m_p = new double[historyCapacity * 9];
+
+        int measurementCapacity = historyCapacity * 2;
+        m_measurementTime = new long[measurementCapacity];
+        m_headingOnly = new boolean[measurementCapacity];
+        m_measuredX = new double[measurementCapacity];
+        m_measuredY = new double[measurementCapacity];
+        m_measuredHeading = new double[measurementCapacity];
+        m_stdDevX = new double[measurementCapacity];
+        m_stdDevY = new double[measurementCapacity];
+        m_stdDevHeading = new double[measurementCapacity];
+        resetPose(initialPose);
+    }
+
+    /**
+     * Sets how much the odometry is trusted. The standard deviation of each
+     * prediction grows with the distance and angle travelled.
+     *
+     * @param translationPerUnit the standard deviation of the translation per unit travelled
+     * @param rotationPerRadian  the standard deviation of the rotation per radian turned
+     */
+    public void setOdometryStdDevs(double translationPerUnit, double rotationPerRadian) {
+        m_translationStdDevPerUnit = translationPerUnit;
+        m_rotationStdDevPerRadian = rotationPerRadian;
+    }
+
+    /**
+     * @param stdDev the standard deviation of heading measurements in radians
+     */
+    public void setHeadingStdDev(double stdDev) {
+        m_headingStdDev = stdDev;
+    }
+
+    /**
+     * Sets the default standard deviations of vision measurements.
+     *
+     * @param x       the standard deviation of the x component
+     * @param y       the standard deviation of the y component
+     * @param heading the standard deviation of the heading in radians
+     */
+    @SuppressWarnings("ParameterName")
+    public void setVisionStdDevs(double x, double y, double heading) {
+        m_visionStdDevX = x;
+        m_visionStdDevY = y;
+        m_visionStdDevHeading = heading;
+    }
+
+    /**
+     * Resets the estimate to a known pose with no uncertainty and clears the history.
+     *
+     * @param pose the new pose of the robot
+     */
+    public void resetPose(Pose2d pose) {
+        m_pose.set(pose);
+        m_covariance.zero();
+        m_head = 0;
+        m_size = 0;
+        m_measurementHead = 0;
+        m_measurementSize = 0;
+        m_hasOdometryPose = false;
+    }
+
+    /**
+     * Resets the estimate to a known pose and remembers the offset between the
+     * gyro and the field, for {@link #addGyroMeasurement(GyroEx, long)}.
+     *
+     * @param pose the new pose of the robot
+     * @param gyro the gyro on the robot
+     */
+    public void resetPose(Pose2d pose, GyroEx gyro) {
+        resetPose(pose);
+        m_gyroOffset = pose.getHeading() - gyro.getRotation2d().getRadians();
+    }
+
+    /**
+     * Moves the estimate forward by a twist measured by the odometry.
+     *
+     * @param dx             the change in x relative to the robot since the last prediction
+     * @param dy             the change in y relative to the robot since the last prediction
+     * @param dtheta         the change in heading since the last prediction
+     * @param timestampNanos the {@link Clock#nanoTime()} the twist was measured at,
+     *                       no earlier than the last prediction
+     */
+    public void predict(double dx, double dy, double dtheta, long timestampNanos) {
+        if (m_size > 0 && timestampNanos - m_time[physical(m_size - 1)] < 0) {
+            throw new IllegalArgumentException("Predictions must be made in time order");
+        }
+        applyPrediction(dx, dy, dtheta);
+
+        int index;
+        if (m_size < m_time.length) {
+            index = physical(m_size);
+            m_size++;
+        } else {
+            index = m_head;
+            m_head = (m_head + 1) % m_time.length;
+        }
+        m_time[index] = timestampNanos;
+        m_dx[index] = dx;
+        m_dy[index] = dy;
+        m_dtheta[index] = dtheta;
+        store(index);
+    }
+
+    /**
+     * Moves the estimate forward by a twist measured by the odometry.
+     *
+     * @param twist          the change in pose relative to the robot since the last prediction
+     * @param timestampNanos the {@link Clock#nanoTime()} the twist was measured at
+     */
+    public void predict(Twist2d twist, long timestampNanos) {
+        predict(twist.dx, twist.dy, twist.dtheta, timestampNanos);
+    }
+
+    /**
+     * Moves the estimate forward by the change in a dead-reckoned pose since the
+     * last call. This works with any odometry, for example
+     * {@code estimator.updateWithOdometry(odometry.getPose(scratch), Clock.nanoTime())}.
+     * The first call only records the pose.
+     *
+     * @param odometryPose   the latest pose from the odometry
+     * @param timestampNanos the {@link Clock#nanoTime()} the pose was measured at
+     */
+    public void updateWithOdometry(MutablePose2d odometryPose, long timestampNanos) {
+        if (m_hasOdometryPose) {
+            m_lastOdometryPose.log(odometryPose, m_odometryTwist);
+            predict(m_odometryTwist, timestampNanos);
+        }
+        m_lastOdometryPose.set(odometryPose);
+        m_hasOdometryPose = true;
+    }
+
+    /**
+     * Corrects the estimate with a measured field heading, such as from an IMU.
+     *
+     * @param heading        the field heading of the robot in radians
+     * @param timestampNanos the {@link Clock#nanoTime()} the heading was measured at
+     * @return false if the measurement was older than the history and dropped
+     */
+    public boolean addHeadingMeasurement(double heading, long timestampNanos) {
+        int index = rewind(timestampNanos);
+        if (index == -2) {
+            return false;
+        }
+        applyHeadingMeasurement(heading, m_headingStdDev);
+        recordMeasurement(timestampNanos, true, 0, 0, heading, 0, 0, m_headingStdDev);
+        replay(index);
+        return true;
+    }
+
+    /**
+     * Reads the gyro and corrects the estimate with its heading. The offset
+     * between the gyro and the field is set by {@link #resetPose(Pose2d, GyroEx)}.
+     *
+     * @param gyro           the gyro on the robot, such as a {@link com.arcrobotics.ftclib.hardware.RevIMU}
+     * @param timestampNanos the {@link Clock#nanoTime()} the gyro was read at
+     * @return false if the measurement was older than the history and dropped
+     */
+    public boolean addGyroMeasurement(GyroEx gyro, long timestampNanos) {
+        return addHeadingMeasurement(gyro.getRotation2d().getRadians() + m_gyroOffset, timestampNanos);
+    }
+
+    /**
+     * Corrects the estimate with a measured field pose, using the default vision
+     * standard deviations.
+     *
+     * @param pose           the measured field pose of the robot
+     * @param timestampNanos the {@link Clock#nanoTime()} the camera frame was captured at
+     * @return false if the measurement was older than the history and dropped
+     */
+    public boolean addVisionMeasurement(Pose2d pose, long timestampNanos) {
+        return addVisionMeasurement(pose.getX(), pose.getY(), pose.getHeading(), timestampNanos,
+                m_visionStdDevX, m_visionStdDevY, m_visionStdDevHeading);
+    }
+
+    /**
+     * Corrects the estimate with a measured field pose.
+     *
+     * @param x              the measured x component of the robot pose
+     * @param y              the measured y component of the robot pose
+     * @param heading        the measured heading of the robot in radians
+     * @param timestampNanos the {@link Clock#nanoTime()} the camera frame was captured at
+     * @param stdDevX        the standard deviation of the x component
+     * @param stdDevY        the standard deviation of the y component
+     * @param stdDevHeading  the standard deviation of the heading in radians
+     * @return false if the measurement was older than the history and dropped
+     */
+    @SuppressWarnings("ParameterName")
+    public boolean addVisionMeasurement(double x, double y, double heading, long timestampNanos,
+                                        double stdDevX, double stdDevY, double stdDevHeading) {
+        int index = rewind(timestampNanos);
+        if (index == -2) {
+            return false;
+        }
+        applyPoseMeasurement(x, y, heading, stdDevX, stdDevY, stdDevHeading);
+        recordMeasurement(timestampNanos, false, x, y, heading, stdDevX, stdDevY, stdDevHeading);
+        replay(index);
+        return true;
+    }
+
+    /**
+     * Corrects the estimate with the observed pose of a landmark whose field
+     * pose is known, such as an AprilTag.
+     *
+     * <p>The relative pose is the landmark's position in the robot frame (forward
+     * and left of the robot center) and its heading relative to the robot. For an
+     * AprilTag detection in the camera frame, use
+     * {@link #addAprilTagMeasurement(Pose2d, Pose2d, double, double, double, long)}.
+     *
+     * @param landmarkFieldPose     the pose of the landmark on the field
+     * @param landmarkRelativePose  the pose of the landmark relative to the robot
+     * @param timestampNanos        the {@link Clock#nanoTime()} the camera frame was captured at
+     * @return false if the measurement was older than the history and dropped
+     */
+    public boolean addLandmarkMeasurement(Pose2d landmarkFieldPose, Pose2d landmarkRelativePose,
+                                          long timestampNanos) {
+        return addLandmarkMeasurement(landmarkFieldPose,
+                landmarkRelativePose.getX(), landmarkRelativePose.getY(), landmarkRelativePose.getHeading(),
+                timestampNanos);
+    }
+
+    /**
+     * Corrects the estimate with an AprilTag detection, such as one from
+     * {@code AprilTag2dPipeline}. The detection is given in the camera frame of
+     * {@code AprilTagDetection.pose}: x to the right of the lens, z out of the lens,
+     * and yaw the rotation of the tag about the vertical axis, clockwise positive
+     * seen from above. For example,
+     * {@code addAprilTagMeasurement(tagPose, cameraPose, d.pose.x, d.pose.z, Math.toRadians(d.pose.yaw), time)}
+     * when the yaw is in degrees. Distances must be in the units of the field poses.
+     *
+     * @param tagFieldPose   the pose of the tag on the field, facing out of the printed side
+     * @param cameraPose     the pose of the camera on the robot, facing out of the lens
+     * @param tagX           how far right of the lens the tag is
+     * @param tagZ           how far in front of the lens the tag is
+     * @param tagYaw         the yaw of the tag in radians, zero when it faces the camera
+     * @param timestampNanos the {@link Clock#nanoTime()} the camera frame was captured at
+     * @return false if the measurement was older than the history and dropped
+     */
+    public boolean addAprilTagMeasurement(Pose2d tagFieldPose, Pose2d cameraPose,
+                                          double tagX, double tagZ, double tagYaw, long timestampNanos) {
+        // in the camera frame the tag is tagZ forward and tagX right, facing back at the lens when the yaw is 0
+        double forward = tagZ;
+        double left = -tagX;
+        double cos = cameraPose.getRotation().getCos();
+        double sin = cameraPose.getRotation().getSin();
+        return addLandmarkMeasurement(tagFieldPose,
+                cameraPose.getX() + cos * forward - sin * left,
+                cameraPose.getY() + sin * forward + cos * left,
+                cameraPose.getHeading() + Math.PI - tagYaw,
+                timestampNanos);
+    }
+
+    private boolean addLandmarkMeasurement(Pose2d landmarkFieldPose, double relativeX, double relativeY,
+                                           double relativeHeading, long timestampNanos) {
+        // robot = landmark * relative^-1
+        double heading = landmarkFieldPose.getHeading() - relativeHeading;
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+        double x = landmarkFieldPose.getX() - (cos * relativeX - sin * relativeY);
+        double y = landmarkFieldPose.getY() - (sin * relativeX + cos * relativeY);
+        return addVisionMeasurement(x, y, wrap(heading), timestampNanos,
+                m_visionStdDevX, m_visionStdDevY, m_visionStdDevHeading);
+    }
+
+    /**
+     * @return a new {@link Pose2d} with the current estimate
+     */
+    public Pose2d getPose() {
+        return m_pose.toPose2d();
+    }
+
+    /**
+     * Copies the current estimate into {@code dest} without allocating.
+     *
+     * @param dest the pose to write into
+     * @return the destination pose
+     */
+    public MutablePose2d getPose(MutablePose2d dest) {
+        return dest.set(m_pose);
+    }
+
+    /**
+     * Copies the covariance of the estimate, ordered x, y, heading, into {@code dest}.
+     *
+     * @param dest the matrix to write into
+     * @return the destination matrix
+     */
+    public DMatrix3x3 getCovariance(DMatrix3x3 dest) {
+        dest.set(m_covariance);
+        return dest;
+    }
+
+    private void applyPrediction(double dx, double dy, double dtheta) {
+        double x = m_pose.getX();
+        double y = m_pose.getY();
+        m_pose.expInPlace(dx, dy, dtheta);
+        double deltaX = m_pose.getX() - x;
+        double deltaY = m_pose.getY() - y;
+
+        // P = F P F^T + Q, where F is the jacobian of the motion with respect to the state
+        CommonOps_DDF3.setIdentity(m_jacobian);
+        m_jacobian.a13 = -deltaY;
+        m_jacobian.a23 = deltaX;
+        CommonOps_DDF3.mult(m_jacobian, m_covariance, m_temp);
+        CommonOps_DDF3.multTransB(m_temp, m_jacobian, m_covariance);
+
+        // wheel slip and scrub move the robot in any direction, so the translation noise grows
+        // with the distance travelled and is the same along and across the robot
+        double translationVariance = square(m_translationStdDevPerUnit) * (dx * dx + dy * dy);
+        m_covariance.a11 += translationVariance;
+        m_covariance.a22 += translationVariance;
+        m_covariance.a33 += square(m_rotationStdDevPerRadian * dtheta);
+    }
+
+    private void applyHeadingMeasurement(double heading, double stdDev) {
+        // H = [0 0 1], so S is the heading variance and K is the last column of P over S
+        double innovationVariance = m_covariance.a33 + square(stdDev);
+        if (innovationVariance <= 0) {
+            return;
+        }
+        double innovation = wrap(heading - m_pose.getHeading());
+        double k1 = m_covariance.a13 / innovationVariance;
+        double k2 = m_covariance.a23 / innovationVariance;
+        double k3 = m_covariance.a33 / innovationVariance;
+
+        m_pose.set(
+                m_pose.getX() + k1 * innovation,
+                m_pose.getY() + k2 * innovation,
+                m_pose.getHeading() + k3 * innovation
+        );
+
+        // P = P - K H P, where H P is the last row of P
+        double p31 = m_covariance.a31, p32 = m_covariance.a32, p33 = m_covariance.a33;
+        m_covariance.a11 -= k1 * p31;
+        m_covariance.a12 -= k1 * p32;
+        m_covariance.a13 -= k1 * p33;
+        m_covariance.a21 -= k2 * p31;
+        m_covariance.a22 -= k2 * p32;
+        m_covariance.a23 -= k2 * p33;
+        m_covariance.a31 -= k3 * p31;
+        m_covariance.a32 -= k3 * p32;
+        m_covariance.a33 -= k3 * p33;
+        symmetrize();
+    }
+
+    @SuppressWarnings("ParameterName")
+    private void applyPoseMeasurement(double x, double y, double heading,
+                                      double stdDevX, double stdDevY, double stdDevHeading) {
+        // H = I, so S = P + R and K = P S^-1
+        m_innovationCovariance.set(m_covariance);
+        m_innovationCovariance.a11 += square(stdDevX);
+        m_innovationCovariance.a22 += square(stdDevY);
+        m_innovationCovariance.a33 += square(stdDevHeading);
+        if (!CommonOps_DDF3.invert(m_innovationCovariance, m_temp)) {
+            return;
+        }
+        CommonOps_DDF3.mult(m_covariance, m_temp, m_gain);
+
+        m_innovation.a1 = x - m_pose.getX();
+        m_innovation.a2 = y - m_pose.getY();
+        m_innovation.a3 = wrap(heading - m_pose.getHeading());
+        CommonOps_DDF3.mult(m_gain, m_innovation, m_correction);
+        m_pose.set(
+                m_pose.getX() + m_correction.a1,
+                m_pose.getY() + m_correction.a2,
+                m_pose.getHeading() + m_correction.a3
+        );
+
+        // P = (I - K) P
+        CommonOps_DDF3.mult(m_gain, m_covariance, m_temp);
+        CommonOps_DDF3.subtractEquals(m_covariance, m_temp);
+        symmetrize();
+    }
+
+    /**
+     * Restores the estimate to the latest update at or before the given time.
+     *
+     * @return the index of that update, -1 if the measurement is newer than every
+     * update (the estimate is left as is), or -2 if it is older than the history
+     */
+    private int rewind(long timestampNanos) {
+        if (m_size == 0 || timestampNanos - m_time[physical(m_size - 1)] >= 0) {
+            return -1;
+        }
+        int low = 0;
+        int high = m_size;
+        // find the first update after the timestamp
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (m_time[physical(mid)] - timestampNanos <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low == 0) {
+            return -2;
+        }
+        int logical = low - 1;
+        load(physical(logical));
+        return logical;
+    }
+
+    /**
+     * Stores the corrected estimate at the given update and replays every later
+     * update along with the measurements that belong to it.
+     */
+    private void replay(int logicalIndex) {
+        if (logicalIndex < 0) {
+            if (m_size > 0) {
+                store(physical(m_size - 1));
+            }
+            return;
+        }
+        store(physical(logicalIndex));
+        if (logicalIndex + 1 == m_size) {
+            return;
+        }
+
+        int measurement = firstMeasurementAtOrAfter(m_time[physical(logicalIndex + 1)]);
+        for (int i = logicalIndex + 1; i < m_size; i++) {
+            int index = physical(i);
+            applyPrediction(m_dx[index], m_dy[index], m_dtheta[index]);
+
+            // the measurements up to the next update were applied after this one
+            boolean last = i + 1 == m_size;
+            long next = last ? 0 : m_time[physical(i + 1)];
+            while (measurement < m_measurementSize) {
+                int m = physicalMeasurement(measurement);
+                if (!last && m_measurementTime[m] - next >= 0) {
+                    break;
+                }
+                if (m_headingOnly[m]) {
+                    applyHeadingMeasurement(m_measuredHeading[m], m_stdDevHeading[m]);
+                } else {
+                    applyPoseMeasurement(m_measuredX[m], m_measuredY[m], m_measuredHeading[m],
+                            m_stdDevX[m], m_stdDevY[m], m_stdDevHeading[m]);
+                }
+                measurement++;
+            }
+            store(index);
+        }
+    }
+
+    /**
+     * Inserts a measurement into the history in time order, dropping the oldest
+     * one if the history is full.
+     */
+    @SuppressWarnings("ParameterName")
+    private void recordMeasurement(long timestampNanos, boolean headingOnly, double x, double y, double heading,
+                                   double stdDevX, double stdDevY, double stdDevHeading) {
+        int capacity = m_measurementTime.length;
+        if (m_measurementSize == capacity) {
+            m_measurementHead = (m_measurementHead + 1) % capacity;
+            m_measurementSize--;
+        }
+        // measurements are usually recent, so shift from the newest end
+        int position = m_measurementSize;
+        while (position > 0 && m_measurementTime[physicalMeasurement(position - 1)] - timestampNanos > 0) {
+            int from = physicalMeasurement(position - 1);
+            int to = physicalMeasurement(position);
+            m_measurementTime[to] = m_measurementTime[from];
+            m_headingOnly[to] = m_headingOnly[from];
+            m_measuredX[to] = m_measuredX[from];
+            m_measuredY[to] = m_measuredY[from];
+            m_measuredHeading[to] = m_measuredHeading[from];
+            m_stdDevX[to] = m_stdDevX[from];
+            m_stdDevY[to] = m_stdDevY[from];
+            m_stdDevHeading[to] = m_stdDevHeading[from];
+            position--;
+        }
+        int index = physicalMeasurement(position);
+        m_measurementTime[index] = timestampNanos;
+        m_headingOnly[index] = headingOnly;
+        m_measuredX[index] = x;
+        m_measuredY[index] = y;
+        m_measuredHeading[index] = heading;
+        m_stdDevX[index] = stdDevX;
+        m_stdDevY[index] = stdDevY;
+        m_stdDevHeading[index] = stdDevHeading;
+        m_measurementSize++;
+    }
+
+    /**
+     * @return the logical index of the first measurement at or after the given time
+     */
+    private int firstMeasurementAtOrAfter(long timestampNanos) {
+        int low = 0;
+        int high = m_measurementSize;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (m_measurementTime[physicalMeasurement(mid)] - timestampNanos < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void store(int index) {
+        m_x[index] = m_pose.getX();
+        m_y[index] = m_pose.getY();
+        m_heading[index] = m_pose.getHeading();
+        int offset = index * 9;
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 3; col++) {
+                m_p[offset++] = m_covariance.unsafe_get(row, col);
+            }
+        }
+    }
+
+    private void load(int index) {
+        m_pose.set(m_x[index], m_y[index], m_heading[index]);
+        m_covariance.set(index * 9, m_p);
+    }
+
+    private void symmetrize() {
+        double p12 = (m_covariance.a12 + m_covariance.a21) / 2;
+        double p13 = (m_covariance.a13 + m_covariance.a31) / 2;
+        double p23 = (m_covariance.a23 + m_covariance.a32) / 2;
+        m_covariance.a12 = m_covariance.a21 = p12;
+        m_covariance.a13 = m_covariance.a31 = p13;
+        m_covariance.a23 = m_covariance.a32 = p23;
+    }
+
+    private int physical(int logicalIndex) {
+        int index = m_head + logicalIndex;
+        return index < m_time.length ? index : index - m_time.length;
+    }
+
+    private int physicalMeasurement(int logicalIndex) {
+        int index = m_measurementHead + logicalIndex;
+        return index < m_measurementTime.length ? index : index - m_measurementTime.length;
+    }
+
+    private static double square(double value) {
+        return value * value;
+    }
+
+    private static double wrap(double angle) {
+        return Math.IEEEremainder(angle, kTwoPi);
+    }
+
+}
@@ -1,11 +1,24 @@
 package com.arcrobotics.ftclib.kinematics;
 
+import com.arcrobotics.ftclib.geometry.MutablePose2d;
+import com.arcrobotics.ftclib.geometry.MutableRotation2d;
 import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.hardware.GyroEx;
+import com.arcrobotics.ftclib.util.Clock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
 
 public abstract class Odometry {
 
     /**
      * The {@link Pose2d} of the robot.
+     *
+     * <p>The odometry classes in this package integrate the pose in place and only copy
+     * it into this field when {@link #getPose()} is called, so between updates and that
+     * call it can be stale. Subclasses should read the pose through {@link #getPose()}
+     * and replace it through {@link #setPose(MutablePose2d)} rather than use this field.</p>
      */
     protected Pose2d robotPose;
 
@@ -14,6 +27,23 @@ public abstract class Odometry {
      */
     protected double trackWidth;
 
+    /**
+     * The recent poses of the robot, or null if they are not being recorded.
+     */
+    protected PoseHistory poseHistory;
+
+    private final MutablePose2d correctedPose = new MutablePose2d();
+
+    // the time source for the pose history and the gyro read period, replaced in tests
+    LongSupplier clock = Clock::nanoTime;
+
+    // the gyro heading, in radians, and how it is fused with the encoder heading
+    private DoubleSupplier gyroHeading;
+    private double gyroWeight;
+    private long gyroPeriodNanos;
+    private long lastGyroRead;
+    private double gyroOffset;
+
     public Odometry(Pose2d robotPose) {
         this(robotPose, 18);
     }
@@ -42,6 +72,18 @@ public abstract class Odometry {
         return robotPose;
     }
 
+    /**
+     * Copies the current robot position into the given pose. Unlike
+     * {@link #getPose()}, this does not create a new object on odometry
+     * classes that track the pose in place.
+     *
+     * @param dest the pose to write the robot position into
+     * @return the destination pose
+     */
+    public MutablePose2d getPose(MutablePose2d dest) {
+        return dest.set(getPose());
+    }
+
     /**
      * Rotates the position of the robot by a given angle
      *
@@ -51,4 +93,169 @@ public abstract class Odometry {
         robotPose = robotPose.rotate(byAngle);
     }
 
+    /**
+     * Starts recording the pose after every update, so the pose at a past time
+     * can be looked up and delayed measurements can be applied with
+     * {@link #correctPose(long, Pose2d)}.
+     *
+     * @param capacity the number of updates to keep
+     */
+    public void enablePoseHistory(int capacity) {
+        poseHistory = new PoseHistory(capacity);
+    }
+
+    /**
+     * @return the recorded poses, or null if {@link #enablePoseHistory(int)} was not called
+     */
+    public PoseHistory getPoseHistory() {
+        return poseHistory;
+    }
+
+    /**
+     * Corrects the pose with a measurement taken in the past, such as a vision
+     * detection that arrives late. The odometry motion recorded since the
+     * measurement is replayed on top of it.
+     *
+     * @param timestampNanos the {@link Clock#nanoTime()} the measurement was taken at
+     * @param measuredPose   the measured pose of the robot at that time
+     * @return false if there is no pose history to replay, in which case nothing is changed
+     */
+    public boolean correctPose(long timestampNanos, Pose2d measuredPose) {
+        if (poseHistory == null || !poseHistory.replay(timestampNanos, measuredPose, correctedPose)) {
+            return false;
+        }
+        setPose(correctedPose);
+        resetGyroOffset(correctedPose.getHeading());
+        return true;
+    }
+
+    /**
+     * Records the pose in the history, if there is one. Implementations call
+     * this after every update.
+     *
+     * @param pose the new pose of the robot
+     */
+    protected void recordPose(MutablePose2d pose) {
+        if (poseHistory != null) {
+            poseHistory.add(clock.getAsLong(), pose);
+        }
+    }
+
+    /**
+     * Clears the history after the pose was reset, since the old samples no
+     * longer share a frame with the new ones.
+     */
+    protected void clearPoseHistory() {
+        if (poseHistory != null) {
+            poseHistory.clear();
+        }
+    }
+
+    /**
+     * Replaces the current pose without touching the encoder state. Implementations
+     * that track the pose somewhere other than {@link #robotPose} must override this.
+     *
+     * @param pose the new pose of the robot
+     */
+    protected void setPose(MutablePose2d pose) {
+        robotPose = pose.toPose2d();
+    }
+
+    /**
+     * Uses the gyro for the heading instead of the encoder difference, reading
+     * it on every update.
+     *
+     * @param gyro the gyro on the robot, such as a {@link com.arcrobotics.ftclib.hardware.RevIMU}
+     */
+    public void setGyro(GyroEx gyro) {
+        setGyro(gyro, 1, 0);
+    }
+
+    /**
+     * Fuses the gyro heading with the encoder heading. See
+     * {@link #setHeadingSupplier(DoubleSupplier, double, long)}.
+     *
+     * @param gyro             the gyro on the robot, such as a {@link com.arcrobotics.ftclib.hardware.RevIMU}
+     * @param weight           how much of the gap to the gyro heading is closed on each read,
+     *                         where 1 replaces the encoder heading
+     * @param readPeriodMillis the minimum time between gyro reads in milliseconds
+     */
+    public void setGyro(GyroEx gyro, double weight, long readPeriodMillis) {
+        setHeadingSupplier(() -> gyro.getRotation2d().getRadians(), weight, readPeriodMillis);
+    }
+
+    /**
+     * Fuses an absolute heading, such as from an IMU, with the heading integrated
+     * from the encoders.
+     *
+     * <p>Between reads the heading follows the encoders. On each read it is moved
+     * toward the measured heading by the given weight, which makes a complementary
+     * filter: the encoders provide the fast changes and the gyro removes the drift
+     * from track width error and wheel scrub. Reads are rate-limited, since an IMU
+     * read is a slow I2C transaction.
+     *
+     * <p>The supplier does not need to be zeroed to the field: the offset between
+     * it and the current pose heading is taken now and on every pose reset.
+     *
+     * @param headingRadians   supplies the heading in radians, counterclockwise positive
+     * @param weight           how much of the gap to the measured heading is closed on each read,
+     *                         in (0, 1], where 1 replaces the encoder heading
+     * @param readPeriodMillis the minimum time between reads in milliseconds, 0 to read on every update
+     */
+    public void setHeadingSupplier(DoubleSupplier headingRadians, double weight, long readPeriodMillis) {
+        if (weight <= 0 || weight > 1) {
+            throw new IllegalArgumentException("The gyro weight must be in (0, 1]");
+        }
+        if (readPeriodMillis < 0) {
+            throw new IllegalArgumentException("The read period cannot be negative");
+        }
+        gyroHeading = headingRadians;
+        gyroWeight = weight;
+        gyroPeriodNanos = TimeUnit.MILLISECONDS.toNanos(readPeriodMillis);
+        resetGyroOffset(getPose().getHeading());
+    }
+
+    /**
+     * Goes back to computing the heading from the encoders alone.
+     */
+    public void disableGyro() {
+        gyroHeading = null;
+    }
+
+    /**
+     * Moves the given encoder heading toward the gyro heading if a gyro is set and
+     * its read period has passed. Implementations call this on every update after
+     * integrating the encoder heading.
+     *
+     * @param heading the heading integrated from the encoders, updated in place
+     * @return the gyro heading minus the encoder heading before fusing, in radians,
+     * or NaN if the gyro was not read
+     */
+    protected double fuseHeading(MutableRotation2d heading) {
+        if (gyroHeading == null) {
+            return Double.NaN;
+        }
+        long now = clock.getAsLong();
+        if (now - lastGyroRead < gyroPeriodNanos) {
+            return Double.NaN;
+        }
+        lastGyroRead = now;
+        double error = Math.IEEEremainder(gyroHeading.getAsDouble() + gyroOffset - heading.getRadians(), 2 * Math.PI);
+        heading.set(heading.getRadians() + gyroWeight * error);
+        return error;
+    }
+
+    /**
+     * Aligns the gyro with the given field heading. Implementations call this
+     * when the pose is reset.
+     *
+     * @param heading the field heading of the robot in radians
+     */
+    protected void resetGyroOffset(double heading) {
+        if (gyroHeading != null) {
+            gyroOffset = heading - gyroHeading.getAsDouble();
+            lastGyroRead = clock.getAsLong();
+        }
+    }
+
 }
@@ -0,0 +1,180 @@
+package com.arcrobotics.ftclib.kinematics;
+
+import com.arcrobotics.ftclib.geometry.MutablePose2d;
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.util.Clock;
+import com.arcrobotics.ftclib.util.Timing;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs an {@link Odometry} on its own thread at a fixed rate, independent of
+ * how fast the main loop is running. Each update is published through a
+ * {@link PoseHolder}, so the pose can be read from any thread without
+ * blocking.
+ *
+ * <p>Once started, the odometry object belongs to this thread: its encoder
+ * suppliers are called from here, and it must not be updated or reset from
+ * anywhere else. Use {@link #resetPose(Pose2d)} instead of
+ * {@link Odometry#updatePose(Pose2d)}.
+ *
+ * <p>The thread is a daemon, but the robot controller app keeps running after
+ * an OpMode ends, so the thread keeps reading the hardware until
+ * {@link #stop()} is called. Always stop it when the OpMode ends.
+ *
+ * <p>With the Lynx modules in {@code BulkCachingMode.MANUAL}, the encoder
+ * reads on this thread return the values cached by the main loop, which only
+ * change when the main loop clears the cache. The odometry then updates no
+ * faster than the main loop. Use {@code AUTO} or {@code OFF} caching, or read
+ * the encoders through a source that is refreshed on this thread.
+ */
+public class OdometryThread {
+
+    private final Odometry m_odometry;
+    private final long m_periodNanos;
+    private final PoseHolder m_pose;
+    private final MutablePose2d m_scratch = new MutablePose2d();
+
+    private final AtomicReference<Pose2d> m_pendingReset = new AtomicReference<>();
+    private final AtomicReference<Correction> m_pendingCorrection = new AtomicReference<>();
+    private volatile boolean m_running;
+    private Thread m_thread;
+
+    /**
+     * @param odometry     the odometry to update, which must use suppliers
+     * @param periodMillis the time between updates in milliseconds
+     */
+    public OdometryThread(Odometry odometry, long periodMillis) {
+        this(odometry, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param odometry the odometry to update, which must use suppliers
+     * @param period   the time between updates
+     * @param unit     the unit of the period
+     */
+    public OdometryThread(Odometry odometry, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("The period must be positive");
+        }
+        m_odometry = odometry;
+        m_periodNanos = unit.toNanos(period);
+        m_pose = new PoseHolder(odometry.getPose());
+    }
+
+    /**
+     * Starts updating the odometry. Does nothing if it is already running.
+     */
+    public synchronized void start() {
+        if (m_running) {
+            return;
+        }
+        m_running = true;
+        m_thread = new Thread(this::run, "Odometry");
+        m_thread.setDaemon(true);
+        m_thread.start();
+    }
+
+    /**
+     * Stops updating the odometry and waits for the last update to finish.
+     * Call this when the OpMode stops.
+     */
+    public synchronized void stop() {
+        if (!m_running) {
+            return;
+        }
+        m_running = false;
+        m_thread.interrupt();
+        try {
+            m_thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        m_thread = null;
+    }
+
+    /**
+     * @return true if the odometry thread is running
+     */
+    public boolean isRunning() {
+        return m_running;
+    }
+
+    /**
+     * Resets the robot position. The reset is applied by the odometry thread
+     * before its next update, and is published immediately if the thread
+     * is not running.
+     *
+     * @param pose the new position of the robot
+     */
+    public synchronized void resetPose(Pose2d pose) {
+        if (m_running) {
+            m_pendingReset.set(pose);
+        } else {
+            m_odometry.updatePose(pose);
+            m_pose.set(m_odometry.getPose(m_scratch), Clock.nanoTime());
+        }
+    }
+
+    /**
+     * Corrects the pose with a measurement taken in the past. See
+     * {@link Odometry#correctPose(long, Pose2d)}; the odometry needs a pose
+     * history for this to have any effect. The correction is applied by the
+     * odometry thread before its next update.
+     *
+     * @param timestampNanos the {@link Clock#nanoTime()} the measurement was taken at
+     * @param measuredPose   the measured pose of the robot at that time
+     */
+    public synchronized void correctPose(long timestampNanos, Pose2d measuredPose) {
+        if (m_running) {
+            m_pendingCorrection.set(new Correction(timestampNanos, measuredPose));
+        } else if (m_odometry.correctPose(timestampNanos, measuredPose)) {
+            m_pose.set(m_odometry.getPose(m_scratch), Clock.nanoTime());
+        }
+    }
+
+    /**
+     * @return the holder the latest pose is published through
+     */
+    public PoseHolder getPoseHolder() {
+        return m_pose;
+    }
+
+    /**
+     * @return a new {@link Pose2d} with the latest pose
+     */
+    public Pose2d getPose() {
+        return m_pose.getPose();
+    }
+
+    private void run() {
+        Timing.Rate rate = new Timing.Rate(m_periodNanos, TimeUnit.NANOSECONDS);
+        while (m_running && !Thread.currentThread().isInterrupted()) {
+            Pose2d reset = m_pendingReset.getAndSet(null);
+            if (reset != null) {
+                m_odometry.updatePose(reset);
+            }
+            Correction correction = m_pendingCorrection.getAndSet(null);
+            if (correction != null) {
+                m_odometry.correctPose(correction.timestampNanos, correction.pose);
+            }
+
+            m_odometry.updatePose();
+            m_pose.set(m_odometry.getPose(m_scratch), Clock.nanoTime());
+
+            rate.sleep();
+        }
+    }
+
+    private static final class Correction {
+        final long timestampNanos;
+        final Pose2d pose;
+
+        Correction(long timestampNanos, Pose2d pose) {
+            this.timestampNanos = timestampNanos;
+            this.pose = pose;
+        }
+    }
+
+}
@@ -0,0 +1,257 @@
+package com.arcrobotics.ftclib.kinematics;
+
+import com.arcrobotics.ftclib.geometry.MutablePose2d;
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.util.Clock;
+
+/**
+ * A fixed-capacity ring buffer of timestamped poses, used to look up where the
+ * robot was when a delayed measurement (such as a vision detection) was taken.
+ * Once full, each new pose overwrites the oldest one.
+ *
+ * <p>Samples are stored in primitive arrays, so adding and looking up poses
+ * does not allocate. Lookups are a binary search over the timestamps and
+ * interpolate linearly between the two neighbouring samples, taking the
+ * shortest way around for the heading.
+ *
+ * <p>This class is not thread-safe.
+ */
+public class PoseHistory {
+
+    private final long[] m_time;
+    private final double[] m_x;
+    private final double[] m_y;
+    private final double[] m_heading;
+
+    // index of the oldest sample
+    private int m_head;
+    private int m_size;
+
+    /**
+     * @param capacity the maximum number of poses kept
+     */
+    public PoseHistory(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be at least 1");
+        }
+        m_time = new long[capacity];
+        m_x = new double[capacity];
+        m_y = new double[capacity];
+        m_heading = new double[capacity];
+    }
+
+    /**
+     * Adds a pose to the history.
+     *
+     * @param timestampNanos the {@link Clock#nanoTime()} the pose was measured at,
+     *                       no earlier than the newest sample
+     * @param x              the x component of the pose
+     * @param y              the y component of the pose
+     * @param heading        the heading in radians
+     */
+    @SuppressWarnings("ParameterName")
+    public void add(long timestampNanos, double x, double y, double heading) {
+        if (m_size > 0 && timestampNanos - m_time[physical(m_size - 1)] < 0) {
+            throw new IllegalArgumentException("Poses must be added in time order");
+        }
+        int index;
+        if (m_size < m_time.length) {
+            index = physical(m_size);
+            m_size++;
+        } else {
+            index = m_head;
+            m_head = (m_head + 1) % m_time.length;
+        }
+        m_time[index] = timestampNanos;
+        m_x[index] = x;
+        m_y[index] = y;
+        m_heading[index] = heading;
+    }
+
+    /**
+     * Adds a pose to the history.
+     *
+     * @param timestampNanos the {@link Clock#nanoTime()} the pose was measured at,
+     *                       no earlier than the newest sample
+     * @param pose           the pose
+     */
+    public void add(long timestampNanos, MutablePose2d pose) {
+        add(timestampNanos, pose.getX(), pose.getY(), pose.getHeading());
+    }
+
+    /**
+     * Adds a pose to the history.
+     *
+     * @param timestampNanos the {@link Clock#nanoTime()} the pose was measured at,
+     *                       no earlier than the newest sample
+     * @param pose           the pose
+     */
+    public void add(long timestampNanos, Pose2d pose) {
+        add(timestampNanos, pose.getX(), pose.getY(), pose.getHeading());
+    }
+
+    /**
+     * Removes every sample.
+     */
+    public void clear() {
+        m_head = 0;
+        m_size = 0;
+    }
+
+    /**
+     * @return the number of poses currently stored
+     */
+    public int size() {
+        return m_size;
+    }
+
+    /**
+     * @return the maximum number of poses kept
+     */
+    public int capacity() {
+        return m_time.length;
+    }
+
+    /**
+     * @return the timestamp of the oldest sample in nanoseconds
+     * @throws IllegalStateException if the history is empty
+     */
+    public long getOldestTimestamp() {
+        checkNotEmpty();
+        return m_time[m_head];
+    }
+
+    /**
+     * @return the timestamp of the newest sample in nanoseconds
+     * @throws IllegalStateException if the history is empty
+     */
+    public long getNewestTimestamp() {
+        checkNotEmpty();
+        return m_time[physical(m_size - 1)];
+    }
+
+    /**
+     * Writes the pose at the given time into {@code dest}, interpolating between
+     * the neighbouring samples. Times outside the stored range are clamped to
+     * the oldest or newest sample.
+     *
+     * @param timestampNanos the time to look up
+     * @param dest           the pose to write into
+     * @return false if the history is empty, in which case {@code dest} is unchanged
+     */
+    public boolean sample(long timestampNanos, MutablePose2d dest) {
+        if (m_size == 0) {
+            return false;
+        }
+        int upper = ceiling(timestampNanos);
+        if (upper == 0) {
+            int index = m_head;
+            dest.set(m_x[index], m_y[index], m_heading[index]);
+            return true;
+        }
+        if (upper == m_size) {
+            int index = physical(m_size - 1);
+            dest.set(m_x[index], m_y[index], m_heading[index]);
+            return true;
+        }
+
+        int i0 = physical(upper - 1);
+        int i1 = physical(upper);
+        long span = m_time[i1] - m_time[i0];
+        double t = span == 0 ? 1.0 : (double) (timestampNanos - m_time[i0]) / span;
+        dest.set(
+                m_x[i0] + (m_x[i1] - m_x[i0]) * t,
+                m_y[i0] + (m_y[i1] - m_y[i0]) * t,
+                m_heading[i0] + wrap(m_heading[i1] - m_heading[i0]) * t
+        );
+        return true;
+    }
+
+    /**
+     * Returns the pose at the given time. See {@link #sample(long, MutablePose2d)}.
+     *
+     * @param timestampNanos the time to look up
+     * @return the interpolated pose
+     * @throws IllegalStateException if the history is empty
+     */
+    public Pose2d getPose(long timestampNanos) {
+        checkNotEmpty();
+        MutablePose2d pose = new MutablePose2d();
+        sample(timestampNanos, pose);
+        return pose.toPose2d();
+    }
+
+    /**
+     * Applies a correction measured in the past and replays the odometry since
+     * then on top of it.
+     *
+     * <p>The rigid transform that moves the recorded pose at {@code timestampNanos}
+     * onto {@code correctedPose} is applied to every sample from that time on,
+     * so the motion measured since the correction is kept. The corrected newest
+     * pose is written into {@code dest}, ready to be handed back to the odometry.
+     *
+     * @param timestampNanos the time the correction was measured at
+     * @param correctedPose  the true pose at that time
+     * @param dest           the pose to write the corrected newest pose into
+     * @return false if the history is empty, in which case nothing is changed
+     */
+    public boolean replay(long timestampNanos, Pose2d correctedPose, MutablePose2d dest) {
+        if (!sample(timestampNanos, dest)) {
+            return false;
+        }
+
+        double dtheta = wrap(correctedPose.getHeading() - dest.getHeading());
+        double cos = Math.cos(dtheta);
+        double sin = Math.sin(dtheta);
+        double dx = correctedPose.getX() - (cos * dest.getX() - sin * dest.getY());
+        double dy = correctedPose.getY() - (sin * dest.getX() + cos * dest.getY());
+
+        for (int i = Math.min(ceiling(timestampNanos), m_size - 1); i < m_size; i++) {
+            int index = physical(i);
+            double x = m_x[index];
+            double y = m_y[index];
+            m_x[index] = cos * x - sin * y + dx;
+            m_y[index] = sin * x + cos * y + dy;
+            m_heading[index] = wrap(m_heading[index] + dtheta);
+        }
+
+        int newest = physical(m_size - 1);
+        dest.set(m_x[newest], m_y[newest], m_heading[newest]);
+        return true;
+    }
+
+    /**
+     * Finds the logical index of the first sample at or after the given time.
+     *
+     * @return a value between 0 and size, inclusive
+     */
+    private int ceiling(long timestampNanos) {
+        int low = 0;
+        int high = m_size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (m_time[physical(mid)] - timestampNanos < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int physical(int logicalIndex) {
+        int index = m_head + logicalIndex;
+        return index < m_time.length ? index : index - m_time.length;
+    }
+
+    private void checkNotEmpty() {
+        if (m_size == 0) {
+            throw new IllegalStateException("The pose history is empty");
+        }
+    }
+
+    private static double wrap(double angle) {
+        return Math.IEEEremainder(angle, 2 * Math.PI);
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.arcrobotics.ftclib.kinematics;
+
+import com.arcrobotics.ftclib.geometry.MutablePose2d;
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.arcrobotics.ftclib.util.Clock;
+
+/**
+ * Publishes a pose from one writer thread to any number of reader threads
+ * without locking, in the style of a seqlock.
+ *
+ * <p>The writer bumps a sequence number to an odd value, writes the pose and
+ * bumps it back to an even value. A reader copies the pose and retries if the
+ * sequence number was odd or changed while it was copying, so it always sees a
+ * whole pose from a single update. Readers never block the writer, and the
+ * writer never waits for readers.
+ *
+ * <p>Only one thread may write at a time.
+ */
+public class PoseHolder {
+
+    private volatile long m_sequence;
+
+    private volatile double m_x;
+    private volatile double m_y;
+    private volatile double m_heading;
+    private volatile long m_timestampNanos;
+
+    /**
+     * Constructs a holder with a pose at the origin.
+     */
+    public PoseHolder() {
+    }
+
+    /**
+     * Constructs a holder with the given initial pose.
+     *
+     * @param initialPose the pose to publish first
+     */
+    public PoseHolder(Pose2d initialPose) {
+        set(initialPose.getX(), initialPose.getY(), initialPose.getHeading(), Clock.nanoTime());
+    }
+
+    /**
+     * Publishes a new pose. Must only be called from the writer thread.
+     *
+     * @param x              the x component of the pose
+     * @param y              the y component of the pose
+     * @param heading        the heading in radians
+     * @param timestampNanos the {@link Clock#nanoTime()} the pose was measured at
+     */
+    @SuppressWarnings("ParameterName")
+    public void set(double x, double y, double heading, long timestampNanos) {
+        long sequence = m_sequence;
+        m_sequence = sequence + 1;
+        m_x = x;
+        m_y = y;
+        m_heading = heading;
+        m_timestampNanos = timestampNanos;
+        m_sequence = sequence + 2;
+    }
+
+    /**
+     * Publishes a new pose. Must only be called from the writer thread.
+     *
+     * @param pose           the pose to publish
+     * @param timestampNanos the {@link Clock#nanoTime()} the pose was measured at
+     */
+    public void set(MutablePose2d pose, long timestampNanos) {
+        set(pose.getX(), pose.getY(), pose.getHeading(), timestampNanos);
+    }
+
+    /**
+     * Copies the latest pose into {@code dest} without allocating.
+     *
+     * @param dest the pose to write into
+     * @return the timestamp of the copied pose in nanoseconds
+     */
+    public long get(MutablePose2d dest) {
+        double x, y, heading;
+        long timestamp, sequence;
+        do {
+            sequence = m_sequence;
+            x = m_x;
+            y = m_y;
+            heading = m_heading;
+            timestamp = m_timestampNanos;
+        } while ((sequence & 1) != 0 || sequence != m_sequence);
+        dest.set(x, y, heading);
+        return timestamp;
+    }
+
+    /**
+     * @return a new {@link Pose2d} with the latest pose
+     */
+    public Pose2d getPose() {
+        double x, y, heading;
+        long sequence;
+        do {
+            sequence = m_sequence;
+            x = m_x;
+            y = m_y;
+            heading = m_heading;
+        } while ((sequence & 1) != 0 || sequence != m_sequence);
+        return new Pose2d(x, y, new Rotation2d(heading));
+    }
+
+    /**
+     * @return the {@link Clock#nanoTime()} the latest pose was measured at
+     */
+    public long getTimestampNanos() {
+        return m_timestampNanos;
+    }
+
+    /**
+     * @return the number of poses published so far
+     */
+    public long getUpdateCount() {
+        return m_sequence / 2;
+    }
+
+}
@@ -0,0 +1,268 @@
+package com.arcrobotics.ftclib.kinematics;
+
+import com.arcrobotics.ftclib.geometry.MutablePose2d;
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.hardware.GyroEx;
+import com.arcrobotics.ftclib.util.Clock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Odometry for a robot with two dead wheels, one parallel and one perpendicular
+ * to the forward direction, and a heading source such as an IMU.
+ *
+ * <p>The heading can be read less often than the encoders to save I2C time.
+ * Between reads the heading is extrapolated from the last measured turn rate.
+ * When a new heading arrives, the wheel movements since the previous read are
+ * integrated again with the heading interpolated between the two reads, so the
+ * extrapolation error does not stay in the pose.
+ */
+public class TwoWheelOdometry extends Odometry {
+
+    private static final int kMaxPendingSteps = 64;
+
+    private final DoubleSupplier m_parallel, m_perpendicular;
+    private DoubleSupplier m_heading;
+    private final double m_parallelOffset, m_perpendicularOffset;
+    private final LongSupplier m_clock;
+
+    private double prevParallelEncoder, prevPerpendicularEncoder;
+    private long m_headingPeriodNanos;
+    private double m_headingOffset;
+
+    // the pose at the last heading read, and the turn rate measured between the last two reads
+    private final MutablePose2d m_anchor = new MutablePose2d();
+    private long m_anchorTime;
+    private double m_turnRate;
+
+    // the wheel movements since the last heading read
+    private final long[] m_stepTime = new long[kMaxPendingSteps];
+    private final double[] m_stepParallel = new double[kMaxPendingSteps];
+    private final double[] m_stepPerpendicular = new double[kMaxPendingSteps];
+    private int m_steps;
+
+    private final MutablePose2d m_pose = new MutablePose2d();
+    private double m_poseHeading;
+    private boolean m_poseStale;
+
+    /**
+     * @param parallelEncoder      supplies the distance of the wheel that points forward
+     * @param perpendicularEncoder supplies the distance of the wheel that points left
+     * @param gyro                 the gyro on the robot, such as a {@link com.arcrobotics.ftclib.hardware.RevIMU}
+     * @param parallelOffset       how far left of the tracking center the parallel wheel is
+     * @param perpendicularOffset  how far forward of the tracking center the perpendicular wheel is
+     */
+    public TwoWheelOdometry(DoubleSupplier parallelEncoder, DoubleSupplier perpendicularEncoder,
+                            GyroEx gyro, double parallelOffset, double perpendicularOffset) {
+        this(new Pose2d(), parallelEncoder, perpendicularEncoder,
+                () -> gyro.getRotation2d().getRadians(), parallelOffset, perpendicularOffset);
+    }
+
+    /**
+     * @param initialPose          the starting position of the robot
+     * @param parallelEncoder      supplies the distance of the wheel that points forward
+     * @param perpendicularEncoder supplies the distance of the wheel that points left
+     * @param headingRadians       supplies the heading in radians, counterclockwise positive
+     * @param parallelOffset       how far left of the tracking center the parallel wheel is
+     * @param perpendicularOffset  how far forward of the tracking center the perpendicular wheel is
+     */
+    public TwoWheelOdometry(Pose2d initialPose, DoubleSupplier parallelEncoder, DoubleSupplier perpendicularEncoder,
+                            DoubleSupplier headingRadians, double parallelOffset, double perpendicularOffset) {
+        this(initialPose, parallelEncoder, perpendicularEncoder, headingRadians,
+                parallelOffset, perpendicularOffset, Clock::nanoTime);
+    }
+
+    TwoWheelOdometry(Pose2d initialPose, DoubleSupplier parallelEncoder, DoubleSupplier perpendicularEncoder,
+                     DoubleSupplier headingRadians, double parallelOffset, double perpendicularOffset,
+                     LongSupplier clock) {
+        super(initialPose);
+        m_parallel = parallelEncoder;
+        m_perpendicular = perpendicularEncoder;
+        m_heading = headingRadians;
+        m_parallelOffset = parallelOffset;
+        m_perpendicularOffset = perpendicularOffset;
+        m_clock = clock;
+        resetTo(initialPose.getX(), initialPose.getY(), initialPose.getHeading());
+        prevParallelEncoder = parallelEncoder.getAsDouble();
+        prevPerpendicularEncoder = perpendicularEncoder.getAsDouble();
+    }
+
+    /**
+     * Sets the minimum time between heading reads. Between reads the heading is
+     * extrapolated, and corrected once the next read arrives.
+     *
+     * @param readPeriodMillis the minimum time between reads in milliseconds, 0 to read on every update
+     */
+    public void setHeadingReadPeriod(long readPeriodMillis) {
+        if (readPeriodMillis < 0) {
+            throw new IllegalArgumentException("The read period cannot be negative");
+        }
+        m_headingPeriodNanos = TimeUnit.MILLISECONDS.toNanos(readPeriodMillis);
+    }
+
+    /**
+     * This handles all the calculations for you.
+     */
+    @Override
+    public void updatePose() {
+        update(m_parallel.getAsDouble(), m_perpendicular.getAsDouble());
+    }
+
+    @Override
+    public void updatePose(Pose2d pose) {
+        resetTo(pose.getX(), pose.getY(), pose.getHeading());
+        robotPose = pose;
+        m_poseStale = false;
+        clearPoseHistory();
+
+        prevParallelEncoder = m_parallel.getAsDouble();
+        prevPerpendicularEncoder = m_perpendicular.getAsDouble();
+    }
+
+    /**
+     * @param parallelEncoderPos      the position of the parallel wheel
+     * @param perpendicularEncoderPos the position of the perpendicular wheel
+     */
+    public void update(double parallelEncoderPos, double perpendicularEncoderPos) {
+        double deltaParallel = parallelEncoderPos - prevParallelEncoder;
+        double deltaPerpendicular = perpendicularEncoderPos - prevPerpendicularEncoder;
+        prevParallelEncoder = parallelEncoderPos;
+        prevPerpendicularEncoder = perpendicularEncoderPos;
+
+        long now = m_clock.getAsLong();
+        m_stepTime[m_steps] = now;
+        m_stepParallel[m_steps] = deltaParallel;
+        m_stepPerpendicular[m_steps] = deltaPerpendicular;
+        m_steps++;
+
+        if (now - m_anchorTime >= m_headingPeriodNanos || m_steps == kMaxPendingSteps) {
+            commitHeading(now);
+        } else {
+            double heading = m_anchor.getHeading() + m_turnRate * (now - m_anchorTime);
+            integrate(m_pose, m_poseHeading, heading, deltaParallel, deltaPerpendicular);
+            m_poseHeading = heading;
+        }
+
+        m_poseStale = true;
+        recordPose(m_pose);
+    }
+
+    /**
+     * Reads the heading and integrates the pending wheel movements again with
+     * the heading interpolated between the previous read and this one.
+     */
+    private void commitHeading(long now) {
+        double startHeading = m_anchor.getHeading();
+        double measured = m_heading.getAsDouble() + m_headingOffset;
+        // unwrap the measured heading so it is within half a turn of the previous one
+        double endHeading = startHeading + Math.IEEEremainder(measured - startHeading, 2 * Math.PI);
+        long span = now - m_anchorTime;
+
+        double heading = startHeading;
+        for (int i = 0; i < m_steps; i++) {
+            double next = span > 0
+                    ? startHeading + (endHeading - startHeading) * (m_stepTime[i] - m_anchorTime) / span
+                    : endHeading;
+            integrate(m_anchor, heading, next, m_stepParallel[i], m_stepPerpendicular[i]);
+            heading = next;
+        }
+        m_anchor.getRotation().set(endHeading);
+
+        m_turnRate = span > 0 ? (endHeading - startHeading) / span : 0;
+        m_anchorTime = now;
+        m_steps = 0;
+        m_pose.set(m_anchor);
+        m_poseHeading = endHeading;
+    }
+
+    /**
+     * Moves the pose by one pair of wheel movements while the heading changes
+     * from {@code fromHeading} to {@code toHeading}.
+     */
+    private void integrate(MutablePose2d pose, double fromHeading, double toHeading,
+                           double deltaParallel, double deltaPerpendicular) {
+        double dtheta = toHeading - fromHeading;
+        // a turn moves wheels that are off the tracking center even when the robot does not translate
+        double dx = deltaParallel + m_parallelOffset * dtheta;
+        double dy = deltaPerpendicular - m_perpendicularOffset * dtheta;
+        pose.expInPlace(dx, dy, dtheta);
+        pose.getRotation().set(toHeading);
+    }
+
+    private void resetTo(double x, double y, double heading) {
+        m_headingOffset = heading - m_heading.getAsDouble();
+        m_anchor.set(x, y, heading);
+        m_anchorTime = m_clock.getAsLong();
+        m_turnRate = 0;
+        m_steps = 0;
+        m_pose.set(m_anchor);
+        m_poseHeading = heading;
+    }
+
+    @Override
+    public Pose2d getPose() {
+        if (m_poseStale) {
+            robotPose = m_pose.toPose2d();
+            m_poseStale = false;
+        }
+        return robotPose;
+    }
+
+    @Override
+    public MutablePose2d getPose(MutablePose2d dest) {
+        return dest.set(m_pose);
+    }
+
+    @Override
+    protected void setPose(MutablePose2d pose) {
+        resetTo(pose.getX(), pose.getY(), pose.getHeading());
+        m_poseStale = true;
+    }
+
+    @Override
+    public void rotatePose(double byAngle) {
+        setPose(m_pose.rotateInPlace(byAngle));
+    }
+
+    /**
+     * Replaces the heading source. The wheel movements since the last read are
+     * integrated with the old source first, and the new one is aligned with the
+     * current heading. The heading always comes entirely from the source, so the
+     * weight must be 1.
+     *
+     * @param headingRadians   supplies the heading in radians, counterclockwise positive
+     * @param weight           must be 1
+     * @param readPeriodMillis the minimum time between reads in milliseconds, see
+     *                         {@link #setHeadingReadPeriod(long)}
+     */
+    @Override
+    public void setHeadingSupplier(DoubleSupplier headingRadians, double weight, long readPeriodMillis) {
+        if (weight != 1) {
+            throw new IllegalArgumentException("TwoWheelOdometry takes its heading from the source alone, "
+                    + "so the weight must be 1");
+        }
+        setHeadingReadPeriod(readPeriodMillis);
+        if (m_steps > 0) {
+            commitHeading(m_clock.getAsLong());
+            m_poseStale = true;
+        }
+        m_heading = headingRadians;
+        m_headingOffset = m_anchor.getHeading() - headingRadians.getAsDouble();
+        m_turnRate = 0;
+    }
+
+    /**
+     * Always throws, a two-wheel odometry cannot compute its heading without a heading
+     * source. Use {@link #setHeadingSupplier} to replace the source instead.
+     *
+     * @throws IllegalStateException always
+     */
+    @Override
+    public void disableGyro() {
+        throw new IllegalStateException("TwoWheelOdometry needs a heading source, "
+                + "use setHeadingSupplier to replace it instead");
+    }
+
+}
@@ -55,11 +55,24 @@ public class DifferentialDriveKinematics {
      * @return The left and right velocities.
      */
     public DifferentialDriveWheelSpeeds toWheelSpeeds(ChassisSpeeds chassisSpeeds) {
-        return new DifferentialDriveWheelSpeeds(
-                chassisSpeeds.vxMetersPerSecond - trackWidthMeters / 2
-                        * chassisSpeeds.omegaRadiansPerSecond,
-                chassisSpeeds.vxMetersPerSecond + trackWidthMeters / 2
-                        * chassisSpeeds.omegaRadiansPerSecond
-        );
+        return toWheelSpeeds(chassisSpeeds, new DifferentialDriveWheelSpeeds());
+    }
+
+    /**
+     * Performs inverse kinematics into existing wheel speeds. See
+     * {@link #toWheelSpeeds(ChassisSpeeds)} for more information.
+     *
+     * @param chassisSpeeds The linear and angular (dx and dtheta) components that
+     *                      represent the chassis' speed.
+     * @param wheelSpeeds   The wheel speeds to write to.
+     * @return The given wheel speeds.
+     */
+    public DifferentialDriveWheelSpeeds toWheelSpeeds(ChassisSpeeds chassisSpeeds,
+                                                      DifferentialDriveWheelSpeeds wheelSpeeds) {
+        wheelSpeeds.leftMetersPerSecond = chassisSpeeds.vxMetersPerSecond - trackWidthMeters / 2
+                * chassisSpeeds.omegaRadiansPerSecond;
+        wheelSpeeds.rightMetersPerSecond = chassisSpeeds.vxMetersPerSecond + trackWidthMeters / 2
+                * chassisSpeeds.omegaRadiansPerSecond;
+        return wheelSpeeds;
     }
 }
@@ -8,8 +8,9 @@
 package com.arcrobotics.ftclib.kinematics.wpilibkinematics;
 
 import com.arcrobotics.ftclib.geometry.Translation2d;
+import com.arcrobotics.ftclib.math.Matrix;
+import com.arcrobotics.ftclib.math.Vec3;
 
-import org.ejml.simple.SimpleMatrix;
 
 
 /**
@@ -33,17 +34,28 @@ import org.ejml.simple.SimpleMatrix;
  *
  * <p>Forward kinematics is also used for odometry -- determining the position of
  * the robot on the field using encoders and a gyro.
+ *
+ * <p>The conversions reuse scratch arrays and cache the last center of rotation, so an
+ * instance is not thread-safe. Code that runs kinematics on another thread, such as
+ * an {@link com.arcrobotics.ftclib.kinematics.OdometryThread}, needs its own instance.
  */
 public class MecanumDriveKinematics {
-    private SimpleMatrix m_inverseKinematics;
-    private final SimpleMatrix m_forwardKinematics;
+    private static final double kInvSqrt2 = 1.0 / Math.sqrt(2);
+    private static final Translation2d kCenter = new Translation2d();
+
+    private final Matrix m_forwardKinematics;
+
+    private final double[] m_wheelSpeeds = new double[4];
+    private final Vec3 m_chassisSpeeds = new Vec3();
 
     private final Translation2d m_frontLeftWheelMeters;
     private final Translation2d m_frontRightWheelMeters;
     private final Translation2d m_rearLeftWheelMeters;
     private final Translation2d m_rearRightWheelMeters;
 
-    private Translation2d m_prevCoR = new Translation2d();
+    // how much each wheel turns per unit of chassis rotation around the current center of rotation
+    private double m_corX = Double.NaN, m_corY = Double.NaN;
+    private double m_frontLeftRotation, m_frontRightRotation, m_rearLeftRotation, m_rearRightRotation;
 
     /**
      * Constructs a mecanum drive kinematics object.
@@ -66,11 +78,17 @@ public class MecanumDriveKinematics {
         m_rearLeftWheelMeters = rearLeftWheelMeters;
         m_rearRightWheelMeters = rearRightWheelMeters;
 
-        m_inverseKinematics = new SimpleMatrix(4, 3);
+        Matrix inverseKinematics = new Matrix(4, 3);
+        Translation2d fl = frontLeftWheelMeters, fr = frontRightWheelMeters;
+        Translation2d rl = rearLeftWheelMeters, rr = rearRightWheelMeters;
+        inverseKinematics.setRow(0, 0, 1, -1, -(fl.getX() + fl.getY()));
+        inverseKinematics.setRow(1, 0, 1, 1, fr.getX() - fr.getY());
+        inverseKinematics.setRow(2, 0, 1, 1, rl.getX() - rl.getY());
+        inverseKinematics.setRow(3, 0, 1, -1, -(rr.getX() + rr.getY()));
+        inverseKinematics.scale(kInvSqrt2);
+        m_forwardKinematics = inverseKinematics.pseudoInverse();
 
-        setInverseKinematics(frontLeftWheelMeters, frontRightWheelMeters,
-                rearLeftWheelMeters, rearRightWheelMeters);
-        m_forwardKinematics = m_inverseKinematics.pseudoInverse();
+        setCenterOfRotation(0, 0);
 
     }
 
@@ -95,29 +113,51 @@ public class MecanumDriveKinematics {
      */
     public MecanumDriveWheelSpeeds toWheelSpeeds(ChassisSpeeds chassisSpeeds,
                                                  Translation2d centerOfRotationMeters) {
-        // We have a new center of rotation. We need to compute the matrix again.
-        if (!centerOfRotationMeters.equals(m_prevCoR)) {
-            Translation2d fl = m_frontLeftWheelMeters.minus(centerOfRotationMeters);
-            Translation2d fr = m_frontRightWheelMeters.minus(centerOfRotationMeters);
-            Translation2d rl = m_rearLeftWheelMeters.minus(centerOfRotationMeters);
-            Translation2d rr = m_rearRightWheelMeters.minus(centerOfRotationMeters);
-
-            setInverseKinematics(fl, fr, rl, rr);
-            m_prevCoR = centerOfRotationMeters;
-        }
+        return toWheelSpeeds(chassisSpeeds, centerOfRotationMeters, new MecanumDriveWheelSpeeds());
+    }
+
+    /**
+     * Performs inverse kinematics into existing wheel speeds. See
+     * {@link #toWheelSpeeds(ChassisSpeeds, Translation2d)} for more information.
+     *
+     * @param chassisSpeeds          The desired chassis speed.
+     * @param centerOfRotationMeters The center of rotation.
+     * @param wheelSpeeds            The wheel speeds to write to.
+     * @return The given wheel speeds.
+     */
+    public MecanumDriveWheelSpeeds toWheelSpeeds(ChassisSpeeds chassisSpeeds,
+                                                 Translation2d centerOfRotationMeters,
+                                                 MecanumDriveWheelSpeeds wheelSpeeds) {
+        return toWheelSpeeds(chassisSpeeds.vxMetersPerSecond, chassisSpeeds.vyMetersPerSecond,
+                chassisSpeeds.omegaRadiansPerSecond,
+                centerOfRotationMeters.getX(), centerOfRotationMeters.getY(), wheelSpeeds);
+    }
 
-        SimpleMatrix chassisSpeedsVector = new SimpleMatrix(3, 1);
-        chassisSpeedsVector.setColumn(0, 0,
-                chassisSpeeds.vxMetersPerSecond, chassisSpeeds.vyMetersPerSecond,
-                chassisSpeeds.omegaRadiansPerSecond);
-
-        SimpleMatrix wheelsMatrix = m_inverseKinematics.mult(chassisSpeedsVector);
-        return new MecanumDriveWheelSpeeds(
-                wheelsMatrix.get(0, 0),
-                wheelsMatrix.get(1, 0),
-                wheelsMatrix.get(2, 0),
-                wheelsMatrix.get(3, 0)
-        );
+    /**
+     * Performs inverse kinematics into existing wheel speeds. See
+     * {@link #toWheelSpeeds(ChassisSpeeds, Translation2d)} for more information.
+     * This does not allocate.
+     *
+     * @param vxMetersPerSecond     The forward velocity.
+     * @param vyMetersPerSecond     The sideways velocity, left positive.
+     * @param omegaRadiansPerSecond The angular velocity, counterclockwise positive.
+     * @param centerOfRotationX     The x coordinate of the center of rotation, 0 for the robot center.
+     * @param centerOfRotationY     The y coordinate of the center of rotation, 0 for the robot center.
+     * @param wheelSpeeds           The wheel speeds to write to.
+     * @return The given wheel speeds.
+     */
+    public MecanumDriveWheelSpeeds toWheelSpeeds(double vxMetersPerSecond, double vyMetersPerSecond,
+                                                 double omegaRadiansPerSecond,
+                                                 double centerOfRotationX, double centerOfRotationY,
+                                                 MecanumDriveWheelSpeeds wheelSpeeds) {
+        setCenterOfRotation(centerOfRotationX, centerOfRotationY);
+        double diagonal = (vxMetersPerSecond - vyMetersPerSecond) * kInvSqrt2;
+        double antiDiagonal = (vxMetersPerSecond + vyMetersPerSecond) * kInvSqrt2;
+        wheelSpeeds.frontLeftMetersPerSecond = diagonal + m_frontLeftRotation * omegaRadiansPerSecond;
+        wheelSpeeds.frontRightMetersPerSecond = antiDiagonal + m_frontRightRotation * omegaRadiansPerSecond;
+        wheelSpeeds.rearLeftMetersPerSecond = antiDiagonal + m_rearLeftRotation * omegaRadiansPerSecond;
+        wheelSpeeds.rearRightMetersPerSecond = diagonal + m_rearRightRotation * omegaRadiansPerSecond;
+        return wheelSpeeds;
     }
 
     /**
@@ -128,7 +168,7 @@ public class MecanumDriveKinematics {
      * @return The wheel speeds.
      */
     public MecanumDriveWheelSpeeds toWheelSpeeds(ChassisSpeeds chassisSpeeds) {
-        return toWheelSpeeds(chassisSpeeds, new Translation2d());
+        return toWheelSpeeds(chassisSpeeds, kCenter);
     }
 
     /**
@@ -140,31 +180,43 @@ public class MecanumDriveKinematics {
      * @return The resulting chassis speed.
      */
     public ChassisSpeeds toChassisSpeeds(MecanumDriveWheelSpeeds wheelSpeeds) {
-        SimpleMatrix wheelSpeedsMatrix = new SimpleMatrix(4, 1);
-        wheelSpeedsMatrix.setColumn(0, 0,
-                wheelSpeeds.frontLeftMetersPerSecond, wheelSpeeds.frontRightMetersPerSecond,
-                wheelSpeeds.rearLeftMetersPerSecond, wheelSpeeds.rearRightMetersPerSecond
-        );
-        SimpleMatrix chassisSpeedsVector = m_forwardKinematics.mult(wheelSpeedsMatrix);
-
-        return new ChassisSpeeds(chassisSpeedsVector.get(0, 0), chassisSpeedsVector.get(1, 0),
-                chassisSpeedsVector.get(2, 0));
+        return toChassisSpeeds(wheelSpeeds, new ChassisSpeeds());
     }
 
     /**
-     * Construct inverse kinematics matrix from wheel locations.
+     * Performs forward kinematics into existing chassis speeds. See
+     * {@link #toChassisSpeeds(MecanumDriveWheelSpeeds)} for more information.
      *
-     * @param fl The location of the front-left wheel relative to the physical center of the robot.
-     * @param fr The location of the front-right wheel relative to the physical center of the robot.
-     * @param rl The location of the rear-left wheel relative to the physical center of the robot.
-     * @param rr The location of the rear-right wheel relative to the physical center of the robot.
+     * @param wheelSpeeds   The current mecanum drive wheel speeds.
+     * @param chassisSpeeds The chassis speeds to write to.
+     * @return The given chassis speeds.
      */
-    private void setInverseKinematics(Translation2d fl, Translation2d fr,
-                                      Translation2d rl, Translation2d rr) {
-        m_inverseKinematics.setRow(0, 0, 1, -1, -(fl.getX() + fl.getY()));
-        m_inverseKinematics.setRow(1, 0, 1, 1, fr.getX() - fr.getY());
-        m_inverseKinematics.setRow(2, 0, 1, 1, rl.getX() - rl.getY());
-        m_inverseKinematics.setRow(3, 0, 1, -1, -(rr.getX() + rr.getY()));
-        m_inverseKinematics = m_inverseKinematics.scale(1.0 / Math.sqrt(2));
+    public ChassisSpeeds toChassisSpeeds(MecanumDriveWheelSpeeds wheelSpeeds, ChassisSpeeds chassisSpeeds) {
+        m_wheelSpeeds[0] = wheelSpeeds.frontLeftMetersPerSecond;
+        m_wheelSpeeds[1] = wheelSpeeds.frontRightMetersPerSecond;
+        m_wheelSpeeds[2] = wheelSpeeds.rearLeftMetersPerSecond;
+        m_wheelSpeeds[3] = wheelSpeeds.rearRightMetersPerSecond;
+        m_forwardKinematics.mult(m_wheelSpeeds, m_chassisSpeeds);
+
+        chassisSpeeds.vxMetersPerSecond = m_chassisSpeeds.x;
+        chassisSpeeds.vyMetersPerSecond = m_chassisSpeeds.y;
+        chassisSpeeds.omegaRadiansPerSecond = m_chassisSpeeds.z;
+        return chassisSpeeds;
+    }
+
+    /**
+     * Computes the rotation term of each wheel for a center of rotation, unless it
+     * is the one used last time.
+     */
+    private void setCenterOfRotation(double x, double y) {
+        if (x == m_corX && y == m_corY) {
+            return;
+        }
+        m_corX = x;
+        m_corY = y;
+        m_frontLeftRotation = -(m_frontLeftWheelMeters.getX() - x + m_frontLeftWheelMeters.getY() - y) * kInvSqrt2;
+        m_frontRightRotation = (m_frontRightWheelMeters.getX() - x - m_frontRightWheelMeters.getY() + y) * kInvSqrt2;
+        m_rearLeftRotation = (m_rearLeftWheelMeters.getX() - x - m_rearLeftWheelMeters.getY() + y) * kInvSqrt2;
+        m_rearRightRotation = -(m_rearRightWheelMeters.getX() - x + m_rearRightWheelMeters.getY() - y) * kInvSqrt2;
     }
 }
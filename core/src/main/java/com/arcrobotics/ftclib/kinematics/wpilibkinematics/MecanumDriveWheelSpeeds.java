@@ -7,8 +7,6 @@
 
 package com.arcrobotics.ftclib.kinematics.wpilibkinematics;
 
-import java.util.stream.DoubleStream;
-
 @SuppressWarnings("MemberName")
 public class MecanumDriveWheelSpeeds {
     /**
@@ -66,9 +64,8 @@ public class MecanumDriveWheelSpeeds {
      * @param attainableMaxSpeedMetersPerSecond The absolute max speed that a wheel can reach.
      */
     public void normalize(double attainableMaxSpeedMetersPerSecond) {
-        double realMaxSpeed = DoubleStream.of(frontLeftMetersPerSecond,
-                frontRightMetersPerSecond, rearLeftMetersPerSecond, rearRightMetersPerSecond)
-                .max().getAsDouble();
+        double realMaxSpeed = Math.max(Math.max(frontLeftMetersPerSecond, frontRightMetersPerSecond),
+                Math.max(rearLeftMetersPerSecond, rearRightMetersPerSecond));
 
         if (realMaxSpeed > attainableMaxSpeedMetersPerSecond) {
             frontLeftMetersPerSecond = frontLeftMetersPerSecond / realMaxSpeed
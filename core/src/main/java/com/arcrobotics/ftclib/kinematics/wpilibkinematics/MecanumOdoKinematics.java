@@ -1,12 +1,22 @@
 package com.arcrobotics.ftclib.kinematics.wpilibkinematics;
 
 import com.arcrobotics.ftclib.geometry.Translation2d;
+import com.arcrobotics.ftclib.math.Matrix;
+
+/**
+ * Mecanum kinematics for odometry with an auxiliary dead wheel.
+ *
+ * <p>The conversions reuse a scratch array, so an instance is not thread-safe.
+ * Code that runs kinematics on another thread, such as an
+ * {@link com.arcrobotics.ftclib.kinematics.OdometryThread}, needs its own instance.
+ */
+public class MecanumOdoKinematics {
+    private static final Translation2d kCenter = new Translation2d();
 
-import org.ejml.simple.SimpleMatrix;
+    private final Matrix m_inverseKinematics;
+    private final Matrix m_forwardKinematics;
 
-public class MecanumOdoKinematics {
-    private SimpleMatrix m_inverseKinematics;
-    private final SimpleMatrix m_forwardKinematics;
+    private final double[] m_wheelSpeeds = new double[4];
 
     private final Translation2d m_frontLeftWheelMeters;
     private final Translation2d m_frontRightWheelMeters;
@@ -39,7 +49,7 @@ public class MecanumOdoKinematics {
         m_rearLeftWheelMeters = rearLeftWheelMeters;
         m_rearRightWheelMeters = rearRightWheelMeters;
         this.auxDistance = auxDistance;
-        m_inverseKinematics = new SimpleMatrix(4, 3);
+        m_inverseKinematics = new Matrix(4, 3);
 
         setInverseKinematics(frontLeftWheelMeters, frontRightWheelMeters,
                 rearLeftWheelMeters, rearRightWheelMeters);
@@ -70,6 +80,21 @@ public class MecanumOdoKinematics {
      */
     public MecanumDriveWheelSpeeds toWheelSpeeds(ChassisSpeeds chassisSpeeds,
                                                  Translation2d centerOfRotationMeters) {
+        return toWheelSpeeds(chassisSpeeds, centerOfRotationMeters, new MecanumDriveWheelSpeeds());
+    }
+
+    /**
+     * Performs inverse kinematics into existing wheel speeds. See
+     * {@link #toWheelSpeeds(ChassisSpeeds, Translation2d)} for more information.
+     *
+     * @param chassisSpeeds          The desired chassis speed.
+     * @param centerOfRotationMeters The center of rotation.
+     * @param wheelSpeeds            The wheel speeds to write to.
+     * @return The given wheel speeds.
+     */
+    public MecanumDriveWheelSpeeds toWheelSpeeds(ChassisSpeeds chassisSpeeds,
+                                                 Translation2d centerOfRotationMeters,
+                                                 MecanumDriveWheelSpeeds wheelSpeeds) {
         // We have a new center of rotation. We need to compute the matrix again.
         if (!centerOfRotationMeters.equals(m_prevCoR)) {
             Translation2d fl = m_frontLeftWheelMeters.minus(centerOfRotationMeters);
@@ -81,18 +106,13 @@ public class MecanumOdoKinematics {
             m_prevCoR = centerOfRotationMeters;
         }
 
-        SimpleMatrix chassisSpeedsVector = new SimpleMatrix(3, 1);
-        chassisSpeedsVector.setColumn(0, 0,
-                chassisSpeeds.vxMetersPerSecond, chassisSpeeds.vyMetersPerSecond,
-                chassisSpeeds.omegaRadiansPerSecond);
-
-        SimpleMatrix wheelsMatrix = m_inverseKinematics.mult(chassisSpeedsVector);
-        return new MecanumDriveWheelSpeeds(
-                wheelsMatrix.get(0, 0),
-                wheelsMatrix.get(1, 0),
-                wheelsMatrix.get(2, 0),
-                wheelsMatrix.get(3, 0)
-        );
+        double[] wheels = m_inverseKinematics.mult(chassisSpeeds.vxMetersPerSecond,
+                chassisSpeeds.vyMetersPerSecond, chassisSpeeds.omegaRadiansPerSecond, m_wheelSpeeds);
+        wheelSpeeds.frontLeftMetersPerSecond = wheels[0];
+        wheelSpeeds.frontRightMetersPerSecond = wheels[1];
+        wheelSpeeds.rearLeftMetersPerSecond = wheels[2];
+        wheelSpeeds.rearRightMetersPerSecond = wheels[3];
+        return wheelSpeeds;
     }
 
     /**
@@ -103,7 +123,7 @@ public class MecanumOdoKinematics {
      * @return The wheel speeds.
      */
     public MecanumDriveWheelSpeeds toWheelSpeeds(ChassisSpeeds chassisSpeeds) {
-        return toWheelSpeeds(chassisSpeeds, new Translation2d());
+        return toWheelSpeeds(chassisSpeeds, kCenter);
     }
 
     /**
@@ -115,11 +135,24 @@ public class MecanumOdoKinematics {
      * @return The resulting chassis speed.
      */
     public ChassisSpeeds toChassisSpeeds(OdoWheelSpeeds wheelSpeeds) {
+        return toChassisSpeeds(wheelSpeeds, new ChassisSpeeds());
+    }
+
+    /**
+     * Performs forward kinematics into existing chassis speeds. See
+     * {@link #toChassisSpeeds(OdoWheelSpeeds)} for more information.
+     *
+     * @param wheelSpeeds   The current odometry wheel speeds.
+     * @param chassisSpeeds The chassis speeds to write to.
+     * @return The given chassis speeds.
+     */
+    public ChassisSpeeds toChassisSpeeds(OdoWheelSpeeds wheelSpeeds, ChassisSpeeds chassisSpeeds) {
         double omega = (wheelSpeeds.rightMetersPerSecond - wheelSpeeds.leftMetersPerSecond)
                 / (wheelbaseRadius * 2);
-        return new ChassisSpeeds(
-                (wheelSpeeds.leftMetersPerSecond + wheelSpeeds.rightMetersPerSecond) / 2, wheelSpeeds.centerMetersPerSecond - auxDistance * omega,
-                (omega));
+        chassisSpeeds.vxMetersPerSecond = (wheelSpeeds.leftMetersPerSecond + wheelSpeeds.rightMetersPerSecond) / 2;
+        chassisSpeeds.vyMetersPerSecond = wheelSpeeds.centerMetersPerSecond - auxDistance * omega;
+        chassisSpeeds.omegaRadiansPerSecond = omega;
+        return chassisSpeeds;
     }
 
     /**
@@ -136,6 +169,6 @@ public class MecanumOdoKinematics {
         m_inverseKinematics.setRow(1, 0, 1, 1, fr.getX() - fr.getY());
         m_inverseKinematics.setRow(2, 0, 1, 1, rl.getX() - rl.getY());
         m_inverseKinematics.setRow(3, 0, 1, -1, -(rr.getX() + rr.getY()));
-        m_inverseKinematics = m_inverseKinematics.scale(1.0 / Math.sqrt(2));
+        m_inverseKinematics.scale(1.0 / Math.sqrt(2));
     }
 }
@@ -9,11 +9,10 @@ package com.arcrobotics.ftclib.kinematics.wpilibkinematics;
 
 import com.arcrobotics.ftclib.geometry.Rotation2d;
 import com.arcrobotics.ftclib.geometry.Translation2d;
-
-import org.ejml.simple.SimpleMatrix;
+import com.arcrobotics.ftclib.math.Matrix;
+import com.arcrobotics.ftclib.math.Vec3;
 
 import java.util.Arrays;
-import java.util.Collections;
 
 /**
  * Helper class that converts a chassis velocity (dx, dy, and dtheta components)
@@ -36,14 +35,25 @@ import java.util.Collections;
  *
  * <p>Forward kinematics is also used for odometry -- determining the position of
  * the robot on the field using encoders and a gyro.
+ *
+ * <p>The conversions reuse scratch arrays and cache the last center of rotation, so an
+ * instance is not thread-safe. Code that runs kinematics on another thread, such as
+ * an {@link com.arcrobotics.ftclib.kinematics.OdometryThread}, needs its own instance.
  */
 public class SwerveDriveKinematics {
-    private final SimpleMatrix m_inverseKinematics;
-    private final SimpleMatrix m_forwardKinematics;
+    private static final Translation2d kCenter = new Translation2d();
+
+    private final Matrix m_forwardKinematics;
+
+    private final double[] m_moduleVelocities;
+    private final Vec3 m_chassisSpeeds = new Vec3();
 
     private final int m_numModules;
     private final Translation2d[] m_modules;
-    private Translation2d m_prevCoR = new Translation2d();
+
+    // the module locations relative to the current center of rotation
+    private final double[] m_moduleX, m_moduleY;
+    private double m_corX = Double.NaN, m_corY = Double.NaN;
 
     /**
      * Constructs a swerve drive kinematics object. This takes in a variable
@@ -62,13 +72,18 @@ public class SwerveDriveKinematics {
         }
         m_numModules = wheelsMeters.length;
         m_modules = Arrays.copyOf(wheelsMeters, m_numModules);
-        m_inverseKinematics = new SimpleMatrix(m_numModules * 2, 3);
+        m_moduleVelocities = new double[m_numModules * 2];
+        m_moduleX = new double[m_numModules];
+        m_moduleY = new double[m_numModules];
 
+        Matrix inverseKinematics = new Matrix(m_numModules * 2, 3);
         for (int i = 0; i < m_numModules; i++) {
-            m_inverseKinematics.setRow(i * 2 + 0, 0, /* Start Data */ 1, 0, -m_modules[i].getY());
-            m_inverseKinematics.setRow(i * 2 + 1, 0, /* Start Data */ 0, 1, +m_modules[i].getX());
+            inverseKinematics.setRow(i * 2 + 0, 0, /* Start Data */ 1, 0, -m_modules[i].getY());
+            inverseKinematics.setRow(i * 2 + 1, 0, /* Start Data */ 0, 1, +m_modules[i].getX());
         }
-        m_forwardKinematics = m_inverseKinematics.pseudoInverse();
+        m_forwardKinematics = inverseKinematics.pseudoInverse();
+
+        setCenterOfRotation(0, 0);
 
     }
 
@@ -94,40 +109,86 @@ public class SwerveDriveKinematics {
      * {@link #normalizeWheelSpeeds(SwerveModuleState[], double) normalizeWheelSpeeds}
      * function to rectify this issue.
      */
-    @SuppressWarnings({"LocalVariableName", "PMD.AvoidInstantiatingObjectsInLoops"})
     public SwerveModuleState[] toSwerveModuleStates(ChassisSpeeds chassisSpeeds,
                                                     Translation2d centerOfRotationMeters) {
-        if (!centerOfRotationMeters.equals(m_prevCoR)) {
-            for (int i = 0; i < m_numModules; i++) {
-                m_inverseKinematics.setRow(i * 2 + 0, 0, /* Start Data */ 1, 0,
-                        -m_modules[i].getY() + centerOfRotationMeters.getY());
-                m_inverseKinematics.setRow(i * 2 + 1, 0, /* Start Data */ 0, 1,
-                        +m_modules[i].getX() - centerOfRotationMeters.getX());
-            }
-            m_prevCoR = centerOfRotationMeters;
-        }
-
-        SimpleMatrix chassisSpeedsVector = new SimpleMatrix(3, 1);
-        chassisSpeedsVector.setColumn(0, 0,
-                chassisSpeeds.vxMetersPerSecond, chassisSpeeds.vyMetersPerSecond,
-                chassisSpeeds.omegaRadiansPerSecond);
+        return toSwerveModuleStates(chassisSpeeds, centerOfRotationMeters,
+                new SwerveModuleState[m_numModules]);
+    }
 
-        SimpleMatrix moduleStatesMatrix = m_inverseKinematics.mult(chassisSpeedsVector);
-        SwerveModuleState[] moduleStates = new SwerveModuleState[m_numModules];
+    /**
+     * Performs inverse kinematics into existing module states. See
+     * {@link #toSwerveModuleStates(ChassisSpeeds, Translation2d)} for more information.
+     *
+     * <p>Null entries are filled with new states. Because {@link Rotation2d} is immutable,
+     * a new angle is created for each module whose direction changed, so use
+     * {@link #toSwerveModuleStates(double, double, double, double, double, double[], double[])} where
+     * nothing may be allocated.
+     *
+     * @param chassisSpeeds          The desired chassis speed.
+     * @param centerOfRotationMeters The center of rotation.
+     * @param moduleStates           The module states to write to, in the order of the constructor.
+     * @return The given module states.
+     */
+    @SuppressWarnings({"LocalVariableName", "PMD.AvoidInstantiatingObjectsInLoops"})
+    public SwerveModuleState[] toSwerveModuleStates(ChassisSpeeds chassisSpeeds,
+                                                    Translation2d centerOfRotationMeters,
+                                                    SwerveModuleState[] moduleStates) {
+        checkModuleCount(moduleStates.length);
+        setCenterOfRotation(centerOfRotationMeters.getX(), centerOfRotationMeters.getY());
 
+        double vx = chassisSpeeds.vxMetersPerSecond;
+        double vy = chassisSpeeds.vyMetersPerSecond;
+        double omega = chassisSpeeds.omegaRadiansPerSecond;
         for (int i = 0; i < m_numModules; i++) {
-            double x = moduleStatesMatrix.get(i * 2, 0);
-            double y = moduleStatesMatrix.get(i * 2 + 1, 0);
+            double x = vx - omega * m_moduleY[i];
+            double y = vy + omega * m_moduleX[i];
 
+            SwerveModuleState state = moduleStates[i];
+            if (state == null) {
+                state = moduleStates[i] = new SwerveModuleState();
+            }
             double speed = Math.hypot(x, y);
-            Rotation2d angle = new Rotation2d(x, y);
-
-            moduleStates[i] = new SwerveModuleState(speed, angle);
+            state.speedMetersPerSecond = speed;
+            // the same direction math as new Rotation2d(x, y), so an unchanged direction compares equal
+            double cos = speed > 1e-6 ? x / speed : 1.0;
+            double sin = speed > 1e-6 ? y / speed : 0.0;
+            if (state.angle == null || state.angle.getCos() != cos || state.angle.getSin() != sin) {
+                state.angle = new Rotation2d(x, y);
+            }
         }
 
         return moduleStates;
     }
 
+    /**
+     * Performs inverse kinematics into arrays of module speeds and angles. See
+     * {@link #toSwerveModuleStates(ChassisSpeeds, Translation2d)} for more information.
+     * This does not allocate.
+     *
+     * @param vxMetersPerSecond     The forward velocity.
+     * @param vyMetersPerSecond     The sideways velocity, left positive.
+     * @param omegaRadiansPerSecond The angular velocity, counterclockwise positive.
+     * @param centerOfRotationX     The x coordinate of the center of rotation, 0 for the robot center.
+     * @param centerOfRotationY     The y coordinate of the center of rotation, 0 for the robot center.
+     * @param speedsMetersPerSecond The array to write the module speeds to.
+     * @param anglesRadians         The array to write the module angles to.
+     */
+    public void toSwerveModuleStates(double vxMetersPerSecond, double vyMetersPerSecond,
+                                     double omegaRadiansPerSecond,
+                                     double centerOfRotationX, double centerOfRotationY,
+                                     double[] speedsMetersPerSecond, double[] anglesRadians) {
+        checkModuleCount(speedsMetersPerSecond.length);
+        checkModuleCount(anglesRadians.length);
+        setCenterOfRotation(centerOfRotationX, centerOfRotationY);
+        for (int i = 0; i < m_numModules; i++) {
+            double x = vxMetersPerSecond - omegaRadiansPerSecond * m_moduleY[i];
+            double y = vyMetersPerSecond + omegaRadiansPerSecond * m_moduleX[i];
+            double speed = Math.hypot(x, y);
+            speedsMetersPerSecond[i] = speed;
+            anglesRadians[i] = speed > 1e-6 ? Math.atan2(y, x) : 0.0;
+        }
+    }
+
     /**
      * Performs inverse kinematics. See {@link #toSwerveModuleStates(ChassisSpeeds, Translation2d)}
      * toSwerveModuleStates for more information.
@@ -136,7 +197,7 @@ public class SwerveDriveKinematics {
      * @return An array containing the module states.
      */
     public SwerveModuleState[] toSwerveModuleStates(ChassisSpeeds chassisSpeeds) {
-        return toSwerveModuleStates(chassisSpeeds, new Translation2d());
+        return toSwerveModuleStates(chassisSpeeds, kCenter);
     }
 
     /**
@@ -151,24 +212,77 @@ public class SwerveDriveKinematics {
      * @return The resulting chassis speed.
      */
     public ChassisSpeeds toChassisSpeeds(SwerveModuleState... wheelStates) {
-        if (wheelStates.length != m_numModules) {
+        return toChassisSpeeds(wheelStates, new ChassisSpeeds());
+    }
+
+    /**
+     * Performs forward kinematics into existing chassis speeds. See
+     * {@link #toChassisSpeeds(SwerveModuleState...)} for more information.
+     *
+     * @param wheelStates   The state of the modules, in the order of the constructor.
+     * @param chassisSpeeds The chassis speeds to write to.
+     * @return The given chassis speeds.
+     */
+    public ChassisSpeeds toChassisSpeeds(SwerveModuleState[] wheelStates, ChassisSpeeds chassisSpeeds) {
+        checkModuleCount(wheelStates.length);
+        for (int i = 0; i < m_numModules; i++) {
+            SwerveModuleState module = wheelStates[i];
+            m_moduleVelocities[i * 2] = module.speedMetersPerSecond * module.angle.getCos();
+            m_moduleVelocities[i * 2 + 1] = module.speedMetersPerSecond * module.angle.getSin();
+        }
+        return solveChassisSpeeds(chassisSpeeds);
+    }
+
+    /**
+     * Performs forward kinematics from module speeds and angles. This does not allocate.
+     *
+     * @param speedsMetersPerSecond The speed of each module, in the order of the constructor.
+     * @param anglesRadians         The angle of each module, in the order of the constructor.
+     * @param chassisSpeeds         The chassis speeds to write to.
+     * @return The given chassis speeds.
+     */
+    public ChassisSpeeds toChassisSpeeds(double[] speedsMetersPerSecond, double[] anglesRadians,
+                                         ChassisSpeeds chassisSpeeds) {
+        checkModuleCount(speedsMetersPerSecond.length);
+        checkModuleCount(anglesRadians.length);
+        for (int i = 0; i < m_numModules; i++) {
+            m_moduleVelocities[i * 2] = speedsMetersPerSecond[i] * Math.cos(anglesRadians[i]);
+            m_moduleVelocities[i * 2 + 1] = speedsMetersPerSecond[i] * Math.sin(anglesRadians[i]);
+        }
+        return solveChassisSpeeds(chassisSpeeds);
+    }
+
+    private ChassisSpeeds solveChassisSpeeds(ChassisSpeeds chassisSpeeds) {
+        m_forwardKinematics.mult(m_moduleVelocities, m_chassisSpeeds);
+        chassisSpeeds.vxMetersPerSecond = m_chassisSpeeds.x;
+        chassisSpeeds.vyMetersPerSecond = m_chassisSpeeds.y;
+        chassisSpeeds.omegaRadiansPerSecond = m_chassisSpeeds.z;
+        return chassisSpeeds;
+    }
+
+    private void checkModuleCount(int count) {
+        if (count != m_numModules) {
             throw new IllegalArgumentException(
                     "Number of modules is not consistent with number of wheel locations provided in "
                             + "constructor"
             );
         }
-        SimpleMatrix moduleStatesMatrix = new SimpleMatrix(m_numModules * 2, 1);
+    }
 
+    /**
+     * Computes the module locations relative to a center of rotation, unless it is
+     * the one used last time.
+     */
+    private void setCenterOfRotation(double x, double y) {
+        if (x == m_corX && y == m_corY) {
+            return;
+        }
+        m_corX = x;
+        m_corY = y;
         for (int i = 0; i < m_numModules; i++) {
-            SwerveModuleState module = wheelStates[i];
-            moduleStatesMatrix.set(i * 2, 0, module.speedMetersPerSecond * module.angle.getCos());
-            moduleStatesMatrix.set(i * 2 + 1, module.speedMetersPerSecond * module.angle.getSin());
+            m_moduleX[i] = m_modules[i].getX() - x;
+            m_moduleY[i] = m_modules[i].getY() - y;
         }
-
-        SimpleMatrix chassisSpeedsVector = m_forwardKinematics.mult(moduleStatesMatrix);
-        return new ChassisSpeeds(chassisSpeedsVector.get(0, 0), chassisSpeedsVector.get(1, 0),
-                chassisSpeedsVector.get(2, 0));
-
     }
 
     /**
@@ -185,7 +299,10 @@ public class SwerveDriveKinematics {
      */
     public static void normalizeWheelSpeeds(SwerveModuleState[] moduleStates,
                                             double attainableMaxSpeedMetersPerSecond) {
-        double realMaxSpeed = Collections.max(Arrays.asList(moduleStates)).speedMetersPerSecond;
+        double realMaxSpeed = moduleStates[0].speedMetersPerSecond;
+        for (SwerveModuleState moduleState : moduleStates) {
+            realMaxSpeed = Math.max(realMaxSpeed, moduleState.speedMetersPerSecond);
+        }
         if (realMaxSpeed > attainableMaxSpeedMetersPerSecond) {
             for (SwerveModuleState moduleState : moduleStates) {
                 moduleState.speedMetersPerSecond = moduleState.speedMetersPerSecond / realMaxSpeed
@@ -193,4 +310,25 @@ public class SwerveDriveKinematics {
             }
         }
     }
+
+    /**
+     * Normalizes module speeds the same way as
+     * {@link #normalizeWheelSpeeds(SwerveModuleState[], double)}.
+     *
+     * @param speedsMetersPerSecond             The module speeds, which are scaled in place.
+     * @param attainableMaxSpeedMetersPerSecond The absolute max speed that a module can reach.
+     */
+    public static void normalizeWheelSpeeds(double[] speedsMetersPerSecond,
+                                            double attainableMaxSpeedMetersPerSecond) {
+        double realMaxSpeed = speedsMetersPerSecond[0];
+        for (double speed : speedsMetersPerSecond) {
+            realMaxSpeed = Math.max(realMaxSpeed, speed);
+        }
+        if (realMaxSpeed > attainableMaxSpeedMetersPerSecond) {
+            for (int i = 0; i < speedsMetersPerSecond.length; i++) {
+                speedsMetersPerSecond[i] = speedsMetersPerSecond[i] / realMaxSpeed
+                        * attainableMaxSpeedMetersPerSecond;
+            }
+        }
+    }
 }
@@ -0,0 +1,429 @@
+package com.arcrobotics.ftclib.logging;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.util.Clock;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A binary logger for typed channels of data. Appending a value copies it into a
+ * preallocated buffer, and a background thread writes full buffers to the file, so
+ * logging costs next to nothing in the loop. Use {@link DataLogReader} to read the
+ * file back or convert it to CSV.
+ *
+ * <pre>{@code
+ * DataLog log = new DataLog(new File(AppUtil.ROOT_FOLDER, "match.ftclog"));
+ * DataLog.DoubleChannel current = log.addDouble("lift/current");
+ * DataLog.PoseChannel pose = log.addPose("odometry/pose");
+ * ...
+ * current.append(lift.getCurrent());
+ * pose.append(odometry.getPose());
+ * ...
+ * log.close();
+ * }</pre>
+ *
+ * <p>Channels must be created and appended to from a single thread. If the background
+ * thread falls behind and both buffers are full, new values are dropped rather than
+ * stalling the loop; {@link #getDroppedCount()} reports how many.</p>
+ *
+ * <p>The file starts with the magic bytes {@code FTCLOG} and a version number. Each
+ * record then starts with a short channel id. A negative id introduces a channel
+ * definition: the new channel id, its type and its name. Otherwise the record holds a
+ * timestamp in nanoseconds since the log was opened followed by the value.</p>
+ */
+public class DataLog implements AutoCloseable {
+
+    static final byte[] kMagic = {'F', 'T', 'C', 'L', 'O', 'G'};
+    static final short kVersion = 1;
+    static final short kDefinition = -1;
+
+    static final byte kDouble = 0, kLong = 1, kBoolean = 2, kDoubleArray = 3, kPose = 4;
+
+    private static final int kRecordHeader = Short.BYTES + Long.BYTES;
+
+    private final FileChannel channel;
+    private final Thread writer;
+    private final Object lock = new Object();
+
+    // owned by the logging thread
+    private ByteBuffer active;
+    // handed to the writer thread, guarded by the lock
+    private ByteBuffer pending, free;
+    private boolean closed;
+    private IOException error;
+
+    private final long startTime;
+    private final long flushPeriod;
+    private long lastFlush;
+    private short nextId;
+    private long dropped;
+
+    /**
+     * Opens a log with two 64 KiB buffers that are written at least every half second.
+     *
+     * @param file the file to write, which is overwritten if it exists
+     * @throws IOException if the file cannot be opened
+     */
+    public DataLog(File file) throws IOException {
+        this(file, 1 << 16, 0.5);
+    }
+
+    /**
+     * Opens a log.
+     *
+     * @param file        the file to write, which is overwritten if it exists
+     * @param bufferSize  the size of each of the two buffers in bytes
+     * @param flushPeriod the longest time in seconds values stay in the buffer
+     * @throws IOException if the file cannot be opened
+     */
+    public DataLog(File file, int bufferSize, double flushPeriod) throws IOException {
+        if (bufferSize < 1024) {
+            throw new IllegalArgumentException("The buffer size must be at least 1024 bytes");
+        }
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.setLength(0);
+        channel = raf.getChannel();
+
+        active = ByteBuffer.allocateDirect(bufferSize);
+        free = ByteBuffer.allocateDirect(bufferSize);
+        active.put(kMagic).putShort(kVersion);
+
+        startTime = Clock.nanoTime();
+        lastFlush = startTime;
+        this.flushPeriod = (long) (flushPeriod * 1E9);
+
+        writer = new Thread(this::writeLoop, "DataLog writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * @param name the name of the channel
+     * @return a channel of doubles
+     */
+    public DoubleChannel addDouble(String name) {
+        return new DoubleChannel(define(name, kDouble));
+    }
+
+    /**
+     * @param name the name of the channel
+     * @return a channel of longs
+     */
+    public LongChannel addLong(String name) {
+        return new LongChannel(define(name, kLong));
+    }
+
+    /**
+     * @param name the name of the channel
+     * @return a channel of booleans
+     */
+    public BooleanChannel addBoolean(String name) {
+        return new BooleanChannel(define(name, kBoolean));
+    }
+
+    /**
+     * @param name the name of the channel
+     * @return a channel of double arrays
+     */
+    public DoubleArrayChannel addDoubleArray(String name) {
+        return new DoubleArrayChannel(define(name, kDoubleArray));
+    }
+
+    /**
+     * @param name the name of the channel
+     * @return a channel of poses
+     */
+    public PoseChannel addPose(String name) {
+        return new PoseChannel(define(name, kPose));
+    }
+
+    private short define(String name, byte type) {
+        if (nextId == Short.MAX_VALUE) {
+            throw new IllegalStateException("Too many channels");
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int size = 3 * Short.BYTES + 1 + bytes.length;
+        if (size > active.capacity()) {
+            throw new IllegalArgumentException("The channel name is too long");
+        }
+        // definitions are never dropped, as the values would be unreadable without them
+        while (active.remaining() < size) {
+            if (!swap()) {
+                waitForFree();
+            }
+        }
+        short id = nextId++;
+        active.putShort(kDefinition).putShort(id).put(type)
+                .putShort((short) bytes.length).put(bytes);
+        return id;
+    }
+
+    /**
+     * Makes room for a value record and writes its header.
+     *
+     * @return the buffer to write the value to, or null if the value has to be dropped
+     */
+    private ByteBuffer begin(short id, int valueSize) {
+        long now = Clock.nanoTime();
+        if (active.remaining() < kRecordHeader + valueSize || now - lastFlush > flushPeriod) {
+            if (!swap() && active.remaining() < kRecordHeader + valueSize) {
+                dropped++;
+                return null;
+            }
+        }
+        return active.putShort(id).putLong(now - startTime);
+    }
+
+    /**
+     * Hands the active buffer to the writer thread if it has a free buffer to swap in.
+     *
+     * @return true if the buffers were swapped
+     */
+    private boolean swap() {
+        synchronized (lock) {
+            if (free == null || closed) {
+                return false;
+            }
+            active.flip();
+            pending = active;
+            active = free;
+            free = null;
+            lastFlush = Clock.nanoTime();
+            lock.notifyAll();
+            return true;
+        }
+    }
+
+    private void waitForFree() {
+        synchronized (lock) {
+            while (free == null && !closed) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Hands the buffered values to the writer thread without waiting for it. This is
+     * done automatically when a buffer fills up or the flush period passes.
+     */
+    public void flush() {
+        if (active.position() > 0) {
+            swap();
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            ByteBuffer buffer;
+            synchronized (lock) {
+                while (pending == null && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pending == null) {
+                    return;
+                }
+                buffer = pending;
+                pending = null;
+            }
+
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                synchronized (lock) {
+                    error = e;
+                }
+            }
+            buffer.clear();
+
+            synchronized (lock) {
+                free = buffer;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * @return the number of values dropped because the writer thread fell behind
+     */
+    public long getDroppedCount() {
+        return dropped;
+    }
+
+    /**
+     * Writes the remaining values and closes the file.
+     *
+     * @throws IOException if writing the file failed at any point
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+        }
+        waitForFree();
+        flush();
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.force(true);
+        channel.close();
+        synchronized (lock) {
+            if (error != null) {
+                throw error;
+            }
+        }
+    }
+
+    /**
+     * A channel of double values.
+     */
+    public class DoubleChannel {
+        private final short id;
+
+        DoubleChannel(short id) {
+            this.id = id;
+        }
+
+        /**
+         * @param value the value to log
+         */
+        public void append(double value) {
+            ByteBuffer buffer = begin(id, Double.BYTES);
+            if (buffer != null) {
+                buffer.putDouble(value);
+            }
+        }
+    }
+
+    /**
+     * A channel of long values.
+     */
+    public class LongChannel {
+        private final short id;
+
+        LongChannel(short id) {
+            this.id = id;
+        }
+
+        /**
+         * @param value the value to log
+         */
+        public void append(long value) {
+            ByteBuffer buffer = begin(id, Long.BYTES);
+            if (buffer != null) {
+                buffer.putLong(value);
+            }
+        }
+    }
+
+    /**
+     * A channel of boolean values.
+     */
+    public class BooleanChannel {
+        private final short id;
+
+        BooleanChannel(short id) {
+            this.id = id;
+        }
+
+        /**
+         * @param value the value to log
+         */
+        public void append(boolean value) {
+            ByteBuffer buffer = begin(id, 1);
+            if (buffer != null) {
+                buffer.put(value ? (byte) 1 : 0);
+            }
+        }
+    }
+
+    /**
+     * A channel of double arrays, which may have a different length every time.
+     */
+    public class DoubleArrayChannel {
+        private final short id;
+
+        DoubleArrayChannel(short id) {
+            this.id = id;
+        }
+
+        /**
+         * @param values the values to log
+         */
+        public void append(double[] values) {
+            append(values, values.length);
+        }
+
+        /**
+         * @param values the array holding the values to log
+         * @param length the number of values to log from the start of the array
+         */
+        public void append(double[] values, int length) {
+            int size = Integer.BYTES + length * Double.BYTES;
+            if (kRecordHeader + size > active.capacity()) {
+                throw new IllegalArgumentException("The array does not fit in the log buffer");
+            }
+            ByteBuffer buffer = begin(id, size);
+            if (buffer != null) {
+                buffer.putInt(length);
+                for (int i = 0; i < length; i++) {
+                    buffer.putDouble(values[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * A channel of poses, stored as x, y and heading in radians.
+     */
+    public class PoseChannel {
+        private final short id;
+
+        PoseChannel(short id) {
+            this.id = id;
+        }
+
+        /**
+         * @param pose the pose to log
+         */
+        public void append(Pose2d pose) {
+            append(pose.getX(), pose.getY(), pose.getHeading());
+        }
+
+        /**
+         * @param x       the x coordinate
+         * @param y       the y coordinate
+         * @param heading the heading in radians
+         */
+        public void append(double x, double y, double heading) {
+            ByteBuffer buffer = begin(id, 3 * Double.BYTES);
+            if (buffer != null) {
+                buffer.putDouble(x).putDouble(y).putDouble(heading);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,257 @@
+package com.arcrobotics.ftclib.logging;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads the files written by a {@link DataLog} one value at a time. This is meant to be
+ * used on a computer after the match, for example to convert a log to CSV:
+ *
+ * <pre>
+ * java -cp ftclib.jar com.arcrobotics.ftclib.logging.DataLogReader match.ftclog match.csv
+ * </pre>
+ */
+public class DataLogReader implements AutoCloseable {
+
+    /**
+     * The type of the values of a channel.
+     */
+    public enum Type {
+        DOUBLE, LONG, BOOLEAN, DOUBLE_ARRAY, POSE
+    }
+
+    private final DataInputStream in;
+    private final List<String> names = new ArrayList<>();
+    private final List<Type> types = new ArrayList<>();
+
+    private int channel;
+    private long timestamp;
+    private long longValue;
+    private double[] values = new double[3];
+    private int valueCount;
+
+    /**
+     * @param in the stream of the log file
+     * @throws IOException if the stream is not a log file
+     */
+    public DataLogReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+        byte[] magic = new byte[DataLog.kMagic.length];
+        this.in.readFully(magic);
+        if (!Arrays.equals(magic, DataLog.kMagic)) {
+            throw new IOException("Not a DataLog file");
+        }
+        short version = this.in.readShort();
+        if (version != DataLog.kVersion) {
+            throw new IOException("Unsupported DataLog version " + version);
+        }
+    }
+
+    /**
+     * @param file the log file
+     * @throws IOException if the file cannot be read or is not a log file
+     */
+    public DataLogReader(File file) throws IOException {
+        this(new FileInputStream(file));
+    }
+
+    /**
+     * Moves to the next value in the log. A last record that was cut off, as happens
+     * when the robot loses power while logging, is treated as the end of the log.
+     *
+     * @return false if the end of the log was reached
+     * @throws IOException if the log cannot be read or is corrupted
+     */
+    public boolean next() throws IOException {
+        try {
+            return readRecord();
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    private boolean readRecord() throws IOException {
+        while (true) {
+            short id = in.readShort();
+
+            if (id == DataLog.kDefinition) {
+                short newId = in.readShort();
+                byte type = in.readByte();
+                byte[] name = new byte[in.readShort()];
+                in.readFully(name);
+                if (newId != names.size() || type < 0 || type >= Type.values().length) {
+                    throw new IOException("Corrupted channel definition");
+                }
+                names.add(new String(name, StandardCharsets.UTF_8));
+                types.add(Type.values()[type]);
+                continue;
+            }
+            if (id < 0 || id >= names.size()) {
+                throw new IOException("Value for unknown channel " + id);
+            }
+
+            channel = id;
+            timestamp = in.readLong();
+            switch (types.get(id)) {
+                case DOUBLE:
+                    values[0] = in.readDouble();
+                    valueCount = 1;
+                    break;
+                case LONG:
+                    longValue = in.readLong();
+                    values[0] = longValue;
+                    valueCount = 1;
+                    break;
+                case BOOLEAN:
+                    values[0] = in.readByte();
+                    valueCount = 1;
+                    break;
+                case DOUBLE_ARRAY:
+                    valueCount = in.readInt();
+                    if (valueCount > values.length) {
+                        values = new double[valueCount];
+                    }
+                    for (int i = 0; i < valueCount; i++) {
+                        values[i] = in.readDouble();
+                    }
+                    break;
+                case POSE:
+                    values[0] = in.readDouble();
+                    values[1] = in.readDouble();
+                    values[2] = in.readDouble();
+                    valueCount = 3;
+                    break;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * @return the name of the channel of the current value
+     */
+    public String getChannel() {
+        return names.get(channel);
+    }
+
+    /**
+     * @return the type of the current value
+     */
+    public Type getType() {
+        return types.get(channel);
+    }
+
+    /**
+     * @return the time of the current value in seconds since the log was opened
+     */
+    public double getTimestamp() {
+        return timestamp / 1E9;
+    }
+
+    /**
+     * @return the current value of a double channel
+     */
+    public double getDouble() {
+        return values[0];
+    }
+
+    /**
+     * @return the current value of a long channel
+     */
+    public long getLong() {
+        return longValue;
+    }
+
+    /**
+     * @return the current value of a boolean channel
+     */
+    public boolean getBoolean() {
+        return values[0] != 0;
+    }
+
+    /**
+     * @return a copy of the current value of a double array channel
+     */
+    public double[] getDoubleArray() {
+        return Arrays.copyOf(values, valueCount);
+    }
+
+    /**
+     * @return the current value of a pose channel
+     */
+    public Pose2d getPose() {
+        return new Pose2d(values[0], values[1], new Rotation2d(values[2]));
+    }
+
+    /**
+     * Writes the rest of the log as CSV with one value per row. The columns are the
+     * time in seconds, the channel name and the value. Poses take three columns for x, y
+     * and heading, and arrays one column per element.
+     *
+     * @param out the destination of the CSV
+     * @throws IOException if the log cannot be read or the CSV cannot be written
+     */
+    public void toCsv(Writer out) throws IOException {
+        out.write("time,channel,value\n");
+        StringBuilder row = new StringBuilder();
+        while (next()) {
+            row.setLength(0);
+            row.append(getTimestamp()).append(',').append(escape(getChannel()));
+            for (int i = 0; i < valueCount; i++) {
+                row.append(',');
+                if (getType() == Type.LONG) {
+                    row.append(longValue);
+                } else if (getType() == Type.BOOLEAN) {
+                    row.append(getBoolean());
+                } else {
+                    row.append(values[i]);
+                }
+            }
+            out.write(row.append('\n').toString());
+        }
+        out.flush();
+    }
+
+    private static String escape(String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0) {
+            return field;
+        }
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Converts a log file to CSV.
+     *
+     * @param args the log file and the CSV file to write
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: DataLogReader <log file> <csv file>");
+            System.exit(1);
+        }
+        try (DataLogReader reader = new DataLogReader(new File(args[0]));
+             Writer out = new BufferedWriter(new FileWriter(args[1]))) {
+            reader.toCsv(out);
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.arcrobotics.ftclib.math;
+
+/**
+ * A mutable 2x2 matrix, such as a rotation. The operations modify this matrix and
+ * return it, so they can be chained without allocating.
+ */
+public class Mat2 {
+
+    public double m00, m01;
+    public double m10, m11;
+
+    /**
+     * Creates an identity matrix.
+     */
+    public Mat2() {
+        setIdentity();
+    }
+
+    public Mat2(double m00, double m01, double m10, double m11) {
+        set(m00, m01, m10, m11);
+    }
+
+    public Mat2 set(double m00, double m01, double m10, double m11) {
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m10 = m10;
+        this.m11 = m11;
+        return this;
+    }
+
+    public Mat2 set(Mat2 other) {
+        return set(other.m00, other.m01, other.m10, other.m11);
+    }
+
+    public Mat2 setIdentity() {
+        return set(1, 0, 0, 1);
+    }
+
+    /**
+     * Sets this matrix to a counterclockwise rotation.
+     *
+     * @param radians the angle of the rotation
+     * @return this matrix
+     */
+    public Mat2 setRotation(double radians) {
+        double cos = Math.cos(radians);
+        double sin = Math.sin(radians);
+        return set(cos, -sin, sin, cos);
+    }
+
+    /**
+     * Sets this matrix to the product {@code a * b}. Either may be this matrix.
+     *
+     * @return this matrix
+     */
+    public Mat2 mul(Mat2 a, Mat2 b) {
+        return set(a.m00 * b.m00 + a.m01 * b.m10, a.m00 * b.m01 + a.m01 * b.m11,
+                a.m10 * b.m00 + a.m11 * b.m10, a.m10 * b.m01 + a.m11 * b.m11);
+    }
+
+    public double determinant() {
+        return m00 * m11 - m01 * m10;
+    }
+
+    /**
+     * Inverts this matrix.
+     *
+     * @return this matrix
+     * @throws ArithmeticException if the matrix is singular
+     */
+    public Mat2 invert() {
+        double det = determinant();
+        if (det == 0) {
+            throw new ArithmeticException("The matrix is singular");
+        }
+        return set(m11 / det, -m01 / det, -m10 / det, m00 / det);
+    }
+
+    public Mat2 transpose() {
+        return set(m00, m10, m01, m11);
+    }
+
+    /**
+     * @return the x component of this matrix times the vector (x, y)
+     */
+    public double transformX(double x, double y) {
+        return m00 * x + m01 * y;
+    }
+
+    /**
+     * @return the y component of this matrix times the vector (x, y)
+     */
+    public double transformY(double x, double y) {
+        return m10 * x + m11 * y;
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.arcrobotics.ftclib.math;
+
+/**
+ * A mutable 3x3 matrix. The operations modify this matrix and return it, so they
+ * can be chained without allocating.
+ */
+public class Mat3 {
+
+    public double m00, m01, m02;
+    public double m10, m11, m12;
+    public double m20, m21, m22;
+
+    /**
+     * Creates an identity matrix.
+     */
+    public Mat3() {
+        setIdentity();
+    }
+
+    public Mat3 set(double m00, double m01, double m02,
+                    double m10, double m11, double m12,
+                    double m20, double m21, double m22) {
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m02 = m02;
+        this.m10 = m10;
+        this.m11 = m11;
+        this.m12 = m12;
+        this.m20 = m20;
+        this.m21 = m21;
+        this.m22 = m22;
+        return this;
+    }
+
+    public Mat3 set(Mat3 o) {
+        return set(o.m00, o.m01, o.m02, o.m10, o.m11, o.m12, o.m20, o.m21, o.m22);
+    }
+
+    public Mat3 setIdentity() {
+        return set(1, 0, 0, 0, 1, 0, 0, 0, 1);
+    }
+
+    /**
+     * Sets this matrix to the product {@code a * b}. Either may be this matrix.
+     *
+     * @return this matrix
+     */
+    public Mat3 mul(Mat3 a, Mat3 b) {
+        return set(
+                a.m00 * b.m00 + a.m01 * b.m10 + a.m02 * b.m20,
+                a.m00 * b.m01 + a.m01 * b.m11 + a.m02 * b.m21,
+                a.m00 * b.m02 + a.m01 * b.m12 + a.m02 * b.m22,
+                a.m10 * b.m00 + a.m11 * b.m10 + a.m12 * b.m20,
+                a.m10 * b.m01 + a.m11 * b.m11 + a.m12 * b.m21,
+                a.m10 * b.m02 + a.m11 * b.m12 + a.m12 * b.m22,
+                a.m20 * b.m00 + a.m21 * b.m10 + a.m22 * b.m20,
+                a.m20 * b.m01 + a.m21 * b.m11 + a.m22 * b.m21,
+                a.m20 * b.m02 + a.m21 * b.m12 + a.m22 * b.m22);
+    }
+
+    public Mat3 scale(double s) {
+        return set(m00 * s, m01 * s, m02 * s, m10 * s, m11 * s, m12 * s, m20 * s, m21 * s, m22 * s);
+    }
+
+    public Mat3 transpose() {
+        return set(m00, m10, m20, m01, m11, m21, m02, m12, m22);
+    }
+
+    public double determinant() {
+        return m00 * (m11 * m22 - m12 * m21)
+                - m01 * (m10 * m22 - m12 * m20)
+                + m02 * (m10 * m21 - m11 * m20);
+    }
+
+    /**
+     * Inverts this matrix.
+     *
+     * @return this matrix
+     * @throws ArithmeticException if the matrix is singular
+     */
+    public Mat3 invert() {
+        double det = determinant();
+        if (det == 0) {
+            throw new ArithmeticException("The matrix is singular");
+        }
+        double inv = 1 / det;
+        return set(
+                (m11 * m22 - m12 * m21) * inv, (m02 * m21 - m01 * m22) * inv, (m01 * m12 - m02 * m11) * inv,
+                (m12 * m20 - m10 * m22) * inv, (m00 * m22 - m02 * m20) * inv, (m02 * m10 - m00 * m12) * inv,
+                (m10 * m21 - m11 * m20) * inv, (m01 * m20 - m00 * m21) * inv, (m00 * m11 - m01 * m10) * inv);
+    }
+
+    /**
+     * Multiplies a vector by this matrix.
+     *
+     * @param v   the vector
+     * @param out the vector to store the result in, which may be {@code v}
+     * @return {@code out}
+     */
+    public Vec3 transform(Vec3 v, Vec3 out) {
+        return out.set(m00 * v.x + m01 * v.y + m02 * v.z,
+                m10 * v.x + m11 * v.y + m12 * v.z,
+                m20 * v.x + m21 * v.y + m22 * v.z);
+    }
+
+}
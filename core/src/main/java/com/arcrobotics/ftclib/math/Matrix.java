@@ -0,0 +1,347 @@
+package com.arcrobotics.ftclib.math;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * A small dense matrix with fixed dimensions, such as the 4x3 matrix of mecanum
+ * kinematics. The elements are stored row by row in one array, and every operation
+ * writes to a matrix or array provided by the caller, so no operation allocates
+ * except for {@link #pseudoInverse()} and {@link #invert()}, which are meant to run once
+ * at construction.
+ */
+public class Matrix {
+
+    private final int m_rows, m_cols;
+    private final double[] m_data;
+
+    /**
+     * Creates a matrix of zeros.
+     */
+    public Matrix(int rows, int cols) {
+        if (rows < 1 || cols < 1) {
+            throw new IllegalArgumentException("A matrix must have at least one row and column");
+        }
+        m_rows = rows;
+        m_cols = cols;
+        m_data = new double[rows * cols];
+    }
+
+    /**
+     * Creates a matrix from its elements.
+     *
+     * @param data the elements, row by row
+     */
+    public Matrix(int rows, int cols, double... data) {
+        this(rows, cols);
+        if (data.length != rows * cols) {
+            throw new IllegalArgumentException("Expected " + rows * cols + " elements");
+        }
+        System.arraycopy(data, 0, m_data, 0, data.length);
+    }
+
+    public int getRows() {
+        return m_rows;
+    }
+
+    public int getCols() {
+        return m_cols;
+    }
+
+    public double get(int row, int col) {
+        return m_data[row * m_cols + col];
+    }
+
+    public void set(int row, int col, double value) {
+        m_data[row * m_cols + col] = value;
+    }
+
+    /**
+     * Sets the elements of a row, starting from a column.
+     */
+    public void setRow(int row, int startCol, double... values) {
+        System.arraycopy(values, 0, m_data, row * m_cols + startCol, values.length);
+    }
+
+    /**
+     * Multiplies every element by a scalar.
+     *
+     * @return this matrix
+     */
+    public Matrix scale(double scalar) {
+        for (int i = 0; i < m_data.length; i++) {
+            m_data[i] *= scalar;
+        }
+        return this;
+    }
+
+    /**
+     * Computes {@code this * v}.
+     *
+     * @param v   a vector with as many elements as this matrix has columns
+     * @param out a vector with as many elements as this matrix has rows
+     * @return {@code out}
+     */
+    public double[] mult(double[] v, double[] out) {
+        for (int r = 0; r < m_rows; r++) {
+            double sum = 0;
+            int offset = r * m_cols;
+            for (int c = 0; c < m_cols; c++) {
+                sum += m_data[offset + c] * v[c];
+            }
+            out[r] = sum;
+        }
+        return out;
+    }
+
+    /**
+     * Computes {@code this * (x, y, z)} for a matrix with three columns.
+     *
+     * @param out a vector with as many elements as this matrix has rows
+     * @return {@code out}
+     */
+    public double[] mult(double x, double y, double z, double[] out) {
+        if (m_cols != 3) {
+            throw new IllegalStateException("The matrix must have three columns");
+        }
+        for (int r = 0, offset = 0; r < m_rows; r++, offset += 3) {
+            out[r] = m_data[offset] * x + m_data[offset + 1] * y + m_data[offset + 2] * z;
+        }
+        return out;
+    }
+
+    /**
+     * Computes {@code this * v} for a matrix with three rows.
+     *
+     * @param v   a vector with as many elements as this matrix has columns
+     * @param out the vector to store the result in
+     * @return {@code out}
+     */
+    public Vec3 mult(double[] v, Vec3 out) {
+        if (m_rows != 3) {
+            throw new IllegalStateException("The matrix must have three rows");
+        }
+        double x = 0, y = 0, z = 0;
+        for (int c = 0; c < m_cols; c++) {
+            x += m_data[c] * v[c];
+            y += m_data[m_cols + c] * v[c];
+            z += m_data[2 * m_cols + c] * v[c];
+        }
+        return out.set(x, y, z);
+    }
+
+    /**
+     * Computes {@code this * b}.
+     *
+     * @param b   a matrix with as many rows as this matrix has columns
+     * @param out a matrix with the rows of this matrix and the columns of {@code b},
+     *            which is neither this matrix nor {@code b}
+     * @return {@code out}
+     */
+    public Matrix mult(Matrix b, Matrix out) {
+        if (b.m_rows != m_cols || out.m_rows != m_rows || out.m_cols != b.m_cols) {
+            throw new IllegalArgumentException("Incompatible matrix dimensions");
+        }
+        if (out == this || out == b) {
+            throw new IllegalArgumentException("The output cannot be an operand");
+        }
+        for (int r = 0; r < m_rows; r++) {
+            for (int c = 0; c < b.m_cols; c++) {
+                double sum = 0;
+                for (int k = 0; k < m_cols; k++) {
+                    sum += m_data[r * m_cols + k] * b.m_data[k * b.m_cols + c];
+                }
+                out.m_data[r * out.m_cols + c] = sum;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Computes the transpose of this matrix.
+     *
+     * @param out a matrix with the dimensions swapped, which is not this matrix
+     * @return {@code out}
+     */
+    public Matrix transpose(Matrix out) {
+        if (out.m_rows != m_cols || out.m_cols != m_rows || out == this) {
+            throw new IllegalArgumentException("Incompatible matrix dimensions");
+        }
+        for (int r = 0; r < m_rows; r++) {
+            for (int c = 0; c < m_cols; c++) {
+                out.m_data[c * m_rows + r] = m_data[r * m_cols + c];
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Computes the Moore-Penrose pseudoinverse, which gives the least squares solution
+     * of an overdetermined system. It is computed from the eigendecomposition of
+     * {@code A^T A}, so rank deficient matrices, such as the kinematics of wheels at
+     * the same position, get the minimum norm solution instead of failing.
+     * This allocates and is meant to run once.
+     *
+     * @return a new matrix with the dimensions swapped
+     */
+    public Matrix pseudoInverse() {
+        int n = m_cols;
+        Matrix transposed = transpose(new Matrix(m_cols, m_rows));
+        double[] gram = transposed.mult(this, new Matrix(n, n)).m_data;
+        double[] vectors = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            vectors[i * n + i] = 1;
+        }
+        diagonalize(gram, vectors, n);
+
+        // eigenvalues of A^T A are the squared singular values of A
+        double largest = 0;
+        for (int i = 0; i < n; i++) {
+            largest = Math.max(largest, gram[i * n + i]);
+        }
+        double tolerance = largest * 1E-12;
+
+        // (A^T A)^+ = V diag(1 / lambda) V^T, dropping the zero eigenvalues
+        Matrix gramInverse = new Matrix(n, n);
+        for (int k = 0; k < n; k++) {
+            double lambda = gram[k * n + k];
+            if (lambda <= tolerance) {
+                continue;
+            }
+            for (int r = 0; r < n; r++) {
+                double scaled = vectors[r * n + k] / lambda;
+                for (int c = 0; c < n; c++) {
+                    gramInverse.m_data[r * n + c] += scaled * vectors[c * n + k];
+                }
+            }
+        }
+        return gramInverse.mult(transposed, new Matrix(m_cols, m_rows));
+    }
+
+    /**
+     * Diagonalizes a symmetric matrix in place with cyclic Jacobi rotations, leaving the
+     * eigenvalues on the diagonal and accumulating the eigenvectors as the columns of
+     * {@code vectors}.
+     */
+    private static void diagonalize(double[] a, double[] vectors, int n) {
+        for (int sweep = 0; sweep < 64; sweep++) {
+            double off = 0, diagonal = 0;
+            for (int r = 0; r < n; r++) {
+                diagonal += a[r * n + r] * a[r * n + r];
+                for (int c = r + 1; c < n; c++) {
+                    off += a[r * n + c] * a[r * n + c];
+                }
+            }
+            if (off <= 1E-30 * diagonal) {
+                return;
+            }
+            for (int p = 0; p < n - 1; p++) {
+                for (int q = p + 1; q < n; q++) {
+                    double apq = a[p * n + q];
+                    if (apq == 0) {
+                        continue;
+                    }
+                    double theta = (a[q * n + q] - a[p * n + p]) / (2 * apq);
+                    double t = Math.signum(theta) / (Math.abs(theta) + Math.sqrt(theta * theta + 1));
+                    if (theta == 0) {
+                        t = 1;
+                    }
+                    double cos = 1 / Math.sqrt(t * t + 1);
+                    double sin = t * cos;
+                    for (int k = 0; k < n; k++) {
+                        double akp = a[k * n + p], akq = a[k * n + q];
+                        a[k * n + p] = cos * akp - sin * akq;
+                        a[k * n + q] = sin * akp + cos * akq;
+                    }
+                    for (int k = 0; k < n; k++) {
+                        double apk = a[p * n + k], aqk = a[q * n + k];
+                        a[p * n + k] = cos * apk - sin * aqk;
+                        a[q * n + k] = sin * apk + cos * aqk;
+                    }
+                    for (int k = 0; k < n; k++) {
+                        double vkp = vectors[k * n + p], vkq = vectors[k * n + q];
+                        vectors[k * n + p] = cos * vkp - sin * vkq;
+                        vectors[k * n + q] = sin * vkp + cos * vkq;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Inverts this square matrix in place with Gauss-Jordan elimination. This allocates
+     * a scratch matrix and is meant to run once.
+     *
+     * @return this matrix
+     * @throws ArithmeticException if the matrix is singular
+     */
+    public Matrix invert() {
+        if (m_rows != m_cols) {
+            throw new IllegalStateException("Only square matrices can be inverted");
+        }
+        int n = m_rows;
+        double[] a = Arrays.copyOf(m_data, m_data.length);
+        double[] inv = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            inv[i * n + i] = 1;
+        }
+
+        for (int col = 0; col < n; col++) {
+            // partial pivoting for stability
+            int pivot = col;
+            for (int r = col + 1; r < n; r++) {
+                if (Math.abs(a[r * n + col]) > Math.abs(a[pivot * n + col])) {
+                    pivot = r;
+                }
+            }
+            if (Math.abs(a[pivot * n + col]) < 1E-12) {
+                throw new ArithmeticException("The matrix is singular");
+            }
+            swapRows(a, n, col, pivot);
+            swapRows(inv, n, col, pivot);
+
+            double scale = 1 / a[col * n + col];
+            for (int c = 0; c < n; c++) {
+                a[col * n + c] *= scale;
+                inv[col * n + c] *= scale;
+            }
+            for (int r = 0; r < n; r++) {
+                double factor = a[r * n + col];
+                if (r == col || factor == 0) {
+                    continue;
+                }
+                for (int c = 0; c < n; c++) {
+                    a[r * n + c] -= factor * a[col * n + c];
+                    inv[r * n + c] -= factor * inv[col * n + c];
+                }
+            }
+        }
+        System.arraycopy(inv, 0, m_data, 0, inv.length);
+        return this;
+    }
+
+    private static void swapRows(double[] data, int n, int a, int b) {
+        if (a == b) {
+            return;
+        }
+        for (int c = 0; c < n; c++) {
+            double temp = data[a * n + c];
+            data[a * n + c] = data[b * n + c];
+            data[b * n + c] = temp;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int r = 0; r < m_rows; r++) {
+            builder.append(r == 0 ? "[" : " ");
+            for (int c = 0; c < m_cols; c++) {
+                builder.append(String.format(Locale.ROOT, "%10.4f", get(r, c)));
+            }
+            builder.append(r == m_rows - 1 ? "]" : "\n");
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.arcrobotics.ftclib.math;
+
+/**
+ * A mutable three-dimensional vector, such as a chassis velocity (vx, vy, omega).
+ * The operations modify this vector and return it, so they can be chained without allocating.
+ */
+public class Vec3 {
+
+    public double x, y, z;
+
+    public Vec3() {
+    }
+
+    public Vec3(double x, double y, double z) {
+        set(x, y, z);
+    }
+
+    public Vec3 set(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    public Vec3 set(Vec3 other) {
+        return set(other.x, other.y, other.z);
+    }
+
+    public Vec3 add(Vec3 other) {
+        return set(x + other.x, y + other.y, z + other.z);
+    }
+
+    public Vec3 sub(Vec3 other) {
+        return set(x - other.x, y - other.y, z - other.z);
+    }
+
+    public Vec3 scale(double scalar) {
+        return set(x * scalar, y * scalar, z * scalar);
+    }
+
+    public double dot(Vec3 other) {
+        return x * other.x + y * other.y + z * other.z;
+    }
+
+    public double norm() {
+        return Math.sqrt(dot(this));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Vec3(%.3f, %.3f, %.3f)", x, y, z);
+    }
+
+}
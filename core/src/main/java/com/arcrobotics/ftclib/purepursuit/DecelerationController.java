@@ -1,5 +1,7 @@
 package com.arcrobotics.ftclib.purepursuit;
 
+import com.arcrobotics.ftclib.util.Clock;
+
 /**
  * This class is utility class that is used by Path to decelerate the robot as it approaches
  * a destination. Users can use this class to create a custom deceleration profile.
@@ -32,10 +34,10 @@ public abstract class DecelerationController {
      */
     public void process(double[] motorSpeeds, double distanceToTarget, double configuredMovementSpeed, double configuredTurnSpeed) {
         // Call decelerateMotorSpeeds().
-        decelerateMotorSpeeds(motorSpeeds, distanceToTarget, lastDistanceToTarget, System.nanoTime() - lastCallTimeStamp, configuredMovementSpeed, configuredTurnSpeed);
+        decelerateMotorSpeeds(motorSpeeds, distanceToTarget, lastDistanceToTarget, Clock.nanoTime() - lastCallTimeStamp, configuredMovementSpeed, configuredTurnSpeed);
         // Update fields.
         lastDistanceToTarget = distanceToTarget;
-        lastCallTimeStamp = System.nanoTime();
+        lastCallTimeStamp = Clock.nanoTime();
     }
 
     /**
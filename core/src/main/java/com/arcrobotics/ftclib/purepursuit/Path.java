@@ -12,11 +12,13 @@ import com.arcrobotics.ftclib.purepursuit.waypoints.EndWaypoint;
 import com.arcrobotics.ftclib.purepursuit.waypoints.GeneralWaypoint;
 import com.arcrobotics.ftclib.purepursuit.waypoints.InterruptWaypoint;
 import com.arcrobotics.ftclib.purepursuit.waypoints.PointTurnWaypoint;
+import com.arcrobotics.ftclib.util.Clock;
 
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class represents a pure pursuit path. It is used to store a path's waypoints, and do all the
@@ -72,6 +74,9 @@ public class Path extends ArrayList<Waypoint> {
     private double retraceTurnSpeed;
     private Translation2d lastKnownIntersection;
 
+    // Reused by loop() so that finding intersections does not create a new list every cycle.
+    private final ArrayList<TaggedIntersection> intersections = new ArrayList<TaggedIntersection>();
+
     // Action lists
     private List<TriggeredAction> triggeredActions;
     private Queue<InterruptWaypoint> interruptActionQueue;
@@ -192,8 +197,8 @@ public class Path extends ArrayList<Waypoint> {
         if (timeoutMiliseconds != -1)
             // If this path has a timeout.
             if (timeSinceStart == -1)
-                timeSinceStart = System.currentTimeMillis();
-            else if (timeSinceStart + timeoutMiliseconds < System.currentTimeMillis()) {
+                timeSinceStart = TimeUnit.NANOSECONDS.toMillis(Clock.nanoTime());
+            else if (timeSinceStart + timeoutMiliseconds < TimeUnit.NANOSECONDS.toMillis(Clock.nanoTime())) {
                 timedOut = true;
                 // If the path has timed out, return no speeds.
                 return new double[]{0, 0, 0};
@@ -202,13 +207,14 @@ public class Path extends ArrayList<Waypoint> {
         loopTriggeredActions();
         runQueuedInterruptActions();
         // Get all the intersections on the path.
-        ArrayList<TaggedIntersection> intersections = new ArrayList<TaggedIntersection>();
+        intersections.clear();
+        Pose2d robotPos = new Pose2d(vPosition, hPosition, new Rotation2d(rotation));
+        Translation2d robotPosition = robotPos.getTranslation();
         for (int i = 1; i < size(); i++) {
             // Get the path line segment and circle.
             Translation2d linePoint1 = get(i - 1).getPose().getTranslation();
             Translation2d linePoint2 = get(i).getPose().getTranslation();
             double radius = get(i).getFollowDistance();
-            Translation2d robotPosition = new Translation2d(vPosition, hPosition);
             List<Translation2d> points = PurePursuitUtil.lineCircleIntersection(robotPosition, radius, linePoint1, linePoint2);
             for (Translation2d point : points)
                 // Add results to list.
@@ -243,7 +249,7 @@ public class Path extends ArrayList<Waypoint> {
         TaggedIntersection bestIntersection = intersections.get(0);
         switch (pathType) {
             case HEADING_CONTROLLED:
-                bestIntersection = selectHeadingControlledIntersection(intersections, new Pose2d(vPosition, hPosition, new Rotation2d(rotation)));
+                bestIntersection = selectHeadingControlledIntersection(intersections, robotPos);
                 break;
             case WAYPOINT_ORDERING_CONTROLLED:
                 bestIntersection = selectWaypointOrderingControlledIntersection(intersections);
@@ -255,18 +261,17 @@ public class Path extends ArrayList<Waypoint> {
         if (bestIntersection.taggedPoint != lastWaypoint) {
             // If this is the first intersection of a new waypoint, update timeout values.
             lastWaypoint = bestIntersection.taggedPoint;
-            lastWaypointTimeStamp = System.currentTimeMillis();
+            lastWaypointTimeStamp = TimeUnit.NANOSECONDS.toMillis(Clock.nanoTime());
         }
         if (bestIntersection.taggedPoint.getTimeout() != -1)
             // If this waypoint has a timeout, make sure it hasn't timed out.
-            if (System.currentTimeMillis() > lastWaypointTimeStamp + bestIntersection.taggedPoint.getTimeout()) {
+            if (TimeUnit.NANOSECONDS.toMillis(Clock.nanoTime()) > lastWaypointTimeStamp + bestIntersection.taggedPoint.getTimeout()) {
                 timedOut = true;
                 // If it has, return no motor speeds.
                 return new double[]{0, 0, 0};
             }
         // After the best intersection is found, the robot behaves differently depending on the type of waypoint.
         double[] motorPowers = new double[]{0, 0, 0};
-        Pose2d robotPos = new Pose2d(vPosition, hPosition, new Rotation2d(rotation));
         switch (bestIntersection.taggedPoint.getType()) {
             case GENERAL:
                 motorPowers = handleGeneralIntersection(bestIntersection, robotPos);
@@ -685,7 +690,7 @@ public class Path extends ArrayList<Waypoint> {
      */
     public Path resetTimeouts() {
         timedOut = false;
-        lastWaypointTimeStamp = System.currentTimeMillis();
+        lastWaypointTimeStamp = TimeUnit.NANOSECONDS.toMillis(Clock.nanoTime());
         return this;
     }
 
@@ -1,5 +1,7 @@
 package com.arcrobotics.ftclib.purepursuit;
 
+import com.arcrobotics.ftclib.util.Clock;
+
 /**
  * This class is utility class that is used by Path to adjust the robot speed as it approaches
  * or leaves a destination. Users can use this class to create a custom motion profile.
@@ -38,13 +40,13 @@ public abstract class PathMotionProfile {
     public void processDecelerate(double[] motorSpeeds, double distanceToTarget, double configuredMovementSpeed, double configuredTurnSpeed) {
         if (lastCallType == true)
             // Call decelerate().
-            decelerate(motorSpeeds, distanceToTarget, (lastDistanceToTarget - distanceToTarget) / ((System.nanoTime() - lastCallTimeStamp) * 1e9), configuredMovementSpeed, configuredTurnSpeed);
+            decelerate(motorSpeeds, distanceToTarget, (lastDistanceToTarget - distanceToTarget) / ((Clock.nanoTime() - lastCallTimeStamp) * 1e9), configuredMovementSpeed, configuredTurnSpeed);
         else
             // If the last call was not a decelerate, then skip the first call.
             lastCallType = true;
         // Update fields.
         lastDistanceToTarget = distanceToTarget;
-        lastCallTimeStamp = System.nanoTime();
+        lastCallTimeStamp = Clock.nanoTime();
     }
 
     /**
@@ -59,13 +61,13 @@ public abstract class PathMotionProfile {
     public void processAccelerate(double[] motorSpeeds, double distanceFromTarget, double configuredMovementSpeed, double configuredTurnSpeed) {
         if (lastCallType == false)
             // Call accelerate().
-            accelerate(motorSpeeds, distanceFromTarget, (distanceFromTarget - lastDistanceToTarget) / ((System.nanoTime() - lastCallTimeStamp) * 1e9), configuredMovementSpeed, configuredTurnSpeed);
+            accelerate(motorSpeeds, distanceFromTarget, (distanceFromTarget - lastDistanceToTarget) / ((Clock.nanoTime() - lastCallTimeStamp) * 1e9), configuredMovementSpeed, configuredTurnSpeed);
         else
             // If the last call was not a decelerate, then skip the first call.
             lastCallType = false;
         // Update fields.
         lastDistanceToTarget = distanceFromTarget;
-        lastCallTimeStamp = System.nanoTime();
+        lastCallTimeStamp = Clock.nanoTime();
     }
 
     /**
@@ -7,11 +7,10 @@
 
 package com.arcrobotics.ftclib.spline;
 
-import org.ejml.simple.SimpleMatrix;
+import com.arcrobotics.ftclib.math.Matrix;
 
 public class CubicHermiteSpline extends Spline {
-    private static SimpleMatrix hermiteBasis;
-    private final SimpleMatrix m_coefficients;
+    private static Matrix hermiteBasis;
 
     /**
      * Constructs a cubic hermite spline with the specified control vectors. Each
@@ -33,50 +32,12 @@ public class CubicHermiteSpline extends Spline {
         super(3);
 
         // Populate the coefficients for the actual spline equations.
-        // Row 0 is x coefficients
-        // Row 1 is y coefficients
-        final SimpleMatrix hermite = makeHermiteBasis();
-        final SimpleMatrix x = getControlVectorFromArrays(xInitialControlVector, xFinalControlVector);
-        final SimpleMatrix y = getControlVectorFromArrays(yInitialControlVector, yFinalControlVector);
+        final Matrix hermite = makeHermiteBasis();
+        final double[] x = getControlVectorFromArrays(xInitialControlVector, xFinalControlVector);
+        final double[] y = getControlVectorFromArrays(yInitialControlVector, yFinalControlVector);
 
-        final SimpleMatrix xCoeffs = (hermite.mult(x)).transpose();
-        final SimpleMatrix yCoeffs = (hermite.mult(y)).transpose();
-
-        m_coefficients = new SimpleMatrix(6, 4);
-
-        for (int i = 0; i < 4; i++) {
-            m_coefficients.set(0, i, xCoeffs.get(0, i));
-            m_coefficients.set(1, i, yCoeffs.get(0, i));
-
-            // Populate Row 2 and Row 3 with the derivatives of the equations above.
-            // Then populate row 4 and 5 with the second derivatives.
-            // Here, we are multiplying by (3 - i) to manually take the derivative. The
-            // power of the term in index 0 is 3, index 1 is 2 and so on. To find the
-            // coefficient of the derivative, we can use the power rule and multiply
-            // the existing coefficient by its power.
-            m_coefficients.set(2, i, m_coefficients.get(0, i) * (3 - i));
-            m_coefficients.set(3, i, m_coefficients.get(1, i) * (3 - i));
-        }
-
-        for (int i = 0; i < 3; i++) {
-            // Here, we are multiplying by (2 - i) to manually take the derivative. The
-            // power of the term in index 0 is 2, index 1 is 1 and so on. To find the
-            // coefficient of the derivative, we can use the power rule and multiply
-            // the existing coefficient by its power.
-            m_coefficients.set(4, i, m_coefficients.get(2, i) * (2 - i));
-            m_coefficients.set(5, i, m_coefficients.get(3, i) * (2 - i));
-        }
-
-    }
-
-    /**
-     * Returns the coefficients matrix.
-     *
-     * @return The coefficients matrix.
-     */
-    @Override
-    protected SimpleMatrix getCoefficients() {
-        return m_coefficients;
+        hermite.mult(x, m_xCoefficients);
+        hermite.mult(y, m_yCoefficients);
     }
 
     /**
@@ -84,9 +45,9 @@ public class CubicHermiteSpline extends Spline {
      *
      * @return The hermite basis matrix for cubic hermite spline interpolation.
      */
-    private SimpleMatrix makeHermiteBasis() {
+    private Matrix makeHermiteBasis() {
         if (hermiteBasis == null) {
-            hermiteBasis = new SimpleMatrix(4, 4, true, new double[]{
+            hermiteBasis = new Matrix(4, 4, new double[]{
                     +2.0, +1.0, -2.0, +1.0,
                     -3.0, -2.0, +3.0, -1.0,
                     +0.0, +1.0, +0.0, +0.0,
@@ -97,19 +58,19 @@ public class CubicHermiteSpline extends Spline {
     }
 
     /**
-     * Returns the control vector for each dimension as a matrix from the
+     * Returns the control vector for each dimension as an array from the
      * user-provided arrays in the constructor.
      *
      * @param initialVector The control vector for the initial point.
      * @param finalVector   The control vector for the final point.
-     * @return The control vector matrix for a dimension.
+     * @return The control vector for a dimension.
      */
-    private SimpleMatrix getControlVectorFromArrays(double[] initialVector, double[] finalVector) {
+    private double[] getControlVectorFromArrays(double[] initialVector, double[] finalVector) {
         if (initialVector.length != 2 || finalVector.length != 2) {
             throw new IllegalArgumentException("Size of vectors must be 2");
         }
-        return new SimpleMatrix(4, 1, true, new double[]{
+        return new double[]{
                 initialVector[0], initialVector[1],
-                finalVector[0], finalVector[1]});
+                finalVector[0], finalVector[1]};
     }
 }
@@ -7,11 +7,10 @@
 
 package com.arcrobotics.ftclib.spline;
 
-import org.ejml.simple.SimpleMatrix;
+import com.arcrobotics.ftclib.math.Matrix;
 
 public class QuinticHermiteSpline extends Spline {
-    private static SimpleMatrix hermiteBasis;
-    private final SimpleMatrix m_coefficients;
+    private static Matrix hermiteBasis;
 
     /**
      * Constructs a quintic hermite spline with the specified control vectors.
@@ -33,49 +32,12 @@ public class QuinticHermiteSpline extends Spline {
         super(5);
 
         // Populate the coefficients for the actual spline equations.
-        // Row 0 is x coefficients
-        // Row 1 is y coefficients
-        final SimpleMatrix hermite = makeHermiteBasis();
-        final SimpleMatrix x = getControlVectorFromArrays(xInitialControlVector, xFinalControlVector);
-        final SimpleMatrix y = getControlVectorFromArrays(yInitialControlVector, yFinalControlVector);
+        final Matrix hermite = makeHermiteBasis();
+        final double[] x = getControlVectorFromArrays(xInitialControlVector, xFinalControlVector);
+        final double[] y = getControlVectorFromArrays(yInitialControlVector, yFinalControlVector);
 
-        final SimpleMatrix xCoeffs = (hermite.mult(x)).transpose();
-        final SimpleMatrix yCoeffs = (hermite.mult(y)).transpose();
-
-        m_coefficients = new SimpleMatrix(6, 6);
-
-        for (int i = 0; i < 6; i++) {
-            m_coefficients.set(0, i, xCoeffs.get(0, i));
-            m_coefficients.set(1, i, yCoeffs.get(0, i));
-        }
-        for (int i = 0; i < 6; i++) {
-            // Populate Row 2 and Row 3 with the derivatives of the equations above.
-            // Here, we are multiplying by (5 - i) to manually take the derivative. The
-            // power of the term in index 0 is 5, index 1 is 4 and so on. To find the
-            // coefficient of the derivative, we can use the power rule and multiply
-            // the existing coefficient by its power.
-            m_coefficients.set(2, i, m_coefficients.get(0, i) * (5 - i));
-            m_coefficients.set(3, i, m_coefficients.get(1, i) * (5 - i));
-        }
-        for (int i = 0; i < 5; i++) {
-            // Then populate row 4 and 5 with the second derivatives.
-            // Here, we are multiplying by (4 - i) to manually take the derivative. The
-            // power of the term in index 0 is 4, index 1 is 3 and so on. To find the
-            // coefficient of the derivative, we can use the power rule and multiply
-            // the existing coefficient by its power.
-            m_coefficients.set(4, i, m_coefficients.get(2, i) * (4 - i));
-            m_coefficients.set(5, i, m_coefficients.get(3, i) * (4 - i));
-        }
-    }
-
-    /**
-     * Returns the coefficients matrix.
-     *
-     * @return The coefficients matrix.
-     */
-    @Override
-    protected SimpleMatrix getCoefficients() {
-        return m_coefficients;
+        hermite.mult(x, m_xCoefficients);
+        hermite.mult(y, m_yCoefficients);
     }
 
     /**
@@ -83,11 +45,11 @@ public class QuinticHermiteSpline extends Spline {
      *
      * @return The hermite basis matrix for quintic hermite spline interpolation.
      */
-    private SimpleMatrix makeHermiteBasis() {
+    private Matrix makeHermiteBasis() {
         if (hermiteBasis == null) {
-            hermiteBasis = new SimpleMatrix(6, 6, true, new double[]{
+            hermiteBasis = new Matrix(6, 6, new double[]{
                     -06.0, -03.0, -00.5, +06.0, -03.0, +00.5,
-                    +15.0, +08.0, +01.5, -15.0, +07.0, +01.0,
+                    +15.0, +08.0, +01.5, -15.0, +07.0, -01.0,
                     -10.0, -06.0, -01.5, +10.0, -04.0, +00.5,
                     +00.0, +00.0, +00.5, +00.0, +00.0, +00.0,
                     +00.0, +01.0, +00.0, +00.0, +00.0, +00.0,
@@ -98,19 +60,19 @@ public class QuinticHermiteSpline extends Spline {
     }
 
     /**
-     * Returns the control vector for each dimension as a matrix from the
+     * Returns the control vector for each dimension as an array from the
      * user-provided arrays in the constructor.
      *
      * @param initialVector The control vector for the initial point.
      * @param finalVector   The control vector for the final point.
-     * @return The control vector matrix for a dimension.
+     * @return The control vector for a dimension.
      */
-    private SimpleMatrix getControlVectorFromArrays(double[] initialVector, double[] finalVector) {
+    private double[] getControlVectorFromArrays(double[] initialVector, double[] finalVector) {
         if (initialVector.length != 3 || finalVector.length != 3) {
             throw new IllegalArgumentException("Size of vectors must be 3");
         }
-        return new SimpleMatrix(6, 1, true, new double[]{
+        return new double[]{
                 initialVector[0], initialVector[1], initialVector[2],
-                finalVector[0], finalVector[1], finalVector[2]});
+                finalVector[0], finalVector[1], finalVector[2]};
     }
 }
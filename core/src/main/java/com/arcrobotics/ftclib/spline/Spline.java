@@ -7,10 +7,7 @@
 
 package com.arcrobotics.ftclib.spline;
 
-import com.arcrobotics.ftclib.geometry.Pose2d;
-import com.arcrobotics.ftclib.geometry.Rotation2d;
-
-import org.ejml.simple.SimpleMatrix;
+import com.arcrobotics.ftclib.geometry.MutablePose2d;
 
 import java.util.Arrays;
 
@@ -22,6 +19,13 @@ import java.util.Arrays;
 public abstract class Spline {
     private final int m_degree;
 
+    // The polynomial coefficients of x(t) and y(t), highest power first.
+    // The subclasses fill these in their constructors.
+    final double[] m_xCoefficients;
+    final double[] m_yCoefficients;
+
+    private final MutablePose2d m_point = new MutablePose2d();
+
     /**
      * Constructs a spline with the given degree.
      *
@@ -29,15 +33,10 @@ public abstract class Spline {
      */
     Spline(int degree) {
         m_degree = degree;
+        m_xCoefficients = new double[degree + 1];
+        m_yCoefficients = new double[degree + 1];
     }
 
-    /**
-     * Returns the coefficients of the spline.
-     *
-     * @return The coefficients of the spline.
-     */
-    protected abstract SimpleMatrix getCoefficients();
-
     /**
      * Gets the pose and curvature at some point t on the spline.
      *
@@ -46,50 +45,44 @@ public abstract class Spline {
      */
     @SuppressWarnings("ParameterName")
     public PoseWithCurvature getPoint(double t) {
-        SimpleMatrix polynomialBases = new SimpleMatrix(m_degree + 1, 1);
-        final SimpleMatrix coefficients = getCoefficients();
+        final double curvature = getPoint(t, m_point);
+        return new PoseWithCurvature(m_point.toPose2d(), curvature);
+    }
 
-        // Populate the polynomial bases.
-        for (int i = 0; i <= m_degree; i++) {
-            polynomialBases.set(i, 0, Math.pow(t, m_degree - i));
+    /**
+     * Gets the pose and curvature at some point t on the spline without allocating.
+     *
+     * @param t    The point t
+     * @param pose Set to the pose at that point.
+     * @return The curvature at that point.
+     */
+    @SuppressWarnings("ParameterName")
+    public double getPoint(double t, MutablePose2d pose) {
+        // Evaluate both polynomials and their first two derivatives with Horner's scheme.
+        // Each step multiplies the running value by t and adds the next coefficient, and the
+        // derivatives follow from differentiating that step.
+        double x = m_xCoefficients[0];
+        double y = m_yCoefficients[0];
+        double dx = 0;
+        double dy = 0;
+        double ddx = 0;
+        double ddy = 0;
+        for (int i = 1; i <= m_degree; i++) {
+            ddx = ddx * t + dx;
+            ddy = ddy * t + dy;
+            dx = dx * t + x;
+            dy = dy * t + y;
+            x = x * t + m_xCoefficients[i];
+            y = y * t + m_yCoefficients[i];
         }
+        ddx *= 2;
+        ddy *= 2;
 
-        // This simply multiplies by the coefficients. We need to divide out t some
-        // n number of times where n is the derivative we want to take.
-        SimpleMatrix combined = coefficients.mult(polynomialBases);
-
-        // Get x and y
-        final double x = combined.get(0, 0);
-        final double y = combined.get(1, 0);
-
-        double dx;
-        double dy;
-        double ddx;
-        double ddy;
-
-        if (t == 0) {
-            dx = coefficients.get(2, m_degree - 1);
-            dy = coefficients.get(3, m_degree - 1);
-            ddx = coefficients.get(4, m_degree - 2);
-            ddy = coefficients.get(5, m_degree - 2);
-        } else {
-            // Divide out t once for first derivative.
-            dx = combined.get(2, 0) / t;
-            dy = combined.get(3, 0) / t;
-
-            // Divide out t twice for second derivative.
-            ddx = combined.get(4, 0) / t / t;
-            ddy = combined.get(5, 0) / t / t;
-        }
+        pose.set(x, y, 0);
+        pose.getRotation().set(dx, dy);
 
         // Find the curvature.
-        final double curvature =
-                (dx * ddy - ddx * dy) / ((dx * dx + dy * dy) * Math.hypot(dx, dy));
-
-        return new PoseWithCurvature(
-                new Pose2d(x, y, new Rotation2d(dx, dy)),
-                curvature
-        );
+        return (dx * ddy - ddx * dy) / ((dx * dx + dy * dy) * Math.hypot(dx, dy));
     }
 
     /**
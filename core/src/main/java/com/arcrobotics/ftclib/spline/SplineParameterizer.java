@@ -31,6 +31,7 @@
 
 package com.arcrobotics.ftclib.spline;
 
+import com.arcrobotics.ftclib.geometry.MutablePose2d;
 import com.arcrobotics.ftclib.geometry.Twist2d;
 
 import java.util.ArrayDeque;
@@ -118,16 +119,17 @@ public final class SplineParameterizer {
         stack.push(new StackContents(t0, t1));
 
         StackContents current;
-        PoseWithCurvature start;
-        PoseWithCurvature end;
+        final MutablePose2d start = new MutablePose2d();
+        final MutablePose2d end = new MutablePose2d();
+        final Twist2d twist = new Twist2d();
         int iterations = 0;
 
         while (!stack.isEmpty()) {
             current = stack.removeFirst();
-            start = spline.getPoint(current.t0);
-            end = spline.getPoint(current.t1);
+            spline.getPoint(current.t0, start);
+            final double endCurvature = spline.getPoint(current.t1, end);
 
-            final Twist2d twist = start.poseMeters.log(end.poseMeters);
+            start.log(end, twist);
             if (
                     Math.abs(twist.dy) > kMaxDy
                             || Math.abs(twist.dx) > kMaxDx
@@ -136,7 +138,7 @@ public final class SplineParameterizer {
                 stack.addFirst(new StackContents((current.t0 + current.t1) / 2, current.t1));
                 stack.addFirst(new StackContents(current.t0, (current.t0 + current.t1) / 2));
             } else {
-                splinePoints.add(spline.getPoint(current.t1));
+                splinePoints.add(new PoseWithCurvature(end.toPose2d(), endCurvature));
             }
 
             iterations++;
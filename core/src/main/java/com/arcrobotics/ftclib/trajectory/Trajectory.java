@@ -12,6 +12,7 @@ import android.os.Build;
 import androidx.annotation.RequiresApi;
 
 import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Pose2dBatch;
 import com.arcrobotics.ftclib.geometry.Transform2d;
 
 import java.util.ArrayList;
@@ -154,31 +155,9 @@ public class Trajectory {
      * @param transform The transform to transform the trajectory by.
      * @return The transformed trajectory.
      */
-    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
     public Trajectory transformBy(Transform2d transform) {
-        State firstState = m_states.get(0);
-        Pose2d firstPose = firstState.poseMeters;
-
-        // Calculate the transformed first pose.
-        Pose2d newFirstPose = firstPose.plus(transform);
-        List<State> newStates = new ArrayList<>();
-
-        newStates.add(new State(
-                firstState.timeSeconds, firstState.velocityMetersPerSecond,
-                firstState.accelerationMetersPerSecondSq, newFirstPose, firstState.curvatureRadPerMeter
-        ));
-
-        for (int i = 1; i < m_states.size(); i++) {
-            State state = m_states.get(i);
-            // We are transforming relative to the coordinate frame of the new initial pose.
-            newStates.add(new State(
-                    state.timeSeconds, state.velocityMetersPerSecond,
-                    state.accelerationMetersPerSecondSq, newFirstPose.plus(state.poseMeters.minus(firstPose)),
-                    state.curvatureRadPerMeter
-            ));
-        }
-
-        return new Trajectory(newStates);
+        Pose2d firstPose = m_states.get(0).poseMeters;
+        return withPoses(getPoseBatch().transformInPlace(firstPose, firstPose.plus(transform)), false);
     }
 
     /**
@@ -190,12 +169,66 @@ public class Trajectory {
      *             the current trajectory will be transformed into.
      * @return The transformed trajectory.
      */
-    @RequiresApi(api = Build.VERSION_CODES.N)
     public Trajectory relativeTo(Pose2d pose) {
-        return new Trajectory(m_states.stream().map(state -> new State(state.timeSeconds,
-                state.velocityMetersPerSecond, state.accelerationMetersPerSecondSq,
-                state.poseMeters.relativeTo(pose), state.curvatureRadPerMeter))
-                .collect(Collectors.toList()));
+        return withPoses(getPoseBatch().relativeToInPlace(pose), false);
+    }
+
+    /**
+     * Mirrors the trajectory across the horizontal line {@code y = axisY}.
+     * This is useful for running the same path on the other alliance.
+     *
+     * @param axisY The y value of the mirror line.
+     * @return The mirrored trajectory.
+     */
+    public Trajectory mirrorAcrossX(double axisY) {
+        return withPoses(getPoseBatch().mirrorAcrossXInPlace(axisY), true);
+    }
+
+    /**
+     * Mirrors the trajectory across the vertical line {@code x = axisX}.
+     * This is useful for running the same path on the other alliance.
+     *
+     * @param axisX The x value of the mirror line.
+     * @return The mirrored trajectory.
+     */
+    public Trajectory mirrorAcrossY(double axisX) {
+        return withPoses(getPoseBatch().mirrorAcrossYInPlace(axisX), true);
+    }
+
+    /**
+     * Copies the poses of every state into a {@link Pose2dBatch} so they can be
+     * transformed in bulk.
+     *
+     * @return The poses of the trajectory, in order.
+     */
+    public Pose2dBatch getPoseBatch() {
+        Pose2dBatch poses = new Pose2dBatch(m_states.size());
+        for (int i = 0; i < m_states.size(); i++) {
+            poses.set(i, m_states.get(i).poseMeters);
+        }
+        return poses;
+    }
+
+    /**
+     * Builds a trajectory with the timing of this one and the given poses.
+     *
+     * @param poses    The new poses, one per state.
+     * @param mirrored Whether the poses were mirrored, which flips the sign of
+     *                 the curvature.
+     * @return The new trajectory.
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    private Trajectory withPoses(Pose2dBatch poses, boolean mirrored) {
+        List<State> newStates = new ArrayList<>(m_states.size());
+        for (int i = 0; i < m_states.size(); i++) {
+            State state = m_states.get(i);
+            newStates.add(new State(
+                    state.timeSeconds, state.velocityMetersPerSecond,
+                    state.accelerationMetersPerSecondSq, poses.get(i),
+                    mirrored ? -state.curvatureRadPerMeter : state.curvatureRadPerMeter
+            ));
+        }
+        return new Trajectory(newStates);
     }
 
     /**
@@ -0,0 +1,294 @@
+package com.arcrobotics.ftclib.util;
+
+import java.util.Arrays;
+
+/**
+ * Performs monotone cubic spline interpolation given a set of control points,
+ * like {@link InterpLUT}, but stores the points in primitive arrays. The segment
+ * of an input is found with a binary search, or directly when the control points
+ * are evenly spaced, so lookups stay fast for large tables.
+ *
+ * <p>Inputs outside of the control points are handled by the {@link Extrapolation} mode.</p>
+ */
+public class ArrayInterpLUT {
+
+    /**
+     * How values outside of the control points are computed.
+     */
+    public enum Extrapolation {
+        /**
+         * Returns the value of the closest control point.
+         */
+        CLAMP,
+        /**
+         * Continues along the tangent of the closest control point.
+         */
+        LINEAR,
+        /**
+         * Continues the cubic of the closest segment.
+         */
+        HERMITE
+    }
+
+    /**
+     * The relative tolerance on the spacing of the control points for them to be evenly spaced.
+     */
+    private static final double kUniformTolerance = 1E-9;
+
+    private double[] mX = new double[8];
+    private double[] mY = new double[8];
+    private double[] mM;
+    private int n;
+
+    private Extrapolation extrapolation = Extrapolation.CLAMP;
+
+    private boolean uniform;
+    private double invStep;
+
+    public ArrayInterpLUT() {
+    }
+
+    /**
+     * Creates the spline from the given control points.
+     *
+     * @param x the strictly increasing inputs
+     * @param y the outputs
+     * @throws IllegalArgumentException if the arrays have different lengths, fewer than 2 values
+     *                                  or X is not strictly increasing
+     */
+    public ArrayInterpLUT(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("There must be at least two control "
+                    + "points and the arrays must be of equal length.");
+        }
+        mX = Arrays.copyOf(x, x.length);
+        mY = Arrays.copyOf(y, y.length);
+        n = x.length;
+        createLUT();
+    }
+
+    /**
+     * Creates the spline from control points evenly spaced from {@code start}.
+     *
+     * @param start the input of the first control point
+     * @param step  the distance between the inputs of the control points
+     * @param y     the outputs
+     * @return the spline
+     */
+    public static ArrayInterpLUT uniform(double start, double step, double[] y) {
+        double[] x = new double[y.length];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = start + i * step;
+        }
+        return new ArrayInterpLUT(x, y);
+    }
+
+    /**
+     * Adds a control point. The inputs must be added in strictly increasing order.
+     * {@link #createLUT()} has to be called again after adding points.
+     */
+    public void add(double input, double output) {
+        if (n == mX.length) {
+            mX = Arrays.copyOf(mX, n * 2);
+            mY = Arrays.copyOf(mY, n * 2);
+        }
+        mX[n] = input;
+        mY[n] = output;
+        n++;
+        mM = null;
+    }
+
+    /**
+     * Sets how inputs outside of the control points are handled. The default is
+     * {@link Extrapolation#CLAMP}.
+     *
+     * @param extrapolation the extrapolation mode
+     * @return this object for chaining purposes
+     */
+    public ArrayInterpLUT setExtrapolation(Extrapolation extrapolation) {
+        this.extrapolation = extrapolation;
+        return this;
+    }
+
+    /**
+     * @return the extrapolation mode
+     */
+    public Extrapolation getExtrapolation() {
+        return extrapolation;
+    }
+
+    /**
+     * Computes the tangents of the monotone cubic spline through the control points.
+     *
+     * @throws IllegalArgumentException if there are fewer than 2 control points or
+     *                                  X is not strictly increasing
+     */
+    public void createLUT() {
+        if (n < 2) {
+            throw new IllegalArgumentException("There must be at least two control "
+                    + "points and the arrays must be of equal length.");
+        }
+        mX = Arrays.copyOf(mX, n);
+        mY = Arrays.copyOf(mY, n);
+
+        double[] d = new double[n - 1];
+        double[] m = new double[n];
+
+        // Compute slopes of secant lines between successive points.
+        for (int i = 0; i < n - 1; i++) {
+            double h = mX[i + 1] - mX[i];
+            if (!(h > 0)) {
+                throw new IllegalArgumentException("The control points must all "
+                        + "have strictly increasing X values.");
+            }
+            d[i] = (mY[i + 1] - mY[i]) / h;
+        }
+
+        // Initialize the tangents as the average of the secants.
+        m[0] = d[0];
+        for (int i = 1; i < n - 1; i++) {
+            m[i] = (d[i - 1] + d[i]) * 0.5;
+        }
+        m[n - 1] = d[n - 2];
+
+        // Update the tangents to preserve monotonicity.
+        for (int i = 0; i < n - 1; i++) {
+            if (d[i] == 0) {
+                m[i] = 0;
+                m[i + 1] = 0;
+            } else {
+                double a = m[i] / d[i];
+                double b = m[i + 1] / d[i];
+                double h = Math.hypot(a, b);
+                if (h > 9) {
+                    double t = 3 / h;
+                    m[i] = t * a * d[i];
+                    m[i + 1] = t * b * d[i];
+                }
+            }
+        }
+        mM = m;
+
+        double step = (mX[n - 1] - mX[0]) / (n - 1);
+        uniform = true;
+        for (int i = 0; i < n - 1 && uniform; i++) {
+            uniform = Math.abs(mX[i + 1] - mX[i] - step) <= kUniformTolerance * step;
+        }
+        invStep = 1 / step;
+    }
+
+    /**
+     * Interpolates the value of Y = f(X) for given X.
+     *
+     * @param input The X value.
+     * @return The interpolated Y = f(X) value.
+     * @throws IllegalStateException if the spline has not been created
+     */
+    public double get(double input) {
+        if (mM == null) {
+            throw new IllegalStateException("createLUT() must be called before get()");
+        }
+        if (Double.isNaN(input)) {
+            return input;
+        }
+
+        if (input < mX[0]) {
+            switch (extrapolation) {
+                case CLAMP:
+                    return mY[0];
+                case LINEAR:
+                    return mY[0] + mM[0] * (input - mX[0]);
+                default:
+                    return interpolate(0, input);
+            }
+        }
+        if (input > mX[n - 1]) {
+            switch (extrapolation) {
+                case CLAMP:
+                    return mY[n - 1];
+                case LINEAR:
+                    return mY[n - 1] + mM[n - 1] * (input - mX[n - 1]);
+                default:
+                    return interpolate(n - 2, input);
+            }
+        }
+        return interpolate(findSegment(input), input);
+    }
+
+    /**
+     * @return the index of the last control point with an X smaller or equal to the input,
+     * at most the second to last point
+     */
+    private int findSegment(double input) {
+        if (uniform) {
+            int i = (int) ((input - mX[0]) * invStep);
+            if (i > n - 2) {
+                i = n - 2;
+            }
+            // correct for rounding in the step
+            if (i > 0 && input < mX[i]) {
+                i--;
+            } else if (i < n - 2 && input >= mX[i + 1]) {
+                i++;
+            }
+            return i;
+        }
+
+        int low = 0;
+        int high = n - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (mX[mid] <= input) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Evaluates the cubic Hermite polynomial of a segment.
+     */
+    private double interpolate(int i, double input) {
+        double h = mX[i + 1] - mX[i];
+        double t = (input - mX[i]) / h;
+        return (mY[i] * (1 + 2 * t) + h * mM[i] * t) * (1 - t) * (1 - t)
+                + (mY[i + 1] * (3 - 2 * t) + h * mM[i + 1] * (t - 1)) * t * t;
+    }
+
+    /**
+     * @return the number of control points
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * @return true if the control points are evenly spaced and looked up directly
+     */
+    public boolean isUniform() {
+        return uniform;
+    }
+
+    // For debugging.
+    @Override
+    public String toString() {
+        StringBuilder str = new StringBuilder();
+        str.append("[");
+        for (int i = 0; i < n; i++) {
+            if (i != 0) {
+                str.append(", ");
+            }
+            str.append("(").append(mX[i]);
+            str.append(", ").append(mY[i]);
+            if (mM != null) {
+                str.append(": ").append(mM[i]);
+            }
+            str.append(")");
+        }
+        str.append("]");
+        return str.toString();
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.arcrobotics.ftclib.util;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * A frozen lookup table keyed on {@code double}. The keys are kept in a sorted
+ * primitive array, so {@link #getClosest(double)} does a single binary search without
+ * boxing the key. Tune the values in a {@link LUT} and freeze it with {@link LUT#freeze()}
+ * once they are final.
+ *
+ * @param <R> the type of the values
+ */
+public class ArrayLUT<R> {
+
+    private final double[] keys;
+    private final Object[] values;
+
+    /**
+     * Creates the table from keys and their values.
+     *
+     * @param keys   the strictly increasing keys
+     * @param values the value of each key
+     * @throws IllegalArgumentException if the arrays have different lengths or the keys
+     *                                  are not strictly increasing
+     */
+    public ArrayLUT(double[] keys, R[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("There must be one value per key.");
+        }
+        for (int i = 0; i < keys.length - 1; i++) {
+            if (!(keys[i + 1] > keys[i])) {
+                throw new IllegalArgumentException("The keys must be strictly increasing.");
+            }
+        }
+        this.keys = Arrays.copyOf(keys, keys.length);
+        this.values = Arrays.copyOf(values, values.length, Object[].class);
+    }
+
+    /**
+     * Copies the entries of a lookup table.
+     *
+     * @param lut the lookup table
+     * @param <T> the type of the keys
+     * @param <R> the type of the values
+     * @return the frozen table
+     */
+    public static <T extends Number, R> ArrayLUT<R> of(LUT<T, R> lut) {
+        double[] keys = new double[lut.size()];
+        Object[] values = new Object[lut.size()];
+        int i = 0;
+        for (Map.Entry<T, R> entry : lut.entrySet()) {
+            keys[i] = entry.getKey().doubleValue();
+            values[i] = entry.getValue();
+            i++;
+        }
+        @SuppressWarnings("unchecked")
+        R[] typed = (R[]) values;
+        return new ArrayLUT<>(keys, typed);
+    }
+
+    /**
+     * Returns the index of the closest key. Ties go to the larger key, like
+     * {@link LUT#getClosest(Number)}.
+     *
+     * @param key the input key
+     * @return the index of the closest key, or -1 if the table is empty
+     */
+    public int getClosestIndex(double key) {
+        int n = keys.length;
+        if (n == 0) {
+            return -1;
+        }
+
+        // the first key greater or equal to the input
+        int low = 0;
+        int high = n;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        if (low == 0) {
+            return 0;
+        } else if (low == n) {
+            return n - 1;
+        }
+        return key - keys[low - 1] < keys[low] - key ? low - 1 : low;
+    }
+
+    /**
+     * Returns the closest possible value for the given key.
+     *
+     * @param key the input key
+     * @return the closest value to the input key, or null if the table is empty
+     */
+    @SuppressWarnings("unchecked")
+    public R getClosest(double key) {
+        int index = getClosestIndex(key);
+        return index < 0 ? null : (R) values[index];
+    }
+
+    /**
+     * @return the key at the given index
+     */
+    public double getKey(int index) {
+        return keys[index];
+    }
+
+    /**
+     * @return the value at the given index
+     */
+    @SuppressWarnings("unchecked")
+    public R getValue(int index) {
+        return (R) values[index];
+    }
+
+    /**
+     * @return the number of entries
+     */
+    public int size() {
+        return keys.length;
+    }
+
+}
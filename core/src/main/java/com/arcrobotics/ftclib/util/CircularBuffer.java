@@ -0,0 +1,138 @@
+package com.arcrobotics.ftclib.util;
+
+/**
+ * A fixed capacity ring buffer of doubles. Adding to a full buffer overwrites the
+ * element at the other end, so it never allocates after construction.
+ */
+public class CircularBuffer {
+
+    private final double[] m_data;
+    private int m_front;
+    private int m_length;
+
+    /**
+     * @param capacity the maximum number of elements in the buffer
+     */
+    public CircularBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be at least 1");
+        }
+        m_data = new double[capacity];
+    }
+
+    /**
+     * @return the number of elements in the buffer
+     */
+    public int size() {
+        return m_length;
+    }
+
+    /**
+     * @return the maximum number of elements in the buffer
+     */
+    public int capacity() {
+        return m_data.length;
+    }
+
+    /**
+     * @return true if the buffer holds as many elements as its capacity
+     */
+    public boolean isFull() {
+        return m_length == m_data.length;
+    }
+
+    /**
+     * Pushes a value to the front of the buffer. The back element is dropped if
+     * the buffer is full.
+     *
+     * @param value the value to push
+     */
+    public void addFirst(double value) {
+        m_front = moduloDec(m_front);
+        m_data[m_front] = value;
+        if (m_length < m_data.length) {
+            m_length++;
+        }
+    }
+
+    /**
+     * Pushes a value to the back of the buffer. The front element is dropped if
+     * the buffer is full.
+     *
+     * @param value the value to push
+     */
+    public void addLast(double value) {
+        if (m_length < m_data.length) {
+            m_data[(m_front + m_length) % m_data.length] = value;
+            m_length++;
+        } else {
+            m_data[m_front] = value;
+            m_front = moduloInc(m_front);
+        }
+    }
+
+    /**
+     * @return the element at the front of the buffer
+     */
+    public double getFirst() {
+        return get(0);
+    }
+
+    /**
+     * @return the element at the back of the buffer
+     */
+    public double getLast() {
+        return get(m_length - 1);
+    }
+
+    /**
+     * Removes the front element.
+     *
+     * @return the removed element
+     */
+    public double removeFirst() {
+        double value = getFirst();
+        m_front = moduloInc(m_front);
+        m_length--;
+        return value;
+    }
+
+    /**
+     * Removes the back element.
+     *
+     * @return the removed element
+     */
+    public double removeLast() {
+        double value = getLast();
+        m_length--;
+        return value;
+    }
+
+    /**
+     * @param index the position from the front, 0 being the front
+     * @return the element at the position
+     */
+    public double get(int index) {
+        if (index < 0 || index >= m_length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + m_length);
+        }
+        return m_data[(m_front + index) % m_data.length];
+    }
+
+    /**
+     * Removes every element.
+     */
+    public void clear() {
+        m_front = 0;
+        m_length = 0;
+    }
+
+    private int moduloInc(int index) {
+        return index + 1 == m_data.length ? 0 : index + 1;
+    }
+
+    private int moduloDec(int index) {
+        return index == 0 ? m_data.length - 1 : index - 1;
+    }
+
+}
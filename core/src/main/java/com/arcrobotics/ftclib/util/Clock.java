@@ -0,0 +1,59 @@
+package com.arcrobotics.ftclib.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * The time source used by everything time-based in FTCLib, such as {@link Timing},
+ * the velocity estimate of {@code Motor.Encoder}, the filters in this package and
+ * the odometry and drivebase classes.
+ *
+ * <p>By default this is {@link System#nanoTime()}. A simulation can replace it so
+ * that robot code sees simulated time instead of real time. The source should be
+ * replaced before the robot code is constructed, since objects remember the time
+ * they were created at.</p>
+ */
+public final class Clock {
+
+    private static volatile LongSupplier source = System::nanoTime;
+    private static volatile boolean simulated;
+
+    private Clock() {
+    }
+
+    /**
+     * @return the current time in nanoseconds, only meaningful relative to other calls
+     */
+    public static long nanoTime() {
+        return source.getAsLong();
+    }
+
+    /**
+     * Replaces the time source, for example with the time of a simulation.
+     *
+     * @param nanoTime supplies the current time in nanoseconds, must never go backwards
+     */
+    public static void setSource(LongSupplier nanoTime) {
+        if (nanoTime == null) {
+            throw new IllegalArgumentException("The time source cannot be null");
+        }
+        source = nanoTime;
+        simulated = true;
+    }
+
+    /**
+     * Goes back to {@link System#nanoTime()} as the time source.
+     */
+    public static void useSystemTime() {
+        source = System::nanoTime;
+        simulated = false;
+    }
+
+    /**
+     * @return true if the time source was replaced, in which case time does not
+     * pass while a thread sleeps
+     */
+    public static boolean isSimulated() {
+        return simulated;
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.arcrobotics.ftclib.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Ignores changes of a boolean signal that last shorter than a set time, such as
+ * a limit switch bouncing or a color sensor briefly seeing the wrong color.
+ */
+public class Debouncer {
+
+    /**
+     * Which changes of the signal are debounced.
+     */
+    public enum DebounceType {
+        /**
+         * Only changes from false to true are delayed.
+         */
+        kRising,
+        /**
+         * Only changes from true to false are delayed.
+         */
+        kFalling,
+        /**
+         * Both changes are delayed.
+         */
+        kBoth
+    }
+
+    private final long m_debounceTimeNanos;
+    private final DebounceType m_debounceType;
+    private final LongSupplier m_clock;
+    private boolean m_baseline;
+    private long m_prevTime;
+
+    /**
+     * Creates a debouncer.
+     *
+     * @param debounceTime the time the signal has to hold a new value in seconds
+     * @param type         which changes are debounced
+     */
+    public Debouncer(double debounceTime, DebounceType type) {
+        this(debounceTime, type, Clock::nanoTime);
+    }
+
+    /**
+     * Creates a debouncer that only delays rising changes.
+     *
+     * @param debounceTime the time the signal has to hold a new value in seconds
+     */
+    public Debouncer(double debounceTime) {
+        this(debounceTime, DebounceType.kRising);
+    }
+
+    Debouncer(double debounceTime, DebounceType type, LongSupplier clock) {
+        m_debounceTimeNanos = (long) (debounceTime * 1E9);
+        m_debounceType = type;
+        m_clock = clock;
+        m_baseline = type == DebounceType.kFalling;
+        m_prevTime = clock.getAsLong();
+    }
+
+    /**
+     * Processes the next value of the signal.
+     *
+     * @param input the raw signal
+     * @return the debounced signal
+     */
+    public boolean calculate(boolean input) {
+        long now = m_clock.getAsLong();
+        if (input == m_baseline) {
+            m_prevTime = now;
+        }
+
+        if (now - m_prevTime >= m_debounceTimeNanos) {
+            if (m_debounceType == DebounceType.kBoth) {
+                m_baseline = input;
+                m_prevTime = now;
+            }
+            return input;
+        }
+        return m_baseline;
+    }
+
+}
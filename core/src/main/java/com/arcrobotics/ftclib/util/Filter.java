@@ -0,0 +1,22 @@
+package com.arcrobotics.ftclib.util;
+
+/**
+ * A filter that processes a stream of samples, one sample per call.
+ * Filters keep their history in preallocated buffers and do not allocate while running.
+ */
+public interface Filter {
+
+    /**
+     * Processes the next sample.
+     *
+     * @param input the sample
+     * @return the filtered value
+     */
+    double calculate(double input);
+
+    /**
+     * Clears the history of the filter.
+     */
+    void reset();
+
+}
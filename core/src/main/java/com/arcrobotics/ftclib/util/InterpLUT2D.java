@@ -0,0 +1,443 @@
+package com.arcrobotics.ftclib.util;
+
+import org.ejml.simple.SimpleMatrix;
+
+import java.util.Arrays;
+
+/**
+ * Interpolates a function of two inputs, such as the flywheel speed for a distance
+ * and an angle, from values on a rectangular grid. The grid lines do not have to be
+ * evenly spaced, but cells are looked up directly when they are.
+ *
+ * <p>The values are stored row by row in a flat array, so the value at {@code x[i]}
+ * and {@code y[j]} is {@code values[i * y.length + j]}. Inputs outside of the grid are
+ * clamped to its edges. Use a {@link Builder} to fit the grid to scattered calibration
+ * samples.</p>
+ */
+public class InterpLUT2D {
+
+    /**
+     * How values between the grid points are computed.
+     */
+    public enum Interpolation {
+        /**
+         * Linear along each axis, using the four corners of the cell.
+         */
+        BILINEAR,
+        /**
+         * Cubic Hermite along each axis with finite difference tangents, using the
+         * sixteen closest grid points. The result is smooth across the cells.
+         */
+        BICUBIC
+    }
+
+    private static final double kUniformTolerance = 1E-9;
+
+    private final double[] mX, mY;
+    private final double[] mValues;
+    private final int nx, ny;
+
+    private final boolean uniformX, uniformY;
+    private final double invStepX, invStepY;
+
+    private Interpolation interpolation = Interpolation.BILINEAR;
+
+    /**
+     * Creates the table from the values on the grid.
+     *
+     * @param x      the strictly increasing grid lines of the first input
+     * @param y      the strictly increasing grid lines of the second input
+     * @param values the values on the grid, row by row
+     * @throws IllegalArgumentException if an axis has fewer than 2 values or is not
+     *                                  strictly increasing, or the number of values
+     *                                  does not match the grid
+     */
+    public InterpLUT2D(double[] x, double[] y, double[] values) {
+        checkAxis(x);
+        checkAxis(y);
+        if (values.length != x.length * y.length) {
+            throw new IllegalArgumentException("There must be one value per grid point.");
+        }
+        mX = Arrays.copyOf(x, x.length);
+        mY = Arrays.copyOf(y, y.length);
+        mValues = Arrays.copyOf(values, values.length);
+        nx = x.length;
+        ny = y.length;
+
+        uniformX = isUniform(mX);
+        uniformY = isUniform(mY);
+        invStepX = (nx - 1) / (mX[nx - 1] - mX[0]);
+        invStepY = (ny - 1) / (mY[ny - 1] - mY[0]);
+    }
+
+    /**
+     * Sets how values between the grid points are computed. The default is
+     * {@link Interpolation#BILINEAR}.
+     *
+     * @param interpolation the interpolation mode
+     * @return this object for chaining purposes
+     */
+    public InterpLUT2D setInterpolation(Interpolation interpolation) {
+        this.interpolation = interpolation;
+        return this;
+    }
+
+    /**
+     * @return the interpolation mode
+     */
+    public Interpolation getInterpolation() {
+        return interpolation;
+    }
+
+    /**
+     * Interpolates the value at the given inputs.
+     *
+     * @param x the first input
+     * @param y the second input
+     * @return the interpolated value
+     */
+    public double get(double x, double y) {
+        if (Double.isNaN(x) || Double.isNaN(y)) {
+            return Double.NaN;
+        }
+        x = Math.max(mX[0], Math.min(mX[nx - 1], x));
+        y = Math.max(mY[0], Math.min(mY[ny - 1], y));
+
+        int i = findCell(mX, uniformX, invStepX, x);
+        int j = findCell(mY, uniformY, invStepY, y);
+        double u = (x - mX[i]) / (mX[i + 1] - mX[i]);
+        double v = (y - mY[j]) / (mY[j + 1] - mY[j]);
+
+        if (interpolation == Interpolation.BILINEAR) {
+            int k = i * ny + j;
+            double low = mValues[k] + (mValues[k + 1] - mValues[k]) * v;
+            double high = mValues[k + ny] + (mValues[k + ny + 1] - mValues[k + ny]) * v;
+            return low + (high - low) * u;
+        }
+
+        // interpolate along y on the four closest rows, then along x between them
+        int i0 = Math.max(i - 1, 0);
+        int i3 = Math.min(i + 2, nx - 1);
+        return cubic(mX, i, u,
+                cubicRow(i0, j, v), cubicRow(i, j, v), cubicRow(i + 1, j, v), cubicRow(i3, j, v));
+    }
+
+    /**
+     * Interpolates along the y axis on one row of the grid.
+     */
+    private double cubicRow(int i, int j, double v) {
+        int row = i * ny;
+        return cubic(mY, j, v, mValues[row + Math.max(j - 1, 0)], mValues[row + j],
+                mValues[row + j + 1], mValues[row + Math.min(j + 2, ny - 1)]);
+    }
+
+    /**
+     * Evaluates the cubic Hermite polynomial between {@code axis[i]} and {@code axis[i + 1]},
+     * with the tangents estimated from the neighbouring points. At the edges of the grid the
+     * outer neighbour is the edge point itself, which gives a one-sided difference.
+     */
+    private static double cubic(double[] axis, int i, double t,
+                                double before, double start, double end, double after) {
+        int n = axis.length;
+        double h = axis[i + 1] - axis[i];
+        double m0 = h * (end - before) / (axis[i + 1] - axis[Math.max(i - 1, 0)]);
+        double m1 = h * (after - start) / (axis[Math.min(i + 2, n - 1)] - axis[i]);
+
+        double t2 = t * t;
+        double t3 = t2 * t;
+        return (2 * t3 - 3 * t2 + 1) * start + (t3 - 2 * t2 + t) * m0
+                + (-2 * t3 + 3 * t2) * end + (t3 - t2) * m1;
+    }
+
+    /**
+     * @return the index of the last grid line smaller or equal to the input,
+     * at most the second to last line
+     */
+    private static int findCell(double[] axis, boolean uniform, double invStep, double value) {
+        int n = axis.length;
+        if (uniform) {
+            int i = Math.min((int) ((value - axis[0]) * invStep), n - 2);
+            // correct for rounding in the step
+            if (i > 0 && value < axis[i]) {
+                i--;
+            } else if (i < n - 2 && value >= axis[i + 1]) {
+                i++;
+            }
+            return i;
+        }
+
+        int low = 0;
+        int high = n - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (axis[mid] <= value) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private static void checkAxis(double[] axis) {
+        if (axis.length < 2) {
+            throw new IllegalArgumentException("Each axis must have at least two grid lines.");
+        }
+        for (int i = 0; i < axis.length - 1; i++) {
+            if (!(axis[i + 1] > axis[i])) {
+                throw new IllegalArgumentException("The grid lines must be strictly increasing.");
+            }
+        }
+    }
+
+    private static boolean isUniform(double[] axis) {
+        double step = (axis[axis.length - 1] - axis[0]) / (axis.length - 1);
+        for (int i = 0; i < axis.length - 1; i++) {
+            if (Math.abs(axis[i + 1] - axis[i] - step) > kUniformTolerance * step) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the value at the grid point {@code (x[i], y[j])}
+     */
+    public double getGridValue(int i, int j) {
+        return mValues[i * ny + j];
+    }
+
+    /**
+     * @return a copy of the grid lines of the first input
+     */
+    public double[] getX() {
+        return Arrays.copyOf(mX, nx);
+    }
+
+    /**
+     * @return a copy of the grid lines of the second input
+     */
+    public double[] getY() {
+        return Arrays.copyOf(mY, ny);
+    }
+
+    /**
+     * Fits the values of a grid to scattered calibration samples.
+     *
+     * <p>The grid values are the least squares solution that makes the bilinear
+     * interpolation of the grid pass as close as possible to the samples, while
+     * penalizing the curvature of the grid. The curvature penalty fills in the cells
+     * without samples and smooths out noisy measurements.</p>
+     */
+    public static class Builder {
+
+        // the samples are treated as degenerate past this condition number of their bilinear fit
+        private static final double kMaxCondition = 1E10;
+
+        private final double[] mX, mY;
+        private double[] samples = new double[48];
+        private int sampleCount;
+        private double smoothing = 1E-3;
+        private Interpolation interpolation = Interpolation.BILINEAR;
+
+        /**
+         * @param x the strictly increasing grid lines of the first input
+         * @param y the strictly increasing grid lines of the second input
+         */
+        public Builder(double[] x, double[] y) {
+            checkAxis(x);
+            checkAxis(y);
+            mX = Arrays.copyOf(x, x.length);
+            mY = Arrays.copyOf(y, y.length);
+        }
+
+        /**
+         * Creates a builder for evenly spaced grid lines.
+         *
+         * @param minX   the first grid line of the first input
+         * @param maxX   the last grid line of the first input
+         * @param countX the number of grid lines of the first input
+         * @param minY   the first grid line of the second input
+         * @param maxY   the last grid line of the second input
+         * @param countY the number of grid lines of the second input
+         * @return the builder
+         */
+        public static Builder uniform(double minX, double maxX, int countX,
+                                      double minY, double maxY, int countY) {
+            return new Builder(linspace(minX, maxX, countX), linspace(minY, maxY, countY));
+        }
+
+        private static double[] linspace(double min, double max, int count) {
+            if (count < 2) {
+                throw new IllegalArgumentException("Each axis must have at least two grid lines.");
+            }
+            double[] axis = new double[count];
+            for (int i = 0; i < count; i++) {
+                axis[i] = min + (max - min) * i / (count - 1);
+            }
+            return axis;
+        }
+
+        /**
+         * Adds a calibration sample. Samples outside of the grid are clamped to its edges.
+         *
+         * @param x     the first input
+         * @param y     the second input
+         * @param value the measured value
+         * @return this object for chaining purposes
+         */
+        public Builder addSample(double x, double y, double value) {
+            if (sampleCount * 3 == samples.length) {
+                samples = Arrays.copyOf(samples, samples.length * 2);
+            }
+            samples[sampleCount * 3] = x;
+            samples[sampleCount * 3 + 1] = y;
+            samples[sampleCount * 3 + 2] = value;
+            sampleCount++;
+            return this;
+        }
+
+        /**
+         * Sets the weight of the curvature penalty relative to the samples.
+         * Larger values give a smoother but less accurate fit. The default is 0.001.
+         *
+         * @param smoothing the curvature weight, must be positive
+         * @return this object for chaining purposes
+         */
+        public Builder setSmoothing(double smoothing) {
+            if (!(smoothing > 0)) {
+                throw new IllegalArgumentException("The smoothing must be positive.");
+            }
+            this.smoothing = smoothing;
+            return this;
+        }
+
+        /**
+         * @param interpolation the interpolation mode of the built table
+         * @return this object for chaining purposes
+         */
+        public Builder setInterpolation(Interpolation interpolation) {
+            this.interpolation = interpolation;
+            return this;
+        }
+
+        /**
+         * Fits the grid to the samples.
+         *
+         * @return the table
+         * @throws IllegalStateException if there are fewer than four samples, or if the samples
+         *                               do not pin down a bilinear surface, for example because
+         *                               they all lie on one line
+         */
+        public InterpLUT2D build() {
+            if (sampleCount < 4) {
+                throw new IllegalStateException("At least four samples are needed to fit the grid.");
+            }
+            int nx = mX.length;
+            int ny = mY.length;
+            int size = nx * ny;
+
+            // normal equations of the samples: (A^T A + s * D^T D) v = A^T z
+            SimpleMatrix normal = new SimpleMatrix(size, size);
+            SimpleMatrix rhs = new SimpleMatrix(size, 1);
+            boolean uniformX = isUniform(mX);
+            boolean uniformY = isUniform(mY);
+            double invStepX = (nx - 1) / (mX[nx - 1] - mX[0]);
+            double invStepY = (ny - 1) / (mY[ny - 1] - mY[0]);
+            int[] nodes = new int[4];
+            double[] weights = new double[4];
+            // the curvature penalty leaves bilinear surfaces free, so the samples have to fix one
+            SimpleMatrix bilinear = new SimpleMatrix(4, 4);
+            double[] terms = new double[4];
+            for (int s = 0; s < sampleCount; s++) {
+                double x = Math.max(mX[0], Math.min(mX[nx - 1], samples[s * 3]));
+                double y = Math.max(mY[0], Math.min(mY[ny - 1], samples[s * 3 + 1]));
+                int i = findCell(mX, uniformX, invStepX, x);
+                int j = findCell(mY, uniformY, invStepY, y);
+                double u = (x - mX[i]) / (mX[i + 1] - mX[i]);
+                double v = (y - mY[j]) / (mY[j + 1] - mY[j]);
+
+                nodes[0] = i * ny + j;
+                nodes[1] = nodes[0] + 1;
+                nodes[2] = nodes[0] + ny;
+                nodes[3] = nodes[2] + 1;
+                weights[0] = (1 - u) * (1 - v);
+                weights[1] = (1 - u) * v;
+                weights[2] = u * (1 - v);
+                weights[3] = u * v;
+                addRow(normal, rhs, nodes, weights, 4, 1, samples[s * 3 + 2]);
+
+                double relativeX = (x - mX[0]) / (mX[nx - 1] - mX[0]);
+                double relativeY = (y - mY[0]) / (mY[ny - 1] - mY[0]);
+                terms[0] = 1;
+                terms[1] = relativeX;
+                terms[2] = relativeY;
+                terms[3] = relativeX * relativeY;
+                for (int a = 0; a < 4; a++) {
+                    for (int b = 0; b < 4; b++) {
+                        bilinear.set(a, b, bilinear.get(a, b) + terms[a] * terms[b]);
+                    }
+                }
+            }
+            if (!(bilinear.conditionP2() < kMaxCondition)) {
+                throw new IllegalStateException("The samples do not determine the fit. "
+                        + "Spread them over both inputs instead of along one line.");
+            }
+
+            // second differences along both axes, weighted per grid point relative to the samples
+            double weight = smoothing * sampleCount / size;
+            for (int i = 0; i < nx; i++) {
+                for (int j = 1; j < ny - 1; j++) {
+                    secondDifference(normal, rhs, nodes, weights, mY, j, i * ny + j, 1, weight);
+                }
+            }
+            for (int j = 0; j < ny; j++) {
+                for (int i = 1; i < nx - 1; i++) {
+                    secondDifference(normal, rhs, nodes, weights, mX, i, i * ny + j, ny, weight);
+                }
+            }
+
+            SimpleMatrix solution = normal.solve(rhs);
+            double[] values = new double[size];
+            for (int k = 0; k < size; k++) {
+                values[k] = solution.get(k, 0);
+            }
+            return new InterpLUT2D(mX, mY, values).setInterpolation(interpolation);
+        }
+
+        /**
+         * Adds the curvature of the grid at one point, normalized so that the penalty
+         * does not depend on the spacing of the grid lines.
+         */
+        private static void secondDifference(SimpleMatrix normal, SimpleMatrix rhs, int[] nodes,
+                                             double[] weights, double[] axis, int index,
+                                             int node, int stride, double weight) {
+            double before = axis[index] - axis[index - 1];
+            double after = axis[index + 1] - axis[index];
+            double span = axis[axis.length - 1] - axis[0];
+            nodes[0] = node - stride;
+            nodes[1] = node;
+            nodes[2] = node + stride;
+            weights[0] = span * span / (before * (before + after));
+            weights[1] = -span * span / (before * after);
+            weights[2] = span * span / (after * (before + after));
+            addRow(normal, rhs, nodes, weights, 3, weight, 0);
+        }
+
+        /**
+         * Adds one weighted residual {@code sum(weights * v[nodes]) - target} to the normal equations.
+         */
+        private static void addRow(SimpleMatrix normal, SimpleMatrix rhs, int[] nodes,
+                                   double[] weights, int count, double rowWeight, double target) {
+            for (int a = 0; a < count; a++) {
+                for (int b = 0; b < count; b++) {
+                    normal.set(nodes[a], nodes[b],
+                            normal.get(nodes[a], nodes[b]) + rowWeight * weights[a] * weights[b]);
+                }
+                rhs.set(nodes[a], 0, rhs.get(nodes[a], 0) + rowWeight * weights[a] * target);
+            }
+        }
+
+    }
+
+}
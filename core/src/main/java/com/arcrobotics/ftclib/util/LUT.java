@@ -36,4 +36,14 @@ public class LUT<T extends Number, R> extends TreeMap<T, R> {
         }
     }
 
+    /**
+     * Copies the entries into a frozen, array-backed table with faster lookups.
+     * Later changes to this table are not reflected in the copy.
+     *
+     * @return the frozen table
+     */
+    public ArrayLUT<R> freeze() {
+        return ArrayLUT.of(this);
+    }
+
 }
@@ -0,0 +1,107 @@
+package com.arcrobotics.ftclib.util;
+
+import java.util.Arrays;
+
+/**
+ * A linear digital filter, which computes the output as a weighted sum of the
+ * last inputs and outputs:
+ *
+ * <pre>
+ * y[n] = b0 * x[n] + b1 * x[n-1] + ... - a1 * y[n-1] - a2 * y[n-2] - ...
+ * </pre>
+ *
+ * <p>The feedforward gains {@code b} make up a finite impulse response (FIR) filter, such as
+ * a moving average, and the feedback gains {@code a} an infinite impulse response (IIR)
+ * filter, such as a single-pole low-pass. The factory methods create the common ones.</p>
+ *
+ * <p>The filter assumes it is called at a constant period. The IIR factories take that
+ * period to convert their time constant.</p>
+ */
+public class LinearFilter implements Filter {
+
+    private final CircularBuffer m_inputs;
+    private final CircularBuffer m_outputs;
+    private final double[] m_inputGains;
+    private final double[] m_outputGains;
+
+    /**
+     * Creates a linear filter.
+     *
+     * @param ffGains the feedforward gains {@code b}, starting with the gain of the newest input
+     * @param fbGains the feedback gains {@code a}, starting with the gain of the last output
+     */
+    public LinearFilter(double[] ffGains, double[] fbGains) {
+        if (ffGains.length < 1) {
+            throw new IllegalArgumentException("There must be at least one feedforward gain");
+        }
+        m_inputs = new CircularBuffer(ffGains.length);
+        m_outputs = new CircularBuffer(Math.max(fbGains.length, 1));
+        m_inputGains = Arrays.copyOf(ffGains, ffGains.length);
+        m_outputGains = Arrays.copyOf(fbGains, fbGains.length);
+    }
+
+    /**
+     * Creates a single-pole IIR low-pass filter, an exponential moving average.
+     *
+     * @param timeConstant the time constant of the filter in seconds,
+     *                     larger values filter more noise but respond slower
+     * @param period       the time between samples in seconds
+     * @return the filter
+     */
+    public static LinearFilter singlePoleIIR(double timeConstant, double period) {
+        double gain = Math.exp(-period / timeConstant);
+        return new LinearFilter(new double[]{1 - gain}, new double[]{-gain});
+    }
+
+    /**
+     * Creates a single-pole IIR high-pass filter, which removes the slowly changing
+     * part of the signal, such as a drifting offset.
+     *
+     * @param timeConstant the time constant of the filter in seconds
+     * @param period       the time between samples in seconds
+     * @return the filter
+     */
+    public static LinearFilter highPass(double timeConstant, double period) {
+        double gain = Math.exp(-period / timeConstant);
+        return new LinearFilter(new double[]{gain, -gain}, new double[]{-gain});
+    }
+
+    /**
+     * Creates a moving average of the last samples. Until the filter has seen
+     * {@code taps} samples, the missing ones count as zero.
+     *
+     * @param taps the number of samples to average
+     * @return the filter
+     */
+    public static LinearFilter movingAverage(int taps) {
+        if (taps < 1) {
+            throw new IllegalArgumentException("The number of taps must be at least 1");
+        }
+        double[] gains = new double[taps];
+        Arrays.fill(gains, 1.0 / taps);
+        return new LinearFilter(gains, new double[0]);
+    }
+
+    @Override
+    public double calculate(double input) {
+        m_inputs.addFirst(input);
+
+        double output = 0;
+        for (int i = 0; i < m_inputs.size(); i++) {
+            output += m_inputs.get(i) * m_inputGains[i];
+        }
+        for (int i = 0; i < m_outputGains.length && i < m_outputs.size(); i++) {
+            output -= m_outputs.get(i) * m_outputGains[i];
+        }
+
+        m_outputs.addFirst(output);
+        return output;
+    }
+
+    @Override
+    public void reset() {
+        m_inputs.clear();
+        m_outputs.clear();
+    }
+
+}
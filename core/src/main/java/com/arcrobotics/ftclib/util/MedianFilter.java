@@ -0,0 +1,54 @@
+package com.arcrobotics.ftclib.util;
+
+import java.util.Arrays;
+
+/**
+ * Outputs the median of the last samples. Unlike a moving average, it ignores
+ * single outliers, such as the occasional bad reading of a distance sensor.
+ */
+public class MedianFilter implements Filter {
+
+    private final CircularBuffer m_values;
+    private final double[] m_sorted;
+    private int m_count;
+
+    /**
+     * @param size the number of samples to take the median of
+     */
+    public MedianFilter(int size) {
+        m_values = new CircularBuffer(size);
+        m_sorted = new double[size];
+    }
+
+    @Override
+    public double calculate(double input) {
+        if (m_values.isFull()) {
+            // drop the oldest sample from the sorted samples
+            double oldest = m_values.removeLast();
+            int index = Arrays.binarySearch(m_sorted, 0, m_count, oldest);
+            System.arraycopy(m_sorted, index + 1, m_sorted, index, m_count - index - 1);
+            m_count--;
+        }
+        m_values.addFirst(input);
+
+        int index = Arrays.binarySearch(m_sorted, 0, m_count, input);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        System.arraycopy(m_sorted, index, m_sorted, index + 1, m_count - index);
+        m_sorted[index] = input;
+        m_count++;
+
+        if (m_count % 2 != 0) {
+            return m_sorted[m_count / 2];
+        }
+        return (m_sorted[m_count / 2 - 1] + m_sorted[m_count / 2]) / 2;
+    }
+
+    @Override
+    public void reset() {
+        m_values.clear();
+        m_count = 0;
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.arcrobotics.ftclib.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Limits how fast a value can change, for example to keep a drivetrain from
+ * tipping over when the driver slams the stick.
+ */
+public class SlewRateLimiter implements Filter {
+
+    private double m_positiveRateLimit;
+    private double m_negativeRateLimit;
+    private final LongSupplier m_clock;
+    private double m_prevVal;
+    private long m_prevTime;
+
+    /**
+     * Creates a limiter with separate rates for increasing and decreasing values.
+     *
+     * @param positiveRateLimit the fastest increase in units per second, must be positive
+     * @param negativeRateLimit the fastest decrease in units per second, must be negative
+     * @param initialValue      the starting value
+     */
+    public SlewRateLimiter(double positiveRateLimit, double negativeRateLimit, double initialValue) {
+        this(positiveRateLimit, negativeRateLimit, initialValue, Clock::nanoTime);
+    }
+
+    /**
+     * Creates a limiter with the same rate in both directions, starting at zero.
+     *
+     * @param rateLimit the fastest change in units per second
+     */
+    public SlewRateLimiter(double rateLimit) {
+        this(rateLimit, -rateLimit, 0);
+    }
+
+    /**
+     * Creates a limiter that reads the time from its own clock instead of {@link Clock}.
+     *
+     * @param positiveRateLimit the fastest increase in units per second, must be positive
+     * @param negativeRateLimit the fastest decrease in units per second, must be negative
+     * @param initialValue      the starting value
+     * @param clock             supplies the current time in nanoseconds
+     */
+    public SlewRateLimiter(double positiveRateLimit, double negativeRateLimit, double initialValue,
+                           LongSupplier clock) {
+        setRateLimits(positiveRateLimit, negativeRateLimit);
+        m_clock = clock;
+        m_prevVal = initialValue;
+        m_prevTime = clock.getAsLong();
+    }
+
+    @Override
+    public double calculate(double input) {
+        long now = m_clock.getAsLong();
+        double elapsed = (now - m_prevTime) / 1E9;
+        m_prevVal += MathUtils.clamp(input - m_prevVal,
+                m_negativeRateLimit * elapsed, m_positiveRateLimit * elapsed);
+        m_prevTime = now;
+        return m_prevVal;
+    }
+
+    /**
+     * Changes the rate limits. The value keeps going from where it is.
+     *
+     * @param positiveRateLimit the fastest increase in units per second, must be positive
+     * @param negativeRateLimit the fastest decrease in units per second, must be negative
+     */
+    public void setRateLimits(double positiveRateLimit, double negativeRateLimit) {
+        if (positiveRateLimit <= 0 || negativeRateLimit >= 0) {
+            throw new IllegalArgumentException("The positive rate limit must be positive "
+                    + "and the negative rate limit negative");
+        }
+        m_positiveRateLimit = positiveRateLimit;
+        m_negativeRateLimit = negativeRateLimit;
+    }
+
+    /**
+     * Resets the limiter to zero.
+     */
+    @Override
+    public void reset() {
+        reset(0);
+    }
+
+    /**
+     * Resets the limiter to the given value, which is reached without a rate limit.
+     *
+     * @param value the value to reset to
+     */
+    public void reset(double value) {
+        m_prevVal = value;
+        m_prevTime = m_clock.getAsLong();
+    }
+
+}
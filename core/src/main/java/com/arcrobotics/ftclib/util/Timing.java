@@ -1,11 +1,13 @@
 package com.arcrobotics.ftclib.util;
 
-import com.qualcomm.robotcore.util.ElapsedTime;
-
+import java.util.Arrays;
+import java.util.Locale;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 /**
- * Class for a time related items.
+ * Class for a time related items. Every timer counts in nanoseconds of
+ * {@link Clock#nanoTime()}, which is monotonic, and never allocates after construction.
  */
 public class Timing {
 
@@ -14,13 +16,14 @@ public class Timing {
      * if the timer has finished, and so forth.
      * <p>
      * A more simple version of a timer better suited for quick uses rather than an
-     * {@link ElapsedTime} object.
+     * {@code ElapsedTime} object.
      */
     public static class Timer {
-        private ElapsedTime time;
-        private long timerLength;
+        private final long timerLength;
+        private final long lengthNanos;
+        private final TimeUnit unit;
+        private long startTime; // from Clock.nanoTime()
         private long pauseTime; // in nanoseconds, regardless of unit
-        private TimeUnit unit;
         private boolean timerOn;
 
         /**
@@ -32,8 +35,8 @@ public class Timing {
         public Timer(long timerLength, TimeUnit unit) {
             this.timerLength = timerLength;
             this.unit = unit;
-            this.time = new ElapsedTime();
-            time.reset();
+            lengthNanos = unit.toNanos(timerLength);
+            startTime = Clock.nanoTime();
         }
 
         /**
@@ -49,7 +52,7 @@ public class Timing {
          * Starts this timer.
          */
         public void start() {
-            time.reset();
+            startTime = Clock.nanoTime();
             pauseTime = 0;
             timerOn = true;
         }
@@ -59,7 +62,7 @@ public class Timing {
          */
         public void pause() {
             if (timerOn) {
-                pauseTime = time.nanoseconds();
+                pauseTime = Clock.nanoTime() - startTime;
                 timerOn = false;
             }
         }
@@ -70,11 +73,22 @@ public class Timing {
         public void resume() {
             if (!timerOn) {
                 // we start the timer with a time in the past, since we're starting in the middle of the timer
-                time = new ElapsedTime(System.nanoTime() - pauseTime);
+                startTime = Clock.nanoTime() - pauseTime;
                 timerOn = true;
             }
         }
 
+        /**
+         * Get the elapsed time since this time was started.
+         *
+         * @return The elapsed time, in nanoseconds.
+         * If the timer was not started, return 0.
+         * If the timer is paused, return the time at which the timer was paused.
+         */
+        public long elapsedNanos() {
+            return timerOn ? Clock.nanoTime() - startTime : pauseTime;
+        }
+
         /**
          * Get the elapsed time since this time was started.
          *
@@ -83,8 +97,7 @@ public class Timing {
          * If the timer is paused, return the time at which the timer was paused.
          */
         public long elapsedTime() {
-            if (timerOn) return time.time(unit);
-            else return unit.convert(pauseTime, TimeUnit.NANOSECONDS);
+            return unit.convert(elapsedNanos(), TimeUnit.NANOSECONDS);
         }
 
         /**
@@ -104,7 +117,7 @@ public class Timing {
          * @return True if at least timerLength of unpaused time has elapsed since the start of this timer. False otherwise.
          */
         public boolean done() {
-            return elapsedTime() >= timerLength;
+            return elapsedNanos() >= lengthNanos;
         }
 
         /**
@@ -118,29 +131,253 @@ public class Timing {
     }
 
     /**
-     * Very simple class for a refresh rate timer. Can be used to limit hardware writing/reading,
-     * or other fast-time cases. Only uses milliseconds. Starts counting on creation, can be reset.
+     * A fixed rate timer. Can be used to limit hardware writing/reading, or to run a loop
+     * at a fixed rate. Each deadline is the previous deadline plus the period, so the rate
+     * does not drift with the time it takes to notice a deadline. Starts counting on
+     * creation, can be reset.
      */
-    public class Rate {
+    public static class Rate {
 
-        private ElapsedTime time;
-        private long rate;
+        private final long period;
+        private long deadline;
 
+        /**
+         * @param rateMillis the period in milliseconds
+         */
         public Rate(long rateMillis) {
-            rate = rateMillis;
-            time = new ElapsedTime(ElapsedTime.Resolution.MILLISECONDS);
+            this(rateMillis, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * @param period the period
+         * @param unit   the unit of the period
+         */
+        public Rate(long period, TimeUnit unit) {
+            if (period <= 0) {
+                throw new IllegalArgumentException("The period must be positive");
+            }
+            this.period = unit.toNanos(period);
+            reset();
         }
 
+        /**
+         * Restarts the period from now.
+         */
         public void reset() {
-            time.reset();
+            deadline = Clock.nanoTime() + period;
         }
 
+        /**
+         * Checks if the deadline has passed, and if it has, moves on to the next one.
+         * If more than a whole period was missed, the missed deadlines are skipped rather
+         * than reported one after the other.
+         *
+         * @return true once per period
+         */
         public boolean atTime() {
-            boolean done = (time.milliseconds() >= rate);
-            time.reset();
-            return done;
+            long now = Clock.nanoTime();
+            if (now - deadline < 0) {
+                return false;
+            }
+            advance(now);
+            return true;
+        }
+
+        /**
+         * Waits for the next deadline, then moves on to the one after it. Calling this at the
+         * end of a loop runs the loop at the fixed rate. Under a simulated {@link Clock} this
+         * does not wait.
+         */
+        public void sleep() {
+            if (Clock.isSimulated()) {
+                // simulated time does not pass while this thread waits
+                advance(Clock.nanoTime());
+                return;
+            }
+            long remaining;
+            while ((remaining = deadline - Clock.nanoTime()) > 0) {
+                LockSupport.parkNanos(remaining);
+                if (Thread.interrupted()) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            advance(Clock.nanoTime());
+        }
+
+        private void advance(long now) {
+            deadline += period;
+            if (now - deadline >= 0) {
+                // keep the phase of the deadlines, but skip the ones already missed
+                deadline += ((now - deadline) / period + 1) * period;
+            }
+        }
+
+        /**
+         * @return the time left until the next deadline in nanoseconds, negative if it has passed
+         */
+        public long remainingNanos() {
+            return deadline - Clock.nanoTime();
+        }
+
+    }
+
+    /**
+     * Collects statistics about the period of a loop. Call {@link #loop()} once per loop.
+     * The minimum, maximum, mean and standard deviation cover every loop since the last
+     * reset, and the percentiles cover a window of the latest loops.
+     */
+    public static class LoopStats {
+
+        private final long[] window;
+        private final long[] sorted;
+        private int windowIndex, windowSize;
+
+        private boolean started;
+        private long lastTime;
+        private long lastPeriod;
+        private long count;
+        private long min, max;
+        private double mean, m2;
+
+        /**
+         * Creates a loop statistics collector with a window of 256 loops.
+         */
+        public LoopStats() {
+            this(256);
+        }
+
+        /**
+         * @param windowSize the number of latest loops the percentiles are computed from
+         */
+        public LoopStats(int windowSize) {
+            if (windowSize < 1) {
+                throw new IllegalArgumentException("The window size must be at least 1");
+            }
+            window = new long[windowSize];
+            sorted = new long[windowSize];
+            reset();
+        }
+
+        /**
+         * Marks the start of a new loop and records the period of the last one.
+         */
+        public void loop() {
+            long now = Clock.nanoTime();
+            if (started) {
+                record(now - lastTime);
+            }
+            started = true;
+            lastTime = now;
+        }
+
+        private void record(long period) {
+            lastPeriod = period;
+            count++;
+            min = Math.min(min, period);
+            max = Math.max(max, period);
+
+            // Welford's algorithm for the running mean and variance
+            double delta = period - mean;
+            mean += delta / count;
+            m2 += delta * (period - mean);
+
+            window[windowIndex] = period;
+            windowIndex = (windowIndex + 1) % window.length;
+            windowSize = Math.min(windowSize + 1, window.length);
+        }
+
+        /**
+         * Clears the statistics. The next call to {@link #loop()} starts a new period.
+         */
+        public void reset() {
+            started = false;
+            lastPeriod = 0;
+            count = 0;
+            min = Long.MAX_VALUE;
+            max = 0;
+            mean = 0;
+            m2 = 0;
+            windowIndex = 0;
+            windowSize = 0;
+        }
+
+        /**
+         * @return the number of recorded loop periods
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return the period of the last loop in seconds
+         */
+        public double getLastPeriod() {
+            return lastPeriod / 1E9;
+        }
+
+        /**
+         * @return the mean period in seconds
+         */
+        public double getMeanPeriod() {
+            return mean / 1E9;
+        }
+
+        /**
+         * @return the mean loop rate in hertz
+         */
+        public double getMeanFrequency() {
+            return mean > 0 ? 1E9 / mean : 0;
+        }
+
+        /**
+         * @return the shortest period in seconds
+         */
+        public double getMinPeriod() {
+            return count > 0 ? min / 1E9 : 0;
+        }
+
+        /**
+         * @return the longest period in seconds
+         */
+        public double getMaxPeriod() {
+            return max / 1E9;
+        }
+
+        /**
+         * @return the standard deviation of the period in seconds, the jitter of the loop
+         */
+        public double getStandardDeviation() {
+            return count > 1 ? Math.sqrt(m2 / (count - 1)) / 1E9 : 0;
+        }
+
+        /**
+         * Computes a percentile of the period over the window of the latest loops.
+         *
+         * @param percentile the percentile, between 0 and 100
+         * @return the period in seconds
+         */
+        public double getPercentile(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("The percentile must be between 0 and 100");
+            }
+            if (windowSize == 0) {
+                return 0;
+            }
+            System.arraycopy(window, 0, sorted, 0, windowSize);
+            Arrays.sort(sorted, 0, windowSize);
+            int index = (int) Math.ceil(percentile / 100 * windowSize) - 1;
+            return sorted[Math.max(0, index)] / 1E9;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US,
+                    "%.1f Hz, mean %.2f ms, min %.2f ms, max %.2f ms, std %.2f ms, p99 %.2f ms",
+                    getMeanFrequency(), getMeanPeriod() * 1E3, getMinPeriod() * 1E3,
+                    getMaxPeriod() * 1E3, getStandardDeviation() * 1E3, getPercentile(99) * 1E3);
         }
 
     }
 
-}
\ No newline at end of file
+}
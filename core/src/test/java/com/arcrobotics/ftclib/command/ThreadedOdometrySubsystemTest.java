@@ -0,0 +1,46 @@
+package com.arcrobotics.ftclib.command;
+
+import com.arcrobotics.ftclib.kinematics.HolonomicOdometry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ThreadedOdometrySubsystemTest {
+
+    @AfterEach
+    public void teardown() {
+        CommandScheduler.getInstance().reset();
+    }
+
+    @Test
+    public void startsOnceAndStaysStopped() {
+        ThreadedOdometrySubsystem subsystem = new ThreadedOdometrySubsystem(
+                new HolonomicOdometry(() -> 0, () -> 0, () -> 0, 10, 0), 5);
+
+        CommandScheduler.getInstance().run();
+        assertTrue(subsystem.isRunning());
+
+        subsystem.stop();
+        CommandScheduler.getInstance().run();
+        assertFalse(subsystem.isRunning());
+
+        subsystem.start();
+        assertTrue(subsystem.isRunning());
+    }
+
+    @Test
+    public void stopsWhenSchedulerResets() {
+        ThreadedOdometrySubsystem subsystem = new ThreadedOdometrySubsystem(
+                new HolonomicOdometry(() -> 0, () -> 0, () -> 0, 10, 0), 5);
+
+        CommandScheduler.getInstance().run();
+        assertTrue(subsystem.isRunning());
+
+        CommandScheduler.getInstance().reset();
+        assertFalse(subsystem.isRunning());
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.arcrobotics.ftclib.drivebase;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AccelerationLimitTest {
+    private static final double kEpsilon = 1E-9;
+
+    private final FakeMotor left = new FakeMotor(), right = new FakeMotor();
+    private long time;
+    private double pitch, roll;
+
+    private DifferentialDrive differentialDrive() {
+        DifferentialDrive drive = new DifferentialDrive(false, left, right);
+        drive.setClock(() -> time);
+        return drive;
+    }
+
+    @Test
+    void testLimitsEachAxis() {
+        DifferentialDrive drive = differentialDrive();
+        drive.setAccelerationLimits(0, 2, 0);
+
+        // the first call has no time step, so the robot does not start moving yet
+        drive.arcadeDrive(1, 0);
+        assertEquals(0, left.power, kEpsilon);
+
+        time += 100_000_000;
+        drive.arcadeDrive(1, 0);
+        assertEquals(0.2, left.power, kEpsilon);
+        assertEquals(0.2, right.power, kEpsilon);
+
+        // turning is not limited
+        time += 100_000_000;
+        drive.arcadeDrive(1, 0.5);
+        assertEquals(0.9, left.power, kEpsilon);
+        assertEquals(-0.1, right.power, kEpsilon);
+
+        // slowing down is limited as well
+        time += 100_000_000;
+        drive.arcadeDrive(0, 0);
+        assertEquals(0.2, left.power, kEpsilon);
+    }
+
+    @Test
+    void testStopResetsLimiter() {
+        DifferentialDrive drive = differentialDrive();
+        drive.setAccelerationLimits(0, 2, 0);
+        drive.arcadeDrive(1, 0);
+        time += 200_000_000;
+        drive.arcadeDrive(1, 0);
+        assertEquals(0.4, left.power, kEpsilon);
+
+        drive.stop();
+        time += 100_000_000;
+        drive.arcadeDrive(1, 0);
+        assertEquals(0, left.power, kEpsilon);
+        time += 100_000_000;
+        drive.arcadeDrive(1, 0);
+        assertEquals(0.2, left.power, kEpsilon);
+    }
+
+    @Test
+    void testAntiTip() {
+        FakeMotor frontLeft = new FakeMotor(), frontRight = new FakeMotor();
+        FakeMotor backLeft = new FakeMotor(), backRight = new FakeMotor();
+        MecanumDrive drive = new MecanumDrive(false, frontLeft, frontRight, backLeft, backRight);
+        drive.setAntiTip(() -> pitch, () -> roll, 10, 0.02);
+
+        pitch = 5;
+        drive.driveRobotCentric(0, 0, 0);
+        assertEquals(0, frontLeft.power, kEpsilon);
+
+        // the front is up, so the robot backs up to get under itself
+        pitch = 15;
+        drive.driveRobotCentric(0, 0, 0);
+        assertEquals(-0.1, frontLeft.power, kEpsilon);
+        assertEquals(-0.1, frontRight.power, kEpsilon);
+        assertEquals(-0.1, backLeft.power, kEpsilon);
+        assertEquals(-0.1, backRight.power, kEpsilon);
+
+        // leaning right makes it strafe right
+        pitch = 0;
+        roll = 12.5;
+        drive.driveRobotCentric(0, 0, 0);
+        assertEquals(0.05, frontLeft.power, kEpsilon);
+        assertEquals(-0.05, frontRight.power, kEpsilon);
+
+        // the corrected input is clipped, so it does not take away from the turn input
+        roll = 0;
+        pitch = -60;
+        drive.driveRobotCentric(0, 1, 0.5);
+        assertEquals(1, frontLeft.power, kEpsilon);
+        assertEquals(0.5 / 1.5, frontRight.power, kEpsilon);
+
+        drive.disableAntiTip();
+        drive.driveRobotCentric(0, 0, 0);
+        assertEquals(0, frontLeft.power, kEpsilon);
+    }
+
+    @Test
+    void testInvalidArguments() {
+        DifferentialDrive drive = differentialDrive();
+        assertThrows(IllegalArgumentException.class, () -> drive.setAccelerationLimits(-1, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> drive.setAntiTip(() -> 0, () -> 0, -1, 0));
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.arcrobotics.ftclib.drivebase;
+
+import com.arcrobotics.ftclib.hardware.motors.Motor;
+
+/**
+ * A motor without hardware that remembers the last power set, counts writes and
+ * reports a settable encoder rate.
+ */
+class FakeMotor extends Motor {
+    double power;
+    double rate;
+    int writes;
+
+    @Override
+    public void set(double output) {
+        power = output;
+        writes++;
+    }
+
+    @Override
+    public double getRate() {
+        return rate;
+    }
+
+    @Override
+    public void stopMotor() {
+        set(0);
+    }
+}
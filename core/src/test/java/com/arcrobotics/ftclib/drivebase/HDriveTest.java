@@ -0,0 +1,110 @@
+package com.arcrobotics.ftclib.drivebase;
+
+import com.arcrobotics.ftclib.geometry.Vector2d;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HDriveTest {
+    private static final double kEpsilon = 1E-12;
+
+    /**
+     * The three wheel drive math before it was written in closed form.
+     */
+    private static double[] threeWheelReference(double strafeSpeed, double forwardSpeed, double turn,
+                                                double heading, double[] motorAngles) {
+        Vector2d vector = new Vector2d(strafeSpeed, forwardSpeed).rotateBy(-heading);
+        double[] speeds = new double[3];
+        for (int i = 0; i < 3; i++) {
+            Vector2d motorVec = new Vector2d(Math.cos(motorAngles[i]), Math.sin(motorAngles[i]));
+            speeds[i] = vector.scalarProject(motorVec) + turn;
+        }
+        normalize(speeds);
+        return speeds;
+    }
+
+    /**
+     * The four wheel drive math before it was written in closed form.
+     */
+    private static double[] fourWheelReference(double strafeSpeed, double forwardSpeed, double turn,
+                                               double heading) {
+        Vector2d vector = new Vector2d(strafeSpeed, forwardSpeed).rotateBy(-heading);
+        double theta = vector.angle();
+        double[] speeds = {
+                Math.sin(theta + Math.PI / 4), Math.sin(theta - Math.PI / 4),
+                Math.sin(theta - Math.PI / 4), Math.sin(theta + Math.PI / 4)
+        };
+        double maxMagnitude = 0;
+        for (double speed : speeds) {
+            maxMagnitude = Math.max(maxMagnitude, Math.abs(speed));
+        }
+        for (int i = 0; i < 4; i++) {
+            speeds[i] = speeds[i] / maxMagnitude * vector.magnitude();
+        }
+        speeds[0] += turn;
+        speeds[1] -= turn;
+        speeds[2] += turn;
+        speeds[3] -= turn;
+        return speeds;
+    }
+
+    private static void normalize(double[] speeds) {
+        double maxMagnitude = 0;
+        for (double speed : speeds) {
+            maxMagnitude = Math.max(maxMagnitude, Math.abs(speed));
+        }
+        if (maxMagnitude > 1) {
+            for (int i = 0; i < speeds.length; i++) {
+                speeds[i] /= maxMagnitude;
+            }
+        }
+    }
+
+    @Test
+    void testThreeWheelsMatchReference() {
+        FakeMotor left = new FakeMotor(), right = new FakeMotor(), slide = new FakeMotor();
+        double[] angles = {2 * Math.PI / 3, Math.PI / 3, 3 * Math.PI / 2};
+        HDrive drive = new HDrive(left, right, slide, angles[0], angles[1], angles[2]);
+
+        Random random = new Random(11);
+        for (int i = 0; i < 10000; i++) {
+            double strafe = random.nextDouble() * 2 - 1;
+            double forward = random.nextDouble() * 2 - 1;
+            double turn = random.nextDouble() * 2 - 1;
+            double heading = random.nextDouble() * 720 - 360;
+
+            double[] expected = threeWheelReference(strafe, forward, turn, heading, angles);
+            drive.driveFieldCentric(strafe, forward, turn, heading);
+            // the left and right motors are given each other's speed
+            assertEquals(expected[1], left.power, kEpsilon);
+            assertEquals(expected[0], right.power, kEpsilon);
+            assertEquals(expected[2], slide.power, kEpsilon);
+        }
+    }
+
+    @Test
+    void testFourWheelsMatchReference() {
+        FakeMotor frontLeft = new FakeMotor(), frontRight = new FakeMotor();
+        FakeMotor backLeft = new FakeMotor(), backRight = new FakeMotor();
+        HDrive drive = new HDrive(frontLeft, frontRight, backLeft, backRight);
+
+        Random random = new Random(13);
+        for (int i = 0; i < 10000; i++) {
+            double strafe = i % 10 == 0 ? 0 : random.nextDouble() * 2 - 1;
+            double forward = i % 10 == 0 ? 0 : random.nextDouble() * 2 - 1;
+            double turn = random.nextDouble() * 2 - 1;
+            double heading = random.nextDouble() * 720 - 360;
+
+            double[] expected = fourWheelReference(strafe, forward, turn, heading);
+            drive.driveFieldCentric(strafe, forward, turn, heading);
+            assertEquals(expected[0], frontLeft.power, kEpsilon);
+            assertEquals(-expected[1], frontRight.power, kEpsilon);
+            assertEquals(expected[2], backLeft.power, kEpsilon);
+            assertEquals(-expected[3], backRight.power, kEpsilon);
+        }
+    }
+
+}
@@ -4,7 +4,10 @@ import com.arcrobotics.ftclib.geometry.Vector2d;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class MecanumDriveTest {
 
@@ -94,4 +97,35 @@ public class MecanumDriveTest {
         assertArrayEquals(speeds, driveFieldCentric(0, 1, 0, -90), 0.05);
     }
 
+    @Test
+    public void testMatchesReferenceImplementation() {
+        FakeMotor frontLeft = new FakeMotor(), frontRight = new FakeMotor();
+        FakeMotor backLeft = new FakeMotor(), backRight = new FakeMotor();
+        MecanumDrive drive = new MecanumDrive(false, frontLeft, frontRight, backLeft, backRight);
+
+        Random random = new Random(7);
+        for (int i = 0; i < 10000; i++) {
+            double strafe = random.nextDouble() * 2.4 - 1.2;
+            double forward = random.nextDouble() * 2.4 - 1.2;
+            double turn = random.nextDouble() * 2.4 - 1.2;
+            double heading = random.nextDouble() * 720 - 360;
+            // also cover the axes and no input, where the direction has no angle
+            if (i % 10 == 0) {
+                strafe = 0;
+            } else if (i % 10 == 1) {
+                forward = 0;
+                turn = 0;
+            } else if (i % 10 == 2) {
+                strafe = forward = 0;
+            }
+
+            double[] expected = driveFieldCentric(strafe, forward, turn, heading);
+            drive.driveFieldCentric(strafe, forward, turn, heading);
+            assertEquals(expected[0], frontLeft.power, 1E-12);
+            assertEquals(expected[1], frontRight.power, 1E-12);
+            assertEquals(expected[2], backLeft.power, 1E-12);
+            assertEquals(expected[3], backRight.power, 1E-12);
+        }
+    }
+
 }
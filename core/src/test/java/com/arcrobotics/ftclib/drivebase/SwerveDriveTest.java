@@ -0,0 +1,95 @@
+package com.arcrobotics.ftclib.drivebase;
+
+import com.arcrobotics.ftclib.geometry.Translation2d;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SwerveDriveTest {
+    private static final double kEpsilon = 1E-9;
+
+    private final FakeMotor[] drive = new FakeMotor[4];
+    private final FakeMotor[] steer = new FakeMotor[4];
+    private final double[] angles = new double[4];
+    private SwerveDrive swerve;
+
+    @BeforeEach
+    void setup() {
+        Translation2d[] locations = {
+                new Translation2d(0.2, 0.2), new Translation2d(0.2, -0.2),
+                new Translation2d(-0.2, 0.2), new Translation2d(-0.2, -0.2)
+        };
+        SwerveModule[] modules = new SwerveModule[4];
+        for (int i = 0; i < 4; i++) {
+            drive[i] = new FakeMotor();
+            steer[i] = new FakeMotor();
+            int index = i;
+            modules[i] = new SwerveModule(locations[i], drive[i], steer[i], () -> angles[index], 1);
+        }
+        swerve = new SwerveDrive(2, modules);
+    }
+
+    @Test
+    void testDriveForward() {
+        swerve.driveRobotCentric(0, 0.5, 0);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0.5, drive[i].power, kEpsilon);
+            assertEquals(0, steer[i].power, kEpsilon);
+        }
+    }
+
+    @Test
+    void testDrivesBackwardsInsteadOfTurningAround() {
+        angles[0] = Math.PI - 0.1;
+        swerve.driveRobotCentric(0, 1, 0);
+
+        // the wheel turns 0.1 rad further instead of 3.04 rad back, and drives backwards
+        assertEquals(-Math.cos(0.1), drive[0].power, kEpsilon);
+        assertEquals(0.1, steer[0].power, kEpsilon);
+    }
+
+    @Test
+    void testDesaturation() {
+        swerve.driveRobotCentric(1, 1, 1);
+        // every error is a multiple of 45 degrees, so the steering power is the error and
+        // dividing by its cosine gives the module speed before the alignment scaling
+        double max = 0;
+        for (int i = 0; i < 4; i++) {
+            max = Math.max(max, Math.abs(drive[i].power / Math.cos(steer[i].power)));
+        }
+        assertEquals(1, max, 1E-6);
+    }
+
+    @Test
+    void testSkipsUnchangedWrites() {
+        swerve.driveRobotCentric(0, 0.5, 0);
+        swerve.driveRobotCentric(0, 0.5, 0);
+        swerve.driveRobotCentric(0, 0.5005, 0);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(1, drive[i].writes);
+            assertEquals(1, steer[i].writes);
+        }
+
+        swerve.stop();
+        assertEquals(0, drive[0].power, kEpsilon);
+        assertEquals(2, drive[0].writes);
+    }
+
+    @Test
+    void testKeepsAngleWhenStopped() {
+        // strafe left, so the wheels point at 90 degrees
+        angles[0] = Math.PI / 2;
+        swerve.driveRobotCentric(-1, 0, 0);
+        assertEquals(0, steer[0].power, kEpsilon);
+
+        // with no input the wheel does not turn back to face forward
+        swerve.driveRobotCentric(0, 0, 0);
+        assertEquals(0, drive[0].power, kEpsilon);
+        assertEquals(0, steer[0].power, kEpsilon);
+        assertTrue(steer[0].writes <= 1);
+    }
+
+}
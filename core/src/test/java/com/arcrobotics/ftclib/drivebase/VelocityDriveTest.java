@@ -0,0 +1,181 @@
+package com.arcrobotics.ftclib.drivebase;
+
+import com.arcrobotics.ftclib.controller.wpilibcontroller.SimpleMotorFeedforward;
+import com.arcrobotics.ftclib.geometry.Translation2d;
+import com.arcrobotics.ftclib.kinematics.wpilibkinematics.ChassisSpeeds;
+import com.arcrobotics.ftclib.kinematics.wpilibkinematics.DifferentialDriveKinematics;
+import com.arcrobotics.ftclib.kinematics.wpilibkinematics.MecanumDriveKinematics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class VelocityDriveTest {
+    private static final double kEpsilon = 1E-9;
+
+    private final FakeMotor left = new FakeMotor(), right = new FakeMotor();
+    private long time;
+
+    private DifferentialDrive differentialDrive() {
+        DifferentialDrive drive = new DifferentialDrive(left, right);
+        drive.setKinematics(new DifferentialDriveKinematics(1));
+        drive.setClock(() -> time);
+        return drive;
+    }
+
+    @Test
+    void testFeedforward() {
+        DifferentialDrive drive = differentialDrive();
+        drive.setVelocityControl(new SimpleMotorFeedforward(0.05, 0.5), 0, 0, 0, 2);
+
+        drive.drive(new ChassisSpeeds(1, 0, 0.5));
+        assertEquals(0.05 + 0.5 * 0.75, left.power, kEpsilon);
+        // the right side is inverted by default
+        assertEquals(-(0.05 + 0.5 * 1.25), right.power, kEpsilon);
+    }
+
+    @Test
+    void testMaxSpeedDoesNotScaleVelocityControl() {
+        DifferentialDrive drive = differentialDrive();
+        drive.setVelocityControl(new SimpleMotorFeedforward(0.05, 0.5), 0, 0, 0, 2);
+        drive.setMaxSpeed(0.5);
+
+        drive.drive(new ChassisSpeeds(1, 0, 0.5));
+        assertEquals(0.05 + 0.5 * 0.75, left.power, kEpsilon);
+        assertEquals(-(0.05 + 0.5 * 1.25), right.power, kEpsilon);
+    }
+
+    @Test
+    void testDesaturation() {
+        DifferentialDrive drive = differentialDrive();
+        drive.setVelocityControl(new SimpleMotorFeedforward(0, 0.5), 0, 0, 0, 1);
+
+        // the wheels would go 1.5 and 3.5, which is slowed down to keep the ratio
+        drive.drive(new ChassisSpeeds(2.5, 0, 2));
+        assertEquals(0.5 * 1.5 / 3.5, left.power, kEpsilon);
+        assertEquals(-0.5, right.power, kEpsilon);
+    }
+
+    @Test
+    void testSharedTimeStep() {
+        DifferentialDrive drive = differentialDrive();
+        drive.setVelocityControl(new SimpleMotorFeedforward(0, 0, 0.1), 0.2, 1, 0.01, 2);
+        left.rate = 0.5;
+        // the right encoder counts backwards because the right side is inverted
+        right.rate = -0.5;
+
+        // the first update has no time step, so there is no acceleration, integral or derivative
+        drive.drive(new ChassisSpeeds(1, 0, 0));
+        assertEquals(0.2 * 0.5, left.power, kEpsilon);
+        assertEquals(-0.2 * 0.5, right.power, kEpsilon);
+
+        time += 100_000_000;
+        left.rate = 0.75;
+        drive.drive(new ChassisSpeeds(1.5, 0, 0));
+        // acceleration 5, error 0.75 with an integral of 0.075 and a derivative of 2.5
+        assertEquals(0.1 * 5 + 0.2 * 0.75 + 0.075 + 0.01 * 2.5, left.power, kEpsilon);
+        // error 1 with an integral of 0.1 and a derivative of 5
+        assertEquals(-(0.1 * 5 + 0.2 + 0.1 + 0.01 * 5), right.power, kEpsilon);
+    }
+
+    @Test
+    void testMecanum() {
+        FakeMotor frontLeft = new FakeMotor(), frontRight = new FakeMotor();
+        FakeMotor backLeft = new FakeMotor(), backRight = new FakeMotor();
+        MecanumDrive drive = new MecanumDrive(frontLeft, frontRight, backLeft, backRight);
+        drive.setKinematics(new MecanumDriveKinematics(
+                new Translation2d(1, 1), new Translation2d(1, -1),
+                new Translation2d(-1, 1), new Translation2d(-1, -1)));
+        drive.setVelocityControl(new SimpleMotorFeedforward(0, 1), 0, 0, 0, 10);
+
+        drive.drive(new ChassisSpeeds(0, Math.sqrt(2), 0));
+        // strafing left spins the front left and back right wheels backwards
+        assertEquals(-1, frontLeft.power, kEpsilon);
+        assertEquals(-1, frontRight.power, kEpsilon);
+        assertEquals(1, backLeft.power, kEpsilon);
+        assertEquals(1, backRight.power, kEpsilon);
+    }
+
+    @Test
+    void testHDrive() {
+        FakeMotor slide = new FakeMotor();
+        HDrive drive = new HDrive(left, right, slide);
+        drive.setTrackRadius(0.5);
+        drive.setVelocityControl(new SimpleMotorFeedforward(0, 1), 0, 0, 0, 10);
+
+        // like the other drive methods, the left motor is driven at the right angle
+        drive.drive(new ChassisSpeeds(0.5, 0, 0));
+        assertEquals(0.5 * Math.sin(HDrive.kDefaultRightMotorAngle), left.power, kEpsilon);
+        assertEquals(0.5 * Math.sin(HDrive.kDefaultLeftMotorAngle), right.power, kEpsilon);
+        assertEquals(0.5 * Math.sin(HDrive.kDefaultSlideMotorAngle), slide.power, kEpsilon);
+
+        // turning counterclockwise is a negative turn input on every wheel
+        drive.drive(new ChassisSpeeds(0, 0, 2));
+        assertEquals(-1, left.power, kEpsilon);
+        assertEquals(-1, right.power, kEpsilon);
+        assertEquals(-1, slide.power, kEpsilon);
+    }
+
+    @Test
+    void testFourWheelHDrive() {
+        FakeMotor frontLeft = new FakeMotor(), frontRight = new FakeMotor();
+        FakeMotor backLeft = new FakeMotor(), backRight = new FakeMotor();
+        HDrive drive = new HDrive(frontLeft, frontRight, backLeft, backRight);
+        drive.setTrackRadius(1);
+        drive.setVelocityControl(new SimpleMotorFeedforward(0, 0.5), 0.25, 0, 0, 10);
+        frontRight.rate = -1;
+
+        drive.drive(new ChassisSpeeds(Math.sqrt(2), 0, 0));
+        // the front right motor is given negated power and counts backwards, so it is on target
+        assertEquals(0.5 + 0.25, frontLeft.power, kEpsilon);
+        assertEquals(-0.5, frontRight.power, kEpsilon);
+        assertEquals(0.5 + 0.25, backLeft.power, kEpsilon);
+        assertEquals(-(0.5 + 0.25), backRight.power, kEpsilon);
+    }
+
+    @Test
+    void testSwerve() {
+        Translation2d[] locations = {
+                new Translation2d(0.2, 0.2), new Translation2d(0.2, -0.2),
+                new Translation2d(-0.2, 0.2), new Translation2d(-0.2, -0.2)
+        };
+        FakeMotor[] driveMotors = new FakeMotor[4];
+        SwerveModule[] modules = new SwerveModule[4];
+        for (int i = 0; i < 4; i++) {
+            driveMotors[i] = new FakeMotor();
+            // every wheel points forward
+            modules[i] = new SwerveModule(locations[i], driveMotors[i], new FakeMotor(), () -> 0, 1);
+        }
+        SwerveDrive drive = new SwerveDrive(2, modules);
+        drive.setClock(() -> time);
+        drive.setMaxSpeed(0.8);
+
+        // without velocity control the speed is turned into power in proportion to the max module speed
+        drive.drive(new ChassisSpeeds(1, 0, 0));
+        assertEquals(0.5 * 0.8, driveMotors[0].power, kEpsilon);
+
+        drive.setVelocityControl(new SimpleMotorFeedforward(0.1, 0.2), 1, 0, 0, 2);
+        driveMotors[0].rate = 0.75;
+        driveMotors[1].rate = 1;
+        drive.drive(new ChassisSpeeds(1, 0, 0));
+        assertEquals(0.1 + 0.2 + 0.25, driveMotors[0].power, kEpsilon);
+        assertEquals(0.1 + 0.2, driveMotors[1].power, kEpsilon);
+
+        // driving backwards leaves the wheels facing forward, so the speed along them is negative
+        driveMotors[0].rate = -1;
+        drive.drive(new ChassisSpeeds(-1, 0, 0));
+        assertEquals(-(0.1 + 0.2), driveMotors[0].power, kEpsilon);
+    }
+
+    @Test
+    void testRequiresSetup() {
+        DifferentialDrive drive = differentialDrive();
+        assertThrows(IllegalStateException.class, () -> drive.drive(new ChassisSpeeds()));
+        assertThrows(IllegalStateException.class,
+                () -> new HDrive(left, right, new FakeMotor()).drive(new ChassisSpeeds()));
+        assertThrows(IllegalArgumentException.class,
+                () -> drive.setVelocityControl(new SimpleMotorFeedforward(0, 1), 0, 0, 0, 0));
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.arcrobotics.ftclib.geometry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class MutablePose2dTest {
+    private static final double kEpsilon = 1E-9;
+
+    @Test
+    void testPlusInPlaceMatchesPose2d() {
+        Pose2d initial = new Pose2d(new Translation2d(1.0, 2.0), Rotation2d.fromDegrees(45.0));
+        Transform2d transformation = new Transform2d(new Translation2d(5.0, 0.0),
+                Rotation2d.fromDegrees(5.0));
+
+        MutablePose2d pose = new MutablePose2d(initial);
+        assertSame(pose, pose.plusInPlace(transformation));
+        assertEquals(initial.plus(transformation), pose.toPose2d());
+    }
+
+    @Test
+    void testExpInPlaceMatchesPose2d() {
+        Pose2d start = new Pose2d(3.0, -1.0, Rotation2d.fromDegrees(170.0));
+        MutablePose2d pose = new MutablePose2d(start);
+        Twist2d[] twists = {
+                new Twist2d(1.0, 0.5, Math.toRadians(30)),
+                new Twist2d(0.2, 0.0, 0.0),
+                new Twist2d(-0.5, 1.0, Math.toRadians(-100))
+        };
+
+        Pose2d expected = start;
+        for (Twist2d twist : twists) {
+            expected = expected.exp(twist);
+            pose.expInPlace(twist);
+            assertEquals(expected, pose.toPose2d());
+        }
+    }
+
+    @Test
+    void testExpIntoDestination() {
+        MutablePose2d start = new MutablePose2d(1.0, 1.0, 0.0);
+        MutablePose2d dest = new MutablePose2d();
+        start.exp(new Twist2d(1.0, 0.0, 0.0), dest);
+
+        assertAll(
+                () -> assertEquals(1.0, start.getX(), kEpsilon),
+                () -> assertEquals(2.0, dest.getX(), kEpsilon),
+                () -> assertEquals(1.0, dest.getY(), kEpsilon)
+        );
+    }
+
+    @Test
+    void testRelativeToMatchesPose2d() {
+        Pose2d origin = new Pose2d(1.0, 2.0, Rotation2d.fromDegrees(120.0));
+        Pose2d last = new Pose2d(-4.0, 5.0, Rotation2d.fromDegrees(-150.0));
+
+        MutablePose2d dest = new MutablePose2d();
+        new MutablePose2d(last).relativeTo(new MutablePose2d(origin), dest);
+        assertEquals(last.relativeTo(origin), dest.toPose2d());
+
+        // the result may be written over the origin
+        MutablePose2d mutableOrigin = new MutablePose2d(origin);
+        new MutablePose2d(last).relativeTo(mutableOrigin, mutableOrigin);
+        assertEquals(last.relativeTo(origin), mutableOrigin.toPose2d());
+    }
+
+    @Test
+    void testLogMatchesPose2d() {
+        Pose2d start = new Pose2d(0.5, -2.0, Rotation2d.fromDegrees(10.0));
+        Pose2d end = new Pose2d(3.0, 1.0, Rotation2d.fromDegrees(80.0));
+
+        Twist2d twist = new MutablePose2d(start).log(new MutablePose2d(end), new Twist2d());
+        assertEquals(start.log(end), twist);
+    }
+
+    @Test
+    void testRotationStaysBounded() {
+        MutableRotation2d rotation = new MutableRotation2d(Math.toRadians(170));
+        rotation.plusInPlace(Rotation2d.fromDegrees(30));
+        assertEquals(-160.0, rotation.getDegrees(), kEpsilon);
+
+        rotation.minusInPlace(new MutableRotation2d(Math.toRadians(40)));
+        assertEquals(160.0, rotation.getDegrees(), kEpsilon);
+    }
+
+    @Test
+    void testTransformBetweenPoses() {
+        Pose2d initial = new Pose2d(0.0, 0.0, Rotation2d.fromDegrees(45.0));
+        Pose2d last = new Pose2d(5.0, 5.0, Rotation2d.fromDegrees(45.0));
+
+        MutableTransform2d transform = new MutableTransform2d()
+                .set(new MutablePose2d(initial), new MutablePose2d(last));
+
+        assertAll(
+                () -> assertEquals(5.0 * Math.sqrt(2.0), transform.getTranslation().getX(), kEpsilon),
+                () -> assertEquals(0.0, transform.getTranslation().getY(), kEpsilon),
+                () -> assertEquals(0.0, transform.getRotation().getRadians(), kEpsilon)
+        );
+    }
+}
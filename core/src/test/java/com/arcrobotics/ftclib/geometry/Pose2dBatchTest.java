@@ -0,0 +1,75 @@
+package com.arcrobotics.ftclib.geometry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class Pose2dBatchTest {
+    private static final double kEpsilon = 1E-9;
+
+    private Pose2d[] poses;
+    private Pose2dBatch batch;
+
+    @BeforeEach
+    void setup() {
+        poses = new Pose2d[]{
+                new Pose2d(),
+                new Pose2d(1.0, 2.0, Rotation2d.fromDegrees(30)),
+                new Pose2d(-3.0, 0.5, Rotation2d.fromDegrees(-170)),
+                new Pose2d(4.0, -4.0, Rotation2d.fromDegrees(90))
+        };
+        batch = new Pose2dBatch(poses);
+    }
+
+    @Test
+    void testRoundTrip() {
+        assertEquals(poses.length, batch.size());
+        for (int i = 0; i < poses.length; i++) {
+            assertEquals(poses[i], batch.get(i));
+            assertEquals(poses[i].getHeading(), batch.getHeading(i), kEpsilon);
+            assertEquals(poses[i], batch.get(i, new MutablePose2d()).toPose2d());
+        }
+    }
+
+    @Test
+    void testRelativeToMatchesPose2d() {
+        Pose2d origin = new Pose2d(2.0, -1.0, Rotation2d.fromDegrees(135));
+        batch.relativeToInPlace(origin);
+        for (int i = 0; i < poses.length; i++) {
+            assertEquals(poses[i].relativeTo(origin), batch.get(i));
+        }
+    }
+
+    @Test
+    void testTransformMatchesPose2d() {
+        Pose2d from = poses[1];
+        Pose2d to = from.plus(new Transform2d(new Translation2d(5.0, -2.0), Rotation2d.fromDegrees(45)));
+        batch.transformInPlace(from, to);
+        for (int i = 0; i < poses.length; i++) {
+            assertEquals(to.plus(poses[i].minus(from)), batch.get(i));
+        }
+    }
+
+    @Test
+    void testMirror() {
+        batch.mirrorAcrossYInPlace(72.0);
+        assertEquals(new Pose2d(143.0, 2.0, Rotation2d.fromDegrees(150)), batch.get(1));
+
+        batch.mirrorAcrossXInPlace(0.0);
+        assertEquals(new Pose2d(143.0, -2.0, Rotation2d.fromDegrees(-150)), batch.get(1));
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        Pose2dBatch copy = batch.copy();
+        batch.mirrorAcrossXInPlace(0.0);
+        assertEquals(poses[1], copy.get(1));
+    }
+
+    @Test
+    void testNegativeSize() {
+        assertThrows(IllegalArgumentException.class, () -> new Pose2dBatch(-1));
+    }
+}
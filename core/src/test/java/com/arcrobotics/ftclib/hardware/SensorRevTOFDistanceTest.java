@@ -0,0 +1,77 @@
+package com.arcrobotics.ftclib.hardware;
+
+import com.arcrobotics.ftclib.hardware.SensorDistanceEx.DistanceTarget;
+import com.qualcomm.robotcore.hardware.DistanceSensor;
+
+import org.firstinspires.ftc.robotcore.external.navigation.DistanceUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SensorRevTOFDistanceTest {
+
+    private DistanceSensor distanceSensor;
+    private SensorRevTOFDistance sensor;
+    private DistanceTarget near, middle, far, wide;
+
+    @BeforeEach
+    public void setup() {
+        distanceSensor = mock(DistanceSensor.class);
+        when(distanceSensor.getDistance(any(DistanceUnit.class))).thenAnswer(invocation ->
+                ((DistanceUnit) invocation.getArgument(0)).fromUnit(DistanceUnit.CM, 30));
+
+        near = new DistanceTarget(DistanceUnit.CM, 10, 2);
+        middle = new DistanceTarget(DistanceUnit.MM, 300, 10);
+        far = new DistanceTarget(DistanceUnit.METER, 1, 0.1);
+        wide = new DistanceTarget(DistanceUnit.CM, 50, 25);
+        sensor = new SensorRevTOFDistance(distanceSensor, Arrays.asList(near, middle, far, wide));
+    }
+
+    @Test
+    public void singleReadPerCheck() {
+        sensor.checkTargets();
+        verify(distanceSensor, times(1)).getDistance(any(DistanceUnit.class));
+
+        sensor.checkAllTargets();
+        verify(distanceSensor, times(2)).getDistance(any(DistanceUnit.class));
+    }
+
+    @Test
+    public void overlappingTargets() {
+        BitSet reached = sensor.checkTargets();
+        assertFalse(reached.get(0));
+        assertTrue(reached.get(1));
+        assertFalse(reached.get(2));
+        assertTrue(reached.get(3));
+
+        Map<DistanceTarget, Boolean> results = sensor.checkAllTargets();
+        assertEquals(4, results.size());
+        assertTrue(results.get(middle));
+        assertTrue(results.get(wide));
+        assertFalse(results.get(near));
+        assertFalse(results.get(far));
+    }
+
+    @Test
+    public void reindexOnChange() {
+        near.setTarget(29);
+        assertTrue(sensor.checkTargets().get(0));
+
+        DistanceTarget added = new DistanceTarget(DistanceUnit.INCH, 12, 1);
+        sensor.addTarget(added);
+        assertTrue(sensor.checkTargets().get(4));
+    }
+
+}
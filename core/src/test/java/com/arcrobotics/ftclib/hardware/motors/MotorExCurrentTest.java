@@ -0,0 +1,71 @@
+package com.arcrobotics.ftclib.hardware.motors;
+
+import com.arcrobotics.ftclib.hardware.sim.DcMotorSim;
+import com.arcrobotics.ftclib.hardware.sim.SimHardwareMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MotorExCurrentTest {
+
+    private static final double kDt = 0.005;
+
+    private SimHardwareMap hardwareMap;
+    private DcMotorSim model;
+    private MotorEx lift;
+
+    @BeforeEach
+    public void setup() {
+        hardwareMap = new SimHardwareMap();
+        model = hardwareMap.addMotor("lift", Motor.GoBILDA.RPM_312).getModel();
+        lift = new MotorEx(hardwareMap, "lift", Motor.GoBILDA.RPM_312);
+        lift.setCurrentSamplePeriod(0);
+    }
+
+    @Test
+    public void detectsStallAgainstHardStop() {
+        lift.setStallDetection(5, 20, 0);
+
+        hardwareMap.run(0.5, kDt, () -> lift.set(0.3));
+        assertFalse(lift.isStalled());
+
+        // a load that exactly cancels the full power torque holds the motor still
+        model.setLoadTorque(2.77);
+        hardwareMap.run(0.5, kDt, () -> lift.set(1));
+        assertTrue(lift.getFilteredCurrent() > 5);
+        assertTrue(lift.isStalled());
+    }
+
+    @Test
+    public void currentLimitScalesOutput() {
+        model.setLoadInertia(0.05);
+        lift.setCurrentLimit(4);
+
+        double[] peak = {0};
+        hardwareMap.run(0.5, kDt, () -> {
+            lift.set(1);
+            if (hardwareMap.getTime() > 0.1) {
+                peak[0] = Math.max(peak[0], model.getCurrent());
+            }
+        });
+
+        assertTrue(lift.getCurrentLimitScale() < 1);
+        assertEquals(4, peak[0], 0.5);
+
+        lift.disableCurrentLimit();
+        assertEquals(1, lift.getCurrentLimitScale());
+    }
+
+    @Test
+    public void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> lift.setCurrentLimit(0));
+        assertThrows(IllegalArgumentException.class, () -> lift.setCurrentFilterGain(0));
+        assertThrows(IllegalArgumentException.class, () -> lift.setStallDetection(-1, 0, 0));
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.arcrobotics.ftclib.hardware.profiling;
+
+import com.arcrobotics.ftclib.hardware.motors.Motor;
+import com.arcrobotics.ftclib.hardware.motors.MotorEx;
+import com.arcrobotics.ftclib.hardware.sim.SimHardwareMap;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+import com.qualcomm.robotcore.hardware.HardwareDevice;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HardwareProfilerTest {
+
+    private HardwareProfiler profiler;
+    private HardwareMap hardwareMap;
+
+    @BeforeEach
+    public void setup() {
+        SimHardwareMap simHardwareMap = new SimHardwareMap();
+        simHardwareMap.addMotor("lift", Motor.GoBILDA.RPM_312);
+        profiler = new HardwareProfiler();
+        hardwareMap = profiler.wrap(simHardwareMap);
+    }
+
+    @Test
+    public void countsReadsAndWritesPerLoop() {
+        MotorEx lift = new MotorEx(hardwareMap, "lift", Motor.GoBILDA.RPM_312);
+        profiler.nextLoop();
+
+        lift.set(0.5);
+        lift.getCurrentPosition();
+        lift.getCurrentPosition();
+        profiler.nextLoop();
+
+        assertEquals(2, profiler.getLoopReads());
+        assertTrue(profiler.getLoopWrites() >= 1);
+        assertTrue(profiler.getLoopDeviceNanos() <= profiler.getLoopNanos());
+        assertTrue(profiler.getReport().contains("lift.getCurrentPosition read: 2 x"));
+
+        profiler.nextLoop();
+        assertEquals(0, profiler.getLoopReads());
+        assertEquals(0, profiler.getLoopWrites());
+    }
+
+    @Test
+    public void sameDeviceIsProfiledOnce() {
+        DcMotorEx first = hardwareMap.get(DcMotorEx.class, "lift");
+        DcMotorEx second = hardwareMap.get(DcMotorEx.class, "lift");
+        assertSame(first, second);
+
+        first.getCurrentPosition();
+        second.getCurrentPosition();
+        profiler.nextLoop();
+
+        long tracked = profiler.getStats().stream()
+                .filter(stats -> stats.getMethod().equals("getCurrentPosition"))
+                .count();
+        assertEquals(1, tracked);
+        assertEquals(2, profiler.getLoopReads());
+    }
+
+    @Test
+    public void otherAccessorsAreProfiled() {
+        DcMotorEx lift = hardwareMap.get(DcMotorEx.class, "lift");
+        assertSame(lift, hardwareMap.get("lift"));
+        assertSame(lift, hardwareMap.tryGet(DcMotorEx.class, "lift"));
+        assertNull(hardwareMap.tryGet(DcMotorEx.class, "intake"));
+        assertSame(lift, hardwareMap.getAll(DcMotorEx.class).get(0));
+        assertEquals("lift", hardwareMap.getNamesOf(lift).iterator().next());
+
+        int devices = 0;
+        for (HardwareDevice device : hardwareMap) {
+            if (device == lift) {
+                devices++;
+            }
+        }
+        assertEquals(1, devices);
+        assertEquals(hardwareMap.size(), hardwareMap.getAll(HardwareDevice.class).size());
+
+        ((DcMotorEx) hardwareMap.get("lift")).getCurrentPosition();
+        profiler.nextLoop();
+        assertEquals(1, profiler.getLoopReads());
+    }
+
+}
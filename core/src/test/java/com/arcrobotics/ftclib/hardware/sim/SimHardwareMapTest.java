@@ -0,0 +1,149 @@
+package com.arcrobotics.ftclib.hardware.sim;
+
+import com.arcrobotics.ftclib.drivebase.MecanumDrive;
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.arcrobotics.ftclib.hardware.RevIMU;
+import com.arcrobotics.ftclib.hardware.SensorRevTOFDistance;
+import com.arcrobotics.ftclib.hardware.motors.Motor;
+import com.arcrobotics.ftclib.hardware.motors.MotorEx;
+import com.arcrobotics.ftclib.kinematics.HolonomicOdometry;
+import com.arcrobotics.ftclib.util.Clock;
+import com.arcrobotics.ftclib.util.SlewRateLimiter;
+import com.arcrobotics.ftclib.util.Timing;
+import com.qualcomm.hardware.bosch.BNO055IMU;
+
+import org.firstinspires.ftc.robotcore.external.navigation.DistanceUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SimHardwareMapTest {
+
+    private static final double kDt = 0.005;
+
+    private SimHardwareMap hardwareMap;
+    private MecanumDrive drive;
+
+    @BeforeEach
+    public void setup() {
+        hardwareMap = new SimHardwareMap();
+        hardwareMap.addMecanumChassis("fL", "fR", "bL", "bR", Motor.GoBILDA.RPM_312,
+                0.048, 0.35, 0.3, 12);
+        drive = new MecanumDrive(
+                new Motor(hardwareMap, "fL", Motor.GoBILDA.RPM_312),
+                new Motor(hardwareMap, "fR", Motor.GoBILDA.RPM_312),
+                new Motor(hardwareMap, "bL", Motor.GoBILDA.RPM_312),
+                new Motor(hardwareMap, "bR", Motor.GoBILDA.RPM_312)
+        );
+    }
+
+    @AfterEach
+    public void restoreClock() {
+        Clock.useSystemTime();
+    }
+
+    @Test
+    public void clockFollowsSimulatedTime() {
+        hardwareMap.useSimulatedTime();
+        hardwareMap.addIMU();
+        BNO055IMU imu = hardwareMap.get(BNO055IMU.class, "imu");
+        Timing.Timer timer = new Timing.Timer(1);
+        SlewRateLimiter limiter = new SlewRateLimiter(1);
+        timer.start();
+
+        hardwareMap.run(0.5, kDt, () -> limiter.calculate(1));
+        assertFalse(timer.done());
+        assertEquals(0.5, limiter.calculate(1), 1E-9);
+        assertEquals(500_000_000L, imu.getAngularOrientation().acquisitionTime);
+
+        hardwareMap.run(0.5, kDt, () -> { });
+        assertTrue(timer.done());
+        assertEquals(1, hardwareMap.getTime(), 1E-9);
+    }
+
+    @Test
+    public void motorReachesFreeSpeed() {
+        hardwareMap.addMotor("lift", Motor.GoBILDA.RPM_312);
+        MotorEx lift = new MotorEx(hardwareMap, "lift", Motor.GoBILDA.RPM_312);
+
+        lift.set(1);
+        hardwareMap.run(1, kDt, () -> { });
+
+        double freeSpeed = Motor.GoBILDA.RPM_312.getAchievableMaxTicksPerSecond();
+        assertEquals(freeSpeed, lift.getVelocity(), freeSpeed * 0.05);
+        assertTrue(lift.getCurrentPosition() > 0);
+    }
+
+    @Test
+    public void driveForward() {
+        hardwareMap.run(1, kDt, () -> drive.driveRobotCentric(0, 0.5, 0));
+
+        Pose2d pose = hardwareMap.getRobotPose();
+        assertTrue(pose.getX() > 0.3);
+        assertEquals(0, pose.getY(), 1E-6);
+        assertEquals(0, pose.getHeading(), 1E-6);
+    }
+
+    @Test
+    public void imuFollowsChassis() {
+        hardwareMap.addIMU();
+        RevIMU imu = new RevIMU(hardwareMap);
+        imu.init();
+
+        hardwareMap.run(0.5, kDt, () -> drive.driveRobotCentric(0, 0, 0.3));
+
+        double heading = hardwareMap.getRobotPose().getRotation().getDegrees();
+        assertTrue(Math.abs(heading) > 10);
+        assertEquals(heading, imu.getHeading(), 1E-3);
+    }
+
+    @Test
+    public void distanceSensorSeesWall() {
+        hardwareMap.addDistanceSensor("distance", new Pose2d(0.2, 0, new Rotation2d()));
+        SensorRevTOFDistance sensor = new SensorRevTOFDistance(hardwareMap, "distance");
+
+        assertEquals(SimField.kFieldSize / 2 - 0.2, sensor.getDistance(DistanceUnit.METER), 1E-9);
+        hardwareMap.run(1, kDt, () -> drive.driveRobotCentric(0, 0.5, 0));
+        assertEquals(SimField.kFieldSize / 2 - 0.2 - hardwareMap.getRobotPose().getX(),
+                sensor.getDistance(DistanceUnit.METER), 1E-9);
+    }
+
+    @Test
+    public void deadWheelOdometry() {
+        double radius = 0.024, cpr = 8192;
+        hardwareMap.addDeadWheel("left", new Pose2d(0, 0.15, new Rotation2d()), radius, cpr);
+        hardwareMap.addDeadWheel("right", new Pose2d(0, -0.15, new Rotation2d()), radius, cpr);
+        hardwareMap.addDeadWheel("center", new Pose2d(-0.1, 0, Rotation2d.fromDegrees(90)), radius, cpr);
+
+        double distancePerPulse = 2 * Math.PI * radius / cpr;
+        MotorEx left = new MotorEx(hardwareMap, "left");
+        MotorEx right = new MotorEx(hardwareMap, "right");
+        MotorEx center = new MotorEx(hardwareMap, "center");
+        left.setDistancePerPulse(distancePerPulse);
+        right.setDistancePerPulse(distancePerPulse);
+        center.setDistancePerPulse(distancePerPulse);
+
+        // the odometry takes the heading as (left - right) / trackWidth, which is clockwise
+        // positive, so the sides are swapped to keep the pose counterclockwise positive
+        HolonomicOdometry odometry = new HolonomicOdometry(
+                right::getDistance, left::getDistance, center::getDistance, 0.3, -0.1);
+
+        hardwareMap.run(3, kDt, () -> {
+            drive.driveRobotCentric(0.4, 0.6, 0.2);
+            odometry.updatePose();
+        });
+        odometry.updatePose();
+
+        Pose2d actual = hardwareMap.getRobotPose();
+        Pose2d measured = odometry.getPose();
+        assertEquals(actual.getX(), measured.getX(), 0.01);
+        assertEquals(actual.getY(), measured.getY(), 0.01);
+        assertEquals(actual.getHeading(), measured.getHeading(), 0.01);
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.arcrobotics.ftclib.kinematics;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HolonomicOdometrySlipTest {
+    private static final double kEpsilon = 1E-9;
+
+    private double left, right, horizontal, gyro;
+    private long time;
+
+    private HolonomicOdometry create() {
+        return new HolonomicOdometry(() -> left, () -> right, () -> horizontal, 10, 0, () -> time);
+    }
+
+    @Test
+    void testSingleStepByDefault() {
+        HolonomicOdometry odometry = create();
+        HolonomicOdometry subStepped = create();
+        subStepped.setSubSteps(8);
+
+        // a constant arc is integrated exactly with or without sub-steps
+        for (int i = 0; i < 10; i++) {
+            left += 2;
+            right += 1;
+            horizontal += 0.3;
+            odometry.updatePose();
+            subStepped.updatePose();
+        }
+        Pose2d a = odometry.getPose();
+        Pose2d b = subStepped.getPose();
+        assertEquals(a.getX(), b.getX(), kEpsilon);
+        assertEquals(a.getY(), b.getY(), kEpsilon);
+        assertEquals(a.getHeading(), b.getHeading(), kEpsilon);
+    }
+
+    @Test
+    void testSubStepsFollowTighteningTurn() {
+        // a turn that tightens as the robot drives, sampled fine, coarse, and coarse with sub-steps
+        HolonomicOdometry fine = create();
+        HolonomicOdometry coarse = create();
+        HolonomicOdometry subStepped = create();
+        subStepped.setSubSteps(10);
+
+        double fineLeft = 0, fineRight = 0;
+        for (int i = 1; i <= 200; i++) {
+            double turn = i * 0.0005;
+            left = fineLeft += 0.5 + turn;
+            right = fineRight += 0.5 - turn;
+            fine.updatePose();
+            if (i % 10 == 0) {
+                coarse.updatePose();
+                subStepped.updatePose();
+            }
+        }
+
+        Pose2d truth = fine.getPose();
+        double coarseError = coarse.getPose().getTranslation().getDistance(truth.getTranslation());
+        double subSteppedError = subStepped.getPose().getTranslation().getDistance(truth.getTranslation());
+        assertTrue(subSteppedError < coarseError / 5,
+                "sub-stepped error " + subSteppedError + ", single step error " + coarseError);
+        assertEquals(truth.getHeading(), subStepped.getPose().getHeading(), kEpsilon);
+    }
+
+    @Test
+    void testRejectsImpossibleSpeed() {
+        HolonomicOdometry odometry = create();
+        odometry.setSlipDetection(100, 0, 0);
+
+        time = 100_000_000;
+        left = right = 5;
+        odometry.updatePose();
+        assertFalse(odometry.isSlipping());
+        assertEquals(5, odometry.getPose().getX(), kEpsilon);
+
+        // 50 units in 0.1 s is faster than the robot can go
+        time += 100_000_000;
+        left = right = 55;
+        odometry.updatePose();
+        assertTrue(odometry.isSlipping());
+        assertEquals(1, odometry.getSlipCount());
+        assertEquals(5, odometry.getPose().getX(), kEpsilon);
+
+        // the rejected movement is not applied later either
+        time += 100_000_000;
+        left = right = 60;
+        odometry.updatePose();
+        assertFalse(odometry.isSlipping());
+        assertEquals(10, odometry.getPose().getX(), kEpsilon);
+    }
+
+    @Test
+    void testRejectsDisagreementWithGyro() {
+        HolonomicOdometry odometry = create();
+        odometry.setHeadingSupplier(() -> gyro, 0.5, 0);
+        odometry.setSlipDetection(0, 0, 0.2);
+
+        // the right wheel spins out, so the encoders see a turn the gyro does not
+        left = 1;
+        right = 6;
+        gyro = 0.05;
+        odometry.updatePose();
+
+        assertTrue(odometry.isSlipping());
+        assertEquals(0, odometry.getPose().getX(), kEpsilon);
+        // a rejected update takes the heading from the gyro alone
+        assertEquals(0.05, odometry.getPose().getHeading(), kEpsilon);
+    }
+
+    @Test
+    void testHeadingCheckIgnoresFusionResidual() {
+        HolonomicOdometry odometry = create();
+        odometry.setHeadingSupplier(() -> gyro, 0.5, 30);
+        odometry.setSlipDetection(0, 0, 0.08);
+
+        // the gyro turns 0.06 rad between reads while the encoders see no turn; with a weight
+        // of 0.5 the gap to the gyro grows toward 0.12, but each interval only disagrees by 0.06
+        for (int i = 1; i <= 30; i++) {
+            time += 10_000_000;
+            gyro += 0.02;
+            left += 1;
+            right += 1;
+            odometry.updatePose();
+        }
+        assertEquals(0, odometry.getSlipCount());
+    }
+
+    @Test
+    void testHeadingSlipDiscardsMovementSinceLastRead() {
+        HolonomicOdometry odometry = create();
+        odometry.setHeadingSupplier(() -> gyro, 0.5, 30);
+        odometry.setSlipDetection(0, 0, 0.2);
+
+        // drive straight through a read, then get spun by a defender while the wheels spin in place
+        for (int i = 1; i <= 3; i++) {
+            time += 10_000_000;
+            left += 1;
+            right += 1;
+            odometry.updatePose();
+        }
+        assertEquals(3, odometry.getPose().getX(), kEpsilon);
+        for (int i = 1; i <= 3; i++) {
+            time += 10_000_000;
+            left += 1;
+            right += 1;
+            gyro += 0.2;
+            odometry.updatePose();
+        }
+
+        assertTrue(odometry.isSlipping());
+        assertEquals(1, odometry.getSlipCount());
+        assertEquals(3, odometry.getPose().getX(), kEpsilon);
+        assertEquals(0, odometry.getPose().getY(), kEpsilon);
+        assertEquals(0.6, odometry.getPose().getHeading(), kEpsilon);
+    }
+
+    @Test
+    void testInvalidArguments() {
+        HolonomicOdometry odometry = create();
+        assertThrows(IllegalArgumentException.class, () -> odometry.setSubSteps(0));
+        assertThrows(IllegalArgumentException.class, () -> odometry.setSlipDetection(-1, 0, 0));
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.arcrobotics.ftclib.kinematics;
+
+import com.arcrobotics.ftclib.geometry.MutablePose2d;
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.arcrobotics.ftclib.geometry.Transform2d;
+import com.arcrobotics.ftclib.geometry.Twist2d;
+
+import org.ejml.data.DMatrix3x3;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class KalmanPoseEstimatorTest {
+    private static final double kEpsilon = 1E-9;
+
+    @Test
+    void testPredictionFollowsOdometry() {
+        KalmanPoseEstimator estimator = new KalmanPoseEstimator();
+        Pose2d expected = new Pose2d();
+        for (int i = 1; i <= 20; i++) {
+            Twist2d twist = new Twist2d(1.0, 0.2, 0.05);
+            expected = expected.exp(twist);
+            estimator.predict(twist, i);
+        }
+
+        assertEquals(expected, estimator.getPose());
+        DMatrix3x3 covariance = estimator.getCovariance(new DMatrix3x3());
+        assertTrue(covariance.a11 > 0 && covariance.a22 > 0 && covariance.a33 > 0);
+    }
+
+    @Test
+    void testVisionPullsTowardMeasurement() {
+        KalmanPoseEstimator estimator = new KalmanPoseEstimator();
+        for (int i = 1; i <= 100; i++) {
+            estimator.predict(1.0, 0, 0, i);
+        }
+        double before = estimator.getCovariance(new DMatrix3x3()).a11;
+
+        assertTrue(estimator.addVisionMeasurement(new Pose2d(90, 5, new Rotation2d()), 100));
+        Pose2d pose = estimator.getPose();
+        assertTrue(pose.getX() < 100 && pose.getX() > 90);
+        assertTrue(pose.getY() > 0 && pose.getY() < 5);
+        assertTrue(estimator.getCovariance(new DMatrix3x3()).a11 < before);
+    }
+
+    @Test
+    void testLateMeasurementMatchesTimelyOne() {
+        KalmanPoseEstimator timely = new KalmanPoseEstimator();
+        KalmanPoseEstimator late = new KalmanPoseEstimator();
+        Pose2d measured = new Pose2d(12, 3, new Rotation2d(0.3));
+
+        for (int i = 1; i <= 30; i++) {
+            timely.predict(1.0, 0.1, 0.02, i);
+            late.predict(1.0, 0.1, 0.02, i);
+            if (i == 10) {
+                timely.addVisionMeasurement(measured, i);
+            }
+        }
+        assertTrue(late.addVisionMeasurement(measured, 10));
+
+        MutablePose2d timelyPose = timely.getPose(new MutablePose2d());
+        MutablePose2d latePose = late.getPose(new MutablePose2d());
+        assertEquals(timelyPose.getX(), latePose.getX(), kEpsilon);
+        assertEquals(timelyPose.getY(), latePose.getY(), kEpsilon);
+        assertEquals(timelyPose.getHeading(), latePose.getHeading(), kEpsilon);
+    }
+
+    @Test
+    void testLateMeasurementKeepsLaterMeasurements() {
+        KalmanPoseEstimator timely = new KalmanPoseEstimator();
+        KalmanPoseEstimator late = new KalmanPoseEstimator();
+        Pose2d frontCamera = new Pose2d(12, 3, new Rotation2d(0.3));
+        Pose2d backCamera = new Pose2d(21, 4, new Rotation2d(0.5));
+
+        for (int i = 1; i <= 30; i++) {
+            double heading = 0.02 * i + 0.01 * Math.sin(i);
+            for (KalmanPoseEstimator estimator : new KalmanPoseEstimator[]{timely, late}) {
+                estimator.predict(1.0, 0.1, 0.02, i);
+                estimator.addHeadingMeasurement(heading, i);
+            }
+            if (i == 10) {
+                timely.addVisionMeasurement(frontCamera, i);
+            }
+            if (i == 20) {
+                timely.addVisionMeasurement(backCamera, i);
+                late.addVisionMeasurement(backCamera, i);
+            }
+        }
+        // the front camera frame arrives after the gyro reads and the back camera frame that followed it
+        assertTrue(late.addVisionMeasurement(frontCamera, 10));
+
+        MutablePose2d timelyPose = timely.getPose(new MutablePose2d());
+        MutablePose2d latePose = late.getPose(new MutablePose2d());
+        assertEquals(timelyPose.getX(), latePose.getX(), kEpsilon);
+        assertEquals(timelyPose.getY(), latePose.getY(), kEpsilon);
+        assertEquals(timelyPose.getHeading(), latePose.getHeading(), kEpsilon);
+
+        DMatrix3x3 timelyCovariance = timely.getCovariance(new DMatrix3x3());
+        DMatrix3x3 lateCovariance = late.getCovariance(new DMatrix3x3());
+        assertEquals(timelyCovariance.a11, lateCovariance.a11, kEpsilon);
+        assertEquals(timelyCovariance.a22, lateCovariance.a22, kEpsilon);
+        assertEquals(timelyCovariance.a33, lateCovariance.a33, kEpsilon);
+    }
+
+    @Test
+    void testMeasurementOlderThanHistoryIsDropped() {
+        KalmanPoseEstimator estimator = new KalmanPoseEstimator(new Pose2d(), 4);
+        for (int i = 10; i <= 20; i++) {
+            estimator.predict(1.0, 0, 0, i);
+        }
+        Pose2d before = estimator.getPose();
+
+        assertFalse(estimator.addHeadingMeasurement(1.0, 5));
+        assertEquals(before, estimator.getPose());
+    }
+
+    @Test
+    void testHeadingTakesShortestWay() {
+        KalmanPoseEstimator estimator = new KalmanPoseEstimator(
+                new Pose2d(0, 0, Rotation2d.fromDegrees(179)), 16);
+        estimator.predict(0, 0, 0.5, 1);
+        estimator.predict(0, 0, -0.5, 2);
+
+        estimator.addHeadingMeasurement(Math.toRadians(-179), 2);
+        double heading = estimator.getPose().getRotation().getDegrees();
+        assertTrue(Math.abs(heading) > 179, "heading was " + heading);
+    }
+
+    @Test
+    void testLandmarkMeasurement() {
+        KalmanPoseEstimator estimator = new KalmanPoseEstimator();
+        estimator.setVisionStdDevs(1E-6, 1E-6, 1E-6);
+        estimator.predict(1.0, 1.0, 0.1, 1);
+
+        // a tag at (10, 0) facing the robot, seen 5 units straight ahead of a robot facing +x from (5, 0)
+        Pose2d tagOnField = new Pose2d(10, 0, Rotation2d.fromDegrees(180));
+        Pose2d tagFromRobot = new Pose2d(5, 0, Rotation2d.fromDegrees(180));
+        estimator.addLandmarkMeasurement(tagOnField, tagFromRobot, 1);
+
+        Pose2d pose = estimator.getPose();
+        assertEquals(5, pose.getX(), 1E-3);
+        assertEquals(0, pose.getY(), 1E-3);
+        assertEquals(0, pose.getHeading(), 1E-3);
+    }
+
+    @Test
+    void testAprilTagMeasurement() {
+        KalmanPoseEstimator estimator = new KalmanPoseEstimator();
+        estimator.setVisionStdDevs(1E-6, 1E-6, 1E-6);
+        estimator.predict(1.0, 1.0, 0.1, 1);
+
+        Pose2d robot = new Pose2d(2, 1, Rotation2d.fromDegrees(30));
+        // a camera on the left side of the robot, looking left
+        Pose2d camera = new Pose2d(0.1, 0.2, Rotation2d.fromDegrees(90));
+        Pose2d tagOnField = new Pose2d(1.5, 3, Rotation2d.fromDegrees(-80));
+
+        // what the camera sees, in the x right, z forward, clockwise yaw convention of AprilTagDetection
+        Pose2d cameraOnField = robot.transformBy(new Transform2d(camera.getTranslation(), camera.getRotation()));
+        Pose2d tagFromCamera = tagOnField.relativeTo(cameraOnField);
+        double x = -tagFromCamera.getY();
+        double z = tagFromCamera.getX();
+        double yaw = Math.PI - tagFromCamera.getHeading();
+        assertTrue(z > 0, "the tag must be in front of the camera");
+
+        assertTrue(estimator.addAprilTagMeasurement(tagOnField, camera, x, z, yaw, 1));
+
+        Pose2d pose = estimator.getPose();
+        assertEquals(robot.getX(), pose.getX(), 1E-3);
+        assertEquals(robot.getY(), pose.getY(), 1E-3);
+        assertEquals(robot.getHeading(), pose.getHeading(), 1E-3);
+    }
+
+    @Test
+    void testUpdateWithOdometry() {
+        KalmanPoseEstimator estimator = new KalmanPoseEstimator();
+        MutablePose2d odometryPose = new MutablePose2d();
+        estimator.updateWithOdometry(odometryPose, 0);
+        odometryPose.set(3, 4, 0.5);
+        estimator.updateWithOdometry(odometryPose, 1);
+
+        assertEquals(new Pose2d(3, 4, new Rotation2d(0.5)), estimator.getPose());
+    }
+}
@@ -0,0 +1,84 @@
+package com.arcrobotics.ftclib.kinematics;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OdometryGyroTest {
+    private static final double kEpsilon = 1E-9;
+
+    private double left, right, gyro;
+
+    @Test
+    void testGyroReplacesEncoderHeading() {
+        HolonomicOdometry odometry = new HolonomicOdometry(
+                () -> left, () -> right, () -> 0, 10, 0);
+        // the gyro reads 1 rad when the pose heading is 0
+        gyro = 1;
+        odometry.setHeadingSupplier(() -> gyro, 1, 0);
+
+        // the encoders think the robot turned, the gyro says it turned by half as much
+        left = 1;
+        right = -1;
+        gyro = 1 + 0.1;
+        odometry.updatePose();
+
+        assertEquals(0.1, odometry.getPose().getHeading(), kEpsilon);
+    }
+
+    @Test
+    void testComplementaryFilter() {
+        DifferentialOdometry odometry = new DifferentialOdometry(() -> left, () -> right, 10);
+        gyro = 0;
+        odometry.setHeadingSupplier(() -> gyro, 0.25, 0);
+
+        // the encoders see no turn, the gyro says 0.4 rad
+        gyro = 0.4;
+        odometry.updatePose();
+        assertEquals(0.1, odometry.getPose().getHeading(), kEpsilon);
+        odometry.updatePose();
+        assertEquals(0.175, odometry.getPose().getHeading(), kEpsilon);
+    }
+
+    @Test
+    void testReadsAreRateLimited() {
+        AtomicInteger reads = new AtomicInteger();
+        HolonomicOdometry odometry = new HolonomicOdometry(
+                () -> left, () -> right, () -> 0, 10, 0);
+        odometry.setHeadingSupplier(() -> {
+            reads.incrementAndGet();
+            return 0;
+        }, 1, 60000);
+        assertEquals(1, reads.get());
+
+        for (int i = 0; i < 100; i++) {
+            odometry.updatePose();
+        }
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    void testResetRealignsGyro() {
+        HolonomicOdometry odometry = new HolonomicOdometry(
+                () -> left, () -> right, () -> 0, 10, 0);
+        gyro = 0.5;
+        odometry.setHeadingSupplier(() -> gyro, 1, 0);
+
+        odometry.updatePose(new Pose2d(0, 0, new Rotation2d(2)));
+        odometry.updatePose();
+        assertEquals(2, odometry.getPose().getHeading(), kEpsilon);
+    }
+
+    @Test
+    void testInvalidWeight() {
+        HolonomicOdometry odometry = new HolonomicOdometry(10, 0);
+        assertThrows(IllegalArgumentException.class, () -> odometry.setHeadingSupplier(() -> 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> odometry.setHeadingSupplier(() -> 0, 1.5, 0));
+    }
+}
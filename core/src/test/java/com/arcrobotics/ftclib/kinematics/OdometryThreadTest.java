@@ -0,0 +1,47 @@
+package com.arcrobotics.ftclib.kinematics;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OdometryThreadTest {
+
+    @Test
+    void testUpdatesOnItsOwnThread() throws InterruptedException {
+        // both wheels move forward one unit per read
+        AtomicLong reads = new AtomicLong();
+        HolonomicOdometry odometry = new HolonomicOdometry(
+                () -> reads.incrementAndGet(), () -> reads.get(), () -> 0, 10, 0);
+        OdometryThread thread = new OdometryThread(odometry, 2);
+
+        thread.start();
+        long deadline = System.currentTimeMillis() + 2000;
+        while (thread.getPoseHolder().getUpdateCount() < 10 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        thread.stop();
+
+        assertFalse(thread.isRunning());
+        assertTrue(thread.getPoseHolder().getUpdateCount() >= 10);
+        assertEquals(reads.get(), thread.getPose().getX(), 1E-9);
+        assertEquals(0, thread.getPose().getY(), 1E-9);
+    }
+
+    @Test
+    void testResetWhileStopped() {
+        HolonomicOdometry odometry = new HolonomicOdometry(() -> 0, () -> 0, () -> 0, 10, 0);
+        OdometryThread thread = new OdometryThread(odometry, 2);
+
+        Pose2d pose = new Pose2d(5, -3, new Rotation2d(1));
+        thread.resetPose(pose);
+        assertEquals(pose, thread.getPose());
+        assertEquals(pose, odometry.getPose());
+    }
+}
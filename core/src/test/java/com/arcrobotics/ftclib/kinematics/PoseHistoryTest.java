@@ -0,0 +1,111 @@
+package com.arcrobotics.ftclib.kinematics;
+
+import com.arcrobotics.ftclib.geometry.MutablePose2d;
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PoseHistoryTest {
+    private static final double kEpsilon = 1E-9;
+
+    @Test
+    void testInterpolation() {
+        PoseHistory history = new PoseHistory(8);
+        history.add(100, 0, 0, 0);
+        history.add(200, 10, -4, 1);
+
+        MutablePose2d pose = new MutablePose2d();
+        assertTrue(history.sample(150, pose));
+        assertEquals(5, pose.getX(), kEpsilon);
+        assertEquals(-2, pose.getY(), kEpsilon);
+        assertEquals(0.5, pose.getHeading(), kEpsilon);
+
+        // outside the stored range the ends are returned
+        assertEquals(new Pose2d(0, 0, new Rotation2d(0)), history.getPose(50));
+        assertEquals(new Pose2d(10, -4, new Rotation2d(1)), history.getPose(250));
+    }
+
+    @Test
+    void testHeadingTakesShortestWay() {
+        PoseHistory history = new PoseHistory(4);
+        history.add(0, 0, 0, Math.toRadians(170));
+        history.add(10, 0, 0, Math.toRadians(-170));
+
+        assertEquals(180, Math.abs(history.getPose(5).getRotation().getDegrees()), kEpsilon);
+    }
+
+    @Test
+    void testOverwritesOldest() {
+        PoseHistory history = new PoseHistory(3);
+        for (int i = 0; i < 5; i++) {
+            history.add(i * 10, i, 0, 0);
+        }
+
+        assertEquals(3, history.size());
+        assertEquals(20, history.getOldestTimestamp());
+        assertEquals(40, history.getNewestTimestamp());
+        assertEquals(3.5, history.getPose(35).getX(), kEpsilon);
+        assertEquals(2, history.getPose(0).getX(), kEpsilon);
+    }
+
+    @Test
+    void testRejectsOutOfOrderAndEmpty() {
+        PoseHistory history = new PoseHistory(3);
+        assertFalse(history.sample(0, new MutablePose2d()));
+        assertThrows(IllegalStateException.class, () -> history.getPose(0));
+
+        history.add(10, 0, 0, 0);
+        assertThrows(IllegalArgumentException.class, () -> history.add(5, 0, 0, 0));
+    }
+
+    @Test
+    void testReplayKeepsMotionSinceCorrection() {
+        PoseHistory history = new PoseHistory(16);
+        // drive 1 unit along x per step, then turn left and drive along y
+        for (int i = 0; i <= 5; i++) {
+            history.add(i, i, 0, 0);
+        }
+        history.add(6, 5, 1, Math.PI / 2);
+
+        // at t = 3 the robot was actually at (3, 1), facing the same way
+        MutablePose2d newest = new MutablePose2d();
+        assertTrue(history.replay(3, new Pose2d(3, 1, new Rotation2d()), newest));
+        assertEquals(new Pose2d(5, 2, new Rotation2d(Math.PI / 2)), newest.toPose2d());
+        assertEquals(new Pose2d(4, 1, new Rotation2d()), history.getPose(4));
+        assertEquals(new Pose2d(2, 0, new Rotation2d()), history.getPose(2));
+    }
+
+    @Test
+    void testOdometryCorrection() {
+        AtomicReference<Double> position = new AtomicReference<>(0.0);
+        HolonomicOdometry odometry = new HolonomicOdometry(position::get, position::get, () -> 0, 10, 0);
+        odometry.enablePoseHistory(50);
+
+        for (int i = 1; i <= 10; i++) {
+            position.set((double) i);
+            odometry.updatePose();
+        }
+        PoseHistory history = odometry.getPoseHistory();
+        assertEquals(10, history.size());
+
+        long measuredAt = history.getOldestTimestamp();
+        assertTrue(odometry.correctPose(measuredAt, new Pose2d(1, 2, new Rotation2d())));
+        assertEquals(new Pose2d(10, 2, new Rotation2d()), odometry.getPose());
+
+        // the encoders keep counting from where they were
+        position.set(11.0);
+        odometry.updatePose();
+        assertEquals(new Pose2d(11, 2, new Rotation2d()), odometry.getPose());
+
+        odometry.updatePose(new Pose2d());
+        assertEquals(0, history.size());
+    }
+}
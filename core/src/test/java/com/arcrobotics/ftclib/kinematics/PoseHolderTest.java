@@ -0,0 +1,58 @@
+package com.arcrobotics.ftclib.kinematics;
+
+import com.arcrobotics.ftclib.geometry.MutablePose2d;
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class PoseHolderTest {
+
+    @Test
+    void testSetAndGet() {
+        PoseHolder holder = new PoseHolder(new Pose2d(1, 2, new Rotation2d(0.5)));
+        assertEquals(new Pose2d(1, 2, new Rotation2d(0.5)), holder.getPose());
+
+        holder.set(3, 4, -1, 42);
+        MutablePose2d pose = new MutablePose2d();
+        assertEquals(42, holder.get(pose));
+        assertEquals(new Pose2d(3, 4, new Rotation2d(-1)), pose.toPose2d());
+        assertEquals(2, holder.getUpdateCount());
+    }
+
+    @Test
+    void testReadersNeverSeeTornPoses() throws InterruptedException {
+        PoseHolder holder = new PoseHolder();
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicBoolean torn = new AtomicBoolean();
+
+        // every published pose has x == y == i and timestamp == i, so a mix of two updates is detectable
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 200000; i++) {
+                holder.set(i, i, 0, i);
+            }
+            done.set(true);
+        });
+
+        Thread reader = new Thread(() -> {
+            MutablePose2d pose = new MutablePose2d();
+            while (!done.get()) {
+                long timestamp = holder.get(pose);
+                if (pose.getX() != pose.getY() || pose.getX() != timestamp) {
+                    torn.set(true);
+                }
+            }
+        });
+
+        reader.start();
+        writer.start();
+        writer.join();
+        reader.join();
+        assertFalse(torn.get());
+    }
+}
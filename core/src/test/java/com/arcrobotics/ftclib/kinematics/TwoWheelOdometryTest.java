@@ -0,0 +1,129 @@
+package com.arcrobotics.ftclib.kinematics;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TwoWheelOdometryTest {
+    private static final double kEpsilon = 1E-9;
+    private static final double kParallelOffset = 3.0;
+    private static final double kPerpendicularOffset = -2.0;
+
+    private double parallel, perpendicular, heading;
+    private long time;
+    private int headingReads;
+
+    private TwoWheelOdometry create() {
+        return new TwoWheelOdometry(new Pose2d(), () -> parallel, () -> perpendicular, () -> {
+            headingReads++;
+            return heading;
+        }, kParallelOffset, kPerpendicularOffset, () -> time);
+    }
+
+    /**
+     * Moves the robot along an arc, feeding the wheels what they would measure.
+     */
+    private void step(double forward, double dtheta) {
+        parallel += forward - kParallelOffset * dtheta;
+        perpendicular += kPerpendicularOffset * dtheta;
+        heading += dtheta;
+        time += TimeUnit.MILLISECONDS.toNanos(10);
+    }
+
+    @Test
+    void testTurnInPlace() {
+        TwoWheelOdometry odometry = create();
+        for (int i = 0; i < 10; i++) {
+            step(0, 0.1);
+            odometry.updatePose();
+        }
+        Pose2d pose = odometry.getPose();
+        assertEquals(0, pose.getX(), kEpsilon);
+        assertEquals(0, pose.getY(), kEpsilon);
+        assertEquals(1.0, pose.getHeading(), kEpsilon);
+    }
+
+    @Test
+    void testArcMatchesPoseExponential() {
+        TwoWheelOdometry odometry = create();
+        Pose2d expected = new Pose2d();
+        for (int i = 0; i < 40; i++) {
+            step(1.0, 0.05);
+            expected = expected.exp(new com.arcrobotics.ftclib.geometry.Twist2d(1.0, 0, 0.05));
+            odometry.updatePose();
+        }
+        assertEquals(expected, odometry.getPose());
+    }
+
+    @Test
+    void testSlowHeadingReadsCatchUp() {
+        TwoWheelOdometry everyUpdate = create();
+        TwoWheelOdometry throttled = create();
+        throttled.setHeadingReadPeriod(50);
+
+        // run both over the same motion, alternating the shared inputs
+        TwoWheelOdometry[] odometries = {everyUpdate, throttled};
+        int throttledReads = 0;
+        for (int i = 1; i <= 20; i++) {
+            step(1.0, 0.04);
+            for (TwoWheelOdometry odometry : odometries) {
+                int reads = headingReads;
+                odometry.updatePose();
+                if (odometry == throttled) {
+                    throttledReads += headingReads - reads;
+                }
+            }
+            // once a read has happened the steps since the last one are integrated again, and with
+            // a steady turn the interpolated headings are exact
+            if (i % 5 == 0) {
+                assertEquals(everyUpdate.getPose(), throttled.getPose());
+            }
+        }
+        assertEquals(4, throttledReads);
+    }
+
+    @Test
+    void testResetRealignsHeading() {
+        TwoWheelOdometry odometry = create();
+        heading = 5;
+        odometry.updatePose(new Pose2d(1, 2, new Rotation2d(0.5)));
+        step(1.0, 0);
+        odometry.updatePose();
+
+        assertEquals(0.5, odometry.getPose().getHeading(), kEpsilon);
+        assertEquals(1 + Math.cos(0.5), odometry.getPose().getX(), kEpsilon);
+    }
+
+    @Test
+    void testHeadingSupplierCanBeReplaced() {
+        TwoWheelOdometry odometry = create();
+        assertThrows(IllegalArgumentException.class, () -> odometry.setHeadingSupplier(() -> 0, 0.5, 0));
+        assertThrows(IllegalStateException.class, odometry::disableGyro);
+
+        step(1.0, 0.1);
+        odometry.updatePose();
+        Pose2d before = odometry.getPose();
+
+        // a second IMU that reads 2 radians off, and is read every 50 ms
+        double[] other = {heading + 2};
+        int reads = headingReads;
+        odometry.setHeadingSupplier(() -> other[0], 1, 50);
+        assertEquals(before, odometry.getPose());
+
+        // the next read of the new source is on the fourth update, 50 ms after the last read
+        step(0, 0.3);
+        other[0] += 0.3;
+        for (int i = 0; i < 4; i++) {
+            time += TimeUnit.MILLISECONDS.toNanos(10);
+            odometry.updatePose();
+        }
+        assertEquals(reads, headingReads);
+        assertEquals(before.getHeading() + 0.3, odometry.getPose().getHeading(), kEpsilon);
+    }
+}
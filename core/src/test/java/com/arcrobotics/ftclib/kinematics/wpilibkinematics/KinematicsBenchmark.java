@@ -0,0 +1,84 @@
+package com.arcrobotics.ftclib.kinematics.wpilibkinematics;
+
+import com.arcrobotics.ftclib.geometry.Translation2d;
+
+import java.util.Locale;
+
+/**
+ * Compares the allocating kinematics methods with the ones that write into
+ * existing objects and arrays. This is not run with the tests; run the main
+ * method directly.
+ */
+public class KinematicsBenchmark {
+
+    private static final int kCalls = 2_000_000;
+    private static final int kRuns = 5;
+
+    private static final Translation2d kCenter = new Translation2d();
+
+    public static void main(String[] args) {
+        MecanumDriveKinematics mecanum = new MecanumDriveKinematics(
+                new Translation2d(0.2, 0.2), new Translation2d(0.2, -0.2),
+                new Translation2d(-0.2, 0.2), new Translation2d(-0.2, -0.2));
+        SwerveDriveKinematics swerve = new SwerveDriveKinematics(
+                new Translation2d(0.2, 0.2), new Translation2d(0.2, -0.2),
+                new Translation2d(-0.2, 0.2), new Translation2d(-0.2, -0.2));
+
+        ChassisSpeeds chassisSpeeds = new ChassisSpeeds();
+        MecanumDriveWheelSpeeds wheelSpeeds = new MecanumDriveWheelSpeeds();
+        SwerveModuleState[] moduleStates = new SwerveModuleState[4];
+        double[] speeds = new double[4];
+        double[] angles = new double[4];
+
+        for (int run = 0; run < kRuns; run++) {
+            double sink = 0;
+
+            long start = System.nanoTime();
+            for (int i = 0; i < kCalls; i++) {
+                chassisSpeeds.vxMetersPerSecond = i * 1e-6;
+                sink += mecanum.toWheelSpeeds(chassisSpeeds).frontLeftMetersPerSecond;
+            }
+            long mecanumAllocating = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < kCalls; i++) {
+                chassisSpeeds.vxMetersPerSecond = i * 1e-6;
+                sink += mecanum.toWheelSpeeds(chassisSpeeds, kCenter, wheelSpeeds).frontLeftMetersPerSecond;
+            }
+            long mecanumInPlace = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < kCalls; i++) {
+                chassisSpeeds.vxMetersPerSecond = i * 1e-6;
+                chassisSpeeds.omegaRadiansPerSecond = 0.5;
+                sink += swerve.toSwerveModuleStates(chassisSpeeds)[0].speedMetersPerSecond;
+            }
+            long swerveAllocating = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < kCalls; i++) {
+                chassisSpeeds.vxMetersPerSecond = i * 1e-6;
+                sink += swerve.toSwerveModuleStates(chassisSpeeds, kCenter, moduleStates)[0].speedMetersPerSecond;
+            }
+            long swerveStates = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < kCalls; i++) {
+                swerve.toSwerveModuleStates(i * 1e-6, 0, 0.5, 0, 0, speeds, angles);
+                sink += speeds[0];
+            }
+            long swerveArrays = System.nanoTime() - start;
+
+            if (sink == Double.MIN_VALUE) {
+                System.out.println(sink);
+            }
+            System.out.println(String.format(Locale.US,
+                    "run %d: mecanum %.1f ns allocating, %.1f ns in place; "
+                            + "swerve %.1f ns allocating, %.1f ns into states, %.1f ns into arrays",
+                    run, (double) mecanumAllocating / kCalls, (double) mecanumInPlace / kCalls,
+                    (double) swerveAllocating / kCalls, (double) swerveStates / kCalls,
+                    (double) swerveArrays / kCalls));
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.arcrobotics.ftclib.kinematics.wpilibkinematics;
+
+import com.arcrobotics.ftclib.geometry.Translation2d;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class MecanumDriveKinematicsTest {
+    private static final double kEpsilon = 1E-9;
+
+    private final MecanumDriveKinematics m_kinematics = new MecanumDriveKinematics(
+            new Translation2d(12, 12), new Translation2d(12, -12),
+            new Translation2d(-12, 12), new Translation2d(-12, -12));
+
+    @Test
+    void testStrafe() {
+        MecanumDriveWheelSpeeds speeds = m_kinematics.toWheelSpeeds(new ChassisSpeeds(0, 4, 0));
+        double s = 4 / Math.sqrt(2);
+        assertEquals(-s, speeds.frontLeftMetersPerSecond, kEpsilon);
+        assertEquals(s, speeds.frontRightMetersPerSecond, kEpsilon);
+        assertEquals(s, speeds.rearLeftMetersPerSecond, kEpsilon);
+        assertEquals(-s, speeds.rearRightMetersPerSecond, kEpsilon);
+    }
+
+    @Test
+    void testOutParameterMatchesAndRoundTrips() {
+        ChassisSpeeds chassisSpeeds = new ChassisSpeeds(3, -2, 0.7);
+        Translation2d centerOfRotation = new Translation2d(12, 12);
+        MecanumDriveWheelSpeeds expected = m_kinematics.toWheelSpeeds(chassisSpeeds, centerOfRotation);
+
+        MecanumDriveWheelSpeeds out = new MecanumDriveWheelSpeeds();
+        // switch the center of rotation back and forth to make sure the cache follows it
+        m_kinematics.toWheelSpeeds(chassisSpeeds, new Translation2d(), out);
+        assertSame(out, m_kinematics.toWheelSpeeds(chassisSpeeds, centerOfRotation, out));
+        assertEquals(expected.frontLeftMetersPerSecond, out.frontLeftMetersPerSecond, kEpsilon);
+        assertEquals(expected.frontRightMetersPerSecond, out.frontRightMetersPerSecond, kEpsilon);
+        assertEquals(expected.rearLeftMetersPerSecond, out.rearLeftMetersPerSecond, kEpsilon);
+        assertEquals(expected.rearRightMetersPerSecond, out.rearRightMetersPerSecond, kEpsilon);
+
+        // the primitive overload takes its own center of rotation, not the last one used
+        m_kinematics.toWheelSpeeds(3, -2, 0.7, 0, 0, out);
+        ChassisSpeeds result = m_kinematics.toChassisSpeeds(out, new ChassisSpeeds());
+        assertEquals(3, result.vxMetersPerSecond, kEpsilon);
+        assertEquals(-2, result.vyMetersPerSecond, kEpsilon);
+        assertEquals(0.7, result.omegaRadiansPerSecond, kEpsilon);
+    }
+
+    @Test
+    void testRotationAroundCorner() {
+        // turning around the front left wheel leaves it still
+        MecanumDriveWheelSpeeds speeds = m_kinematics.toWheelSpeeds(
+                new ChassisSpeeds(0, 0, 1), new Translation2d(12, 12));
+        assertEquals(0, speeds.frontLeftMetersPerSecond, kEpsilon);
+        assertEquals(24 / Math.sqrt(2), speeds.frontRightMetersPerSecond, kEpsilon);
+        assertEquals(-24 / Math.sqrt(2), speeds.rearLeftMetersPerSecond, kEpsilon);
+        assertEquals(48 / Math.sqrt(2), speeds.rearRightMetersPerSecond, kEpsilon);
+    }
+
+}
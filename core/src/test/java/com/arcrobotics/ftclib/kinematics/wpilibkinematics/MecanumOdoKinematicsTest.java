@@ -0,0 +1,42 @@
+package com.arcrobotics.ftclib.kinematics.wpilibkinematics;
+
+import com.arcrobotics.ftclib.geometry.Translation2d;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class MecanumOdoKinematicsTest {
+    private static final double kEpsilon = 1E-9;
+
+    private final MecanumOdoKinematics m_kinematics = new MecanumOdoKinematics(
+            new Translation2d(12, 12), new Translation2d(12, -12),
+            new Translation2d(-12, 12), new Translation2d(-12, -12), 3, 10);
+
+    @Test
+    void testOutParametersMatch() {
+        ChassisSpeeds chassisSpeeds = new ChassisSpeeds(3, -2, 0.7);
+        Translation2d centerOfRotation = new Translation2d(12, 12);
+        MecanumDriveWheelSpeeds expected = m_kinematics.toWheelSpeeds(chassisSpeeds, centerOfRotation);
+
+        MecanumDriveWheelSpeeds out = new MecanumDriveWheelSpeeds();
+        m_kinematics.toWheelSpeeds(chassisSpeeds, new Translation2d(), out);
+        assertSame(out, m_kinematics.toWheelSpeeds(chassisSpeeds, centerOfRotation, out));
+        assertEquals(expected.frontLeftMetersPerSecond, out.frontLeftMetersPerSecond, kEpsilon);
+        assertEquals(expected.frontRightMetersPerSecond, out.frontRightMetersPerSecond, kEpsilon);
+        assertEquals(expected.rearLeftMetersPerSecond, out.rearLeftMetersPerSecond, kEpsilon);
+        assertEquals(expected.rearRightMetersPerSecond, out.rearRightMetersPerSecond, kEpsilon);
+
+        OdoWheelSpeeds wheelSpeeds = new OdoWheelSpeeds(1, 2, 0.5);
+        ChassisSpeeds result = new ChassisSpeeds();
+        assertSame(result, m_kinematics.toChassisSpeeds(wheelSpeeds, result));
+        // the robot turns at 0.1 rad/s, which moves the dead wheel 3 away from the center by 0.3
+        assertEquals(1.5, result.vxMetersPerSecond, kEpsilon);
+        assertEquals(0.2, result.vyMetersPerSecond, kEpsilon);
+        assertEquals(0.1, result.omegaRadiansPerSecond, kEpsilon);
+        ChassisSpeeds allocated = m_kinematics.toChassisSpeeds(wheelSpeeds);
+        assertEquals(result.vyMetersPerSecond, allocated.vyMetersPerSecond, kEpsilon);
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.arcrobotics.ftclib.kinematics.wpilibkinematics;
+
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.arcrobotics.ftclib.geometry.Translation2d;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SwerveDriveKinematicsTest {
+    private static final double kEpsilon = 1E-9;
+
+    private final SwerveDriveKinematics m_kinematics = new SwerveDriveKinematics(
+            new Translation2d(12, 12), new Translation2d(12, -12),
+            new Translation2d(-12, 12), new Translation2d(-12, -12));
+
+    @Test
+    void testTurnInPlace() {
+        SwerveModuleState[] states = m_kinematics.toSwerveModuleStates(new ChassisSpeeds(0, 0, 2));
+        double speed = 2 * Math.hypot(12, 12);
+        double[] expectedDegrees = {135, 45, -135, -45};
+        for (int i = 0; i < 4; i++) {
+            assertEquals(speed, states[i].speedMetersPerSecond, kEpsilon);
+            assertEquals(expectedDegrees[i], states[i].angle.getDegrees(), kEpsilon);
+        }
+    }
+
+    @Test
+    void testOutParametersMatch() {
+        ChassisSpeeds chassisSpeeds = new ChassisSpeeds(1.5, -0.5, 0.8);
+        Translation2d centerOfRotation = new Translation2d(-12, 12);
+        SwerveModuleState[] expected = m_kinematics.toSwerveModuleStates(chassisSpeeds, centerOfRotation);
+
+        SwerveModuleState[] states = new SwerveModuleState[4];
+        m_kinematics.toSwerveModuleStates(chassisSpeeds, new Translation2d(), states);
+        assertSame(states, m_kinematics.toSwerveModuleStates(chassisSpeeds, centerOfRotation, states));
+
+        double[] speeds = new double[4];
+        double[] angles = new double[4];
+        m_kinematics.toSwerveModuleStates(1.5, -0.5, 0.8, -12, 12, speeds, angles);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(expected[i].speedMetersPerSecond, states[i].speedMetersPerSecond, kEpsilon);
+            assertEquals(expected[i].angle.getRadians(), states[i].angle.getRadians(), kEpsilon);
+            assertEquals(expected[i].speedMetersPerSecond, speeds[i], kEpsilon);
+            assertEquals(expected[i].angle.getRadians(), angles[i], kEpsilon);
+        }
+
+        ChassisSpeeds fromStates = m_kinematics.toChassisSpeeds(states, new ChassisSpeeds());
+        ChassisSpeeds fromArrays = m_kinematics.toChassisSpeeds(speeds, angles, new ChassisSpeeds());
+        // forward kinematics give the velocity of the robot's center, 12 ahead and right of the center of rotation
+        assertEquals(1.5 + 0.8 * 12, fromStates.vxMetersPerSecond, kEpsilon);
+        assertEquals(-0.5 + 0.8 * 12, fromStates.vyMetersPerSecond, kEpsilon);
+        assertEquals(0.8, fromStates.omegaRadiansPerSecond, kEpsilon);
+        assertEquals(fromStates.vxMetersPerSecond, fromArrays.vxMetersPerSecond, kEpsilon);
+        assertEquals(fromStates.vyMetersPerSecond, fromArrays.vyMetersPerSecond, kEpsilon);
+        assertEquals(fromStates.omegaRadiansPerSecond, fromArrays.omegaRadiansPerSecond, kEpsilon);
+    }
+
+    @Test
+    void testPrimitiveOverloadIgnoresEarlierCenterOfRotation() {
+        double[] speeds = new double[4];
+        double[] angles = new double[4];
+        m_kinematics.toSwerveModuleStates(0, 0, 1, 0, 0, speeds, angles);
+        double[] expected = speeds.clone();
+
+        m_kinematics.toSwerveModuleStates(new ChassisSpeeds(0, 0, 1), new Translation2d(12, 12));
+        m_kinematics.toSwerveModuleStates(0, 0, 1, 0, 0, speeds, angles);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(expected[i], speeds[i], kEpsilon);
+        }
+    }
+
+    @Test
+    void testUnchangedAngleIsReused() {
+        SwerveModuleState[] states = new SwerveModuleState[4];
+        m_kinematics.toSwerveModuleStates(new ChassisSpeeds(1, 1, 0), new Translation2d(), states);
+        Rotation2d angle = states[0].angle;
+        m_kinematics.toSwerveModuleStates(new ChassisSpeeds(2, 2, 0), new Translation2d(), states);
+        assertSame(angle, states[0].angle);
+        assertEquals(2 * Math.sqrt(2), states[0].speedMetersPerSecond, kEpsilon);
+    }
+
+    @Test
+    void testNormalize() {
+        double[] speeds = {1, 4, 2, 0};
+        SwerveDriveKinematics.normalizeWheelSpeeds(speeds, 2);
+        assertEquals(0.5, speeds[0], kEpsilon);
+        assertEquals(2, speeds[1], kEpsilon);
+        assertEquals(1, speeds[2], kEpsilon);
+    }
+
+    @Test
+    void testWrongModuleCount() {
+        assertThrows(IllegalArgumentException.class, () ->
+                m_kinematics.toSwerveModuleStates(new ChassisSpeeds(), new Translation2d(),
+                        new SwerveModuleState[3]));
+    }
+
+}
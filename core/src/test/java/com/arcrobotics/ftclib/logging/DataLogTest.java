@@ -0,0 +1,158 @@
+package com.arcrobotics.ftclib.logging;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.arcrobotics.ftclib.util.Clock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DataLogTest {
+
+    @TempDir
+    File dir;
+
+    private long time;
+
+    @AfterEach
+    public void useSystemTime() {
+        Clock.useSystemTime();
+    }
+
+    @Test
+    public void timestampsFollowTheClock() throws IOException {
+        Clock.setSource(() -> time);
+        File file = new File(dir, "clock.ftclog");
+        try (DataLog log = new DataLog(file)) {
+            DataLog.DoubleChannel value = log.addDouble("value");
+            time += 250_000_000;
+            value.append(1);
+            time += 1_000_000_000;
+            value.append(2);
+        }
+
+        try (DataLogReader reader = new DataLogReader(file)) {
+            assertTrue(reader.next());
+            assertEquals(0.25, reader.getTimestamp());
+            assertTrue(reader.next());
+            assertEquals(1.25, reader.getTimestamp());
+        }
+    }
+
+    @Test
+    public void readsBackEveryType() throws IOException {
+        File file = new File(dir, "types.ftclog");
+        try (DataLog log = new DataLog(file)) {
+            log.addDouble("double").append(1.5);
+            log.addLong("long").append(Long.MAX_VALUE);
+            log.addBoolean("boolean").append(true);
+            log.addDoubleArray("array").append(new double[]{1, 2, 3, 4}, 2);
+            log.addPose("pose").append(new Pose2d(1, 2, new Rotation2d(0.5)));
+        }
+
+        try (DataLogReader reader = new DataLogReader(file)) {
+            assertTrue(reader.next());
+            assertEquals("double", reader.getChannel());
+            assertEquals(1.5, reader.getDouble());
+            assertTrue(reader.next());
+            assertEquals(Long.MAX_VALUE, reader.getLong());
+            assertTrue(reader.next());
+            assertTrue(reader.getBoolean());
+            assertTrue(reader.next());
+            assertArrayEquals(new double[]{1, 2}, reader.getDoubleArray());
+            assertTrue(reader.next());
+            assertEquals(DataLogReader.Type.POSE, reader.getType());
+            assertEquals(0.5, reader.getPose().getHeading(), 1E-12);
+            assertEquals(2, reader.getPose().getY());
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    public void truncatedLastRecordEndsTheLog() throws IOException {
+        File file = new File(dir, "truncated.ftclog");
+        try (DataLog log = new DataLog(file)) {
+            DataLog.PoseChannel pose = log.addPose("pose");
+            pose.append(new Pose2d(1, 2, new Rotation2d(0.5)));
+            pose.append(new Pose2d(3, 4, new Rotation2d(1)));
+        }
+        // the robot lost power halfway through the second pose
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 12);
+        }
+
+        try (DataLogReader reader = new DataLogReader(file)) {
+            assertTrue(reader.next());
+            assertEquals(1, reader.getPose().getX());
+            assertFalse(reader.next());
+            assertFalse(reader.next());
+        }
+        StringWriter csv = new StringWriter();
+        try (DataLogReader reader = new DataLogReader(file)) {
+            reader.toCsv(csv);
+        }
+        assertEquals(2, csv.toString().split("\n").length);
+    }
+
+    @Test
+    public void keepsEveryValueAcrossBuffers() throws IOException {
+        File file = new File(dir, "many.ftclog");
+        int count = 100_000;
+        long dropped;
+        try (DataLog log = new DataLog(file, 4096, 0.01)) {
+            DataLog.LongChannel counter = log.addLong("counter");
+            DataLog.DoubleChannel late = null;
+            for (int i = 0; i < count; i++) {
+                counter.append(i);
+                if (i == count / 2) {
+                    late = log.addDouble("late");
+                }
+                if (late != null) {
+                    late.append(i);
+                }
+            }
+            dropped = log.getDroppedCount();
+        }
+
+        long counted = 0;
+        double lastTime = 0;
+        try (DataLogReader reader = new DataLogReader(file)) {
+            while (reader.next()) {
+                assertTrue(reader.getTimestamp() >= lastTime);
+                lastTime = reader.getTimestamp();
+                counted++;
+            }
+        }
+        assertEquals(count + count / 2, counted + dropped);
+    }
+
+    @Test
+    public void convertsToCsv() throws IOException {
+        File file = new File(dir, "csv.ftclog");
+        try (DataLog log = new DataLog(file)) {
+            log.addPose("odometry, pose").append(1, 2, 3);
+            log.addBoolean("limit").append(false);
+        }
+
+        StringWriter csv = new StringWriter();
+        try (DataLogReader reader = new DataLogReader(file)) {
+            reader.toCsv(csv);
+        }
+        String[] lines = csv.toString().split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[1].endsWith(",\"odometry, pose\",1.0,2.0,3.0"));
+        assertTrue(lines[2].endsWith(",limit,false"));
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.arcrobotics.ftclib.math;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class Mat3Test {
+
+    @Test
+    public void inverseTimesMatrixIsIdentity() {
+        Mat3 m = new Mat3().set(2, -1, 0, 1, 3, 2, 0, 1, 4);
+        Mat3 product = new Mat3().set(m).invert().mul(m, new Mat3().set(m).invert());
+        assertEquals(1, product.m00, 1E-12);
+        assertEquals(0, product.m01, 1E-12);
+        assertEquals(1, product.m11, 1E-12);
+        assertEquals(0, product.m21, 1E-12);
+        assertEquals(1, product.m22, 1E-12);
+    }
+
+    @Test
+    public void transformsInPlace() {
+        Mat3 m = new Mat3().set(0, -1, 0, 1, 0, 0, 0, 0, 2);
+        Vec3 v = new Vec3(1, 2, 3);
+        m.transform(v, v);
+        assertEquals(-2, v.x);
+        assertEquals(1, v.y);
+        assertEquals(6, v.z);
+    }
+
+    @Test
+    public void mat2Rotation() {
+        Mat2 rotation = new Mat2().setRotation(Math.PI / 2);
+        assertEquals(0, rotation.transformX(1, 0), 1E-12);
+        assertEquals(1, rotation.transformY(1, 0), 1E-12);
+
+        Mat2 identity = new Mat2().mul(rotation, new Mat2().set(rotation).invert());
+        assertEquals(1, identity.m00, 1E-12);
+        assertEquals(0, identity.m10, 1E-12);
+        assertEquals(1, identity.determinant(), 1E-12);
+    }
+
+}
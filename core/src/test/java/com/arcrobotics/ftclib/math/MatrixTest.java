@@ -0,0 +1,87 @@
+package com.arcrobotics.ftclib.math;
+
+import org.ejml.simple.SimpleMatrix;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MatrixTest {
+
+    private static final double[] kMecanum = {
+            1, -1, -0.5,
+            1, 1, 0.5,
+            1, 1, -0.55,
+            1, -1, 0.55
+    };
+
+    @Test
+    public void multipliesVectors() {
+        Matrix m = new Matrix(4, 3, kMecanum);
+        double[] out = new double[4];
+        assertArrayEquals(new double[]{-1, 3, 0.9, 1.1},
+                m.mult(1, 1, 2, out), 1E-12);
+        assertArrayEquals(out, m.mult(new double[]{1, 1, 2}, new double[4]), 1E-12);
+    }
+
+    @Test
+    public void pseudoInverseMatchesEjml() {
+        Matrix pinv = new Matrix(4, 3, kMecanum).pseudoInverse();
+        SimpleMatrix expected = new SimpleMatrix(4, 3, true, kMecanum).pseudoInverse();
+
+        assertEquals(3, pinv.getRows());
+        assertEquals(4, pinv.getCols());
+        for (int r = 0; r < 3; r++) {
+            for (int c = 0; c < 4; c++) {
+                assertEquals(expected.get(r, c), pinv.get(r, c), 1E-12);
+            }
+        }
+
+        Vec3 chassis = pinv.mult(new Matrix(4, 3, kMecanum).mult(0.3, -0.2, 1.1, new double[4]), new Vec3());
+        assertEquals(0.3, chassis.x, 1E-12);
+        assertEquals(-0.2, chassis.y, 1E-12);
+        assertEquals(1.1, chassis.z, 1E-12);
+    }
+
+    @Test
+    public void pseudoInverseOfRankDeficientMatrixMatchesEjml() {
+        // swerve modules at the same position cannot tell a turn apart from a translation
+        double[] coincident = {
+                1, 0, -0.2,
+                0, 1, 0.3,
+                1, 0, -0.2,
+                0, 1, 0.3
+        };
+        Matrix pinv = new Matrix(4, 3, coincident).pseudoInverse();
+        SimpleMatrix expected = new SimpleMatrix(4, 3, true, coincident).pseudoInverse();
+
+        for (int r = 0; r < 3; r++) {
+            for (int c = 0; c < 4; c++) {
+                assertEquals(expected.get(r, c), pinv.get(r, c), 1E-9);
+            }
+        }
+    }
+
+    @Test
+    public void multipliesAndTransposesMatrices() {
+        Matrix a = new Matrix(2, 3, 1, 2, 3, 4, 5, 6);
+        Matrix product = a.mult(a.transpose(new Matrix(3, 2)), new Matrix(2, 2));
+        assertEquals(14, product.get(0, 0));
+        assertEquals(32, product.get(0, 1));
+        assertEquals(77, product.get(1, 1));
+
+        Matrix inverse = new Matrix(2, 2, 4, 7, 2, 6).invert();
+        assertEquals(0.6, inverse.get(0, 0), 1E-12);
+        assertEquals(-0.7, inverse.get(0, 1), 1E-12);
+    }
+
+    @Test
+    public void rejectsInvalidOperations() {
+        Matrix a = new Matrix(2, 3);
+        assertThrows(IllegalArgumentException.class, () -> a.mult(a, new Matrix(2, 3)));
+        assertThrows(IllegalArgumentException.class, () -> new Matrix(2, 2, 1, 2, 3));
+        assertThrows(ArithmeticException.class, () -> new Matrix(2, 2, 1, 2, 2, 4).invert());
+    }
+
+}
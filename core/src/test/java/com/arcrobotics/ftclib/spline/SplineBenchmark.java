@@ -0,0 +1,76 @@
+package com.arcrobotics.ftclib.spline;
+
+import com.arcrobotics.ftclib.geometry.MutablePose2d;
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.arcrobotics.ftclib.trajectory.TrajectoryConfig;
+import com.arcrobotics.ftclib.trajectory.TrajectoryGenerator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Times spline evaluation and trajectory generation on a six waypoint path.
+ * This is not run with the tests; run the main method directly.
+ */
+public class SplineBenchmark {
+
+    private static final int kPoints = 1_000_000;
+    private static final int kTrajectories = 2_000;
+    private static final int kRuns = 5;
+
+    public static void main(String[] args) {
+        List<Pose2d> waypoints = Arrays.asList(
+                new Pose2d(0, 0, new Rotation2d(0)),
+                new Pose2d(1.5, 0.5, new Rotation2d(0.6)),
+                new Pose2d(2.5, 2, new Rotation2d(1.5)),
+                new Pose2d(2, 3.5, new Rotation2d(2.8)),
+                new Pose2d(0.5, 3, new Rotation2d(-2.5)),
+                new Pose2d(0, 1.5, new Rotation2d(-1.6))
+        );
+        QuinticHermiteSpline[] splines = SplineHelper.getQuinticSplinesFromControlVectors(
+                SplineHelper.getQuinticControlVectorsFromWaypoints(waypoints)
+                        .toArray(new Spline.ControlVector[0]));
+        TrajectoryConfig config = new TrajectoryConfig(2, 2);
+        MutablePose2d pose = new MutablePose2d();
+
+        for (int run = 0; run < kRuns; run++) {
+            double sink = 0;
+
+            long start = System.nanoTime();
+            for (int i = 0; i < kPoints; i++) {
+                sink += splines[i % splines.length].getPoint((i % 1000) / 1000.0).curvatureRadPerMeter;
+            }
+            long points = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < kPoints; i++) {
+                sink += splines[i % splines.length].getPoint((i % 1000) / 1000.0, pose);
+            }
+            long pointsInPlace = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < kTrajectories; i++) {
+                sink += TrajectoryGenerator.splinePointsFromSplines(splines).size();
+            }
+            long parameterize = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < kTrajectories; i++) {
+                sink += TrajectoryGenerator.generateTrajectory(waypoints, config).getTotalTimeSeconds();
+            }
+            long trajectories = System.nanoTime() - start;
+
+            if (sink == Double.MIN_VALUE) {
+                System.out.println(sink);
+            }
+            System.out.println(String.format(Locale.US,
+                    "run %d: getPoint %.1f ns, in place %.1f ns, parameterize %.1f us, generateTrajectory %.1f us",
+                    run, (double) points / kPoints, (double) pointsInPlace / kPoints,
+                    parameterize / 1E3 / kTrajectories,
+                    trajectories / 1E3 / kTrajectories));
+        }
+    }
+
+}
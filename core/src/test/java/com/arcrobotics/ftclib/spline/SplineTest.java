@@ -0,0 +1,80 @@
+package com.arcrobotics.ftclib.spline;
+
+import com.arcrobotics.ftclib.geometry.MutablePose2d;
+import com.arcrobotics.ftclib.geometry.Pose2d;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SplineTest {
+    private static final double kEpsilon = 1E-9;
+
+    /**
+     * Evaluates a polynomial and its derivatives term by term, highest power first.
+     */
+    private static double[] evaluate(double[] coefficients, double t) {
+        int degree = coefficients.length - 1;
+        double[] result = new double[3];
+        for (int i = 0; i <= degree; i++) {
+            int power = degree - i;
+            result[0] += coefficients[i] * Math.pow(t, power);
+            if (power >= 1) {
+                result[1] += coefficients[i] * power * Math.pow(t, power - 1);
+            }
+            if (power >= 2) {
+                result[2] += coefficients[i] * power * (power - 1) * Math.pow(t, power - 2);
+            }
+        }
+        return result;
+    }
+
+    private static void assertMatchesPolynomial(Spline spline) {
+        MutablePose2d pose = new MutablePose2d();
+        for (int i = 0; i <= 20; i++) {
+            double t = i / 20.0;
+            double[] x = evaluate(spline.m_xCoefficients, t);
+            double[] y = evaluate(spline.m_yCoefficients, t);
+            double curvature = (x[1] * y[2] - x[2] * y[1]) / Math.pow(x[1] * x[1] + y[1] * y[1], 1.5);
+
+            assertEquals(curvature, spline.getPoint(t, pose), kEpsilon);
+            assertEquals(x[0], pose.getX(), kEpsilon);
+            assertEquals(y[0], pose.getY(), kEpsilon);
+            assertEquals(Math.atan2(y[1], x[1]), pose.getHeading(), kEpsilon);
+
+            PoseWithCurvature point = spline.getPoint(t);
+            assertEquals(curvature, point.curvatureRadPerMeter, kEpsilon);
+            assertEquals(x[0], point.poseMeters.getX(), kEpsilon);
+            assertEquals(y[0], point.poseMeters.getY(), kEpsilon);
+            assertEquals(Math.atan2(y[1], x[1]), point.poseMeters.getHeading(), kEpsilon);
+        }
+    }
+
+    @Test
+    void testCubicEndpoints() {
+        CubicHermiteSpline spline = new CubicHermiteSpline(
+                new double[]{1, 2}, new double[]{4, 0}, new double[]{-1, 0}, new double[]{3, 2});
+        Pose2d start = spline.getPoint(0).poseMeters;
+        Pose2d end = spline.getPoint(1).poseMeters;
+        assertEquals(1, start.getX(), kEpsilon);
+        assertEquals(-1, start.getY(), kEpsilon);
+        assertEquals(0, start.getHeading(), kEpsilon);
+        assertEquals(4, end.getX(), kEpsilon);
+        assertEquals(3, end.getY(), kEpsilon);
+        assertEquals(Math.PI / 2, end.getHeading(), kEpsilon);
+        assertMatchesPolynomial(spline);
+    }
+
+    @Test
+    void testQuinticEndpoints() {
+        QuinticHermiteSpline spline = new QuinticHermiteSpline(
+                new double[]{0, 3, 1}, new double[]{2, 0, -1}, new double[]{0, 0, 2}, new double[]{2, 3, 0});
+        // the curvature at the ends comes from the second derivatives
+        assertEquals((3 * 2 - 1 * 0) / 27.0, spline.getPoint(0).curvatureRadPerMeter, kEpsilon);
+        assertEquals((0 * 0 + 1 * 3) / 27.0, spline.getPoint(1).curvatureRadPerMeter, kEpsilon);
+        assertEquals(2, spline.getPoint(1).poseMeters.getX(), kEpsilon);
+        assertEquals(2, spline.getPoint(1).poseMeters.getY(), kEpsilon);
+        assertMatchesPolynomial(spline);
+    }
+
+}
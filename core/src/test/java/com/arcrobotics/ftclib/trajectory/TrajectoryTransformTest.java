@@ -0,0 +1,65 @@
+package com.arcrobotics.ftclib.trajectory;
+
+import com.arcrobotics.ftclib.geometry.Pose2d;
+import com.arcrobotics.ftclib.geometry.Rotation2d;
+import com.arcrobotics.ftclib.geometry.Transform2d;
+import com.arcrobotics.ftclib.geometry.Translation2d;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TrajectoryTransformTest {
+    private static final double kEpsilon = 1E-9;
+
+    private static Trajectory createTrajectory() {
+        List<Trajectory.State> states = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            double t = i * 0.1;
+            states.add(new Trajectory.State(t, 1.0, 0.0,
+                    new Pose2d(Math.cos(t) * 10, Math.sin(t) * 10, new Rotation2d(t + Math.PI / 2)), 0.1));
+        }
+        return new Trajectory(states);
+    }
+
+    @Test
+    void testTransformBy() {
+        Trajectory trajectory = createTrajectory();
+        Transform2d transform = new Transform2d(new Translation2d(3.0, -1.0), Rotation2d.fromDegrees(20));
+        Trajectory transformed = trajectory.transformBy(transform);
+
+        Pose2d firstPose = trajectory.getInitialPose();
+        Pose2d newFirstPose = firstPose.plus(transform);
+        assertEquals(newFirstPose, transformed.getInitialPose());
+        for (int i = 0; i < trajectory.getStates().size(); i++) {
+            Trajectory.State state = trajectory.getStates().get(i);
+            Trajectory.State result = transformed.getStates().get(i);
+            assertEquals(newFirstPose.plus(state.poseMeters.minus(firstPose)), result.poseMeters);
+            assertEquals(state.timeSeconds, result.timeSeconds, kEpsilon);
+        }
+    }
+
+    @Test
+    void testRelativeTo() {
+        Trajectory trajectory = createTrajectory();
+        Pose2d origin = new Pose2d(1.0, 1.0, Rotation2d.fromDegrees(-60));
+        Trajectory relative = trajectory.relativeTo(origin);
+
+        for (int i = 0; i < trajectory.getStates().size(); i++) {
+            assertEquals(trajectory.getStates().get(i).poseMeters.relativeTo(origin),
+                    relative.getStates().get(i).poseMeters);
+        }
+    }
+
+    @Test
+    void testMirrorFlipsCurvature() {
+        Trajectory mirrored = createTrajectory().mirrorAcrossY(0.0);
+        Trajectory.State first = mirrored.getStates().get(0);
+
+        assertEquals(new Pose2d(-10.0, 0.0, Rotation2d.fromDegrees(90)), first.poseMeters);
+        assertEquals(-0.1, first.curvatureRadPerMeter, kEpsilon);
+    }
+}
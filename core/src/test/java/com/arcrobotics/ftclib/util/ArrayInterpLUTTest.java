@@ -0,0 +1,75 @@
+package com.arcrobotics.ftclib.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArrayInterpLUTTest {
+
+    @Test
+    public void matchesInterpLUT() {
+        InterpLUT reference = new InterpLUT();
+        ArrayInterpLUT uniform = new ArrayInterpLUT();
+        ArrayInterpLUT nonUniform = new ArrayInterpLUT();
+        for (int i = 0; i <= 50; i++) {
+            double y = Math.sin(i * 0.2) + i * 0.05;
+            reference.add(i, y);
+            uniform.add(i, y);
+            nonUniform.add(i + (i == 50 ? 1E-3 : 0), y);
+        }
+        reference.createLUT();
+        uniform.createLUT();
+        nonUniform.createLUT();
+        assertTrue(uniform.isUniform());
+        assertFalse(nonUniform.isUniform());
+
+        for (double x = 0.01; x < 49.9; x += 0.37) {
+            assertEquals(reference.get(x), uniform.get(x), 1E-9);
+            if (x < 48) {
+                // the shifted last point only changes the last two segments
+                assertEquals(reference.get(x), nonUniform.get(x), 1E-9);
+            }
+        }
+        assertEquals(reference.get(25.0 + 1E-9), uniform.get(25), 1E-6);
+    }
+
+    @Test
+    public void passesThroughControlPoints() {
+        double[] x = {-2, -0.5, 1, 4, 4.5, 10};
+        double[] y = {3, 1, 1, 5, 2, 8};
+        ArrayInterpLUT lut = new ArrayInterpLUT(x, y);
+        for (int i = 0; i < x.length; i++) {
+            assertEquals(y[i], lut.get(x[i]), 1E-12);
+        }
+    }
+
+    @Test
+    public void extrapolation() {
+        ArrayInterpLUT lut = ArrayInterpLUT.uniform(0, 1, new double[]{0, 1, 4, 9});
+
+        assertEquals(0, lut.get(-1));
+        assertEquals(9, lut.get(5));
+
+        lut.setExtrapolation(ArrayInterpLUT.Extrapolation.LINEAR);
+        assertEquals(-1, lut.get(-1), 1E-12);
+        assertEquals(9 + 2 * 5, lut.get(5), 1E-12);
+
+        lut.setExtrapolation(ArrayInterpLUT.Extrapolation.HERMITE);
+        double slope = lut.get(3) - lut.get(3 - 1E-6);
+        assertEquals(slope, lut.get(3 + 1E-6) - lut.get(3), 1E-9);
+        assertEquals(Double.NaN, lut.get(Double.NaN));
+    }
+
+    @Test
+    public void invalidControlPoints() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ArrayInterpLUT(new double[]{1}, new double[]{1}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ArrayInterpLUT(new double[]{1, 1}, new double[]{1, 3}));
+        assertThrows(IllegalStateException.class, () -> new ArrayInterpLUT().get(1));
+    }
+
+}
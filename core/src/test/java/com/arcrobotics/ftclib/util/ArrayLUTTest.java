@@ -0,0 +1,58 @@
+package com.arcrobotics.ftclib.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ArrayLUTTest {
+
+    @Test
+    public void matchesLUT() {
+        LUT<Double, Integer> lut = new LUT<>();
+        lut.add(-3.0, 0);
+        lut.add(0.5, 1);
+        lut.add(1.0, 2);
+        lut.add(2.0, 3);
+        lut.add(7.5, 4);
+        ArrayLUT<Integer> frozen = lut.freeze();
+
+        assertEquals(lut.size(), frozen.size());
+        for (int i = 0; i < 500; i++) {
+            double d = -5 + Math.random() * 15;
+            assertEquals(lut.getClosest(d), frozen.getClosest(d));
+        }
+        // ties and exact keys
+        assertEquals(lut.getClosest(1.5), frozen.getClosest(1.5));
+        assertEquals(lut.getClosest(0.75), frozen.getClosest(0.75));
+        assertEquals(lut.getClosest(7.5), frozen.getClosest(7.5));
+    }
+
+    @Test
+    public void freezeIsACopy() {
+        LUT<Integer, String> lut = new LUT<>();
+        lut.add(1, "a");
+        lut.add(3, "b");
+        ArrayLUT<String> frozen = lut.freeze();
+        lut.add(2, "c");
+
+        assertEquals(2, frozen.size());
+        assertEquals("a", frozen.getClosest(1.9));
+        assertEquals(3, frozen.getKey(frozen.getClosestIndex(2.5)));
+    }
+
+    @Test
+    public void empty() {
+        assertNull(new LUT<Integer, Integer>().freeze().getClosest(0));
+    }
+
+    @Test
+    public void invalidKeys() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ArrayLUT<>(new double[]{1, 1}, new Integer[]{1, 2}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ArrayLUT<>(new double[]{1}, new Integer[]{1, 2}));
+    }
+
+}
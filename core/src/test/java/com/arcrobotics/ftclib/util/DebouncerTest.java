@@ -0,0 +1,37 @@
+package com.arcrobotics.ftclib.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DebouncerTest {
+
+    private long time;
+
+    @Test
+    public void rising() {
+        Debouncer debouncer = new Debouncer(0.02, Debouncer.DebounceType.kRising, () -> time);
+
+        assertFalse(debouncer.calculate(true));
+        time += 10_000_000;
+        assertFalse(debouncer.calculate(true));
+        time += 10_000_000;
+        assertTrue(debouncer.calculate(true));
+        assertFalse(debouncer.calculate(false));
+    }
+
+    @Test
+    public void both() {
+        Debouncer debouncer = new Debouncer(0.02, Debouncer.DebounceType.kBoth, () -> time);
+
+        debouncer.calculate(true);
+        time += 30_000_000;
+        assertTrue(debouncer.calculate(true));
+        time += 10_000_000;
+        assertTrue(debouncer.calculate(false));
+        time += 30_000_000;
+        assertFalse(debouncer.calculate(false));
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.arcrobotics.ftclib.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InterpLUT2DTest {
+
+    private static double plane(double x, double y) {
+        return 3 + 2 * x - 0.5 * y;
+    }
+
+    private static double surface(double x, double y) {
+        return 1500 + 200 * x + 15 * y + 20 * x * y - 10 * x * x;
+    }
+
+    private static InterpLUT2D sampleGrid(double[] x, double[] y) {
+        double[] values = new double[x.length * y.length];
+        for (int i = 0; i < x.length; i++) {
+            for (int j = 0; j < y.length; j++) {
+                values[i * y.length + j] = surface(x[i], y[j]);
+            }
+        }
+        return new InterpLUT2D(x, y, values);
+    }
+
+    @Test
+    public void bilinearIsExactOnPlanes() {
+        double[] x = {0, 1, 3, 4};
+        double[] y = {-1, 0, 2};
+        double[] values = new double[12];
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 3; j++) {
+                values[i * 3 + j] = plane(x[i], y[j]);
+            }
+        }
+        InterpLUT2D lut = new InterpLUT2D(x, y, values);
+        for (double a = 0; a <= 4; a += 0.3) {
+            for (double b = -1; b <= 2; b += 0.25) {
+                assertEquals(plane(a, b), lut.get(a, b), 1E-9);
+            }
+        }
+        // clamped outside of the grid
+        assertEquals(plane(4, 2), lut.get(10, 10), 1E-9);
+    }
+
+    @Test
+    public void bicubicPassesThroughGridAndIsMoreAccurate() {
+        double[] x = {0, 0.5, 1, 1.5, 2, 2.5, 3};
+        double[] y = {0, 1, 2, 3, 4};
+        InterpLUT2D lut = sampleGrid(x, y);
+
+        double bilinearError = 0;
+        double bicubicError = 0;
+        for (double a = 0.1; a < 3; a += 0.23) {
+            for (double b = 0.1; b < 4; b += 0.31) {
+                lut.setInterpolation(InterpLUT2D.Interpolation.BILINEAR);
+                bilinearError += Math.abs(lut.get(a, b) - surface(a, b));
+                lut.setInterpolation(InterpLUT2D.Interpolation.BICUBIC);
+                bicubicError += Math.abs(lut.get(a, b) - surface(a, b));
+            }
+        }
+        assertTrue(bicubicError < bilinearError);
+        assertEquals(surface(1.5, 2), lut.get(1.5, 2), 1E-9);
+    }
+
+    @Test
+    public void uniformAndNonUniformLookupsAgree() {
+        double[] uniform = {0, 1, 2, 3, 4};
+        double[] nonUniform = {0, 1, 2, 3, 4 + 1E-6};
+        InterpLUT2D a = sampleGrid(uniform, uniform);
+        InterpLUT2D b = sampleGrid(uniform, nonUniform);
+        for (double x = 0; x <= 4; x += 0.1) {
+            for (double y = 0; y <= 3; y += 0.1) {
+                assertEquals(a.get(x, y), b.get(x, y), 1E-6);
+            }
+        }
+    }
+
+    @Test
+    public void builderFitsScatteredSamples() {
+        InterpLUT2D.Builder builder = InterpLUT2D.Builder.uniform(0, 4, 5, -1, 2, 4);
+        Random random = new Random(7);
+        for (int k = 0; k < 60; k++) {
+            double x = random.nextDouble() * 4;
+            double y = -1 + random.nextDouble() * 3;
+            builder.addSample(x, y, plane(x, y));
+        }
+        InterpLUT2D lut = builder.build();
+        for (double a = 0; a <= 4; a += 0.5) {
+            for (double b = -1; b <= 2; b += 0.5) {
+                assertEquals(plane(a, b), lut.get(a, b), 1E-6);
+            }
+        }
+    }
+
+    @Test
+    public void builderRejectsDegenerateSamples() {
+        // three corners leave the bilinear term free
+        InterpLUT2D.Builder corners = InterpLUT2D.Builder.uniform(0, 4, 5, 0, 4, 5)
+                .addSample(0, 0, 1).addSample(4, 0, 2).addSample(0, 4, 3);
+        assertThrows(IllegalStateException.class, corners::build);
+
+        InterpLUT2D.Builder line = InterpLUT2D.Builder.uniform(0, 4, 5, 0, 4, 5);
+        for (int k = 0; k < 10; k++) {
+            line.addSample(k * 0.4, k * 0.4, k);
+        }
+        assertThrows(IllegalStateException.class, line::build);
+
+        // four corners are enough
+        InterpLUT2D lut = InterpLUT2D.Builder.uniform(0, 4, 5, 0, 4, 5)
+                .addSample(0, 0, plane(0, 0)).addSample(4, 0, plane(4, 0))
+                .addSample(0, 4, plane(0, 4)).addSample(4, 4, plane(4, 4))
+                .build();
+        assertEquals(plane(3, 1), lut.get(3, 1), 1E-6);
+    }
+
+    @Test
+    public void invalidGrid() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new InterpLUT2D(new double[]{0, 1}, new double[]{0, 1}, new double[3]));
+        assertThrows(IllegalArgumentException.class,
+                () -> new InterpLUT2D(new double[]{0, 0}, new double[]{0, 1}, new double[4]));
+        assertThrows(IllegalStateException.class,
+                () -> new InterpLUT2D.Builder(new double[]{0, 1}, new double[]{0, 1}).build());
+    }
+
+}
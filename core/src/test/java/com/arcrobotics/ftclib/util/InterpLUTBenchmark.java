@@ -0,0 +1,59 @@
+package com.arcrobotics.ftclib.util;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Compares the lookup time of {@link InterpLUT} and {@link ArrayInterpLUT} on a
+ * 200 point table. This is not run with the tests; run the main method directly.
+ */
+public class InterpLUTBenchmark {
+
+    private static final int kPoints = 200;
+    private static final int kLookups = 1_000_000;
+    private static final int kRuns = 5;
+
+    public static void main(String[] args) {
+        InterpLUT boxed = new InterpLUT();
+        ArrayInterpLUT uniform = new ArrayInterpLUT();
+        ArrayInterpLUT nonUniform = new ArrayInterpLUT();
+        for (int i = 0; i < kPoints; i++) {
+            double y = 2000 + 15 * i + 100 * Math.sin(i * 0.1);
+            boxed.add(i, y);
+            uniform.add(i, y);
+            nonUniform.add(i + 0.3 * Math.sin(i), y);
+        }
+        boxed.createLUT();
+        uniform.createLUT();
+        nonUniform.createLUT();
+
+        Random random = new Random(42);
+        double[] inputs = new double[kLookups];
+        for (int i = 0; i < kLookups; i++) {
+            inputs[i] = 1 + random.nextDouble() * (kPoints - 3);
+        }
+
+        for (int run = 0; run < kRuns; run++) {
+            System.out.println(String.format(Locale.US,
+                    "run %d: InterpLUT %.1f ns, uniform ArrayInterpLUT %.1f ns, "
+                            + "non-uniform ArrayInterpLUT %.1f ns per lookup",
+                    run, time(boxed::get, inputs), time(uniform::get, inputs),
+                    time(nonUniform::get, inputs)));
+        }
+    }
+
+    private static double time(DoubleUnaryOperator lut, double[] inputs) {
+        double sink = 0;
+        long start = System.nanoTime();
+        for (double input : inputs) {
+            sink += lut.applyAsDouble(input);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == Double.MIN_VALUE) {
+            System.out.println(sink);
+        }
+        return (double) elapsed / inputs.length;
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.arcrobotics.ftclib.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LinearFilterTest {
+
+    @Test
+    public void movingAverage() {
+        LinearFilter filter = LinearFilter.movingAverage(4);
+        assertEquals(1, filter.calculate(4), 1E-12);
+        assertEquals(2, filter.calculate(4), 1E-12);
+        filter.calculate(4);
+        assertEquals(4, filter.calculate(4), 1E-12);
+        assertEquals(3, filter.calculate(0), 1E-12);
+
+        filter.reset();
+        assertEquals(0.25, filter.calculate(1), 1E-12);
+    }
+
+    @Test
+    public void singlePoleIIRSettlesOnInput() {
+        LinearFilter filter = LinearFilter.singlePoleIIR(0.1, 0.02);
+        double output = 0;
+        for (int i = 0; i < 5; i++) {
+            output = filter.calculate(1);
+        }
+        // after one time constant the output is about 63% of the step
+        assertEquals(1 - Math.exp(-1), output, 0.05);
+        for (int i = 0; i < 200; i++) {
+            output = filter.calculate(1);
+        }
+        assertEquals(1, output, 1E-9);
+    }
+
+    @Test
+    public void highPassRemovesOffset() {
+        LinearFilter filter = LinearFilter.highPass(0.1, 0.02);
+        double output = 0;
+        for (int i = 0; i < 500; i++) {
+            output = filter.calculate(5 + Math.sin(i * 2.5));
+        }
+        assertTrue(Math.abs(output) < 1.5);
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.arcrobotics.ftclib.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MedianFilterTest {
+
+    @Test
+    public void ignoresOutliers() {
+        MedianFilter filter = new MedianFilter(3);
+        filter.calculate(10);
+        filter.calculate(10);
+        assertEquals(10, filter.calculate(800));
+        assertEquals(11, filter.calculate(11));
+    }
+
+    @Test
+    public void matchesSortedWindow() {
+        int size = 6;
+        MedianFilter filter = new MedianFilter(size);
+        Random random = new Random(3);
+        double[] history = new double[200];
+        for (int i = 0; i < history.length; i++) {
+            history[i] = random.nextInt(20);
+            double[] window = Arrays.copyOfRange(history, Math.max(0, i - size + 1), i + 1);
+            Arrays.sort(window);
+            int n = window.length;
+            double median = n % 2 != 0 ? window[n / 2] : (window[n / 2 - 1] + window[n / 2]) / 2;
+            assertEquals(median, filter.calculate(history[i]));
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.arcrobotics.ftclib.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SlewRateLimiterTest {
+
+    private long time;
+
+    @Test
+    public void limitsRate() {
+        SlewRateLimiter limiter = new SlewRateLimiter(2, -4, 0, () -> time);
+
+        time += 100_000_000;
+        assertEquals(0.2, limiter.calculate(1), 1E-9);
+        time += 100_000_000;
+        assertEquals(0.4, limiter.calculate(1), 1E-9);
+        time += 100_000_000;
+        assertEquals(0, limiter.calculate(0), 1E-9);
+        time += 1_000_000_000;
+        assertEquals(-1, limiter.calculate(-1), 1E-9);
+
+        limiter.reset(0.5);
+        assertEquals(0.5, limiter.calculate(1), 1E-9);
+    }
+
+    @Test
+    public void rateLimitsCanChange() {
+        SlewRateLimiter limiter = new SlewRateLimiter(2, -2, 0, () -> time);
+        time += 100_000_000;
+        assertEquals(0.2, limiter.calculate(1), 1E-9);
+
+        limiter.setRateLimits(4, -1);
+        time += 100_000_000;
+        assertEquals(0.6, limiter.calculate(1), 1E-9);
+        time += 100_000_000;
+        assertEquals(0.5, limiter.calculate(0), 1E-9);
+    }
+
+}
@@ -1,96 +1,131 @@
 package com.arcrobotics.ftclib.util;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.concurrent.TimeUnit;
 
+import static com.arcrobotics.ftclib.util.Timing.LoopStats;
+import static com.arcrobotics.ftclib.util.Timing.Rate;
 import static com.arcrobotics.ftclib.util.Timing.Timer;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TimingTest {
+    private static final long kMillis = 1_000_000;
+
     private Timer timer;
     private final int seconds = 3;
-
-    /**
-     * Assert that the supplied runnable runs for between minMillis and minMillis+margin milliseconds.
-     *
-     * @param minMillis The minimum amount of time in which the runnable should run, in ms.
-     * @param margin    The difference between the minimum and maximum time in which the runnable should run.
-     *                  This is to account for inaccuracies in cpu time slices.
-     * @param runnable  The runnable to run. This should include the timing and waiting code.
-     */
-    private void assertElapsedWithin(long minMillis, long margin, Runnable runnable) {
-        Thread curr = Thread.currentThread();
-        Thread interrupt = new Thread(() -> {
-            try {
-                Thread.sleep(minMillis + margin);
-                curr.interrupt();
-            } catch (InterruptedException e) {
-                // ignored
-            }
-        });
-        interrupt.start();
-        long start = System.currentTimeMillis();
-        runnable.run();
-        interrupt.interrupt();
-        long end = System.currentTimeMillis();
-        assertTrue(end - start >= minMillis);
-    }
+    private long time;
 
     @BeforeEach
     public void reset() {
+        // a fake clock, so the tests do not depend on how busy the machine is
+        Clock.setSource(() -> time);
         timer = new Timer(seconds, TimeUnit.SECONDS);
     }
 
+    @AfterEach
+    public void useSystemTime() {
+        Clock.useSystemTime();
+    }
+
     @Test
     public void startAtZeroTest() {
         assertEquals(0, timer.elapsedTime());
     }
 
     @Test
-    public void pauseTest() throws InterruptedException {
+    public void pauseTest() {
         timer.start();
-        Thread.sleep(1005);
+        time += 1005 * kMillis;
         timer.pause();
-        long currTime = timer.elapsedTime();
-        assertTrue(currTime >= 1);
-        Thread.sleep(500);
-        assertEquals(currTime, timer.elapsedTime());
+        assertEquals(1, timer.elapsedTime());
+        assertEquals(1005 * kMillis, timer.elapsedNanos());
+        time += 500 * kMillis;
+        assertEquals(1005 * kMillis, timer.elapsedNanos());
     }
 
     @Test
-    public void pauseResumeTest() throws InterruptedException {
-        int sleepTime = 1000;
-        int margin = 150;
+    public void pauseResumeTest() {
         timer.start();
-        Thread.sleep(sleepTime);
+        time += 1000 * kMillis;
         timer.pause();
-        Thread.sleep(1000);
-        // assert that the remaining timer action happens in between 1850-2150ms
-        // (this accounts for imperfect time slices)
-        assertElapsedWithin(seconds * 1000 - sleepTime - margin, 2 * margin, () -> {
-            timer.resume();
-            while (!timer.done()) {
-                Thread.yield();
-            }
-        });
+        time += 1000 * kMillis;
+        timer.resume();
+
+        // the paused second does not count
+        time += 1999 * kMillis;
+        assertFalse(timer.done());
+        assertEquals(1, timer.remainingTime());
+        time += kMillis;
+        assertTrue(timer.done());
     }
 
     @Test
     public void elapsedTimeTest() {
-        boolean[] success = new boolean[1];
-        assertElapsedWithin(seconds * 1000, 1500, () -> {
-            timer.start();
-            while (!Thread.interrupted()) {
-                if (timer.done()) {
-                    success[0] = true;
-                    break;
-                }
-                Thread.yield();
-            }
-        });
-        assertTrue(success[0]);
+        timer.start();
+        time += seconds * 1000 * kMillis - 1;
+        assertFalse(timer.done());
+        assertEquals(seconds - 1, timer.elapsedTime());
+        time += 1;
+        assertTrue(timer.done());
+        assertEquals(seconds, timer.elapsedTime());
+        assertEquals(0, timer.remainingTime());
+    }
+
+    @Test
+    public void rateDoesNotDrift() {
+        Rate rate = new Rate(20, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 25; i++) {
+            // the loop takes 7 ms, then waits out the rest of the period
+            time += 7 * kMillis;
+            assertEquals(13 * kMillis, rate.remainingNanos());
+            time += rate.remainingNanos();
+            rate.sleep();
+        }
+        assertEquals(500 * kMillis, time);
+
+        // a late loop does not shift the deadlines after it
+        time += 23 * kMillis;
+        rate.sleep();
+        assertEquals(17 * kMillis, rate.remainingNanos());
+    }
+
+    @Test
+    public void rateSkipsMissedDeadlines() {
+        Rate rate = new Rate(10);
+        time += 55 * kMillis;
+        assertTrue(rate.atTime());
+        assertFalse(rate.atTime());
+        // the deadlines at 20, 30, 40 and 50 ms are skipped
+        assertEquals(5 * kMillis, rate.remainingNanos());
+    }
+
+    @Test
+    public void loopStats() {
+        LoopStats stats = new LoopStats(8);
+        stats.loop();
+        assertEquals(0, stats.getCount());
+        for (int i = 1; i <= 10; i++) {
+            time += i * kMillis;
+            stats.loop();
+        }
+        assertEquals(10, stats.getCount());
+        assertEquals(0.001, stats.getMinPeriod(), 1E-12);
+        assertEquals(0.010, stats.getMaxPeriod(), 1E-12);
+        assertEquals(0.010, stats.getLastPeriod(), 1E-12);
+        assertEquals(0.0055, stats.getMeanPeriod(), 1E-12);
+        assertEquals(1 / 0.0055, stats.getMeanFrequency(), 1E-9);
+        assertEquals(Math.sqrt(55.0 / 6) / 1000, stats.getStandardDeviation(), 1E-12);
+        // the window holds the last 8 periods, 3 to 10 ms
+        assertEquals(0.006, stats.getPercentile(50), 1E-12);
+        assertEquals(0.010, stats.getPercentile(99), 1E-12);
+
+        stats.reset();
+        assertEquals(0, stats.getCount());
+        assertEquals(0, stats.getPercentile(99));
     }
 }